@@ -1,12 +1,23 @@
 package com.github.splendor_mobile_game;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.database.JournalReplayer;
+import com.github.splendor_mobile_game.database.MappedJournal;
+import com.github.splendor_mobile_game.database.Snapshot;
+import com.github.splendor_mobile_game.database.Snapshotter;
+import com.github.splendor_mobile_game.database.SqliteDatabase;
 import com.github.splendor_mobile_game.websocket.communication.ConnectionCheckerWithoutDefaultConstructorException;
+import com.github.splendor_mobile_game.websocket.communication.MessageDispatcher;
 import com.github.splendor_mobile_game.websocket.communication.WebSocketSplendorServer;
 import com.github.splendor_mobile_game.websocket.config.Config;
 import com.github.splendor_mobile_game.websocket.config.EnvConfig;
@@ -23,7 +34,8 @@ public class App {
 	private static List<Class<?>> classesWithReactions = new ArrayList<>(Arrays.asList(
 		CreateRoom.class, JoinRoom.class, DebugGetRandomCard.class, LeaveRoom.class, GetTokens.class,
 		 EndTurnTest.class, StartGame.class, BuyRevealedMine.class, MakeReservationFromDeck.class, 
-		 BuyReservedMine.class, EndTurn.class,MakeReservationFromTable.class,Kick.class,SendChatMessage.class
+		 BuyReservedMine.class, EndTurn.class,MakeReservationFromTable.class,Kick.class,SendChatMessage.class,
+		 SyncState.class, ResumeSession.class, GetChatHistory.class, GetLeaderboard.class
 	));
 
 
@@ -33,8 +45,10 @@ public class App {
      * @param args An array of command-line arguments passed to the application.
      * @throws InvalidConfigException                     			Thrown when the configuration file (.env) is invalid (ie. field is missing).
      * @throws ConnectionCheckerWithoutDefaultConstructorException 	Thrown when the specified connection handler class does not have a default constructor.
+     * @throws SQLException                                         Thrown when the SQLite database file can't be opened.
+     * @throws IOException                                          Thrown when the journal can't be read or opened.
      */
-	public static void main(String[] args) throws InvalidConfigException, ConnectionCheckerWithoutDefaultConstructorException {
+	public static void main(String[] args) throws InvalidConfigException, ConnectionCheckerWithoutDefaultConstructorException, SQLException, IOException {
 
 		// Read the environment configuration
 		Config config = new EnvConfig("./.env");
@@ -42,24 +56,64 @@ public class App {
 		// Initialize the logger
 		Log.SetFileLogLevel(config.getFileLogLevels());
 		Log.SetConsoleLogLevel(config.getConsoleLogLevels());
+		Log.setCallerLocation(config.isLogCallerLocation());
+		Log.setFileRotation(config.getLogMaxFileSizeMb() * 1024L * 1024L, TimeUnit.HOURS.toMillis(config.getLogRotationIntervalHours()));
 		Log.setSavingLogsToFile(config.getLogsDir());
 
 		// Define where are reactions to the messages from client and load these reactions
 		ReactionManager reactionManager = new ReactionManager();
 		reactionManager.loadReactions(App.classesWithReactions);
 
+		// Keep rooms and finished games in SQLite file if it's configured
+		Database database;
+		if (config.getSqlitePath() != null) {
+			SqliteDatabase sqliteDatabase = new SqliteDatabase(config.getSqlitePath());
+			Runtime.getRuntime().addShutdownHook(new Thread(sqliteDatabase::close));
+			if (config.getSqliteMetricsIntervalSec() > 0) {
+				sqliteDatabase.startMetricsLog(config.getSqliteMetricsIntervalSec());
+			}
+			database = sqliteDatabase;
+		} else {
+			database = new InMemoryDatabase();
+		}
+
+		MessageDispatcher dispatcher = new MessageDispatcher(config.getWorkerThreads(), config.getRoomQueueCapacity());
+
+		// Rebuild the rooms from the latest snapshot and the journal after it, then journal the changes made from now on
+		if (config.getJournalDir() != null) {
+			Path journalDir = Path.of(config.getJournalDir());
+			Snapshot snapshot = Snapshotter.load(journalDir, database);
+			new JournalReplayer(database).replay(journalDir, snapshot);
+
+			MappedJournal journal = new MappedJournal(journalDir, database.getCardCatalog(), database.getNobleCatalog());
+			database.setJournal(journal);
+
+			Snapshotter snapshotter = new Snapshotter(journalDir, database, journal, dispatcher::dispatchUnbounded);
+			if (config.getSnapshotIntervalSec() > 0) {
+				snapshotter.start(config.getSnapshotIntervalSec());
+			}
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				snapshotter.close();
+				journal.close();
+			}));
+		}
+
 		// Setup the server
 		int port = config.getPort();
 		WebSocketSplendorServer server = new WebSocketSplendorServer(
 			new InetSocketAddress(port),
-			reactionManager.reactions,
+			reactionManager.factories,
 			SimpleConnectionChecker.class,
 			config.getPingIntervalMs(),
 			config.getConnectionCheckIntervalMs(),
-			new InMemoryDatabase()
+			database,
+			dispatcher,
+			config.getSessionGracePeriodSec(),
+			config.getRoomTickMs()
 		);
 
-		server.setConnectionLostTimeout(config.getConnectionLostTimeoutSec());
+		// Liveness of the connections is checked by the heartbeat scheduler only
+		server.setConnectionLostTimeout(0);
 
 		// Start the server
 		Log.INFO("Starting the server on ws://localhost:" + port);
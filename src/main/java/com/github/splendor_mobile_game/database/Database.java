@@ -5,7 +5,10 @@ import java.util.UUID;
 
 import com.github.splendor_mobile_game.game.enums.CardTier;
 import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.game.model.CardCatalog;
+import com.github.splendor_mobile_game.game.model.Leaderboard;
 import com.github.splendor_mobile_game.game.model.Noble;
+import com.github.splendor_mobile_game.game.model.NobleCatalog;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserAlreadyInRoomException;
@@ -14,10 +17,15 @@ public interface Database {
 
     public User getUser(UUID uuid);
 
-    public User getUserByConnectionHashCode(int connectionHashCode);
+    public User getUserByConnectionId(long connectionId);
 
     public void addUser(User user);
 
+    public void deleteUser(User user);
+
+    /** Moves the user to another connection, ie. when they resume their session after the connection has dropped. */
+    public void changeConnectionId(User user, long connectionId);
+
     public Room getRoom(UUID uuid);
 
     public Room getRoomWithUser(UUID userUuid);
@@ -26,8 +34,32 @@ public interface Database {
 
     public void addRoom(Room room);
 
+    /**
+     * Reserves an enter code which isn't used by any other room, it's released when the room is deleted.
+     *
+     * @return enterCode -> code needed to enter the room
+     */
+    public String reserveEnterCode();
+
     public void deleteRoom(Room room);
 
+    /** Notifies the database that the user has become a member of the room. */
+    public void userJoinedRoom(User user, Room room);
+
+    /** Notifies the database that the user is no longer a member of the room. */
+    public void userLeftRoom(User user, Room room);
+
+    /** Notifies the database that the game in the room has ended, so the results can be kept. */
+    public void gameFinished(Room room);
+
+    /** @return leaderboard of all the players, it's updated when their games finish */
+    public Leaderboard getLeaderboard();
+
+    /** @return journal which receives the changes of the rooms and their games, {@link Journal#NONE} by default */
+    public Journal getJournal();
+
+    public void setJournal(Journal journal);
+
     public Card getCard(UUID cardUuid);
 
     public ArrayList<User> getAllUsers();
@@ -44,5 +76,11 @@ public interface Database {
 
     public ArrayList<Card> getSpecifiedCards(CardTier tier);
 
+    /** @return catalog of the cards games are played with */
+    public CardCatalog getCardCatalog();
+
+    /** @return catalog of the nobles games are played with */
+    public NobleCatalog getNobleCatalog();
+
     public void isUserInRoom(UUID uuid) throws UserAlreadyInRoomException;
 }
@@ -0,0 +1,108 @@
+package com.github.splendor_mobile_game.database;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out enter codes of rooms in constant time, no matter how many rooms exist.
+ *
+ * Codes are 6 alphanumeric characters. Every new code comes from the next value of a counter, which is shuffled
+ * by a keyed permutation of all possible codes, so consecutive rooms don't get similar codes, but two values of the
+ * counter never give the same code. Codes which are in use are kept in a set, which is only needed once the counter
+ * wraps around after all of the 62^6 codes have been handed out. It's safe to use from multiple threads.
+ */
+public class EnterCodeAllocator {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int CODE_LENGTH = 6;
+
+    /** Number of possible codes, 62^6. */
+    static final long CODE_SPACE = 56_800_235_584L;
+
+    /** The permutation works on 36 bit numbers, the smallest power of two above the number of codes. */
+    private static final int HALF_BITS = 18;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final long[] roundKeys = new long[ROUNDS];
+    private final AtomicLong counter = new AtomicLong();
+    private final Set<String> liveCodes = ConcurrentHashMap.newKeySet();
+
+    public EnterCodeAllocator() {
+        this(new SecureRandom());
+    }
+
+    /** @param random source of the keys of the permutation, the same keys give the same sequence of codes */
+    EnterCodeAllocator(Random random) {
+        for (int i = 0; i < ROUNDS; i++) {
+            this.roundKeys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Reserves a code which isn't used by any other room.
+     *
+     * @return enterCode -> code needed to enter the room
+     */
+    public String reserve() {
+        while (true) {
+            long index = Math.floorMod(this.counter.getAndIncrement(), CODE_SPACE);
+            String code = encode(permute(index));
+
+            // Codes only repeat after the counter has wrapped around, they're skipped if still in use
+            if (this.liveCodes.add(code)) return code;
+        }
+    }
+
+    /** Makes the code available again, ie. when its room has been deleted. */
+    public void release(String code) {
+        this.liveCodes.remove(code);
+    }
+
+    /** @return true if the code has been reserved and not released yet */
+    public boolean isReserved(String code) {
+        return this.liveCodes.contains(code);
+    }
+
+    /**
+     * Maps a number below CODE_SPACE to another number below CODE_SPACE, different numbers are always mapped to different ones.
+     * The Feistel network permutes all 36 bit numbers, results which are too big are permuted again until they fit.
+     */
+    private long permute(long value) {
+        do {
+            value = feistel(value);
+        } while (value >= CODE_SPACE);
+        return value;
+    }
+
+    private long feistel(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+
+        for (long key : this.roundKeys) {
+            long next = left ^ round(right, key);
+            left = right;
+            right = next;
+        }
+
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long round(long half, long key) {
+        long x = (half ^ key) * 0x9E3779B97F4A7C15L;
+        x ^= x >>> 29;
+        return (x >>> 40) & HALF_MASK;
+    }
+
+    private static String encode(long value) {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt((int) (value % ALPHABET.length()));
+            value /= ALPHABET.length();
+        }
+        return new String(code);
+    }
+}
@@ -1,25 +1,46 @@
 package com.github.splendor_mobile_game.database;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.github.splendor_mobile_game.game.enums.CardTier;
-import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.game.model.CardCatalog;
+import com.github.splendor_mobile_game.game.model.Leaderboard;
 import com.github.splendor_mobile_game.game.model.Noble;
+import com.github.splendor_mobile_game.game.model.NobleCatalog;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserAlreadyInRoomException;
-import com.github.splendor_mobile_game.websocket.utils.Log;
 
 
+/**
+ * Database kept entirely in memory. Users and rooms are indexed by all the keys they are looked up by,
+ * so lookups don't depend on the number of stored users and rooms. It's safe to use from multiple threads.
+ */
 public class InMemoryDatabase implements Database {
 
-    private ArrayList<User> allUsers = new ArrayList<>();
-    private ArrayList<Room> allRooms = new ArrayList<>();
+    private final OrderedIndex<UUID, User> users = new OrderedIndex<>();
+    private final Map<Long, User> usersByConnectionId = new ConcurrentHashMap<>();
+
+    private final OrderedIndex<UUID, Room> rooms = new OrderedIndex<>();
+    private final Map<String, Room> roomsByEnterCode = new ConcurrentHashMap<>();
+    private final EnterCodeAllocator enterCodes = new EnterCodeAllocator();
+
+    /** Room of every user who is a member of a stored room, by the uuid of the user. */
+    private final Map<UUID, Room> roomsByUserUuid = new ConcurrentHashMap<>();
+
+    private final CardCatalog cardCatalog = CardCatalog.getDefault();
+    private final NobleCatalog nobleCatalog = NobleCatalog.getDefault();
+
+    private final Leaderboard leaderboard = new Leaderboard();
+
+    private volatile Journal journal = Journal.NONE;
+
     private ArrayList<Card> allCards = new ArrayList<>();
     private ArrayList<Noble> allNobles = new ArrayList<>();
 
@@ -32,139 +53,147 @@ public class InMemoryDatabase implements Database {
 
     @Override
     public User getUser(UUID uuid) {
-        for(User user : allUsers) {
-            if (user.getUuid().equals(uuid)) return user;
-        }
-        return null;
+        return this.users.get(uuid);
     }
 
 
     @Override
     public void addUser(User user) {
-        this.allUsers.add(user);
+        this.users.put(user.getUuid(), user);
+        this.usersByConnectionId.put(user.getConnectionId(), user);
+    }
+
+    @Override
+    public void deleteUser(User user) {
+        if (!this.users.remove(user.getUuid(), user)) return;
+
+        this.usersByConnectionId.remove(user.getConnectionId(), user);
+        this.roomsByUserUuid.remove(user.getUuid());
+    }
+
+    @Override
+    public void changeConnectionId(User user, long connectionId) {
+        this.usersByConnectionId.remove(user.getConnectionId(), user);
+        user.setConnectionId(connectionId);
+        this.usersByConnectionId.put(connectionId, user);
     }
 
     @Override
     public Room getRoom(UUID uuid) {
-        for(Room room : allRooms) {
-            if (room.getUuid().equals(uuid)) return room;
-        }
-        return null;
+        return this.rooms.get(uuid);
     }
 
     @Override
     public Room getRoom(String enterCode) {
-        for(Room room : allRooms) {
-            if (room.getEnterCode().equals(enterCode)) return room;
-        }
-        return null;
+        return this.roomsByEnterCode.get(enterCode);
     }
 
     @Override
     public void addRoom(Room room) {
-        this.allRooms.add(room);
+        this.rooms.put(room.getUuid(), room);
+        this.roomsByEnterCode.put(room.getEnterCode(), room);
+
+        // Users might have been added to the room before it was stored
+        for (User user : room.getAllUsers()) {
+            this.roomsByUserUuid.put(user.getUuid(), room);
+        }
+        this.journal.roomCreated(room);
+    }
+
+    @Override
+    public String reserveEnterCode() {
+        return this.enterCodes.reserve();
     }
 
     @Override
     public void deleteRoom(Room room) {
-        this.allRooms.remove(room);
+        if (!this.rooms.remove(room.getUuid(), room)) return;
+
+        this.roomsByEnterCode.remove(room.getEnterCode(), room);
+        this.enterCodes.release(room.getEnterCode());
+        for (User user : room.getAllUsers()) {
+            this.roomsByUserUuid.remove(user.getUuid(), room);
+        }
+        this.journal.roomDeleted(room);
     }
 
     @Override
-    public Card getCard(UUID cardUuid){
-        for(Card card : allCards) {
-            if (card.getUuid().equals(cardUuid)) return card;
+    public void userJoinedRoom(User user, Room room) {
+        // Membership of rooms which aren't stored yet is indexed when they're added
+        if (this.rooms.get(room.getUuid()) == room) {
+            this.roomsByUserUuid.put(user.getUuid(), room);
+            this.journal.userJoined(room, user);
         }
-        return null;
     }
 
     @Override
-    public ArrayList<User> getAllUsers() {
-        return allUsers;
+    public void userLeftRoom(User user, Room room) {
+        this.roomsByUserUuid.remove(user.getUuid(), room);
+        if (this.rooms.get(room.getUuid()) == room) {
+            this.journal.userLeft(room, user);
+        }
     }
 
     @Override
-    public ArrayList<Room> getAllRooms() {
-        return allRooms;
+    public void gameFinished(Room room) {
+        this.leaderboard.record(room);
     }
 
     @Override
-    public void loadNobles(){
-        String csvFile = "resources/NobleDatabase.csv";
-        String line = "";
-        String csvSplitBy = ";";
+    public Leaderboard getLeaderboard() {
+        return this.leaderboard;
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
+    @Override
+    public Journal getJournal() {
+        return this.journal;
+    }
 
-            line = br.readLine();   //skipping first line because there are headlines
+    @Override
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
 
-            while ((line = br.readLine()) != null) {
+    @Override
+    public Card getCard(UUID cardUuid){
+        int id = this.cardCatalog.idOf(cardUuid);
+        if (id != -1) return this.cardCatalog.get(id);
 
-                String[] data = line.split(csvSplitBy);
+        // Card might have been added to the list after loading
+        for (Card c : allCards) {
+            if (c.getUuid().equals(cardUuid)) return c;
+        }
+        return null;
+    }
 
-                try {
-                    Noble nobleCard = new Noble(
-                        Integer.parseInt(data[2]),
-                        Integer.parseInt(data[1]),
-                        Integer.parseInt(data[3]),
-                        Integer.parseInt(data[4]),
-                        Integer.parseInt(data[0]),
-                        Integer.parseInt(data[5])
-                    );
-                                    
-                    this.allNobles.add(nobleCard);
-                } catch (IllegalArgumentException e) {
-                    Log.ERROR(e.getMessage());
-                }
+    @Override
+    public ArrayList<User> getAllUsers() {
+        return this.users.values();
+    }
 
-            }
+    @Override
+    public ArrayList<Room> getAllRooms() {
+        return this.rooms.values();
+    }
 
-        } catch (IOException e) {
-            Log.ERROR(e.getMessage());
-        } catch (Exception e) {
-            Log.ERROR(e.getMessage());
-            e.printStackTrace();
-        }
+    @Override
+    public void loadNobles(){
+        this.allNobles = new ArrayList<>(this.nobleCatalog.getNobles());
     }
 
     @Override
     public void loadCards() {
-        String csvFile = "resources/CardDatabase.csv";
-        String line = "";
-        String csvSplitBy = ";";
-
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-
-            line = br.readLine();   //skipping first line because there are headlines
-
-            while ((line = br.readLine()) != null) {
-
-                String[] data = line.split(csvSplitBy);
-
-                try {
-                    Card card = new Card(CardTier.valueOf(data[0]),
-                                    Integer.parseInt(data[2]),
-                                    Integer.parseInt(data[5]),
-                                    Integer.parseInt(data[4]),
-                                    Integer.parseInt(data[6]),
-                                    Integer.parseInt(data[7]),
-                                    Integer.parseInt(data[3]),
-                                    TokenType.valueOf(data[1]),
-                                    Integer.parseInt(data[8]));
-                                    
-                    this.allCards.add(card);
-                } catch (IllegalArgumentException e) {
-                    Log.ERROR(e.getMessage());
-                }
+        this.allCards = new ArrayList<>(this.cardCatalog.getCards());
+    }
 
-            }
+    @Override
+    public CardCatalog getCardCatalog() {
+        return this.cardCatalog;
+    }
 
-        } catch (IOException e) {
-            Log.ERROR(e.getMessage());
-        } catch (Exception e) {
-            Log.ERROR(e.getMessage());
-            e.printStackTrace();
-        }
+    @Override
+    public NobleCatalog getNobleCatalog() {
+        return this.nobleCatalog;
     }
 
     @Override
@@ -180,35 +209,80 @@ public class InMemoryDatabase implements Database {
 
     @Override
     public ArrayList<Card> getSpecifiedCards(CardTier tier) {
-        ArrayList<Card> tempCardList = new ArrayList<Card>(allCards);
-        tempCardList.removeIf(card -> card.getCardTier() != tier);
+        int[] ids = this.cardCatalog.getIds(tier);
+        ArrayList<Card> tempCardList = new ArrayList<Card>(ids.length);
+        for (int id : ids) {
+            tempCardList.add(this.cardCatalog.get(id));
+        }
         return tempCardList;
     }
 
     @Override
-    public User getUserByConnectionHashCode(int connectionHashCode) {
-        return this.allUsers.stream()
-            .filter(user -> user.getConnectionHashCode() == connectionHashCode)
-            .findFirst()
-            .orElse(null);
+    public User getUserByConnectionId(long connectionId) {
+        return this.usersByConnectionId.get(connectionId);
     }
 
     @Override
     public Room getRoomWithUser(UUID userUuid) {
-        User user = this.getUser(userUuid);
-        return this.allRooms.stream()
-            .filter(room -> room.userExists(user))
-            .findFirst()
-            .orElse(null);
+        if (this.getUser(userUuid) == null) return null;
+        return this.roomsByUserUuid.get(userUuid);
     }
 
     @Override
     public void isUserInRoom(UUID uuid) throws UserAlreadyInRoomException {
-        User user = getUser(uuid);
-        if (user != null) {
-            for (Room r : getAllRooms())
-                if (r.getAllUsers().contains(user))
-                    throw new UserAlreadyInRoomException("Leave your current room before joining another.");
+        if (getRoomWithUser(uuid) != null)
+            throw new UserAlreadyInRoomException("Leave your current room before joining another.");
+    }
+
+
+    /**
+     * Map which also remembers the order in which the values were added.
+     * Values replaced under the same key keep their original position.
+     */
+    private static class OrderedIndex<K, V> {
+
+        private final AtomicLong lastPosition = new AtomicLong();
+        private final ConcurrentHashMap<K, Entry<V>> byKey = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<Long, V> byPosition = new ConcurrentSkipListMap<>();
+
+        private V get(K key) {
+            Entry<V> entry = this.byKey.get(key);
+            return entry == null ? null : entry.value;
+        }
+
+        private void put(K key, V value) {
+            this.byKey.compute(key, (k, entry) -> {
+                long position = entry == null ? this.lastPosition.incrementAndGet() : entry.position;
+                this.byPosition.put(position, value);
+                return new Entry<>(position, value);
+            });
+        }
+
+        /** Removes the value only if it's the one stored under the key. */
+        private boolean remove(K key, V value) {
+            boolean[] removed = new boolean[1];
+            this.byKey.computeIfPresent(key, (k, entry) -> {
+                if (entry.value != value) return entry;
+                this.byPosition.remove(entry.position);
+                removed[0] = true;
+                return null;
+            });
+            return removed[0];
+        }
+
+        /** @return snapshot of the values in order of addition */
+        private ArrayList<V> values() {
+            return new ArrayList<>(this.byPosition.values());
+        }
+
+        private static final class Entry<V> {
+            private final long position;
+            private final V value;
+
+            private Entry(long position, V value) {
+                this.position = position;
+                this.value = value;
+            }
         }
     }
 }
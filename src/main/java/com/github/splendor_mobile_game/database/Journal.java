@@ -0,0 +1,53 @@
+package com.github.splendor_mobile_game.database;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.game.model.Noble;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.game.model.TokenVector;
+
+/**
+ * Receives every change of the rooms and their games right after it's made, in the order the changes are made.
+ * Replaying the changes in the same order rebuilds the rooms, games are dealt again from their seeds.
+ *
+ * Methods are called from the lanes of the rooms, so changes of different rooms may come from different threads.
+ * Every method does nothing by default.
+ */
+public interface Journal {
+
+    /** Journal which drops all the changes. */
+    Journal NONE = new Journal() {};
+
+    /** Room has been stored together with its current members, the first one is the owner. */
+    default void roomCreated(Room room) {}
+
+    default void roomDeleted(Room room) {}
+
+    default void userJoined(Room room, User user) {}
+
+    default void userLeft(Room room, User user) {}
+
+    default void ownerChanged(Room room, User owner) {}
+
+    default void gameStarted(Room room, long seed) {}
+
+    /** Turn has passed to the next player. */
+    default void turnChanged(Room room) {}
+
+    default void lastTurnChanged(Room room, boolean lastTurn) {}
+
+    default void gameEnded(Room room) {}
+
+    default void tokensExchanged(Room room, User user, TokenVector tokensChange) {}
+
+    default void revealedCardBought(Room room, User user, Card card) {}
+
+    default void reservedCardBought(Room room, User user, Card card) {}
+
+    default void cardReservedFromDeck(Room room, User user, CardTier tier) {}
+
+    default void cardReservedFromTable(Room room, User user, Card card) {}
+
+    default void nobleTaken(Room room, User user, Noble noble) {}
+}
@@ -0,0 +1,283 @@
+package com.github.splendor_mobile_game.database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Game;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Rebuilds the rooms by replaying the records of a {@link MappedJournal} against the database.
+ * Games are dealt again from their seeds and the actions of the players are made again in the same order,
+ * so every game ends up in the state it was in when the last record was written.
+ *
+ * Members of the rebuilt rooms are disconnected until they resume their sessions. Rooms which are already
+ * in the database, ie. loaded from SQLite, are reused. Records which can't be applied are logged and skipped.
+ * When the rooms have been loaded from a {@link Snapshot}, only the records it doesn't cover are replayed.
+ * Replaying must finish before the journal is attached to the database, otherwise the records would be written again.
+ */
+public class JournalReplayer {
+
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+    private static final CardTier[] TIERS = CardTier.values();
+
+    private final Database database;
+
+    private long records = 0;
+    private long skippedRecords = 0;
+    private long games = 0;
+
+    public JournalReplayer(Database database) {
+        this.database = database;
+    }
+
+    /**
+     * Replays all the segments of the journal in the directory.
+     *
+     * @param directory directory of the segment files, nothing is replayed if it doesn't exist
+     * @throws IOException if a segment can't be read
+     */
+    public void replay(Path directory) throws IOException {
+        this.replay(directory, Snapshot.NONE);
+    }
+
+    /**
+     * Replays the records of the journal in the directory which come after the snapshot.
+     *
+     * @param directory directory of the segment files, nothing is replayed if it doesn't exist
+     * @param snapshot snapshot the rooms have been loaded from
+     * @throws IOException if a segment can't be read
+     */
+    public void replay(Path directory, Snapshot snapshot) throws IOException {
+        long start = System.nanoTime();
+
+        int firstSegment = MappedJournal.segmentOf(snapshot.getJournalPosition());
+        List<Path> segments = new ArrayList<>();
+        for (Path segment : MappedJournal.listSegments(directory)) {
+            if (MappedJournal.segmentNumber(segment) >= firstSegment) segments.add(segment);
+        }
+        for (Path segment : segments) {
+            this.replaySegment(segment, snapshot);
+        }
+
+        // Users of the rooms deleted in the meantime have nothing to resume
+        for (User user : this.database.getAllUsers()) {
+            if (!user.isConnected() && this.database.getRoomWithUser(user.getUuid()) == null) {
+                this.database.deleteUser(user);
+            }
+        }
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        Log.INFO(String.format(
+            "Replayed %d records of %d games from %d journal segments in %.3fs (%.0f games/s), %d records skipped, %d rooms restored.",
+            this.records, this.games, segments.size(), seconds, this.games / seconds, this.skippedRecords, this.database.getAllRooms().size()
+        ));
+    }
+
+    private void replaySegment(Path file, Snapshot snapshot) throws IOException {
+        MappedByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        // Records before the snapshot are covered by it
+        int segmentNumber = MappedJournal.segmentNumber(file);
+        int position = 0;
+        if (segmentNumber == MappedJournal.segmentOf(snapshot.getJournalPosition())) {
+            position = MappedJournal.offsetOf(snapshot.getJournalPosition());
+        }
+
+        int length;
+        while ((length = MappedJournal.recordLength(segment, position)) > 0) {
+            ByteBuffer record = segment.slice(position + MappedJournal.LENGTH_SIZE, length);
+            long recordPosition = MappedJournal.position(segmentNumber, position);
+            position += MappedJournal.LENGTH_SIZE + length;
+
+            // Room has been captured by the snapshot after the record
+            UUID roomUuid = new UUID(record.getLong(1), record.getLong(1 + Long.BYTES));
+            if (snapshot.covers(roomUuid, recordPosition)) continue;
+
+            this.records++;
+            try {
+                if (!this.apply(record)) this.skippedRecords++;
+            } catch (Exception e) {
+                this.skippedRecords++;
+                Log.WARNING("Couldn't replay journal record: " + e.getMessage());
+            }
+        }
+    }
+
+    /** @return false if the record refers to a room or user which doesn't exist */
+    private boolean apply(ByteBuffer record) throws Exception {
+        byte type = record.get();
+        UUID roomUuid = getUuid(record);
+
+        if (type == MappedJournal.ROOM_CREATED) {
+            this.createRoom(roomUuid, record);
+            return true;
+        }
+
+        Room room = this.database.getRoom(roomUuid);
+        if (room == null) return false;
+
+        switch (type) {
+            case MappedJournal.ROOM_DELETED:
+                this.database.deleteRoom(room);
+                return true;
+            case MappedJournal.USER_JOINED:
+                room.joinGame(this.restoreUser(getUuid(record), getString(record), getBytes(record), room));
+                return true;
+            case MappedJournal.GAME_STARTED:
+                room.startGame(record.getLong());
+                this.games++;
+                return true;
+            case MappedJournal.TURN_CHANGED:
+                // Player whose turn has ended can act again in their next turn
+                User previous = room.getCurrentPlayer();
+                room.changeTurn();
+                if (previous != null) previous.setPerformedAction(false);
+                return true;
+            case MappedJournal.LAST_TURN_CHANGED:
+                room.setLastTurn(record.get() != 0);
+                return true;
+            case MappedJournal.GAME_ENDED:
+                room.endGame();
+                return true;
+            default:
+                break;
+        }
+
+        User user = this.database.getUser(getUuid(record));
+        if (user == null) return false;
+
+        switch (type) {
+            case MappedJournal.USER_LEFT:
+                room.leaveGame(user);
+                return true;
+            case MappedJournal.OWNER_CHANGED:
+                room.setOwner(user);
+                return true;
+            default:
+                break;
+        }
+
+        Game game = room.getGame();
+        if (game == null) return false;
+
+        switch (type) {
+            case MappedJournal.TOKENS_EXCHANGED:
+                TokenVector tokensChange = new TokenVector();
+                for (TokenType tokenType : TOKEN_TYPES) {
+                    tokensChange.set(tokenType, record.get());
+                }
+                game.exchangeTokens(user, tokensChange);
+                break;
+            case MappedJournal.REVEALED_CARD_BOUGHT:
+                game.buyRevealedCard(user, this.database.getCardCatalog().get(record.getShort()));
+                break;
+            case MappedJournal.RESERVED_CARD_BOUGHT:
+                game.buyReservedCard(user, this.database.getCardCatalog().get(record.getShort()));
+                break;
+            case MappedJournal.CARD_RESERVED_FROM_DECK:
+                game.reserveCardFromDeck(TIERS[record.get()], user);
+                break;
+            case MappedJournal.CARD_RESERVED_FROM_TABLE:
+                game.reserveCardFromTable(this.database.getCardCatalog().get(record.getShort()), user);
+                break;
+            case MappedJournal.NOBLE_TAKEN:
+                // Taking a noble ends the turn, it isn't an action of its own
+                game.takeNobleIfPossible(user, this.database.getNobleCatalog().get(record.get()));
+                return true;
+            default:
+                throw new IllegalStateException("Unknown record type " + type + ".");
+        }
+
+        user.setPerformedAction(true);
+        return true;
+    }
+
+    private void createRoom(UUID roomUuid, ByteBuffer record) {
+        // Room has already been loaded by the database
+        if (this.database.getRoom(roomUuid) != null) return;
+
+        String name = getString(record);
+        String password = getString(record);
+
+        int memberCount = record.get();
+        List<User> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            members.add(this.restoreUser(getUuid(record), getString(record), getBytes(record), null));
+        }
+
+        Room room = new Room(roomUuid, name, password, members.get(0), this.database);
+        for (User member : members) {
+            room.joinGame(member);
+        }
+        this.database.addRoom(room);
+    }
+
+    /**
+     * Members of the rooms loaded by the database are kept as they are, everyone else joins as a new user,
+     * the same as they do when they create or join a room. Either way they get the resume token hash of the record.
+     */
+    private User restoreUser(UUID uuid, String name, byte[] resumeTokenHash, Room room) {
+        User user = this.database.getUser(uuid);
+        if (user != null && room != null && this.database.getRoomWithUser(uuid) == room) {
+            user.setResumeTokenHash(resumeTokenHash);
+            return user;
+        }
+        if (user != null) this.database.deleteUser(user);
+
+        user = User.restored(uuid, name);
+        user.setResumeTokenHash(resumeTokenHash);
+        this.database.addUser(user);
+        return user;
+    }
+
+    private static UUID getUuid(ByteBuffer record) {
+        return new UUID(record.getLong(), record.getLong());
+    }
+
+    private static String getString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] getBytes(ByteBuffer record) {
+        int length = Byte.toUnsignedInt(record.get());
+        if (length == 0) return null;
+
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return bytes;
+    }
+
+    /** @return number of records read */
+    public long getRecords() {
+        return records;
+    }
+
+    /** @return number of records which couldn't be applied */
+    public long getSkippedRecords() {
+        return skippedRecords;
+    }
+
+    /** @return number of games started by the replayed records */
+    public long getGames() {
+        return games;
+    }
+}
@@ -0,0 +1,443 @@
+package com.github.splendor_mobile_game.database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.game.model.CardCatalog;
+import com.github.splendor_mobile_game.game.model.Noble;
+import com.github.splendor_mobile_game.game.model.NobleCatalog;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Journal appended to memory-mapped segment files in a directory, it's read back by {@link JournalReplayer}.
+ *
+ * Every record is: length of the rest of the record (short), type (byte), uuid of the room, then the fields of the change.
+ * Cards and nobles are stored as their catalog ids, tokens as signed bytes. Members are stored with the hash of their
+ * resume token, so they can resume their sessions after a restart. The length is written after the rest
+ * of the record, so a record cut off by a crash has length 0 and marks the end of the journal.
+ * When a record doesn't fit in the current segment, the next segment is started.
+ *
+ * Appending only copies the record to the mapped memory, writing it to the disk is left to the operating system,
+ * so records survive a crash of the server but not of the machine.
+ * Records are built in a buffer of the appending thread and their place in the segment is reserved with an atomic counter,
+ * so rooms append at the same time. The next segment is mapped in advance and the full one is forced to the disk
+ * in the background, so starting a segment doesn't stall the rooms.
+ *
+ * Position of a record is the number of its segment in the upper 32 bits and its offset in the lower ones,
+ * so later records have greater positions. Segments covered by a snapshot can be deleted.
+ */
+public class MappedJournal implements Journal, AutoCloseable {
+
+    /** Size of a new segment file. */
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    static final byte ROOM_CREATED = 1;
+    static final byte ROOM_DELETED = 2;
+    static final byte USER_JOINED = 3;
+    static final byte USER_LEFT = 4;
+    static final byte OWNER_CHANGED = 5;
+    static final byte GAME_STARTED = 6;
+    static final byte TURN_CHANGED = 7;
+    static final byte LAST_TURN_CHANGED = 8;
+    static final byte GAME_ENDED = 9;
+    static final byte TOKENS_EXCHANGED = 10;
+    static final byte REVEALED_CARD_BOUGHT = 11;
+    static final byte RESERVED_CARD_BOUGHT = 12;
+    static final byte CARD_RESERVED_FROM_DECK = 13;
+    static final byte CARD_RESERVED_FROM_TABLE = 14;
+    static final byte NOBLE_TAKEN = 15;
+
+    /** Size of the length field in front of every record. */
+    static final int LENGTH_SIZE = Short.BYTES;
+
+    /** Longer names are cut, so every record fits in its length field. */
+    private static final int MAX_STRING_LENGTH = 256;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{8})\\.seg");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CardCatalog cardCatalog;
+    private final NobleCatalog nobleCatalog;
+
+    /** Records are built in a buffer of the appending thread before they are copied to the segment. */
+    private final ThreadLocal<ByteBuffer> records = ThreadLocal.withInitial(() -> ByteBuffer.allocate(Short.MAX_VALUE));
+
+    /** Maps the next segments and forces the full ones to the disk. */
+    private final ExecutorService segmentWorker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-segments");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Segment segment;
+    private Future<Segment> nextSegment;
+    private volatile boolean closed = false;
+
+    /** Segment file mapped to the memory with the end of the space reserved by records. */
+    private static class Segment {
+        final int number;
+        final MappedByteBuffer buffer;
+        final AtomicInteger reserved;
+
+        Segment(int number, MappedByteBuffer buffer, int reserved) {
+            this.number = number;
+            this.buffer = buffer;
+            this.reserved = new AtomicInteger(reserved);
+        }
+
+        /** @return end of the records in the segment, reservations which didn't fit aren't counted */
+        int end() {
+            return Math.min(this.reserved.get(), this.buffer.capacity());
+        }
+    }
+
+    public MappedJournal(Path directory, CardCatalog cardCatalog, NobleCatalog nobleCatalog) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, cardCatalog, nobleCatalog);
+    }
+
+    /**
+     * Opens the journal in the directory, new records are appended after the last complete record.
+     *
+     * @param directory directory of the segment files, it's created if it doesn't exist
+     * @param segmentSize size of new segment files in bytes
+     * @throws IOException if the last segment can't be mapped
+     */
+    MappedJournal(Path directory, int segmentSize, CardCatalog cardCatalog, NobleCatalog nobleCatalog) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.cardCatalog = cardCatalog;
+        this.nobleCatalog = nobleCatalog;
+
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments(directory);
+        if (segments.isEmpty()) {
+            this.segment = this.openSegment(1);
+        } else {
+            this.segment = this.openSegment(segmentNumber(segments.get(segments.size() - 1)));
+        }
+        this.mapNextSegment();
+    }
+
+    /** @return segment files in the directory, in the order they have been written */
+    static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return segments;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                .sorted()
+                .forEach(segments::add);
+        }
+        return segments;
+    }
+
+    static long position(int segmentNumber, int offset) {
+        return ((long) segmentNumber << 32) | offset;
+    }
+
+    static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    static int offsetOf(long position) {
+        return (int) position;
+    }
+
+    static int segmentNumber(Path segment) {
+        Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        matcher.matches();
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    /**
+     * @param segment the segment read
+     * @param position position of the length field of the record
+     * @return length of the record after the length field, 0 if there are no more complete records in the segment
+     */
+    static int recordLength(ByteBuffer segment, int position) {
+        if (segment.limit() - position < LENGTH_SIZE) return 0;
+
+        int length = segment.getShort(position);
+        if (length <= 0 || position + LENGTH_SIZE + length > segment.limit()) return 0;
+        return length;
+    }
+
+    /** @return position just after the last complete record of the segment */
+    static int endOfRecords(ByteBuffer segment) {
+        int position = 0;
+        int length;
+        while ((length = recordLength(segment, position)) > 0) {
+            position += LENGTH_SIZE + length;
+        }
+        return position;
+    }
+
+    /** Maps the segment, new records are appended after its last complete record. */
+    private Segment openSegment(int number) throws IOException {
+        Path file = this.directory.resolve(String.format("journal-%08d.seg", number));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Segments written with a bigger size are kept whole
+            long size = Math.max(channel.size(), this.segmentSize);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(number, buffer, endOfRecords(buffer));
+        }
+    }
+
+    /** The segment after the current one is mapped in the background, so it's ready when the current one is full. */
+    private void mapNextSegment() {
+        int number = this.segment.number + 1;
+        this.nextSegment = this.segmentWorker.submit(() -> this.openSegment(number));
+    }
+
+    /** @return position the next record is going to be appended at */
+    public long position() {
+        Segment segment = this.segment;
+        return position(segment.number, segment.end());
+    }
+
+    /**
+     * Deletes the segments which hold only records before the position, ie. after they are covered by a snapshot.
+     * The segment being appended to is never deleted.
+     */
+    public void deleteSegmentsBefore(long position) throws IOException {
+        int firstKept = segmentOf(position);
+        for (Path file : listSegments(this.directory)) {
+            if (segmentNumber(file) < firstKept) Files.deleteIfExists(file);
+        }
+    }
+
+    /** Flushes the records to the disk, nothing is appended afterwards. */
+    @Override
+    public synchronized void close() {
+        if (this.closed) return;
+        this.closed = true;
+
+        // Full segments which are still being forced are finished first
+        this.segmentWorker.shutdown();
+        try {
+            this.segmentWorker.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.segment.buffer.force();
+    }
+
+    private ByteBuffer begin(byte type, Room room) {
+        ByteBuffer record = this.records.get();
+        record.clear();
+        record.put(type);
+        putUuid(record, room.getUuid());
+        return record;
+    }
+
+    private static void putUuid(ByteBuffer record, UUID uuid) {
+        record.putLong(uuid.getMostSignificantBits());
+        record.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void putString(ByteBuffer record, String string) {
+        if (string.length() > MAX_STRING_LENGTH) string = string.substring(0, MAX_STRING_LENGTH);
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        record.putShort((short) bytes.length);
+        record.put(bytes);
+    }
+
+    /** Bytes are preceded by their count, null is stored as no bytes. */
+    private static void putBytes(ByteBuffer record, byte[] bytes) {
+        int length = bytes == null ? 0 : Math.min(bytes.length, 0xFF);
+        record.put((byte) length);
+        if (length > 0) record.put(bytes, 0, length);
+    }
+
+    private static void putUser(ByteBuffer record, User user) {
+        putUuid(record, user.getUuid());
+        putString(record, user.getName());
+        putBytes(record, user.getResumeTokenHash());
+    }
+
+    /** Copies the built record to the place reserved for it in the segment, the length goes last. */
+    private void append(ByteBuffer record) {
+        record.flip();
+        int length = record.remaining();
+
+        while (!this.closed) {
+            Segment segment = this.segment;
+            int position = segment.reserved.getAndAdd(LENGTH_SIZE + length);
+            if (position + LENGTH_SIZE + length <= segment.buffer.capacity()) {
+                segment.buffer.put(position + LENGTH_SIZE, record, 0, length);
+                segment.buffer.putShort(position, (short) length);
+                return;
+            }
+
+            // The record doesn't fit, the first thread to find out starts the next segment
+            if (!this.startNextSegment(segment)) return;
+        }
+    }
+
+    /**
+     * Replaces the full segment with the one mapped in advance, the full one is forced to the disk in the background.
+     *
+     * @param full segment the record didn't fit in
+     * @return false if journaling has stopped
+     */
+    private synchronized boolean startNextSegment(Segment full) {
+        if (this.closed) return false;
+        if (this.segment != full) return true;
+
+        try {
+            this.segment = this.nextSegment.get();
+        } catch (ExecutionException | InterruptedException e) {
+            // State in memory is already changed, records after a gap couldn't be replayed
+            Log.ERROR("Couldn't start a new journal segment, journaling has stopped: " + e.getMessage());
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            this.closed = true;
+            return false;
+        }
+        this.segmentWorker.execute(full.buffer::force);
+        this.mapNextSegment();
+        return true;
+    }
+
+    @Override
+    public void roomCreated(Room room) {
+        ByteBuffer record = this.begin(ROOM_CREATED, room);
+        putString(record, room.getName());
+        putString(record, room.getPassword());
+
+        // The owner goes first
+        ArrayList<User> users = room.getAllUsers();
+        record.put((byte) users.size());
+        putUser(record, room.getOwner());
+        for (User user : users) {
+            if (user != room.getOwner()) putUser(record, user);
+        }
+        this.append(record);
+    }
+
+    @Override
+    public void roomDeleted(Room room) {
+        ByteBuffer record = this.begin(ROOM_DELETED, room);
+        this.append(record);
+    }
+
+    @Override
+    public void userJoined(Room room, User user) {
+        ByteBuffer record = this.begin(USER_JOINED, room);
+        putUser(record, user);
+        this.append(record);
+    }
+
+    @Override
+    public void userLeft(Room room, User user) {
+        ByteBuffer record = this.begin(USER_LEFT, room);
+        putUuid(record, user.getUuid());
+        this.append(record);
+    }
+
+    @Override
+    public void ownerChanged(Room room, User owner) {
+        ByteBuffer record = this.begin(OWNER_CHANGED, room);
+        putUuid(record, owner.getUuid());
+        this.append(record);
+    }
+
+    @Override
+    public void gameStarted(Room room, long seed) {
+        ByteBuffer record = this.begin(GAME_STARTED, room);
+        record.putLong(seed);
+        this.append(record);
+    }
+
+    @Override
+    public void turnChanged(Room room) {
+        ByteBuffer record = this.begin(TURN_CHANGED, room);
+        this.append(record);
+    }
+
+    @Override
+    public void lastTurnChanged(Room room, boolean lastTurn) {
+        ByteBuffer record = this.begin(LAST_TURN_CHANGED, room);
+        record.put((byte) (lastTurn ? 1 : 0));
+        this.append(record);
+    }
+
+    @Override
+    public void gameEnded(Room room) {
+        ByteBuffer record = this.begin(GAME_ENDED, room);
+        this.append(record);
+    }
+
+    @Override
+    public void tokensExchanged(Room room, User user, TokenVector tokensChange) {
+        ByteBuffer record = this.begin(TOKENS_EXCHANGED, room);
+        putUuid(record, user.getUuid());
+        for (int count : tokensChange.toArray()) {
+            record.put((byte) count);
+        }
+        this.append(record);
+    }
+
+    @Override
+    public void revealedCardBought(Room room, User user, Card card) {
+        ByteBuffer record = this.begin(REVEALED_CARD_BOUGHT, room);
+        putUuid(record, user.getUuid());
+        record.putShort((short) this.cardCatalog.idOf(card.getUuid()));
+        this.append(record);
+    }
+
+    @Override
+    public void reservedCardBought(Room room, User user, Card card) {
+        ByteBuffer record = this.begin(RESERVED_CARD_BOUGHT, room);
+        putUuid(record, user.getUuid());
+        record.putShort((short) this.cardCatalog.idOf(card.getUuid()));
+        this.append(record);
+    }
+
+    @Override
+    public void cardReservedFromDeck(Room room, User user, CardTier tier) {
+        ByteBuffer record = this.begin(CARD_RESERVED_FROM_DECK, room);
+        putUuid(record, user.getUuid());
+        record.put((byte) tier.ordinal());
+        this.append(record);
+    }
+
+    @Override
+    public void cardReservedFromTable(Room room, User user, Card card) {
+        ByteBuffer record = this.begin(CARD_RESERVED_FROM_TABLE, room);
+        putUuid(record, user.getUuid());
+        record.putShort((short) this.cardCatalog.idOf(card.getUuid()));
+        this.append(record);
+    }
+
+    @Override
+    public void nobleTaken(Room room, User user, Noble noble) {
+        ByteBuffer record = this.begin(NOBLE_TAKEN, room);
+        putUuid(record, user.getUuid());
+        record.put((byte) this.nobleCatalog.idOf(noble));
+        this.append(record);
+    }
+}
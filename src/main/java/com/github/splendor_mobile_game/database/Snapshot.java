@@ -0,0 +1,44 @@
+package com.github.splendor_mobile_game.database;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tells which records of the journal are already part of the snapshot the rooms have been loaded from.
+ * Rooms are captured one by one, so every room has its own position in the journal, it's never before the
+ * position of the whole snapshot. Records of the rooms created later are all replayed.
+ */
+public final class Snapshot {
+
+    /** No snapshot, the whole journal is replayed. */
+    public static final Snapshot NONE = new Snapshot(0, Collections.emptyMap());
+
+    private final long journalPosition;
+    private final Map<UUID, Long> roomPositions;
+
+    /**
+     * @param journalPosition position of the journal when the snapshot started
+     * @param roomPositions position of the journal when each room was captured
+     */
+    Snapshot(long journalPosition, Map<UUID, Long> roomPositions) {
+        this.journalPosition = journalPosition;
+        this.roomPositions = roomPositions;
+    }
+
+    public long getJournalPosition() {
+        return journalPosition;
+    }
+
+    /** @return number of rooms in the snapshot */
+    public int getRoomCount() {
+        return roomPositions.size();
+    }
+
+    /** @return true if the change of the room journaled at the position has been captured by the snapshot */
+    boolean covers(UUID roomUuid, long position) {
+        if (position < this.journalPosition) return true;
+        Long roomPosition = this.roomPositions.get(roomUuid);
+        return roomPosition != null && position < roomPosition;
+    }
+}
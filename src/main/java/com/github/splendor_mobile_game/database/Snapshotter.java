@@ -0,0 +1,256 @@
+package com.github.splendor_mobile_game.database;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Periodically writes the state of all the rooms to a snapshot file next to the journal, so a restart loads
+ * the snapshot and replays only the records written after it. Segments of the journal covered by the snapshot
+ * are deleted, so the journal doesn't grow with the time the server runs.
+ *
+ * Every room is encoded by a task in its own lane, between the changes made by its reactions, the encoded bytes
+ * are the copy of the room. Waiting for the rooms and writing the file happen on the thread of the snapshotter.
+ *
+ * The file is: magic, format version, journal position when the snapshot started, number of rooms,
+ * then for every room the journal position when it was captured, the length of the room and the room itself.
+ */
+public class Snapshotter implements AutoCloseable {
+
+    private static final int MAGIC = 0x53504c53;
+    private static final short FORMAT_VERSION = 2;
+
+    /** How long a room can take to be captured, its lane might be busy. */
+    private static final long CAPTURE_TIMEOUT_SEC = 10;
+
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-[0-9a-f]{16}\\.snap");
+
+    private final Path directory;
+    private final Database database;
+    private final MappedJournal journal;
+    private final BiConsumer<UUID, Runnable> lanes;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param directory directory of the journal, snapshots are written next to its segments
+     * @param database database with the rooms
+     * @param journal journal the snapshots are taken of
+     * @param lanes runs the task in the lane of the room with the uuid
+     */
+    public Snapshotter(Path directory, Database database, MappedJournal journal, BiConsumer<UUID, Runnable> lanes) {
+        this.directory = directory;
+        this.database = database;
+        this.journal = journal;
+        this.lanes = lanes;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Takes a snapshot every interval. */
+    public void start(int intervalSec) {
+        this.scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                this.takeSnapshot();
+            } catch (Exception e) {
+                Log.ERROR("Couldn't take a snapshot: " + e.getMessage());
+            }
+        }, intervalSec, intervalSec, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.shutdown();
+        try {
+            this.scheduler.awaitTermination(CAPTURE_TIMEOUT_SEC, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Captured {
+        private final long journalPosition;
+        private final byte[] room;
+
+        private Captured(long journalPosition, byte[] room) {
+            this.journalPosition = journalPosition;
+            this.room = room;
+        }
+    }
+
+    /** Encodes the room, it's called in the lane of the room. Null if the room has been deleted in the meantime. */
+    private Captured capture(Room room) throws IOException {
+        if (this.database.getRoom(room.getUuid()) != room || room.getAllUsers().isEmpty()) return null;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        room.writeSnapshot(new DataOutputStream(bytes));
+        return new Captured(this.journal.position(), bytes.toByteArray());
+    }
+
+    /**
+     * Captures all the rooms and writes them to a new snapshot file, then deletes older snapshots and journal segments.
+     *
+     * @throws IOException if the file can't be written
+     * @throws InterruptedException if the thread is interrupted while waiting for the rooms
+     */
+    void takeSnapshot() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+
+        // Taken before the rooms are listed, so the rooms created later are replayed from the journal
+        long journalPosition = this.journal.position();
+
+        List<CompletableFuture<Captured>> captures = new ArrayList<>();
+        for (Room room : this.database.getAllRooms()) {
+            CompletableFuture<Captured> capture = new CompletableFuture<>();
+            this.lanes.accept(room.getUuid(), () -> {
+                try {
+                    capture.complete(this.capture(room));
+                } catch (Exception e) {
+                    capture.completeExceptionally(e);
+                }
+            });
+            captures.add(capture);
+        }
+
+        List<Captured> rooms = new ArrayList<>(captures.size());
+        for (CompletableFuture<Captured> capture : captures) {
+            try {
+                Captured captured = capture.get(CAPTURE_TIMEOUT_SEC, TimeUnit.SECONDS);
+                if (captured != null) rooms.add(captured);
+            } catch (ExecutionException | TimeoutException e) {
+                // Missing room would be lost together with the deleted segments
+                throw new IOException("Room couldn't be captured: " + e, e);
+            }
+        }
+
+        Path temporary = this.directory.resolve("snapshot.tmp");
+        long size;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeLong(journalPosition);
+            out.writeInt(rooms.size());
+            for (Captured room : rooms) {
+                out.writeLong(room.journalPosition);
+                out.writeInt(room.room.length);
+                out.write(room.room);
+            }
+            out.flush();
+            channel.force(true);
+            size = channel.size();
+        }
+
+        Path file = this.directory.resolve(String.format("snapshot-%016x.snap", journalPosition));
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (Path older : listSnapshots(this.directory)) {
+            if (!older.equals(file)) Files.deleteIfExists(older);
+        }
+        this.journal.deleteSegmentsBefore(journalPosition);
+
+        Log.INFO("Snapshot of " + rooms.size() + " rooms (" + size + " bytes) has been written in " +
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms.");
+    }
+
+    /** @return snapshot files in the directory, from the oldest one */
+    private static List<Path> listSnapshots(Path directory) throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return snapshots;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> SNAPSHOT_NAME.matcher(file.getFileName().toString()).matches())
+                .sorted()
+                .forEach(snapshots::add);
+        }
+        return snapshots;
+    }
+
+    /**
+     * Loads the rooms from the latest snapshot in the directory into the database. Rooms already in the database,
+     * ie. loaded from SQLite, are replaced, since the snapshot is newer. Members of the rooms are disconnected.
+     *
+     * @param directory directory of the journal
+     * @param database database the rooms are added to, the journal mustn't be attached yet
+     * @return the loaded snapshot, {@link Snapshot#NONE} if there isn't any
+     * @throws IOException if the snapshot can't be read
+     */
+    public static Snapshot load(Path directory, Database database) throws IOException {
+        List<Path> snapshots = listSnapshots(directory);
+        if (snapshots.isEmpty()) return Snapshot.NONE;
+
+        long start = System.nanoTime();
+        Path file = snapshots.get(snapshots.size() - 1);
+        MappedByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (in.getInt() != MAGIC || in.getShort() != FORMAT_VERSION)
+            throw new IOException("Unknown format of snapshot " + file + ".");
+
+        long journalPosition = in.getLong();
+        int roomCount = in.getInt();
+        Map<UUID, Long> roomPositions = new HashMap<>(roomCount * 2);
+        for (int i = 0; i < roomCount; i++) {
+            long roomPosition = in.getLong();
+            int length = in.getInt();
+            ByteBuffer roomBytes = in.slice(in.position(), length);
+            in.position(in.position() + length);
+
+            Room room = Room.readSnapshot(roomBytes, database);
+            addRoom(database, room);
+            roomPositions.put(room.getUuid(), roomPosition);
+        }
+
+        Log.INFO("Loaded " + roomCount + " rooms from " + file.getFileName() + " in " +
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms.");
+        return new Snapshot(journalPosition, roomPositions);
+    }
+
+    private static void addRoom(Database database, Room room) {
+        Room loaded = database.getRoom(room.getUuid());
+        if (loaded != null) {
+            database.deleteRoom(loaded);
+            for (User user : loaded.getAllUsers()) {
+                database.deleteUser(user);
+            }
+        }
+
+        for (User user : room.getAllUsers()) {
+            User existing = database.getUser(user.getUuid());
+            if (existing != null) database.deleteUser(existing);
+            database.addUser(user);
+        }
+        database.addRoom(room);
+    }
+}
@@ -1,116 +1,426 @@
 package com.github.splendor_mobile_game.database;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.game.enums.CardTier;
 import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.game.model.CardCatalog;
+import com.github.splendor_mobile_game.game.model.Leaderboard;
 import com.github.splendor_mobile_game.game.model.Noble;
+import com.github.splendor_mobile_game.game.model.NobleCatalog;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserAlreadyInRoomException;
+import com.github.splendor_mobile_game.websocket.utils.Log;
 
 
-// Probably we won't implement any of real database any time soon
-// Candidate to delete for now
-public class SqliteDatabase implements Database {
+/**
+ * Database which keeps rooms and results of finished games in an SQLite file, so they survive a restart of the server.
+ *
+ * All the state used by the game stays in an {@link InMemoryDatabase} and is read from there. Changes of rooms and
+ * finished games are queued to a {@link SqliteWriter}, which writes them in the background, so the game never waits for the disk.
+ * Games in progress aren't stored. After a restart rooms are loaded back with their members disconnected,
+ * members keep the hash of their resume token, so the players can resume their sessions.
+ */
+public class SqliteDatabase implements Database, AutoCloseable {
+
+    private final InMemoryDatabase memory = new InMemoryDatabase();
+
+    private final SqliteWriter writer;
+
+    /**
+     * Opens the database file, creates it if it doesn't exist and loads the stored rooms.
+     *
+     * @param path path of the database file
+     * @throws SQLException if the file can't be opened
+     */
+    public SqliteDatabase(String path) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + path);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode = WAL");
+            statement.execute("PRAGMA synchronous = NORMAL");
+            statement.execute("PRAGMA foreign_keys = ON");
+            createTables(statement);
+        }
+
+        loadRooms(connection);
+        loadLeaderboard(connection);
+        this.writer = new SqliteWriter(connection);
+
+        // Loaded rooms have got new enter codes
+        for (Room room : this.memory.getAllRooms()) {
+            this.saveRoom(room);
+        }
+    }
+
+    private static void createTables(Statement statement) throws SQLException {
+        statement.execute(
+            "CREATE TABLE IF NOT EXISTS rooms (" +
+            "uuid TEXT PRIMARY KEY, name TEXT NOT NULL, password TEXT NOT NULL, enter_code TEXT NOT NULL, " +
+            "owner_uuid TEXT NOT NULL, updated_at INTEGER NOT NULL)"
+        );
+        statement.execute(
+            "CREATE TABLE IF NOT EXISTS room_members (" +
+            "room_uuid TEXT NOT NULL REFERENCES rooms (uuid) ON DELETE CASCADE, user_uuid TEXT NOT NULL, " +
+            "name TEXT NOT NULL, position INTEGER NOT NULL, token_hash BLOB, PRIMARY KEY (room_uuid, user_uuid))"
+        );
+        statement.execute(
+            "CREATE TABLE IF NOT EXISTS finished_games (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT, room_uuid TEXT NOT NULL, room_name TEXT NOT NULL, finished_at INTEGER NOT NULL)"
+        );
+        statement.execute(
+            "CREATE TABLE IF NOT EXISTS game_results (" +
+            "game_id INTEGER NOT NULL REFERENCES finished_games (id), user_uuid TEXT NOT NULL, name TEXT NOT NULL, " +
+            "points INTEGER NOT NULL, place INTEGER NOT NULL, cards INTEGER NOT NULL DEFAULT 0, PRIMARY KEY (game_id, user_uuid))"
+        );
+
+        // Results stored before the leaderboard didn't have the number of cards
+        boolean hasCards = false;
+        try (ResultSet columns = statement.executeQuery("PRAGMA table_info(game_results)")) {
+            while (columns.next()) {
+                if (columns.getString("name").equals("cards")) hasCards = true;
+            }
+        }
+        if (!hasCards) statement.execute("ALTER TABLE game_results ADD COLUMN cards INTEGER NOT NULL DEFAULT 0");
+
+        // Members stored before resume tokens had none, they can't resume their sessions
+        boolean hasTokenHash = false;
+        try (ResultSet columns = statement.executeQuery("PRAGMA table_info(room_members)")) {
+            while (columns.next()) {
+                if (columns.getString("name").equals("token_hash")) hasTokenHash = true;
+            }
+        }
+        if (!hasTokenHash) statement.execute("ALTER TABLE room_members ADD COLUMN token_hash BLOB");
+    }
+
+    /**
+     * Loads the stored rooms into memory, their members are disconnected until they resume their sessions.
+     * Rooms are added to the memory directly, so loading them doesn't queue any writes.
+     */
+    private void loadRooms(Connection connection) throws SQLException {
+        Map<String, List<User>> membersByRoom = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT room_uuid, user_uuid, name, token_hash FROM room_members ORDER BY room_uuid, position")) {
+            while (rows.next()) {
+                User user = User.restored(UUID.fromString(rows.getString("user_uuid")), rows.getString("name"));
+                user.setResumeTokenHash(rows.getBytes("token_hash"));
+                membersByRoom.computeIfAbsent(rows.getString("room_uuid"), key -> new ArrayList<>()).add(user);
+            }
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT uuid, name, password, owner_uuid FROM rooms")) {
+            while (rows.next()) {
+                List<User> members = membersByRoom.getOrDefault(rows.getString("uuid"), Collections.emptyList());
+                if (members.isEmpty()) continue;
+
+                // Owner joins first, the first member takes over if the owner has left
+                String ownerUuid = rows.getString("owner_uuid");
+                User owner = members.stream().filter(user -> user.getUuid().toString().equals(ownerUuid)).findFirst().orElse(members.get(0));
+
+                Room room = new Room(UUID.fromString(rows.getString("uuid")), rows.getString("name"), rows.getString("password"), owner, this);
+                for (User member : members) {
+                    this.memory.addUser(member);
+                    if (member != owner) room.joinGame(member);
+                }
+                this.memory.addRoom(room);
+            }
+        }
+
+        Log.INFO("Loaded " + this.memory.getAllRooms().size() + " rooms from SQLite database.");
+    }
+
+    /** Fills the leaderboard with the results of the stored games. */
+    private void loadLeaderboard(Connection connection) throws SQLException {
+        Leaderboard leaderboard = this.memory.getLeaderboard();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT user_uuid, name, points, cards FROM game_results")) {
+            while (rows.next()) {
+                leaderboard.record(UUID.fromString(rows.getString("user_uuid")), rows.getString("name"), rows.getInt("points"), rows.getInt("cards"));
+            }
+        }
+
+        Log.INFO("Loaded " + leaderboard.size() + " players to the leaderboard from SQLite database.");
+    }
+
+    /** Writes the changes queued so far and closes the file. */
+    @Override
+    public void close() {
+        this.writer.close();
+    }
+
+    /** Logs the counters of the background writer every interval. */
+    public void startMetricsLog(int intervalSec) {
+        this.writer.startMetricsLog(intervalSec);
+    }
+
+    /** @return counters of the background writer, ie. how far it lags behind */
+    public SqliteWriter.Metrics getWriterMetrics() {
+        return this.writer.getMetrics();
+    }
+
+    /** Queues storing the room with its current owner, name and enter code. */
+    private void saveRoom(Room room) {
+        String uuid = room.getUuid().toString();
+        String name = room.getName();
+        String password = room.getPassword();
+        String enterCode = room.getEnterCode();
+        String ownerUuid = room.getOwner().getUuid().toString();
+        long updatedAt = System.currentTimeMillis();
+
+        this.writer.enqueue(statements -> {
+            PreparedStatement upsert = statements.upsertRoom;
+            upsert.setString(1, uuid);
+            upsert.setString(2, name);
+            upsert.setString(3, password);
+            upsert.setString(4, enterCode);
+            upsert.setString(5, ownerUuid);
+            upsert.setLong(6, updatedAt);
+            upsert.executeUpdate();
+        });
+    }
+
+    private void saveMember(Room room, User user, int position) {
+        String roomUuid = room.getUuid().toString();
+        String userUuid = user.getUuid().toString();
+        String name = user.getName();
+        byte[] tokenHash = user.getResumeTokenHash();
+
+        this.writer.enqueue(statements -> {
+            PreparedStatement upsert = statements.upsertMember;
+            upsert.setString(1, roomUuid);
+            upsert.setString(2, userUuid);
+            upsert.setString(3, name);
+            upsert.setInt(4, position);
+            upsert.setBytes(5, tokenHash);
+            upsert.executeUpdate();
+        });
+    }
+
+    private boolean isStored(Room room) {
+        return this.memory.getRoom(room.getUuid()) == room;
+    }
 
     @Override
     public void addRoom(Room room) {
-        // TODO Auto-generated method stub
-        
+        this.memory.addRoom(room);
+
+        String roomUuid = room.getUuid().toString();
+        this.saveRoom(room);
+        this.writer.enqueue(statements -> {
+            statements.deleteMembers.setString(1, roomUuid);
+            statements.deleteMembers.executeUpdate();
+        });
+
+        ArrayList<User> users = room.getAllUsers();
+        for (int i = 0; i < users.size(); i++) {
+            this.saveMember(room, users.get(i), i);
+        }
     }
 
     @Override
     public void deleteRoom(Room room) {
+        if (!this.isStored(room)) return;
+        this.memory.deleteRoom(room);
+
+        String roomUuid = room.getUuid().toString();
+        this.writer.enqueue(statements -> {
+            statements.deleteRoom.setString(1, roomUuid);
+            statements.deleteRoom.executeUpdate();
+        });
+    }
+
+    @Override
+    public void userJoinedRoom(User user, Room room) {
+        this.memory.userJoinedRoom(user, room);
+        if (!this.isStored(room)) return;
+
+        this.saveMember(room, user, room.getAllUsers().indexOf(user));
+    }
+
+    @Override
+    public void userLeftRoom(User user, Room room) {
+        this.memory.userLeftRoom(user, room);
+        if (!this.isStored(room)) return;
+
+        String roomUuid = room.getUuid().toString();
+        String userUuid = user.getUuid().toString();
+        this.writer.enqueue(statements -> {
+            statements.deleteMember.setString(1, roomUuid);
+            statements.deleteMember.setString(2, userUuid);
+            statements.deleteMember.executeUpdate();
+        });
+
+        // Ownership might have been passed on
+        this.saveRoom(room);
+    }
+
+    @Override
+    public void gameFinished(Room room) {
+        String roomUuid = room.getUuid().toString();
+        String roomName = room.getName();
+        long finishedAt = System.currentTimeMillis();
+
+        // Players are ranked from the winner
+        List<User> ranking = new ArrayList<>(room.getAllUsers());
+        Collections.sort(ranking);
+        List<Object[]> results = new ArrayList<>();
+        for (int i = 0; i < ranking.size(); i++) {
+            User user = ranking.get(i);
+            results.add(new Object[] { user.getUuid().toString(), user.getName(), user.getPoints(), i + 1, user.getNumberOfPurchesedCards() });
+        }
+        this.memory.gameFinished(room);
+
+        this.writer.enqueue(statements -> {
+            PreparedStatement insertGame = statements.insertFinishedGame;
+            insertGame.setString(1, roomUuid);
+            insertGame.setString(2, roomName);
+            insertGame.setLong(3, finishedAt);
+            insertGame.executeUpdate();
+
+            long gameId;
+            try (ResultSet keys = insertGame.getGeneratedKeys()) {
+                keys.next();
+                gameId = keys.getLong(1);
+            }
+
+            PreparedStatement insertResult = statements.insertGameResult;
+            for (Object[] result : results) {
+                insertResult.setLong(1, gameId);
+                insertResult.setString(2, (String) result[0]);
+                insertResult.setString(3, (String) result[1]);
+                insertResult.setInt(4, (Integer) result[2]);
+                insertResult.setInt(5, (Integer) result[3]);
+                insertResult.setInt(6, (Integer) result[4]);
+                insertResult.executeUpdate();
+            }
+        });
+    }
 
+    @Override
+    public Leaderboard getLeaderboard() {
+        return this.memory.getLeaderboard();
+    }
+
+    @Override
+    public Journal getJournal() {
+        return this.memory.getJournal();
+    }
+
+    @Override
+    public void setJournal(Journal journal) {
+        this.memory.setJournal(journal);
+    }
+
+    @Override
+    public String reserveEnterCode() {
+        return this.memory.reserveEnterCode();
     }
 
     @Override
     public void addUser(User user) {
-        // TODO Auto-generated method stub
-        
+        this.memory.addUser(user);
+    }
+
+    @Override
+    public void deleteUser(User user) {
+        this.memory.deleteUser(user);
+    }
+
+    @Override
+    public void changeConnectionId(User user, long connectionId) {
+        this.memory.changeConnectionId(user, connectionId);
     }
 
     @Override
     public ArrayList<Room> getAllRooms() {
-        // TODO Auto-generated method stub
-        return null;
+        return this.memory.getAllRooms();
     }
 
     @Override
     public ArrayList<User> getAllUsers() {
-        // TODO Auto-generated method stub
-        return null;
+        return this.memory.getAllUsers();
     }
 
     @Override
     public Room getRoom(UUID uuid) {
-        // TODO Auto-generated method stub
-        return null;
+        return this.memory.getRoom(uuid);
     }
 
     @Override
-    public Room getRoom(String name) {
-        return null;
+    public Room getRoom(String enterCode) {
+        return this.memory.getRoom(enterCode);
     }
 
     @Override
     public User getUser(UUID uuid) {
-        // TODO Auto-generated method stub
-        return null;
+        return this.memory.getUser(uuid);
+    }
+
+    @Override
+    public User getUserByConnectionId(long connectionId) {
+        return this.memory.getUserByConnectionId(connectionId);
+    }
+
+    @Override
+    public Room getRoomWithUser(UUID userUuid) {
+        return this.memory.getRoomWithUser(userUuid);
+    }
+
+    @Override
+    public void isUserInRoom(UUID uuid) throws UserAlreadyInRoomException {
+        this.memory.isUserInRoom(uuid);
     }
 
     @Override
     public Card getCard(UUID uuid) {
-        // TODO Auto-generated method stub
-        return null;
+        return this.memory.getCard(uuid);
     }
 
     @Override
     public void loadNobles() {
-        // TODO Auto-generated method stub
+        this.memory.loadNobles();
     }
 
     @Override
     public void loadCards() {
-        // TODO Auto-generated method stub
+        this.memory.loadCards();
     }
 
     @Override
     public ArrayList<Noble> getAllNobles() {
-        // TODO Auto-generated method stub
-        return null;
+        return this.memory.getAllNobles();
     }
 
     @Override
     public ArrayList<Card> getAllCards() {
-        // TODO Auto-generated method stub
-        return null;
+        return this.memory.getAllCards();
     }
 
     @Override
     public ArrayList<Card> getSpecifiedCards(CardTier tier) {
-        // TODO Auto-generated method stub
-        return null;
+        return this.memory.getSpecifiedCards(tier);
     }
 
     @Override
-    public User getUserByConnectionHashCode(int connectionHashCode) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getUserByConnectionHashCode'");
+    public CardCatalog getCardCatalog() {
+        return this.memory.getCardCatalog();
     }
 
     @Override
-    public Room getRoomWithUser(UUID userUuid) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getRoomWithUser'");
+    public NobleCatalog getNobleCatalog() {
+        return this.memory.getNobleCatalog();
     }
 
-    public void isUserInRoom(UUID uuid) throws UserAlreadyInRoomException {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getRoomWithUser'");
-    }
-
-
 }
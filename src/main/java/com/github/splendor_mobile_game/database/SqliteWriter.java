@@ -0,0 +1,274 @@
+package com.github.splendor_mobile_game.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Applies changes to the SQLite database on its own thread, so callers never wait for the disk.
+ * Changes waiting in the queue are written together in one transaction, using statements prepared once.
+ * Failed batches are rolled back and logged, the in-memory state stays as it is.
+ * Its metrics can be logged periodically, a warning is logged when the changes waiting in the queue keep piling up.
+ */
+public class SqliteWriter {
+
+    /** Most changes written in one transaction. */
+    static final int MAX_BATCH_SIZE = 512;
+
+    /** A change, it gets the prepared statements of the writer. */
+    @FunctionalInterface
+    interface Write {
+        void apply(Statements statements) throws SQLException;
+    }
+
+    private static final class Queued {
+        private final Write write;
+        private final long queuedAtNanos;
+
+        private Queued(Write write, long queuedAtNanos) {
+            this.write = write;
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+
+    /** Marks the end of the queue. */
+    private static final Queued STOP = new Queued(statements -> {}, 0);
+
+    private final Connection connection;
+    private final Statements statements;
+    private final BlockingQueue<Queued> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private final ScheduledExecutorService metricsLog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sqlite-metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+    private volatile long lastLagMs;
+    private volatile long maxLagMs;
+    private int lastLoggedPending;
+
+    SqliteWriter(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.connection.setAutoCommit(false);
+        this.statements = new Statements(connection);
+
+        this.thread = new Thread(this::run, "sqlite-writer");
+        this.thread.start();
+    }
+
+    /** Queues the change, it's written in the background. */
+    void enqueue(Write write) {
+        this.queue.add(new Queued(write, System.nanoTime()));
+    }
+
+    /** Logs the metrics every interval. */
+    void startMetricsLog(int intervalSec) {
+        this.metricsLog.scheduleWithFixedDelay(this::logMetrics, intervalSec, intervalSec, TimeUnit.SECONDS);
+    }
+
+    /** Logs the metrics, it warns when more than a batch of changes is waiting and their number has grown since the last log. */
+    void logMetrics() {
+        Metrics metrics = this.getMetrics();
+        if (metrics.getPending() > MAX_BATCH_SIZE && metrics.getPending() > this.lastLoggedPending) {
+            Log.WARNING("SQLite writer is falling behind, pending changes grew from " + this.lastLoggedPending + " to " + metrics.getPending() + ". " + metrics);
+        } else {
+            Log.INFO("SQLite writer. " + metrics);
+        }
+        this.lastLoggedPending = metrics.getPending();
+    }
+
+    /** Writes the changes queued so far and stops the writer. */
+    void close() {
+        this.metricsLog.shutdown();
+        this.queue.add(STOP);
+        try {
+            this.thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Log.INFO("SQLite writer stopped. " + this.getMetrics());
+    }
+
+    private void run() {
+        List<Queued> batch = new ArrayList<>();
+
+        while (true) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            this.queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+            boolean stop = batch.remove(STOP);
+            if (!batch.isEmpty()) {
+                this.writeBatch(batch);
+            }
+            batch.clear();
+
+            if (stop) break;
+        }
+
+        try {
+            this.statements.close();
+            this.connection.close();
+        } catch (SQLException e) {
+            Log.ERROR("Couldn't close SQLite database: " + e.getMessage());
+        }
+    }
+
+    private void writeBatch(List<Queued> batch) {
+        try {
+            for (Queued queued : batch) {
+                queued.write.apply(this.statements);
+            }
+            this.connection.commit();
+        } catch (SQLException e) {
+            this.failedBatches.incrementAndGet();
+            Log.ERROR("Couldn't write " + batch.size() + " changes to SQLite database: " + e.getMessage());
+            try {
+                this.connection.rollback();
+            } catch (SQLException rollbackException) {
+                Log.ERROR("Couldn't roll back SQLite transaction: " + rollbackException.getMessage());
+            }
+            return;
+        }
+
+        // The oldest change of the batch has waited the longest
+        long lagMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.get(0).queuedAtNanos);
+        this.batches.incrementAndGet();
+        this.writes.addAndGet(batch.size());
+        this.lastBatchSize = batch.size();
+        this.maxBatchSize = Math.max(this.maxBatchSize, batch.size());
+        this.lastLagMs = lagMs;
+        this.maxLagMs = Math.max(this.maxLagMs, lagMs);
+    }
+
+    /** @return current state of the writer */
+    Metrics getMetrics() {
+        return new Metrics(
+            this.queue.size(), this.batches.get(), this.writes.get(), this.failedBatches.get(),
+            this.lastBatchSize, this.maxBatchSize, this.lastLagMs, this.maxLagMs
+        );
+    }
+
+    /** Counters of the writer, lag is the time from queueing a change to committing it. */
+    public static final class Metrics {
+        private final int pending;
+        private final long batches;
+        private final long writes;
+        private final long failedBatches;
+        private final int lastBatchSize;
+        private final int maxBatchSize;
+        private final long lastLagMs;
+        private final long maxLagMs;
+
+        private Metrics(int pending, long batches, long writes, long failedBatches, int lastBatchSize, int maxBatchSize, long lastLagMs, long maxLagMs) {
+            this.pending = pending;
+            this.batches = batches;
+            this.writes = writes;
+            this.failedBatches = failedBatches;
+            this.lastBatchSize = lastBatchSize;
+            this.maxBatchSize = maxBatchSize;
+            this.lastLagMs = lastLagMs;
+            this.maxLagMs = maxLagMs;
+        }
+
+        /** @return changes waiting to be written */
+        public int getPending() {
+            return pending;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        public long getWrites() {
+            return writes;
+        }
+
+        public long getFailedBatches() {
+            return failedBatches;
+        }
+
+        public int getLastBatchSize() {
+            return lastBatchSize;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public long getLastLagMs() {
+            return lastLagMs;
+        }
+
+        public long getMaxLagMs() {
+            return maxLagMs;
+        }
+
+        @Override
+        public String toString() {
+            return "Pending: " + pending + ", batches: " + batches + ", writes: " + writes + ", failed batches: " + failedBatches +
+                ", last batch size: " + lastBatchSize + ", max batch size: " + maxBatchSize +
+                ", last lag: " + lastLagMs + "ms, max lag: " + maxLagMs + "ms.";
+        }
+    }
+
+    /** Statements of all the changes, prepared once when the writer starts. */
+    static final class Statements {
+        final PreparedStatement upsertRoom;
+        final PreparedStatement deleteRoom;
+        final PreparedStatement upsertMember;
+        final PreparedStatement deleteMember;
+        final PreparedStatement deleteMembers;
+        final PreparedStatement insertFinishedGame;
+        final PreparedStatement insertGameResult;
+
+        private Statements(Connection connection) throws SQLException {
+            this.upsertRoom = connection.prepareStatement(
+                "INSERT INTO rooms (uuid, name, password, enter_code, owner_uuid, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (uuid) DO UPDATE SET name = excluded.name, password = excluded.password, " +
+                "enter_code = excluded.enter_code, owner_uuid = excluded.owner_uuid, updated_at = excluded.updated_at"
+            );
+            this.deleteRoom = connection.prepareStatement("DELETE FROM rooms WHERE uuid = ?");
+            this.upsertMember = connection.prepareStatement(
+                "INSERT INTO room_members (room_uuid, user_uuid, name, position, token_hash) VALUES (?, ?, ?, ?, ?) " +
+                "ON CONFLICT (room_uuid, user_uuid) DO UPDATE SET name = excluded.name, token_hash = excluded.token_hash"
+            );
+            this.deleteMember = connection.prepareStatement("DELETE FROM room_members WHERE room_uuid = ? AND user_uuid = ?");
+            this.deleteMembers = connection.prepareStatement("DELETE FROM room_members WHERE room_uuid = ?");
+            this.insertFinishedGame = connection.prepareStatement(
+                "INSERT INTO finished_games (room_uuid, room_name, finished_at) VALUES (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS
+            );
+            this.insertGameResult = connection.prepareStatement(
+                "INSERT INTO game_results (game_id, user_uuid, name, points, place, cards) VALUES (?, ?, ?, ?, ?, ?)"
+            );
+        }
+
+        private void close() throws SQLException {
+            for (PreparedStatement statement : List.of(upsertRoom, deleteRoom, upsertMember, deleteMember, deleteMembers, insertFinishedGame, insertGameResult)) {
+                statement.close();
+            }
+        }
+    }
+}
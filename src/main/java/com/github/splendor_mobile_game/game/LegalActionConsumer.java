@@ -0,0 +1,20 @@
+package com.github.splendor_mobile_game.game;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.LegalAction;
+import com.github.splendor_mobile_game.game.model.Card;
+
+/**
+ * Receives moves enumerated by {@link com.github.splendor_mobile_game.game.model.Game#legalActions}.
+ */
+@FunctionalInterface
+public interface LegalActionConsumer {
+
+    /**
+     * @param action kind of the move
+     * @param tier tier of the card the move concerns, null for token moves
+     * @param card card the move concerns, null for token moves and reservations from a deck
+     * @return true to continue the enumeration, false to stop it
+     */
+    boolean accept(LegalAction action, CardTier tier, Card card);
+}
@@ -0,0 +1,35 @@
+package com.github.splendor_mobile_game.game.enums;
+
+/**
+ * Kinds of moves a player can make during their turn.
+ */
+public enum LegalAction {
+
+    RESERVE_FROM_DECK,
+    RESERVE_FROM_TABLE,
+    BUY_REVEALED,
+    BUY_RESERVED,
+    TAKE_TWO_TOKENS,
+    TAKE_DIFFERENT_TOKENS;
+
+    /**
+     * @param tier tier of the card the move concerns, ignored by moves which don't concern a tier
+     * @return message telling the player that they can make the move
+     */
+    public String getMessage(CardTier tier) {
+        switch (this) {
+            case RESERVE_FROM_DECK:
+                return "You can reserve a card of tier " + (tier.ordinal() + 1) + "!";
+            case RESERVE_FROM_TABLE:
+                return String.format("There is a card of %s tier which you can reserve!", tier.toString());
+            case BUY_REVEALED:
+                return String.format("You can buy a card of %s tier!", tier.toString());
+            case BUY_RESERVED:
+                return "You can buy one of your reserved cards!";
+            case TAKE_TWO_TOKENS:
+                return "You can take 2 tokens of some color!";
+            default:
+                return "You can take 3 tokens of different colors!";
+        }
+    }
+}
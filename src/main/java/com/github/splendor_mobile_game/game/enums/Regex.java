@@ -1,28 +1,121 @@
 package com.github.splendor_mobile_game.game.enums;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Formats of the values received from the clients. Every format is checked by a hand-written matcher
+ * equivalent to its pattern, so checking a value doesn't allocate anything.
+ */
 public enum Regex {
 
-    UUID_PATTERN("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$"),
-    USERNAME_PATTERN("^(?=.*\\p{L})[\\p{L}\\p{N}\\s]+$"),
-    PASSWORD_PATTERN("^[a-zA-Z0-9ąćęłńóśźżĄĆĘŁŃÓŚŹŻ\\p{Punct}]+$"),
-    ENTER_CODE_PATTERN("^([0-9a-zA-Z]+){6}$");
+    UUID_PATTERN("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$") {
+        @Override
+        public boolean matches(CharSequence string) {
+            if (string.length() != 36) return false;
+
+            for (int i = 0; i < 36; i++) {
+                char c = string.charAt(i);
+                if (i == 8 || i == 13 || i == 18 || i == 23) {
+                    if (c != '-') return false;
+                } else if (!isHexDigit(c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+
+    USERNAME_PATTERN("^(?=.*\\p{L})[\\p{L}\\p{N}\\s]+$") {
+        @Override
+        public boolean matches(CharSequence string) {
+            boolean hasLetter = false;
+
+            for (int i = 0; i < string.length(); ) {
+                int codePoint = Character.codePointAt(string, i);
+                i += Character.charCount(codePoint);
+
+                if (Character.isLetter(codePoint)) {
+                    hasLetter = true;
+                } else if (!isNumber(codePoint) && !isAsciiWhitespace(codePoint)) {
+                    return false;
+                }
+            }
+            return hasLetter;
+        }
+    },
+
+    PASSWORD_PATTERN("^[a-zA-Z0-9ąćęłńóśźżĄĆĘŁŃÓŚŹŻ\\p{Punct}]+$") {
+        @Override
+        public boolean matches(CharSequence string) {
+            if (string.length() == 0) return false;
+
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (!isAsciiLetterOrDigit(c) && !isAsciiPunctuation(c) && POLISH_LETTERS.indexOf(c) < 0) return false;
+            }
+            return true;
+        }
+    },
+
+    ENTER_CODE_PATTERN("^([0-9a-zA-Z]+){6}$") {
+        @Override
+        public boolean matches(CharSequence string) {
+            if (string.length() < 6) return false;
+
+            for (int i = 0; i < string.length(); i++) {
+                if (!isAsciiLetterOrDigit(string.charAt(i))) return false;
+            }
+            return true;
+        }
+    };
+
+    private static final String POLISH_LETTERS = "ąćęłńóśźżĄĆĘŁŃÓŚŹŻ";
 
     private final String pattern;
 
+    private final Pattern compiledPattern;
+
     Regex(String pattern) {
         this.pattern = pattern;
+        this.compiledPattern = Pattern.compile(pattern);
     }
 
     public String getPattern() {
         return pattern;
     }
 
-    public boolean matches(String string) {
-        Pattern pattern = Pattern.compile(getPattern());
-        Matcher matcher = pattern.matcher(string);
-        return matcher.matches();
+    /** @return the pattern compiled once, matching exactly the same values as {@link #matches(CharSequence)} */
+    public Pattern getCompiledPattern() {
+        return compiledPattern;
+    }
+
+    /**
+     * @param string value to check, must not be null
+     * @return true if the whole value has the format
+     */
+    public abstract boolean matches(CharSequence string);
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /** Same characters as {@code \p{Punct}}. */
+    private static boolean isAsciiPunctuation(char c) {
+        return (c >= '!' && c <= '/') || (c >= ':' && c <= '@') || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+    }
+
+    /** Same characters as {@code \s}. */
+    private static boolean isAsciiWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /** Same characters as {@code \p{N}}. */
+    private static boolean isNumber(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.DECIMAL_DIGIT_NUMBER || type == Character.LETTER_NUMBER || type == Character.OTHER_NUMBER;
     }
 }
@@ -1,6 +1,8 @@
 package com.github.splendor_mobile_game.game.exceptions;
 
-public class CanPerformAnActionException extends Exception {
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
+public class CanPerformAnActionException extends DomainException {
 
     public CanPerformAnActionException() {}
 
@@ -0,0 +1,21 @@
+package com.github.splendor_mobile_game.game.exceptions;
+
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
+public class ChatRateLimitException extends DomainException {
+
+    public ChatRateLimitException() {}
+
+    public ChatRateLimitException(String message) {
+        super(message);
+    }
+
+    public ChatRateLimitException(Throwable cause) {
+        super(cause);
+    }
+
+    public ChatRateLimitException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -1,7 +1,5 @@
 package com.github.splendor_mobile_game.game.model;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.game.enums.CardTier;
@@ -24,19 +22,20 @@ public class Card {
     // private final int diamondCost;
     // private final int onyxCost;
 
-    private Map<TokenType, Integer> cost = new HashMap<TokenType, Integer>();
+    private final TokenVector cost;
 
 
     public Card(CardTier cardTier, int points, int emeraldCost, int sapphireCost, int rubyCost, int diamondCost, int onyxCost, TokenType token, int cardID) {
-        this.uuid         = UUID.randomUUID();
+        this(UUID.randomUUID(), cardTier, points, emeraldCost, sapphireCost, rubyCost, diamondCost, onyxCost, token, cardID);
+    }
+
+    /** @param uuid uuid of the card, cards of the catalog get the same uuid every time it's loaded */
+    Card(UUID uuid, CardTier cardTier, int points, int emeraldCost, int sapphireCost, int rubyCost, int diamondCost, int onyxCost, TokenType token, int cardID) {
+        this.uuid         = uuid;
         this.cardTier     = cardTier;
         this.points       = points;
 
-        this.cost.put(TokenType.EMERALD, emeraldCost);
-        this.cost.put(TokenType.SAPPHIRE, sapphireCost);
-        this.cost.put(TokenType.RUBY, rubyCost);
-        this.cost.put(TokenType.DIAMOND, diamondCost);
-        this.cost.put(TokenType.ONYX, onyxCost);
+        this.cost = TokenVector.of(emeraldCost, sapphireCost, rubyCost, diamondCost, onyxCost);
 
         this.cardID = cardID;
 
@@ -92,6 +91,10 @@ public class Card {
         return this.cost.get(type);
     }
 
+    TokenVector getCostVector() {
+        return this.cost;
+    }
+
     @Override
     public String toString() {
         return String.format("%s %d %d %d %d %d %d %s", cardTier.toString(), points, this.cost.get(TokenType.EMERALD), this.cost.get(TokenType.SAPPHIRE),  this.cost.get(TokenType.RUBY),  this.cost.get(TokenType.DIAMOND),  this.cost.get(TokenType.ONYX),  additionalToken.toString());
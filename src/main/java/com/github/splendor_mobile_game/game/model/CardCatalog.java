@@ -0,0 +1,163 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Immutable list of all the cards of the game. Every card has a dense id, its index in the catalog,
+ * so games can refer to cards by ints. The default catalog is loaded once and shared by all games.
+ */
+public final class CardCatalog {
+
+    private static final String CSV_RESOURCE = "/CardDatabase.csv";
+
+    private final Card[] cards;
+
+    /** Ids of the cards of every tier, indexed by tier ordinal. */
+    private final int[][] idsByTier;
+
+    private final Map<UUID, Integer> idsByUuid;
+
+    private final List<Card> cardList;
+
+    public CardCatalog(List<Card> cards) {
+        this.cards = cards.toArray(new Card[0]);
+        this.cardList = Collections.unmodifiableList(Arrays.asList(this.cards));
+        this.idsByUuid = new HashMap<>(this.cards.length * 2);
+
+        int[] tierSizes = new int[CardTier.values().length];
+        for (int id = 0; id < this.cards.length; id++) {
+            this.idsByUuid.put(this.cards[id].getUuid(), id);
+            tierSizes[this.cards[id].getCardTier().ordinal()]++;
+        }
+
+        this.idsByTier = new int[tierSizes.length][];
+        for (int tier = 0; tier < tierSizes.length; tier++) {
+            this.idsByTier[tier] = new int[tierSizes[tier]];
+            tierSizes[tier] = 0;
+        }
+        for (int id = 0; id < this.cards.length; id++) {
+            int tier = this.cards[id].getCardTier().ordinal();
+            this.idsByTier[tier][tierSizes[tier]++] = id;
+        }
+    }
+
+    /** @return catalog of the cards from the card database on the classpath, loaded once on the first call */
+    public static CardCatalog getDefault() {
+        return DefaultHolder.CATALOG;
+    }
+
+    /**
+     * Reads cards from the csv file, invalid lines are logged and skipped.
+     *
+     * @param csvFile path to the file
+     * @return catalog of the read cards
+     */
+    public static CardCatalog load(String csvFile) {
+        try (BufferedReader br = Files.newBufferedReader(Path.of(csvFile), StandardCharsets.UTF_8)) {
+            return read(br);
+        } catch (IOException e) {
+            Log.ERROR(e.getMessage());
+            return new CardCatalog(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Reads cards from the csv resource on the classpath, so they're found from any working directory.
+     *
+     * @param resource absolute name of the resource
+     * @return catalog of the read cards, empty if the resource doesn't exist
+     */
+    public static CardCatalog loadResource(String resource) {
+        InputStream stream = CardCatalog.class.getResourceAsStream(resource);
+        if (stream == null) {
+            Log.ERROR("Couldn't find card database " + resource + " on the classpath.");
+            return new CardCatalog(new ArrayList<>());
+        }
+
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return read(br);
+        } catch (IOException e) {
+            Log.ERROR(e.getMessage());
+            return new CardCatalog(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Cards get uuids derived from their ids in the file, so the same card has the same uuid in every catalog
+     * loaded from the file, ie. after a restart.
+     */
+    private static CardCatalog read(BufferedReader br) throws IOException {
+        List<Card> cards = new ArrayList<>();
+        String line = br.readLine();   //skipping first line because there are headlines
+
+        while ((line = br.readLine()) != null) {
+
+            String[] data = line.split(";");
+
+            try {
+                int cardId = Integer.parseInt(data[8]);
+                Card card = new Card(UUID.nameUUIDFromBytes(("card-" + cardId).getBytes(StandardCharsets.UTF_8)),
+                                CardTier.valueOf(data[0]),
+                                Integer.parseInt(data[2]),
+                                Integer.parseInt(data[5]),
+                                Integer.parseInt(data[4]),
+                                Integer.parseInt(data[6]),
+                                Integer.parseInt(data[7]),
+                                Integer.parseInt(data[3]),
+                                TokenType.valueOf(data[1]),
+                                cardId);
+
+                cards.add(card);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                Log.ERROR("Invalid card `" + line + "`: " + e.getMessage());
+            }
+        }
+
+        return new CardCatalog(cards);
+    }
+
+    public int size() {
+        return this.cards.length;
+    }
+
+    public Card get(int id) {
+        return this.cards[id];
+    }
+
+    /** @return id of the card with the uuid or -1 if it isn't in the catalog */
+    public int idOf(UUID uuid) {
+        Integer id = this.idsByUuid.get(uuid);
+        return id != null ? id : -1;
+    }
+
+    /** @return new array with ids of all the cards of the tier, in catalog order */
+    public int[] getIds(CardTier tier) {
+        return this.idsByTier[tier.ordinal()].clone();
+    }
+
+    /** @return read-only list of all the cards, the index of a card is its id */
+    public List<Card> getCards() {
+        return this.cardList;
+    }
+
+    private static final class DefaultHolder {
+        private static final CardCatalog CATALOG = CardCatalog.loadResource(CSV_RESOURCE);
+    }
+}
@@ -1,42 +1,207 @@
 package com.github.splendor_mobile_game.game.model;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
+import com.github.splendor_mobile_game.game.exceptions.ChatRateLimitException;
+
+/**
+ * Chat of a room. Only the most recent messages are kept, older ones are overwritten, so the chat never grows.
+ * Every message gets an id, which is one greater than the id of the previous message, ids are used as cursors
+ * when paging through the history. Every sender can send a few messages at once, after that one message per second.
+ *
+ * Chat isn't thread-safe, it's used only within the lane of its room.
+ */
 public class Chat {
-    private ArrayList<ChatMessage> chatMessages = new ArrayList<>();
 
+    /** How many recent messages are kept. */
+    public static final int CAPACITY = 100;
+
+    /** How many messages can be sent at once. */
+    static final int BURST = 5;
+
+    /** How often the sender gets another message to send. */
+    static final long REFILL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ChatMessage[] messages = new ChatMessage[CAPACITY];
+
+    /** Id of the next message. */
+    private long nextId = 1;
+
+    /** Id of the last message which has been announced to the players. */
+    private long announcedId = 0;
+
+    private boolean flushScheduled = false;
+
+    private final Map<UUID, TokenBucket> buckets = new HashMap<>();
+
+    private final LongSupplier clock;
+
+    public Chat() {
+        this(System::nanoTime);
+    }
+
+    /** @param clock source of time in nanoseconds, used to refill the senders' buckets */
+    Chat(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /** @return messages which are still kept, from the oldest one */
     public ArrayList<ChatMessage> getChatMessages() {
-        return chatMessages;
+        return getMessagesAfter(oldestId() - 1);
     }
 
     public ArrayList<ChatMessage> getUsersMessages(UUID userUuid) {
-        return chatMessages.stream().filter(message -> message.getSenderUUID() == userUuid).collect(Collectors
-                .toCollection(ArrayList::new));
+        ArrayList<ChatMessage> result = new ArrayList<>();
+        for (long id = oldestId(); id < nextId; id++) {
+            ChatMessage message = get(id);
+            if (message.getSenderUUID().equals(userUuid)) result.add(message);
+        }
+        return result;
     }
 
     public ChatMessage getLastMessage() {
-        return chatMessages.get(chatMessages.size() - 1);
+        return nextId == 1 ? null : get(nextId - 1);
+    }
+
+    /**
+     * Adds the message to the chat.
+     *
+     * @param message text of the message
+     * @param senderUuid uuid of the sender
+     * @return the message added
+     * @throws ChatRateLimitException if the sender has sent too many messages recently
+     */
+    public ChatMessage sendMessage(String message, UUID senderUuid) throws ChatRateLimitException {
+        TokenBucket bucket = buckets.computeIfAbsent(senderUuid, uuid -> new TokenBucket(clock.getAsLong()));
+        if (!bucket.tryTake(clock.getAsLong()))
+            throw new ChatRateLimitException("You are sending messages too fast.");
+
+        ChatMessage chatMessage = new ChatMessage(nextId, senderUuid, message);
+        messages[(int) (nextId % CAPACITY)] = chatMessage;
+        nextId++;
+        return chatMessage;
+    }
+
+    /** Forgets how many messages the user has sent recently, ie. when they leave the room. */
+    public void forgetSender(UUID senderUuid) {
+        buckets.remove(senderUuid);
+    }
+
+    /**
+     * Returns the page of history just before the cursor.
+     *
+     * @param beforeId only messages with smaller ids are returned, null to start from the newest message
+     * @param limit maximum number of messages returned
+     * @return messages from the oldest one
+     */
+    public ArrayList<ChatMessage> getHistory(Long beforeId, int limit) {
+        long end = beforeId == null ? nextId : Math.min(beforeId, nextId);
+        long start = Math.max(oldestId(), end - Math.max(0, limit));
+
+        ArrayList<ChatMessage> result = new ArrayList<>();
+        for (long id = start; id < end; id++) {
+            result.add(get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Marks that the messages which haven't been announced yet are going to be announced.
+     *
+     * @return false if an announcement has already been scheduled, the new messages will be part of it
+     */
+    public boolean scheduleAnnouncement() {
+        if (flushScheduled) return false;
+        flushScheduled = true;
+        return true;
+    }
+
+    /**
+     * Takes the messages sent since the last announcement. Messages overwritten in the meantime are skipped.
+     *
+     * @return messages to announce, from the oldest one
+     */
+    public ArrayList<ChatMessage> takeUnannouncedMessages() {
+        ArrayList<ChatMessage> result = getMessagesAfter(Math.max(announcedId, oldestId() - 1));
+        announcedId = nextId - 1;
+        flushScheduled = false;
+        return result;
     }
 
-    public void sendMessage(String message, UUID senderUuid) {
-        chatMessages.add(new ChatMessage(senderUuid, message));
+    private ArrayList<ChatMessage> getMessagesAfter(long id) {
+        ArrayList<ChatMessage> result = new ArrayList<>();
+        for (long i = id + 1; i < nextId; i++) {
+            result.add(get(i));
+        }
+        return result;
     }
 
-    public class ChatMessage  {
+    /** @return id of the oldest message which is still kept */
+    private long oldestId() {
+        return Math.max(1, nextId - CAPACITY);
+    }
+
+    private ChatMessage get(long id) {
+        return messages[(int) (id % CAPACITY)];
+    }
+
+    /** Writes the kept messages, how many messages the senders have sent recently isn't written. */
+    void writeSnapshot(DataOutputStream out) throws IOException {
+        ArrayList<ChatMessage> kept = getChatMessages();
+        out.writeLong(nextId);
+        out.writeShort(kept.size());
+        for (ChatMessage message : kept) {
+            SnapshotCodec.writeUuid(out, message.getSenderUUID());
+            out.writeLong(message.getDate().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(message.getDate().getNano());
+            SnapshotCodec.writeString(out, message.getMessage());
+        }
+    }
+
+    /** Reads the chat written by {@link #writeSnapshot}, its messages count as announced. */
+    static Chat readSnapshot(ByteBuffer in) {
+        Chat chat = new Chat();
+        chat.nextId = in.getLong();
+        int count = in.getShort();
+        for (long id = chat.nextId - count; id < chat.nextId; id++) {
+            UUID senderUuid = SnapshotCodec.readUuid(in);
+            LocalDateTime date = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+            chat.messages[(int) (id % CAPACITY)] = new ChatMessage(id, senderUuid, SnapshotCodec.readString(in), date);
+        }
+        chat.announcedId = chat.nextId - 1;
+        return chat;
+    }
+
+    public static class ChatMessage  {
+        private final long id;
         private final UUID senderUUID;
         private final LocalDateTime date;
         private final String message;
 
-        public ChatMessage(UUID senderUUID, String message) {
+        public ChatMessage(long id, UUID senderUUID, String message) {
+            this(id, senderUUID, message, LocalDateTime.now());
+        }
+
+        ChatMessage(long id, UUID senderUUID, String message, LocalDateTime date) {
+            this.id = id;
             this.senderUUID = senderUUID;
             this.message = message;
-
-            this.date = LocalDateTime.now();
+            this.date = date;
         }
 
+        public long getId() {
+            return id;
+        }
 
         public String getMessage() {
             return message;
@@ -52,4 +217,26 @@ public class Chat {
 
     }
 
+    /** Allows sending BURST messages at once, then refills one message every REFILL_NANOS. */
+    private static class TokenBucket {
+        private int tokens = BURST;
+        private long refilledAt;
+
+        private TokenBucket(long now) {
+            this.refilledAt = now;
+        }
+
+        private boolean tryTake(long now) {
+            long refills = (now - refilledAt) / REFILL_NANOS;
+            if (refills > 0) {
+                tokens = (int) Math.min(BURST, tokens + refills);
+                refilledAt = tokens == BURST ? now : refilledAt + refills * REFILL_NANOS;
+            }
+
+            if (tokens == 0) return false;
+            tokens--;
+            return true;
+        }
+    }
+
 }
@@ -0,0 +1,51 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ring buffer keeping the most recent deltas of a game, so a client which has missed some of them
+ * can catch up without downloading the whole state. Older deltas are overwritten.
+ */
+final class DeltaLog {
+
+    private final GameDelta[] deltas;
+
+    /** Version of the state before the first appended delta, it's not 0 for games restored from a snapshot. */
+    private long baseVersion = 0;
+
+    /** Number of deltas appended since the base version, the next delta goes to `count % deltas.length`. */
+    private long count = 0;
+
+    DeltaLog(int capacity) {
+        this.deltas = new GameDelta[capacity];
+    }
+
+    /** Drops all the deltas, the next appended delta has the version after the given one. */
+    void startAt(long version) {
+        this.baseVersion = version;
+        this.count = 0;
+    }
+
+    void append(GameDelta delta) {
+        this.deltas[(int) (this.count % this.deltas.length)] = delta;
+        this.count++;
+    }
+
+    /**
+     * @param version the last version the client has, deltas have consecutive versions after the base version
+     * @return deltas newer than the version in order, or null if some of them have already been overwritten,
+     *         were made before the base version or the version is newer than the newest delta
+     */
+    List<GameDelta> since(long version) {
+        long oldestRetained = this.baseVersion + Math.max(0, this.count - this.deltas.length);
+        long newest = this.baseVersion + this.count;
+        if (version < oldestRetained || version > newest) return null;
+
+        List<GameDelta> missed = new ArrayList<>((int) (newest - version));
+        for (long i = version - this.baseVersion; i < this.count; i++) {
+            missed.add(this.deltas[(int) (i % this.deltas.length)]);
+        }
+        return missed;
+    }
+}
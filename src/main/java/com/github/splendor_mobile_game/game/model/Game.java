@@ -1,63 +1,206 @@
 package com.github.splendor_mobile_game.game.model;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.Journal;
+import com.github.splendor_mobile_game.game.LegalActionConsumer;
 import com.github.splendor_mobile_game.game.ReservationResult;
 import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.LegalAction;
 import com.github.splendor_mobile_game.game.enums.TokenType;
-import com.github.splendor_mobile_game.game.exceptions.CanPerformAnActionException;
+import com.github.splendor_mobile_game.game.exceptions.NotEnoughTokensException;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.CardDoesntExistException;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
 public class Game {
 
 
-    private final Map<TokenType, Integer> tokensOnTable = new HashMap<TokenType, Integer>();
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    private static final CardTier[] TIERS = CardTier.values();
+
+    /** Number of revealed cards of every tier lying on the table. */
+    private static final int REVEALED_PER_TIER = 4;
+
+    private static final LegalActionConsumer STOP_AT_FIRST = (action, tier, card) -> false;
+
+    /** Marks a place on the table without a card. */
+    private static final int EMPTY_SLOT = -1;
+
+    /** Number of the most recent deltas kept for clients catching up. */
+    private static final int DELTA_LOG_CAPACITY = 256;
+
+    private final TokenVector tokensOnTable = new TokenVector();
 
     private int gameReservationCount=0;
 
     public ArrayList<User> users = new ArrayList<>();
 
-    private final Map<CardTier,Deck> revealedCards = new HashMap<CardTier,Deck>(); // Cards that were already revealed
-    private final Map<CardTier,Deck> decks = new HashMap<CardTier,Deck>(); // Cards of each tier visible on the table
+    private final CardCatalog cardCatalog;
+    private final NobleCatalog nobleCatalog;
+
+    // Catalog ids of the cards visible on the table, by tier ordinal and slot
+    private final int[][] revealedCards = new int[TIERS.length][REVEALED_PER_TIER];
+    // Slot of every revealed card by its catalog id, EMPTY_SLOT for cards which aren't on the table
+    private final int[] revealedSlots;
+    // Read-only views of the revealed cards of each tier
+    private final List<List<Card>> revealedViews = new ArrayList<>(TIERS.length);
+    // Catalog ids of the cards left in the deck of each tier, only the first deckSizes[tier] ids are in the deck
+    private final int[][] decks = new int[TIERS.length][];
+    private final int[] deckSizes = new int[TIERS.length];
 
     private ArrayList<Noble> nobles;
     /** Maximum number of non-gold tokens generated for game. Depends on player count */
     private int maxNonGoldTokensOnStart = 7;
     private final Database database;
 
+    /** Room the game is played in, actions are journaled under its uuid. Null for games without a room. */
+    private Room room;
+
+    /** Seed of the random generator, the same seed and player count deal the same decks and nobles. */
+    private final long seed;
+    private final SplittableRandom random;
+
+    /** Number of changes made since the start, every change is recorded in the delta log. */
+    private long version = 0;
+    private final DeltaLog deltaLog = new DeltaLog(DELTA_LOG_CAPACITY);
+
     public Game(Database database, ArrayList<User> users) {
+        this(database, users, ThreadLocalRandom.current().nextLong());
+    }
+
+    public Game(Database database, ArrayList<User> users, long seed) {
+        this(database, users, seed, true);
+    }
+
+    /** @param deal false to leave the table empty, ie. when the state is read from a snapshot */
+    private Game(Database database, ArrayList<User> users, long seed, boolean deal) {
         this.database = database;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.cardCatalog = database.getCardCatalog();
+        this.nobleCatalog = database.getNobleCatalog();
+        this.revealedSlots = new int[cardCatalog.size()];
+        Arrays.fill(this.revealedSlots, EMPTY_SLOT);
+        for (CardTier tier : TIERS) {
+            this.revealedViews.add(new RevealedCards(tier));
+        }
         this.users = users;
-        start(users.size());
+        if (deal) start(users.size());
     }
 
 
 
 
-    private Card getRandomCardOrNull(CardTier tier) {
-        Deck deck = decks.get(tier);
+    void setRoom(Room room) {
+        this.room = room;
+    }
+
+    private Journal journal() {
+        return room == null ? Journal.NONE : database.getJournal();
+    }
 
-        // We draw cards until deck will be empty
-        if (deck.size() < 1) return null;
+    /**
+     * Writes the state of the table, cards are written as their catalog ids. The delta log isn't written,
+     * clients of the restored game get the whole state unless they already have the restored version.
+     */
+    void writeSnapshot(DataOutputStream out) throws IOException {
+        out.writeLong(seed);
+        out.writeLong(version);
+        out.writeByte(maxNonGoldTokensOnStart);
+        out.writeShort(gameReservationCount);
+        SnapshotCodec.writeTokens(out, tokensOnTable);
+
+        for (CardTier tier : TIERS) {
+            for (int slot = 0; slot < REVEALED_PER_TIER; slot++) {
+                out.writeShort(revealedCards[tier.ordinal()][slot]);
+            }
+        }
+        for (CardTier tier : TIERS) {
+            int deckSize = deckSizes[tier.ordinal()];
+            out.writeShort(deckSize);
+            for (int i = 0; i < deckSize; i++) {
+                out.writeShort(decks[tier.ordinal()][i]);
+            }
+        }
+
+        SnapshotCodec.writeNobles(out, nobles, nobleCatalog);
+    }
+
+    /** Reads the game written by {@link #writeSnapshot}, played by the users. */
+    static Game readSnapshot(ByteBuffer in, Database database, ArrayList<User> users) {
+        Game game = new Game(database, users, in.getLong(), false);
+        game.version = in.getLong();
+        game.deltaLog.startAt(game.version);
+        game.maxNonGoldTokensOnStart = in.get();
+        game.gameReservationCount = in.getShort();
+        SnapshotCodec.readTokens(in, game.tokensOnTable);
+
+        for (CardTier tier : TIERS) {
+            for (int slot = 0; slot < REVEALED_PER_TIER; slot++) {
+                game.placeCard(tier, slot, in.getShort());
+            }
+        }
+        for (CardTier tier : TIERS) {
+            int deckSize = in.getShort();
+            int[] deck = new int[deckSize];
+            for (int i = 0; i < deckSize; i++) {
+                deck[i] = in.getShort();
+            }
+            game.decks[tier.ordinal()] = deck;
+            game.deckSizes[tier.ordinal()] = deckSize;
+        }
 
-        Random rand = new Random();
-        int index = rand.nextInt(deck.size()); // Get random index
-        return deck.get(index);
+        game.nobles = SnapshotCodec.readNobles(in, game.nobleCatalog);
+        return game;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** @return version of the state, 0 right after the start and increased by every change */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param version the last version known to the client
+     * @return changes made after the version in order, or null if they aren't kept anymore and the client needs the whole state
+     */
+    public List<GameDelta> getDeltasSince(long version) {
+        return deltaLog.since(version);
+    }
+
+    private void record(GameDelta delta) {
+        deltaLog.append(delta);
+    }
+
+    private void recordTokens(User user) {
+        record(GameDelta.tokens(++version, user, user.getTokenVector()));
+        record(GameDelta.tokens(++version, null, tokensOnTable));
+    }
+
+    /** Records that it's the turn of the user now. */
+    public void recordTurn(User user) {
+        record(GameDelta.turn(++version, user));
     }
 
 
 
 
     private boolean canReserveCardFromDeck(CardTier tier, User user) {
-        return !(getRandomCardOrNull(tier) == null) && user.getReservationCount() < 3;
+        return deckSizes[tier.ordinal()] > 0 && user.getReservationCount() < 3;
     }
 
     private boolean canReserveCardFromTable(Card card, User user) {
@@ -66,7 +209,7 @@ public class Game {
 
 
     public ReservationResult reserveCardFromDeck(CardTier tier, User player) throws CardDoesntExistException {
-        Card card = getRandomCard(tier);
+        Card card = drawCard(tier);
         if (card == null) throw new CardDoesntExistException("Deck " + tier + " is empty.");
 
         boolean goldenToken;
@@ -80,6 +223,10 @@ public class Game {
 
         gameReservationCount++;
 
+        record(GameDelta.reserved(++version, player, card, deckSizes[tier.ordinal()]));
+        if (goldenToken) recordTokens(player);
+        journal().cardReservedFromDeck(room, player, tier);
+
         return new ReservationResult(card, goldenToken);
     }
 
@@ -96,6 +243,10 @@ public class Game {
         }
         
         player.reserveCard(card,goldenToken);
+        record(GameDelta.reserved(++version, player, card, null));
+        if (goldenToken) recordTokens(player);
+        journal().cardReservedFromTable(room, player, card);
+
         Card newCard = takeCardFromRevealed(card);
 
         gameReservationCount++;
@@ -111,63 +262,104 @@ public class Game {
         return gameReservationCount;
     }
 
-    public int getUserRanking(UUID uuid) {
-        ArrayList<User> postitions = new ArrayList<>(users);
-        Collections.sort(postitions, new Comparator<User>() {
-            @Override
-            public int compare(User user1, User user2) {
-                if (user1.getPoints() != user2.getPoints()) {
-                    return Integer.compare(user2.getPoints(), user1.getPoints());
-                } else {
-                    return Integer.compare(user1.getNumberOfPurchesedCards(), user2.getNumberOfPurchesedCards());
-                }
-            }
-        });
-
-        return postitions.indexOf(database.getUser(uuid)) + 1;
-    }
-
     private boolean removeToken(TokenType type){
         if(tokensOnTable.get(type)==0){
             return false;
         }
 
-        tokensOnTable.put(type, tokensOnTable.get(type)-1);
+        tokensOnTable.add(type, -1);
         return true;
     }
     
     //The return Card is a card that was drawn from deck and put on table
     public Card takeCardFromRevealed(Card card){
-        removeCardFromRevealed(card);
-
-        Card cardDrawn = getRandomCard(card.getCardTier());
-        if(cardDrawn!=null){
-            addCardToRevealed(cardDrawn);
+        CardTier tier = card.getCardTier();
+
+        // The drawn card takes place of the taken one
+        int slot = findRevealedSlot(card);
+        if (slot != EMPTY_SLOT) {
+            revealedSlots[revealedCards[tier.ordinal()][slot]] = EMPTY_SLOT;
+        } else {
+            slot = findEmptySlot(tier);
+            if (slot == EMPTY_SLOT) return null;
         }
-        
-        return cardDrawn;
+
+        int drawnId = drawCardId(tier);
+        placeCard(tier, slot, drawnId);
+
+        Card drawn = drawnId != EMPTY_SLOT ? cardCatalog.get(drawnId) : null;
+        record(GameDelta.slot(++version, tier, slot, drawn, deckSizes[tier.ordinal()]));
+        return drawn;
     }
 
-    private void removeCardFromRevealed(Card card){
-        CardTier cardTier = card.getCardTier();
-        revealedCards.get(cardTier).remove(card);
+    private void placeCard(CardTier tier, int slot, int id) {
+        revealedCards[tier.ordinal()][slot] = id;
+        if (id != EMPTY_SLOT) revealedSlots[id] = slot;
     }
 
-    private void addCardToRevealed(Card card){
-        revealedCards.get(card.getCardTier()).add(card);
+    /** @return slot of the card on the table or EMPTY_SLOT if the card isn't revealed */
+    private int findRevealedSlot(Card card) {
+        int id = cardCatalog.idOf(card.getUuid());
+        if (id == EMPTY_SLOT || cardCatalog.get(id) != card) return EMPTY_SLOT;
+        return revealedSlots[id];
     }
 
-    public boolean isCardRevealed(UUID uuid) {
-        for (Deck deck : revealedCards.values())
-            for (Card card : deck)
-                if (uuid.equals(card.getUuid())) return true;
+    private int findEmptySlot(CardTier tier) {
+        int[] slots = revealedCards[tier.ordinal()];
+        for (int slot = 0; slot < slots.length; slot++) {
+            if (slots[slot] == EMPTY_SLOT) return slot;
+        }
+        return EMPTY_SLOT;
+    }
 
-        return false;
+    public boolean isCardRevealed(UUID uuid) {
+        int id = cardCatalog.idOf(uuid);
+        return id != -1 && revealedSlots[id] != EMPTY_SLOT;
     }
 
     public void addTokens(TokenType tokenType,int count){
-        int prev = tokensOnTable.get(tokenType);
-        tokensOnTable.put(tokenType,count+prev);
+        tokensOnTable.add(tokenType, count);
+    }
+
+    public void addTokens(TokenVector tokens){
+        tokensOnTable.add(tokens);
+    }
+
+    /**
+     * Moves non-gold tokens between the table and the player and records the change.
+     *
+     * @param user the player
+     * @param tokensChange tokens taken by the player, negative counts are returned to the table
+     */
+    public void exchangeTokens(User user, TokenVector tokensChange) {
+        user.changeTokens(tokensChange);
+        changeTokens(tokensChange);
+        recordTokens(user);
+        journal().tokensExchanged(room, user, tokensChange);
+    }
+
+    /**
+     * Player buys the card lying on the table, paid tokens go back to the table and a new card takes its slot.
+     *
+     * @return the card drawn in place of the bought one, null if the deck was empty
+     */
+    public Card buyRevealedCard(User buyer, Card card) throws NotEnoughTokensException {
+        addTokens(buyer.buyCard(card));
+        record(GameDelta.bought(++version, buyer, card));
+        recordTokens(buyer);
+        journal().revealedCardBought(room, buyer, card);
+
+        return takeCardFromRevealed(card);
+    }
+
+    /** Player buys one of their reserved cards, paid tokens go back to the table. */
+    public void buyReservedCard(User buyer, Card card) throws NotEnoughTokensException {
+        addTokens(buyer.buyCard(card));
+        buyer.removeCardFromReserved(card);
+        decreaseGameReservationCount();
+        record(GameDelta.bought(++version, buyer, card));
+        recordTokens(buyer);
+        journal().reservedCardBought(room, buyer, card);
     }
 
 
@@ -177,22 +369,28 @@ public class Game {
         if (playerCount == 3) this.maxNonGoldTokensOnStart = 5;
 
         // Assign all tokenLists
-        tokensOnTable.put(TokenType.EMERALD,    maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.SAPPHIRE,   maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.RUBY,       maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.DIAMOND,    maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.ONYX,       maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.GOLD_JOKER, 5);
-
-        //Get ALL cards from database
-        decks.put(CardTier.LEVEL_1,new Deck(CardTier.LEVEL_1,database.getSpecifiedCards(CardTier.LEVEL_1)));
-        decks.put(CardTier.LEVEL_2,new Deck(CardTier.LEVEL_2,database.getSpecifiedCards(CardTier.LEVEL_2)));
-        decks.put(CardTier.LEVEL_3,new Deck(CardTier.LEVEL_3,database.getSpecifiedCards(CardTier.LEVEL_3)));
-        
+        tokensOnTable.set(TokenType.EMERALD,    maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.SAPPHIRE,   maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.RUBY,       maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.DIAMOND,    maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.ONYX,       maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.GOLD_JOKER, 5);
+
+        Log.DEBUG("Game has been started with seed " + seed);
+
+        //Get ids of ALL cards from the catalog, decks are shuffled once and drawn from the end
+        for (CardTier tier : TIERS) {
+            decks[tier.ordinal()] = cardCatalog.getIds(tier);
+            deckSizes[tier.ordinal()] = decks[tier.ordinal()].length;
+            shuffle(decks[tier.ordinal()]);
+        }
+
         // Choose random cards from deck
-        revealedCards.put(CardTier.LEVEL_1,new Deck(CardTier.LEVEL_1,getRandomCards((CardTier.LEVEL_1),4)));
-        revealedCards.put(CardTier.LEVEL_2,new Deck(CardTier.LEVEL_2,getRandomCards((CardTier.LEVEL_2),4)));
-        revealedCards.put(CardTier.LEVEL_3,new Deck(CardTier.LEVEL_3,getRandomCards((CardTier.LEVEL_3),4)));
+        for (CardTier tier : TIERS) {
+            for (int slot = 0; slot < REVEALED_PER_TIER; slot++) {
+                placeCard(tier, slot, drawCardId(tier));
+            }
+        }
 
         // Choose random noble cards from database
         nobles = getRandomNobles(playerCount+1);
@@ -212,14 +410,13 @@ public class Game {
     }
 
     /** 
-     * function which updates token amount on the table by adding or subtracting their current amount by numbers listed in tokensChange map 
+     * function which updates token amount on the table by adding or subtracting their current amount by numbers listed in tokensChange vector 
      * It is used in GetTokens reaction so it skips Gold token type because users can't take gold tokens by themselves
     */
-    public void changeTokens(Map<TokenType, Integer> tokenMap) {
-        for(Map.Entry<TokenType, Integer> set : this.tokensOnTable.entrySet()) {
-            if(set.getKey() == TokenType.GOLD_JOKER) continue;
-            this.tokensOnTable.put(set.getKey(), set.getValue() - tokenMap.get(set.getKey()));
-        }
+    public void changeTokens(TokenVector tokensChange) {
+        int goldTokens = this.tokensOnTable.get(TokenType.GOLD_JOKER);
+        this.tokensOnTable.subtract(tokensChange);
+        this.tokensOnTable.set(TokenType.GOLD_JOKER, goldTokens);
     }
 
 
@@ -239,7 +436,7 @@ public class Game {
 
     //Only for testing private function TO BE DELETED
     private void testForDuplicates(CardTier tier){
-        Deck deck1 = revealedCards.get(tier);
+        List<Card> deck1 = getRevealedCards(tier);
 
         for(int i=0;i<deck1.size();++i){
             for(int j=0;j<deck1.size();++j){
@@ -251,9 +448,23 @@ public class Game {
         }
     }
 
-    public Deck getRevealedCards(CardTier tier){
-        Deck deck = new Deck(tier, revealedCards.get(tier));
-        return deck;
+    /** @return card lying in the slot of the tier, null if the slot is empty */
+    public Card getRevealedCard(CardTier tier, int slot) {
+        int id = revealedCards[tier.ordinal()][slot];
+        return id != EMPTY_SLOT ? cardCatalog.get(id) : null;
+    }
+
+    public int getRevealedSlotCount() {
+        return REVEALED_PER_TIER;
+    }
+
+    public int getDeckSize(CardTier tier) {
+        return deckSizes[tier.ordinal()];
+    }
+
+    /** @return read-only view of the cards of the tier lying on the table, it follows changes of the table */
+    public List<Card> getRevealedCards(CardTier tier){
+        return revealedViews.get(tier.ordinal());
     }
 
     public ArrayList<Noble> getNobles(){
@@ -265,6 +476,8 @@ public class Game {
     public boolean takeNobleIfPossible(User user, Noble noble) {
         if (user.takeNoble(noble)) {
             this.nobles.remove(noble);
+            record(GameDelta.noble(++version, user, noble));
+            journal().nobleTaken(room, user, noble);
             return true;
         }
         return false;
@@ -335,116 +548,181 @@ public class Game {
        
 
 
-    private Card getRandomCard(CardTier tier){
-        Deck deck = getRandomCards(tier,1);
+    private Card drawCard(CardTier tier){
+        int id = drawCardId(tier);
 
-        if(deck.size()==0){
+        if(id==EMPTY_SLOT){
             return null;
         }else{
-            return deck.get(0);
+            return cardCatalog.get(id);
         }      
     }
 
 
     /**
+     * Removes the top card from the shuffled deck
      *
-     * @param tier -> Tier of deck from which we draw cards
-     * @param amount -> Amount of elements we want to draw
-     * @return Deck -> Collection of randomly picked cards
+     * @param tier -> Tier of deck from which we draw the card
+     * @return catalog id of the drawn card or EMPTY_SLOT if the deck is empty
      */
-    private Deck getRandomCards(CardTier tier, int amount) {
-        Deck deck = decks.get(tier);
+    private int drawCardId(CardTier tier) {
+        int deckSize = deckSizes[tier.ordinal()];
 
-        // We draw cards until deck will be empty
-        if ( deck.size() < amount) amount=deck.size();
-
-        Deck array = new Deck(tier);
-
-        Random rand = new Random();
-        for(;amount > 0;amount--) {
-            int index = rand.nextInt(deck.size()); // Get random index
-            Card drawnCard =deck.remove(index);
-            array.add(drawnCard);
-            
-            //globalIndex in that context is an index of InMemoryDatabase.allCards
-            int globalIndex=database.getAllCards().indexOf(drawnCard);          
-            Log.DEBUG("Card has been drawn of tier "+tier.toString()+" and index "+globalIndex);
-        }
+        if (deckSize == 0) return EMPTY_SLOT;
 
-        return array;
+        int drawnId = decks[tier.ordinal()][deckSize - 1];
+        deckSizes[tier.ordinal()] = deckSize - 1;
+
+        Log.DEBUG(() -> "Card has been drawn of tier "+tier.toString()+" and index "+drawnId);
+
+        return drawnId;
     }
 
     private ArrayList<Noble> getRandomNobles(int amount){
-        ArrayList<Noble> nobles = this.database.getAllNobles();
-        ArrayList<Noble> array = new ArrayList<>();
+        int[] ids = new int[nobleCatalog.size()];
+        for (int id = 0; id < ids.length; id++) ids[id] = id;
+        shuffle(ids);
 
         // We draw cards until deck will be empty
-        if ( nobles.size() < amount) amount=nobles.size();
+        if ( ids.length < amount) amount=ids.length;
 
-        Random rand = new Random();
-        while(amount > 0) {
-            if(nobles.size()==0){
-                return null;
-            }
-            int index = rand.nextInt(nobles.size()); // Get random index       
-            array.add(nobles.remove(index));
-            
+        ArrayList<Noble> array = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++) {
+            array.add(nobleCatalog.get(ids[i]));
             Log.DEBUG("Noble tile has been drawned");
-            amount--;
         }
 
         return array;
     }
 
+    /** Fisher-Yates shuffle using the random generator of the game */
+    private void shuffle(int[] ids) {
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swapped;
+        }
+    }
+
 
 
 
-    public void canPerformAnyAction(User user) throws CanPerformAnActionException {
+    /**
+     * Enumerates moves the user can make now without allocating anything. Reservations from decks come first,
+     * then moves with revealed cards, purchases of reserved cards and finally taking tokens.
+     *
+     * @param user the player
+     * @param consumer receives the moves, it can stop the enumeration
+     * @return true if there is at least one legal move
+     */
+    public boolean legalActions(User user, LegalActionConsumer consumer) {
+        boolean found = false;
 
         // Check if user can reserve any card from deck
-        if (canReserveCardFromDeck(CardTier.LEVEL_1, user)) throw new CanPerformAnActionException("You can reserve a card of tier 1!");
-        if (canReserveCardFromDeck(CardTier.LEVEL_2, user)) throw new CanPerformAnActionException("You can reserve a card of tier 2!");
-        if (canReserveCardFromDeck(CardTier.LEVEL_3, user)) throw new CanPerformAnActionException("You can reserve a card of tier 3!");
+        for (CardTier tier : TIERS) {
+            if (canReserveCardFromDeck(tier, user)) {
+                found = true;
+                if (!consumer.accept(LegalAction.RESERVE_FROM_DECK, tier, null)) return true;
+            }
+        }
 
         // Check if user can buy or reserve card from table
-        for (Deck deck : revealedCards.values()) {
-            for (Card card : deck) {
+        for (CardTier tier : TIERS) {
+            for (int id : revealedCards[tier.ordinal()]) {
+                if (id == EMPTY_SLOT) continue;
+                Card card = cardCatalog.get(id);
 
                 // Check if user can reserve a card from table
-                if (canReserveCardFromTable(card, user))
-                    throw new CanPerformAnActionException(String.format("There is a card of %s tier which you can reserve!", deck.getTier().toString()));
+                if (canReserveCardFromTable(card, user)) {
+                    found = true;
+                    if (!consumer.accept(LegalAction.RESERVE_FROM_TABLE, tier, card)) return true;
+                }
 
                 // Check if user can buy a card from table
-                if (user.canBuyCard(card))
-                    throw new CanPerformAnActionException(String.format("You can buy a card of %s tier!", deck.getTier().toString()));
-
+                if (user.canBuyCard(card)) {
+                    found = true;
+                    if (!consumer.accept(LegalAction.BUY_REVEALED, tier, card)) return true;
+                }
             }
         }
 
-
         // Check if user can buy reserved card
-        for (Card card : user.getReservedCards())
-            if (user.canBuyCard(card)) throw new CanPerformAnActionException("You can buy one of your reserved cards!");
-
-
+        ArrayList<Card> reservedCards = user.getReservedCards();
+        for (int i = 0; i < reservedCards.size(); i++) {
+            Card card = reservedCards.get(i);
+            if (user.canBuyCard(card)) {
+                found = true;
+                if (!consumer.accept(LegalAction.BUY_RESERVED, card.getCardTier(), card)) return true;
+            }
+        }
 
+        boolean canTakeTwo = false;
         int greaterThanOneCount = 0;
         // Check if user can take tokens
-        for (Map.Entry<TokenType, Integer> entry : tokensOnTable.entrySet()) {
-            if (entry.getKey() == TokenType.GOLD_JOKER) continue;
+        for (TokenType type : TOKEN_TYPES) {
+            if (type == TokenType.GOLD_JOKER) continue;
+
+            if (tokensOnTable.get(type) >= 4) canTakeTwo = true;
 
-            if (entry.getValue() >= 4)
-                throw new CanPerformAnActionException("You can take 2 tokens of some color!");
+            if (tokensOnTable.get(type) >= 1) greaterThanOneCount += 1;
+        }
 
-            if (entry.getValue() >= 1) greaterThanOneCount += 1;
+        if (canTakeTwo) {
+            found = true;
+            if (!consumer.accept(LegalAction.TAKE_TWO_TOKENS, null, null)) return true;
         }
 
         // If we check, if greaterThanOneCount >= 3, then user can take 3 tokens. But actually if only greaterThanOneCount >= 1, then user can still take one token,
         // because there is no possibility to take 2 or 3 different tokens. But it doesn't matter. What matters, is that user can perform an action regardless how many
         // tokens he would need to return.
-        if (greaterThanOneCount >= 1)
-            throw new CanPerformAnActionException("You can take 3 tokens of different colors!");
+        if (greaterThanOneCount >= 1) {
+            found = true;
+            consumer.accept(LegalAction.TAKE_DIFFERENT_TOKENS, null, null);
+        }
+
+        return found;
+    }
+
+    /** @return true if the user can make any move now */
+    public boolean hasAnyLegalAction(User user) {
+        return legalActions(user, STOP_AT_FIRST);
     }
 
 
+    /** Cards of one tier lying on the table in the order of their slots, empty slots are skipped. */
+    private final class RevealedCards extends AbstractList<Card> {
+        private final CardTier tier;
+        private final int[] slots;
+
+        private RevealedCards(CardTier tier) {
+            this.tier = tier;
+            this.slots = revealedCards[tier.ordinal()];
+        }
+
+        @Override
+        public Card get(int index) {
+            int remaining = index;
+            for (int id : this.slots) {
+                if (id != EMPTY_SLOT && remaining-- == 0) return cardCatalog.get(id);
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (int id : this.slots) {
+                if (id != EMPTY_SLOT) size++;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Card)) return false;
+            Card card = (Card) o;
+            return card.getCardTier() == this.tier && findRevealedSlot(card) != EMPTY_SLOT;
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+
+/**
+ * Single change of the state of a game, tagged with the version of the game it has produced.
+ * Applying all the deltas of a game in order of their versions to the state at version 0,
+ * which is the state announced when the game has started, gives the current state.
+ * Fields which don't concern the type of the delta are null.
+ */
+public final class GameDelta {
+
+    public enum Type {
+        /** Tokens of the player or of the table, when `userUuid` is null, have changed to `tokens`. */
+        TOKENS,
+        /** The slot of the tier on the table holds `cardUuid` now, null when the deck was empty. */
+        SLOT,
+        /** The player has reserved `cardUuid`, `deckSize` is set when the card was taken from the deck. */
+        RESERVED,
+        /** The player has bought `cardUuid`. */
+        BOUGHT,
+        /** The noble `nobleUuid` has visited the player. */
+        NOBLE,
+        /** It's the turn of the player now. */
+        TURN
+    }
+
+    private final long version;
+    private final Type type;
+    private final UUID userUuid;
+    private final UUID cardUuid;
+    private final UUID nobleUuid;
+    private final CardTier tier;
+    private final Integer slot;
+    private final Integer deckSize;
+    /** Token counts in order of {@link com.github.splendor_mobile_game.game.enums.TokenType}. */
+    private final int[] tokens;
+
+    private GameDelta(long version, Type type, UUID userUuid, UUID cardUuid, UUID nobleUuid, CardTier tier, Integer slot, Integer deckSize, int[] tokens) {
+        this.version = version;
+        this.type = type;
+        this.userUuid = userUuid;
+        this.cardUuid = cardUuid;
+        this.nobleUuid = nobleUuid;
+        this.tier = tier;
+        this.slot = slot;
+        this.deckSize = deckSize;
+        this.tokens = tokens;
+    }
+
+    static GameDelta tokens(long version, User user, TokenVector tokens) {
+        return new GameDelta(version, Type.TOKENS, user != null ? user.getUuid() : null, null, null, null, null, null, tokens.toArray());
+    }
+
+    static GameDelta slot(long version, CardTier tier, int slot, Card card, int deckSize) {
+        return new GameDelta(version, Type.SLOT, null, card != null ? card.getUuid() : null, null, tier, slot, deckSize, null);
+    }
+
+    static GameDelta reserved(long version, User user, Card card, Integer deckSize) {
+        return new GameDelta(version, Type.RESERVED, user.getUuid(), card.getUuid(), null, card.getCardTier(), null, deckSize, null);
+    }
+
+    static GameDelta bought(long version, User user, Card card) {
+        return new GameDelta(version, Type.BOUGHT, user.getUuid(), card.getUuid(), null, null, null, null, null);
+    }
+
+    static GameDelta noble(long version, User user, Noble noble) {
+        return new GameDelta(version, Type.NOBLE, user.getUuid(), null, noble.getUuid(), null, null, null, null);
+    }
+
+    static GameDelta turn(long version, User user) {
+        return new GameDelta(version, Type.TURN, user.getUuid(), null, null, null, null, null, null);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getUserUuid() {
+        return userUuid;
+    }
+
+    public UUID getCardUuid() {
+        return cardUuid;
+    }
+
+    public UUID getNobleUuid() {
+        return nobleUuid;
+    }
+
+    public CardTier getTier() {
+        return tier;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public Integer getDeckSize() {
+        return deckSize;
+    }
+
+    public int[] getTokens() {
+        return tokens != null ? tokens.clone() : null;
+    }
+}
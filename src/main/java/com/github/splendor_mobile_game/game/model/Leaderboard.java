@@ -0,0 +1,186 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Leaderboard of all the players of the server, every player is ranked by the best result of their finished games.
+ * Results are ordered by points, then by the number of purchased cards, fewer cards win a tie as in the game.
+ *
+ * Results are kept in a skip list, so the top of the leaderboard is read from its head without locking.
+ * The skip list can't count the results before a given one, so the number of results with each score is also
+ * kept in a Fenwick tree over all the possible scores, a rank is read from it in logarithmic time.
+ * Scores above {@link #MAX_POINTS} points or {@link #MAX_CARDS} cards are counted as those, they aren't reachable anyway.
+ *
+ * Clients choose their uuids, so the number of players is capped, when it's reached the worst player is evicted
+ * to make room for a better result and results which aren't better than the worst one are dropped.
+ */
+public class Leaderboard {
+
+    static final int MAX_POINTS = 255;
+    static final int MAX_CARDS = 127;
+
+    /** Default number of players kept on the leaderboard. */
+    public static final int MAX_ENTRIES = 10000;
+
+    private static final int SCORE_COUNT = (MAX_POINTS + 1) * (MAX_CARDS + 1);
+
+    public static final class Entry implements Comparable<Entry> {
+        private final UUID userUuid;
+        private final String name;
+        private final int points;
+        private final int cards;
+
+        private Entry(UUID userUuid, String name, int points, int cards) {
+            this.userUuid = userUuid;
+            this.name = name;
+            this.points = points;
+            this.cards = cards;
+        }
+
+        public UUID getUserUuid() {
+            return userUuid;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+
+        public int getCards() {
+            return cards;
+        }
+
+        /** @return negative if this result is better than the other one, 0 if they are equal */
+        private int compareScore(Entry other) {
+            if (this.points != other.points) return Integer.compare(other.points, this.points);
+            return Integer.compare(this.cards, other.cards);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int score = this.compareScore(other);
+            return score != 0 ? score : this.userUuid.compareTo(other.userUuid);
+        }
+
+        /** @return index of the score in the tree, better scores have lower indices */
+        private int scoreIndex() {
+            int points = Math.max(0, Math.min(this.points, MAX_POINTS));
+            int cards = Math.max(0, Math.min(this.cards, MAX_CARDS));
+            return (MAX_POINTS - points) * (MAX_CARDS + 1) + cards;
+        }
+    }
+
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>();
+    private final Map<UUID, Entry> entriesByUser = new ConcurrentHashMap<>();
+
+    /** Fenwick tree of the number of entries with each score, it's guarded by the leaderboard. */
+    private final int[] scoreCounts = new int[SCORE_COUNT + 1];
+
+    private final int maxEntries;
+
+    public Leaderboard() {
+        this(MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries maximum number of players kept on the leaderboard
+     */
+    public Leaderboard(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Records the result of the user in a finished game, it replaces their entry if it's better.
+     *
+     * @return true if the entry of the user has changed
+     */
+    public synchronized boolean record(UUID userUuid, String name, int points, int cards) {
+        Entry entry = new Entry(userUuid, name, points, cards);
+        Entry best = this.entriesByUser.get(userUuid);
+        if (best != null) {
+            if (best.compareScore(entry) <= 0) return false;
+
+            this.remove(best);
+        } else if (this.entriesByUser.size() >= this.maxEntries) {
+            // New player has to beat the worst one, who keeps the place on a tie
+            Entry worst = this.entries.last();
+            if (worst.compareScore(entry) <= 0) return false;
+
+            this.remove(worst);
+            this.entriesByUser.remove(worst.getUserUuid());
+        }
+
+        this.entries.add(entry);
+        this.entriesByUser.put(userUuid, entry);
+        this.addCount(entry.scoreIndex(), 1);
+        return true;
+    }
+
+    /** Records the results of all the players of the finished game in the room. */
+    public void record(Room room) {
+        for (User user : room.getAllUsers()) {
+            this.record(user.getUuid(), user.getName(), user.getPoints(), user.getNumberOfPurchesedCards());
+        }
+    }
+
+    /** @return entry of the user or null if they haven't finished any game */
+    public Entry getEntry(UUID userUuid) {
+        return this.entriesByUser.get(userUuid);
+    }
+
+    /** @return rank of the user from 1, players with equal scores share the rank, 0 if the user isn't on the leaderboard */
+    public synchronized int getRank(UUID userUuid) {
+        Entry entry = this.entriesByUser.get(userUuid);
+        if (entry == null) return 0;
+        return this.countBefore(entry.scoreIndex()) + 1;
+    }
+
+    /**
+     * Entries are read without locking, an entry replaced in the meantime might be missing from the result.
+     *
+     * @param limit maximum number of entries
+     * @return best entries from the first one
+     */
+    public List<Entry> getTop(int limit) {
+        List<Entry> top = new ArrayList<>(Math.max(0, Math.min(limit, this.entriesByUser.size())));
+        Iterator<Entry> iterator = this.entries.iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /** @return number of players on the leaderboard */
+    public int size() {
+        return this.entriesByUser.size();
+    }
+
+    private void remove(Entry entry) {
+        this.entries.remove(entry);
+        this.addCount(entry.scoreIndex(), -1);
+    }
+
+    private void addCount(int scoreIndex, int delta) {
+        for (int i = scoreIndex + 1; i <= SCORE_COUNT; i += i & -i) {
+            this.scoreCounts[i] += delta;
+        }
+    }
+
+    /** @return number of entries with scores better than the score */
+    private int countBefore(int scoreIndex) {
+        int count = 0;
+        for (int i = scoreIndex; i > 0; i -= i & -i) {
+            count += this.scoreCounts[i];
+        }
+        return count;
+    }
+}
@@ -1,7 +1,5 @@
 package com.github.splendor_mobile_game.game.model;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.game.enums.TokenType;
@@ -19,16 +17,17 @@ public class Noble {
     // private final int diamondCost;  // White
     // private final int onyxCost;  // Black
 
-    private Map<TokenType, Integer> cost = new HashMap<TokenType, Integer>();
+    private final TokenVector cost;
 
     public Noble(int emeraldCost, int sapphireCost, int rubyCost, int diamondCost, int onyxCost, int nobleID) {
-        this.uuid = UUID.randomUUID();
+        this(UUID.randomUUID(), emeraldCost, sapphireCost, rubyCost, diamondCost, onyxCost, nobleID);
+    }
+
+    /** @param uuid uuid of the noble, nobles of the catalog get the same uuid every time it's loaded */
+    Noble(UUID uuid, int emeraldCost, int sapphireCost, int rubyCost, int diamondCost, int onyxCost, int nobleID) {
+        this.uuid = uuid;
 
-        this.cost.put(TokenType.EMERALD, emeraldCost);
-        this.cost.put(TokenType.SAPPHIRE, sapphireCost);
-        this.cost.put(TokenType.RUBY, rubyCost);
-        this.cost.put(TokenType.DIAMOND, diamondCost);
-        this.cost.put(TokenType.ONYX, onyxCost);
+        this.cost = TokenVector.of(emeraldCost, sapphireCost, rubyCost, diamondCost, onyxCost);
 
         this.nobleID = nobleID;
     }
@@ -48,4 +47,8 @@ public class Noble {
     public int getCost(TokenType type) {
         return this.cost.get(type);
     }
+
+    TokenVector getCostVector() {
+        return this.cost;
+    }
 }
@@ -0,0 +1,130 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Immutable list of all the nobles of the game, the id of a noble is its index in the catalog.
+ * The default catalog is loaded once and shared by all games.
+ */
+public final class NobleCatalog {
+
+    private static final String CSV_RESOURCE = "/NobleDatabase.csv";
+
+    private final Noble[] nobles;
+
+    private final List<Noble> nobleList;
+
+    public NobleCatalog(List<Noble> nobles) {
+        this.nobles = nobles.toArray(new Noble[0]);
+        this.nobleList = Collections.unmodifiableList(Arrays.asList(this.nobles));
+    }
+
+    /** @return catalog of the nobles from the noble database on the classpath, loaded once on the first call */
+    public static NobleCatalog getDefault() {
+        return DefaultHolder.CATALOG;
+    }
+
+    /**
+     * Reads nobles from the csv file, invalid lines are logged and skipped.
+     *
+     * @param csvFile path to the file
+     * @return catalog of the read nobles
+     */
+    public static NobleCatalog load(String csvFile) {
+        try (BufferedReader br = Files.newBufferedReader(Path.of(csvFile), StandardCharsets.UTF_8)) {
+            return read(br);
+        } catch (IOException e) {
+            Log.ERROR(e.getMessage());
+            return new NobleCatalog(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Reads nobles from the csv resource on the classpath, so they're found from any working directory.
+     *
+     * @param resource absolute name of the resource
+     * @return catalog of the read nobles, empty if the resource doesn't exist
+     */
+    public static NobleCatalog loadResource(String resource) {
+        InputStream stream = NobleCatalog.class.getResourceAsStream(resource);
+        if (stream == null) {
+            Log.ERROR("Couldn't find noble database " + resource + " on the classpath.");
+            return new NobleCatalog(new ArrayList<>());
+        }
+
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return read(br);
+        } catch (IOException e) {
+            Log.ERROR(e.getMessage());
+            return new NobleCatalog(new ArrayList<>());
+        }
+    }
+
+    /** Nobles get uuids derived from their ids in the file, the same as cards. */
+    private static NobleCatalog read(BufferedReader br) throws IOException {
+        List<Noble> nobles = new ArrayList<>();
+        String line = br.readLine();   //skipping first line because there are headlines
+
+        while ((line = br.readLine()) != null) {
+
+            String[] data = line.split(";");
+
+            try {
+                int nobleId = Integer.parseInt(data[5]);
+                Noble nobleCard = new Noble(
+                    UUID.nameUUIDFromBytes(("noble-" + nobleId).getBytes(StandardCharsets.UTF_8)),
+                    Integer.parseInt(data[2]),
+                    Integer.parseInt(data[1]),
+                    Integer.parseInt(data[3]),
+                    Integer.parseInt(data[4]),
+                    Integer.parseInt(data[0]),
+                    nobleId
+                );
+
+                nobles.add(nobleCard);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                Log.ERROR("Invalid noble `" + line + "`: " + e.getMessage());
+            }
+        }
+
+        return new NobleCatalog(nobles);
+    }
+
+    public int size() {
+        return this.nobles.length;
+    }
+
+    public Noble get(int id) {
+        return this.nobles[id];
+    }
+
+    /** @return id of the noble or -1 if it isn't in the catalog */
+    public int idOf(Noble noble) {
+        for (int id = 0; id < this.nobles.length; id++) {
+            if (this.nobles[id] == noble) return id;
+        }
+        return -1;
+    }
+
+    /** @return read-only list of all the nobles, the index of a noble is its id */
+    public List<Noble> getNobles() {
+        return this.nobleList;
+    }
+
+    private static final class DefaultHolder {
+        private static final NobleCatalog CATALOG = NobleCatalog.loadResource(CSV_RESOURCE);
+    }
+}
@@ -3,9 +3,11 @@ package com.github.splendor_mobile_game.game.model;
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Objects;
-import java.util.Random;
 import java.util.UUID;
 
 public class Room {
@@ -31,7 +33,7 @@ public class Room {
         this.database = database;
         this.owner    = owner;
 
-        this.enterCode = generateRoomCode(database);
+        this.enterCode = database.reserveEnterCode();
         Log.DEBUG(this.enterCode);
         
         playerCount++;
@@ -44,6 +46,18 @@ public class Room {
 
     public void startGame() {
         this.game = new Game(database, users);
+        gameStarted();
+    }
+
+    /** Starts the game with the given seed, so it deals the same cards as the game it was taken from. */
+    public void startGame(long seed) {
+        this.game = new Game(database, users, seed);
+        gameStarted();
+    }
+
+    private void gameStarted() {
+        game.setRoom(this);
+        database.getJournal().gameStarted(this, game.getSeed());
     }
 
     public void displayScoreboard() {
@@ -53,6 +67,69 @@ public class Room {
 
     public void endGame() {
         this.game = null;
+        database.getJournal().gameEnded(this);
+    }
+
+    /**
+     * Writes the whole state of the room with its members, chat and game, so it can be restored after a restart.
+     * The enter code isn't written, the restored room gets a new one.
+     */
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        SnapshotCodec.writeUuid(out, uuid);
+        SnapshotCodec.writeString(out, name);
+        SnapshotCodec.writeString(out, password);
+
+        out.writeByte(users.size());
+        for (User user : users) {
+            user.writeSnapshot(out, database.getCardCatalog(), database.getNobleCatalog());
+        }
+        out.writeByte(users.indexOf(owner));
+        out.writeByte(users.indexOf(currentOrder));
+        out.writeBoolean(lastTurn);
+        out.writeShort(movesPlayed);
+        out.writeByte(playerCount);
+
+        chat.writeSnapshot(out);
+
+        out.writeBoolean(game != null);
+        if (game != null) game.writeSnapshot(out);
+    }
+
+    /**
+     * Reads the room written by {@link #writeSnapshot}. Neither the room nor its members are added to the database.
+     *
+     * @param in buffer positioned at the start of the room
+     * @param database database the room is going to be stored in
+     * @return the restored room, its members are disconnected until they resume their sessions
+     */
+    public static Room readSnapshot(ByteBuffer in, Database database) {
+        UUID uuid = SnapshotCodec.readUuid(in);
+        String name = SnapshotCodec.readString(in);
+        String password = SnapshotCodec.readString(in);
+
+        int userCount = in.get();
+        ArrayList<User> members = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            members.add(User.readSnapshot(in, database.getCardCatalog(), database.getNobleCatalog()));
+        }
+        int ownerIndex = in.get();
+        int currentIndex = in.get();
+
+        Room room = new Room(uuid, name, password, members.get(Math.max(ownerIndex, 0)), database);
+        room.users.clear();
+        room.users.addAll(members);
+        room.currentOrder = currentIndex >= 0 ? members.get(currentIndex) : room.owner;
+        room.lastTurn = in.get() != 0;
+        room.movesPlayed = in.getShort();
+        room.playerCount = in.get();
+
+        room.chat = Chat.readSnapshot(in);
+
+        if (in.get() != 0) {
+            room.game = Game.readSnapshot(in, database, room.users);
+            room.game.setRoom(room);
+        }
+        return room;
     }
 
     public User getCurrentPlayer() {
@@ -66,12 +143,14 @@ public class Room {
         
         if(index == users.size()-1){
             currentOrder = users.get(0);
-            return currentOrder;
         } 
         else{
             currentOrder = users.get(index+1);
-            return currentOrder;
         }
+
+        if (game != null) game.recordTurn(currentOrder);
+        database.getJournal().turnChanged(this);
+        return currentOrder;
     }
 
     public Chat getChat() {
@@ -127,11 +206,13 @@ public class Room {
     
     public void setLastTurn(boolean lastTurn) {
         this.lastTurn = lastTurn;
+        database.getJournal().lastTurnChanged(this, lastTurn);
     }
 
     public void setOwner(User owner) {
         this.owner = owner;
         this.currentOrder = owner;
+        database.getJournal().ownerChanged(this, owner);
     }
 
     public Game getGame() {
@@ -155,6 +236,7 @@ public class Room {
 
         users.add(user);
         playerCount++;
+        database.userJoinedRoom(user, this);
     }
 
 
@@ -171,51 +253,11 @@ public class Room {
         if (!users.contains(user)) return;  // Player is not part of the game.
         users.remove(user);
         playerCount--;
+        chat.forgetSender(user.getUuid());
+        database.userLeftRoom(user, this);
     }
 
 
-    /**
-     * Function generating unique room code.
-     *
-     * @param database -> game database storing all rooms. Needed to compare enterCodes
-     * @return enterCode -> code needed to enter someone else's room
-     */
-    private String generateRoomCode(Database database) {
-        int leftLimit = 48; // numeral '0'
-        int rightLimit = 122; // letter 'z'
-        int targetStringLength = 6;
-        Random random = new Random();
-
-        // Create Stream of ints limited by "targetStringLength" length and filter to contain only alphanumeric characters
-        String generatedCode = random.ints(leftLimit, rightLimit + 1)
-                .filter(i -> (i <= 57 || i >= 65) && (i <= 90 || i >= 97))
-                .limit(targetStringLength)
-                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
-                .toString();
-
-        if (!isCodeAvailable(database, generatedCode)) return generateRoomCode(database);
-
-        return generatedCode;
-    }
-
-
-    /**
-     * Check if enterCode already exists in other room object
-     *
-     * @param database -> game database storing all rooms. Needed to compare enterCodes
-     * @param enterCode -> code which we want to find in already existing rooms
-     * @return boolean -> true if code doesn't exist yet
-     */
-    private boolean isCodeAvailable(Database database, String enterCode) {
-        for (Room room : database.getAllRooms()) {
-            if (room.getEnterCode().equals(enterCode)) return false;
-        }
-        return true;
-    }
-
-
-
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
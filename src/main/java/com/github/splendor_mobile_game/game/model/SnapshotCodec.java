@@ -0,0 +1,108 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.game.enums.TokenType;
+
+/**
+ * Fields shared by the snapshots of rooms, games, users and chats. Snapshots are written with a {@link DataOutputStream}
+ * and read from a {@link ByteBuffer}, both big-endian. Cards and nobles are written as their catalog ids.
+ */
+final class SnapshotCodec {
+
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    /** Longest string which can be written, its length in UTF-8 has to fit in an unsigned short. */
+    private static final int MAX_STRING_LENGTH = 0xFFFF / 3;
+
+    private SnapshotCodec() {}
+
+    static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string.length() > MAX_STRING_LENGTH) string = string.substring(0, MAX_STRING_LENGTH);
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Writes up to 255 bytes, null is written as no bytes. */
+    static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        int length = bytes == null ? 0 : Math.min(bytes.length, 0xFF);
+        out.writeByte(length);
+        if (length > 0) out.write(bytes, 0, length);
+    }
+
+    /** @return bytes written by {@link #writeBytes}, null if there were none */
+    static byte[] readBytes(ByteBuffer in) {
+        int length = Byte.toUnsignedInt(in.get());
+        if (length == 0) return null;
+
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    static void writeTokens(DataOutputStream out, TokenVector tokens) throws IOException {
+        for (TokenType type : TOKEN_TYPES) {
+            out.writeByte(tokens.get(type));
+        }
+    }
+
+    static void readTokens(ByteBuffer in, TokenVector tokens) {
+        for (TokenType type : TOKEN_TYPES) {
+            tokens.set(type, in.get());
+        }
+    }
+
+    static void writeCards(DataOutputStream out, List<Card> cards, CardCatalog catalog) throws IOException {
+        out.writeShort(cards.size());
+        for (Card card : cards) {
+            out.writeShort(catalog.idOf(card.getUuid()));
+        }
+    }
+
+    static ArrayList<Card> readCards(ByteBuffer in, CardCatalog catalog) {
+        int count = in.getShort();
+        ArrayList<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(catalog.get(in.getShort()));
+        }
+        return cards;
+    }
+
+    static void writeNobles(DataOutputStream out, List<Noble> nobles, NobleCatalog catalog) throws IOException {
+        out.writeByte(nobles.size());
+        for (Noble noble : nobles) {
+            out.writeByte(catalog.idOf(noble));
+        }
+    }
+
+    static ArrayList<Noble> readNobles(ByteBuffer in, NobleCatalog catalog) {
+        int count = in.get();
+        ArrayList<Noble> nobles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nobles.add(catalog.get(in.get()));
+        }
+        return nobles;
+    }
+}
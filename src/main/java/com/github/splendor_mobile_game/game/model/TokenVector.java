@@ -0,0 +1,123 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.util.Arrays;
+
+import com.github.splendor_mobile_game.game.enums.TokenType;
+
+/**
+ * Number of tokens of every type, stored in an array indexed by {@link TokenType#ordinal()}.
+ * All operations work on primitive ints, so checking costs doesn't box numbers nor allocate anything.
+ */
+public final class TokenVector {
+
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private static final int GOLD = TokenType.GOLD_JOKER.ordinal();
+
+    private final int[] counts = new int[TYPES.length];
+
+    public TokenVector() {
+    }
+
+    public TokenVector(TokenVector other) {
+        System.arraycopy(other.counts, 0, this.counts, 0, this.counts.length);
+    }
+
+    /** @return vector of the given non-gold tokens, order of the arguments is the order of {@link TokenType} */
+    public static TokenVector of(int emerald, int sapphire, int ruby, int diamond, int onyx) {
+        TokenVector vector = new TokenVector();
+        vector.counts[TokenType.EMERALD.ordinal()] = emerald;
+        vector.counts[TokenType.SAPPHIRE.ordinal()] = sapphire;
+        vector.counts[TokenType.RUBY.ordinal()] = ruby;
+        vector.counts[TokenType.DIAMOND.ordinal()] = diamond;
+        vector.counts[TokenType.ONYX.ordinal()] = onyx;
+        return vector;
+    }
+
+    public int get(TokenType type) {
+        return this.counts[type.ordinal()];
+    }
+
+    public void set(TokenType type, int count) {
+        this.counts[type.ordinal()] = count;
+    }
+
+    public void add(TokenType type, int count) {
+        this.counts[type.ordinal()] += count;
+    }
+
+    /** Adds every count of the other vector to this one. */
+    public void add(TokenVector other) {
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] += other.counts[i];
+        }
+    }
+
+    /** Subtracts every count of the other vector from this one, counts might become negative. */
+    public void subtract(TokenVector other) {
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] -= other.counts[i];
+        }
+    }
+
+    /** @return sum of the counts of all types */
+    public int total() {
+        int total = 0;
+        for (int count : this.counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** @return true if no count of this vector is lower than the count of the other vector */
+    public boolean dominates(TokenVector other) {
+        int lacking = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            lacking |= this.counts[i] - other.counts[i];
+        }
+        return lacking >= 0;
+    }
+
+    /**
+     * Counts how many tokens are missing to pay the cost, gold tokens aren't taken into account.
+     *
+     * @param cost cost to pay
+     * @param discount tokens which don't have to be paid, e.g. the card bonuses
+     * @return sum of the non-gold tokens missing to pay the cost
+     */
+    public int shortfall(TokenVector cost, TokenVector discount) {
+        int missing = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            if (i == GOLD) continue;
+            missing += Math.max(0, cost.counts[i] - discount.counts[i] - this.counts[i]);
+        }
+        return missing;
+    }
+
+    /** @return copy of the counts indexed by {@link TokenType#ordinal()} */
+    public int[] toArray() {
+        return this.counts.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(this.counts, ((TokenVector) o).counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.counts);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < this.counts.length; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(TYPES[i]).append('=').append(this.counts[i]);
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -1,10 +1,17 @@
 package com.github.splendor_mobile_game.game.model;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Base64;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.github.splendor_mobile_game.game.exceptions.NotEnoughTokensException;
 import com.github.splendor_mobile_game.game.enums.TokenType;
@@ -12,19 +19,28 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 
 public class User implements Comparable<User> {
 
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    //connection ids of restored users are negative, so they don't collide with ids of real connections
+    private static final AtomicLong RESTORED_CONNECTION_IDS = new AtomicLong();
+
+    //resume tokens are the uuid of the user followed by a random secret, only the hash of the token is kept
+    private static final int RESUME_SECRET_BYTES = 32;
+    private static final SecureRandom RESUME_SECRETS = new SecureRandom();
+
     private final String name;
 
     private UUID uuid;
 
-    private int connectionHasCode;
+    private long connectionId;
 
     private int points;
 
-    //initialized tokens hashmap
-    private Map<TokenType, Integer> tokens = new HashMap<TokenType, Integer>();
+    //tokens owned by the user
+    private final TokenVector tokens = new TokenVector();
 
-    //hashmap showing how many Bonuses user has
-    private Map<TokenType, Integer> cardBonuses = new HashMap<TokenType, Integer>();
+    //vector showing how many Bonuses user has, there are no gold bonuses
+    private final TokenVector cardBonuses = new TokenVector();
 
     //initialized purchased and reserved cards lists
     private ArrayList<Card> purchasedCards = new ArrayList<Card>();
@@ -34,45 +50,140 @@ public class User implements Comparable<User> {
     private ArrayList<Noble> visitingNobles = new ArrayList<Noble>();
     private boolean hasPerformedAction;
 
-    public User(UUID uuid, String name, int connectionHasCode) {
+    //false while the user's connection is lost and their session waits to be resumed
+    private volatile boolean connected = true;
+
+    //SHA-256 of the token the session can be resumed with, null if none has been issued
+    private byte[] resumeTokenHash;
+
+    public User(UUID uuid, String name, long connectionId) {
         this.uuid = uuid;
         this.name = name;
-        this.connectionHasCode = connectionHasCode;
+        this.connectionId = connectionId;
+        this.hasPerformedAction = false;
+    }
+
+    /**
+     * Creates the user loaded from storage, they have no connection until they resume their session.
+     *
+     * @param uuid uuid of the user
+     * @param name name of the user
+     * @return disconnected user with a connection id no real connection has
+     */
+    public static User restored(UUID uuid, String name) {
+        User user = new User(uuid, name, RESTORED_CONNECTION_IDS.decrementAndGet());
+        user.setConnected(false);
+        return user;
+    }
+
+    /**
+     * Issues a new token the session of the user can be resumed with, the previous one stops working.
+     * It's issued before the user joins a room, so the hash is stored together with the membership.
+     *
+     * @return the token, it's given only to the user
+     */
+    public String issueResumeToken() {
+        byte[] token = new byte[2 * Long.BYTES + RESUME_SECRET_BYTES];
+        ByteBuffer.wrap(token).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        byte[] secret = new byte[RESUME_SECRET_BYTES];
+        RESUME_SECRETS.nextBytes(secret);
+        System.arraycopy(secret, 0, token, 2 * Long.BYTES, RESUME_SECRET_BYTES);
+
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+        this.resumeTokenHash = hashResumeToken(encoded);
+        return encoded;
+    }
+
+    /** @return true if the session of the user can be resumed with the token */
+    public boolean checkResumeToken(String token) {
+        return this.resumeTokenHash != null && token != null && MessageDigest.isEqual(this.resumeTokenHash, hashResumeToken(token));
+    }
+
+    /** @return uuid of the user the token has been issued to, null if it isn't a token */
+    public static UUID uuidOfResumeToken(String token) {
+        if (token == null) return null;
 
-        //putting every token type into hashmaps and setting its value to 0
-        for (TokenType type : TokenType.values()) {
-            this.tokens.put(type, 0);
-            if(type != TokenType.GOLD_JOKER) this.cardBonuses.put(type, 0);
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        this.hasPerformedAction = false;
+        if (bytes.length != 2 * Long.BYTES + RESUME_SECRET_BYTES) return null;
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
     }
 
-    //method returning how many tokens user has
-    public int getTokenCount() {
-        int result = 0;
+    /** @return hash of the current resume token, it's stored instead of the token */
+    public byte[] getResumeTokenHash() {
+        return resumeTokenHash;
+    }
 
-        for(Map.Entry<TokenType, Integer> set : this.tokens.entrySet()) {
-            result += set.getValue();
+    /** Sets the hash of the resume token loaded from storage. */
+    public void setResumeTokenHash(byte[] resumeTokenHash) {
+        this.resumeTokenHash = resumeTokenHash;
+    }
+
+    private static byte[] hashResumeToken(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has SHA-256
+            throw new IllegalStateException(e);
         }
+    }
+
+    /** Writes the state of the user in the game, the connection isn't written. */
+    void writeSnapshot(DataOutputStream out, CardCatalog cardCatalog, NobleCatalog nobleCatalog) throws IOException {
+        SnapshotCodec.writeUuid(out, uuid);
+        SnapshotCodec.writeString(out, name);
+        SnapshotCodec.writeBytes(out, resumeTokenHash);
+        out.writeShort(points);
+        SnapshotCodec.writeTokens(out, tokens);
+        SnapshotCodec.writeTokens(out, cardBonuses);
+        SnapshotCodec.writeCards(out, purchasedCards, cardCatalog);
+        SnapshotCodec.writeCards(out, reservedCards, cardCatalog);
+        SnapshotCodec.writeNobles(out, visitingNobles, nobleCatalog);
+        out.writeBoolean(hasPerformedAction);
+    }
 
-        return result;
+    /** Reads the user written by {@link #writeSnapshot}, they are disconnected until they resume their session. */
+    static User readSnapshot(ByteBuffer in, CardCatalog cardCatalog, NobleCatalog nobleCatalog) {
+        User user = restored(SnapshotCodec.readUuid(in), SnapshotCodec.readString(in));
+        user.resumeTokenHash = SnapshotCodec.readBytes(in);
+        user.points = in.getShort();
+        SnapshotCodec.readTokens(in, user.tokens);
+        SnapshotCodec.readTokens(in, user.cardBonuses);
+        user.purchasedCards = SnapshotCodec.readCards(in, cardCatalog);
+        user.reservedCards = SnapshotCodec.readCards(in, cardCatalog);
+        user.visitingNobles = SnapshotCodec.readNobles(in, nobleCatalog);
+        user.hasPerformedAction = in.get() != 0;
+        return user;
+    }
+
+    //method returning how many tokens user has
+    public int getTokenCount() {
+        return this.tokens.total();
     }
 
     public int getTokenCount(TokenType type) {
         return this.tokens.get(type);
     }
 
+    TokenVector getTokenVector() {
+        return this.tokens;
+    }
+
     /** 
-     * function which updates user's token amount by adding or subtracting their current amount by numbers listed in tokensChange map
+     * function which updates user's token amount by adding or subtracting their current amount by numbers listed in tokensChange vector
      * It skips gold token type because users can't take gold tokens by themselves
      */
-    public void changeTokens(Map<TokenType, Integer> tokensChange) {
-        for(Map.Entry<TokenType, Integer> set : this.tokens.entrySet()) {
-            // User can't take Gold tokens from table so we skip them in our this.tokens map
-            if(set.getKey() == TokenType.GOLD_JOKER) continue;
-            // Every token type value is added/subtracted by its corresponding value in tokensChange map
-            this.tokens.put(set.getKey(), set.getValue() + tokensChange.get(set.getKey()));
-        }
+    public void changeTokens(TokenVector tokensChange) {
+        // User can't take Gold tokens from table so we keep their amount
+        int goldTokens = this.tokens.get(TokenType.GOLD_JOKER);
+        this.tokens.add(tokensChange);
+        this.tokens.set(TokenType.GOLD_JOKER, goldTokens);
     }
 
 
@@ -87,22 +198,8 @@ public class User implements Comparable<User> {
      *         >0 number of needed golden tokens
      */
     public int howManyGoldenTokens(Card card) {
-        int goldTokensUsed = 0;
-
-        for(Map.Entry<TokenType, Integer> set : this.tokens.entrySet()) {
-            if(set.getKey() == TokenType.GOLD_JOKER) continue;
-            int tokensPlusBonuses = set.getValue() + this.cardBonuses.get(set.getKey());
-            if(tokensPlusBonuses < card.getCost(set.getKey())) {
-                int missingTokens = card.getCost(set.getKey()) - tokensPlusBonuses;
-                if((this.getTokenCount(TokenType.GOLD_JOKER) - goldTokensUsed) >= missingTokens) {
-                    goldTokensUsed += missingTokens;
-                } else {
-                    return -1;
-                }
-            }
-        }
-
-        return goldTokensUsed;
+        int missingTokens = this.tokens.shortfall(card.getCostVector(), this.cardBonuses);
+        return missingTokens <= this.tokens.get(TokenType.GOLD_JOKER) ? missingTokens : -1;
     }
 
 
@@ -112,8 +209,14 @@ public class User implements Comparable<User> {
 
 
 
-    //method for buying cards
-    public void buyCard(Card card) throws NotEnoughTokensException {
+    /**
+     * Buys the card paying for it with user's tokens
+     *
+     * @param card Card which user wants to buy
+     * @return tokens which have been paid and should be returned to the table
+     * @throws NotEnoughTokensException if user can't afford the card
+     */
+    public TokenVector buyCard(Card card) throws NotEnoughTokensException {
 
         int goldTokensUsed = howManyGoldenTokens(card);
 
@@ -121,31 +224,28 @@ public class User implements Comparable<User> {
             throw new NotEnoughTokensException("You don't have enough tokens to buy this card");
 
 
-        this.tokens.forEach((k,v) -> {
-            if(k != TokenType.GOLD_JOKER) {
-                int neededTokens = card.getCost(k) - this.cardBonuses.get(k);
-                if(neededTokens >= 0){
-                    int changedValue = v > neededTokens ? v - neededTokens : 0;
-                    this.tokens.put(k, changedValue);
-                }
-            }
-        });
+        TokenVector paidTokens = new TokenVector();
+        for (TokenType type : TOKEN_TYPES) {
+            if (type == TokenType.GOLD_JOKER) continue;
+            int neededTokens = Math.max(0, card.getCost(type) - this.cardBonuses.get(type));
+            paidTokens.set(type, Math.min(this.tokens.get(type), neededTokens));
+        }
+        paidTokens.set(TokenType.GOLD_JOKER, goldTokensUsed);
 
-        this.tokens.put(TokenType.GOLD_JOKER, this.tokens.get(TokenType.GOLD_JOKER) - goldTokensUsed);
+        this.tokens.subtract(paidTokens);
 
         this.purchasedCards.add(card);
 
-        this.cardBonuses.put(card.getAdditionalToken(), this.cardBonuses.get(card.getAdditionalToken()) + 1);
+        this.cardBonuses.add(card.getAdditionalToken(), 1);
 
         this.addPoints(card.getPoints());
 
+        return paidTokens;
     }
 
     public boolean takeNoble(Noble noble) {
-        for(Map.Entry<TokenType, Integer> set : this.cardBonuses.entrySet()) {
-            if(set.getValue() < noble.getCost((set.getKey()))) return false;
-                //throw new NotEnoughBonusPointsException("You don't have enough cards for this Noble to visit you");
-        }
+        if(!this.cardBonuses.dominates(noble.getCostVector())) return false;
+            //throw new NotEnoughBonusPointsException("You don't have enough cards for this Noble to visit you");
 
         this.visitingNobles.add(noble);
         this.addPoints(noble.getPoints());
@@ -170,7 +270,7 @@ public class User implements Comparable<User> {
         this.reservedCards.add(card);
         
         if(goldToken){
-            this.tokens.put(TokenType.GOLD_JOKER, this.tokens.get(TokenType.GOLD_JOKER) + 1);
+            this.tokens.add(TokenType.GOLD_JOKER, 1);
         }
     }
 
@@ -193,12 +293,20 @@ public class User implements Comparable<User> {
         this.reservedCards.remove(card);
     }
 
-    public int getConnectionHashCode() {
-        return connectionHasCode;
+    public long getConnectionId() {
+        return connectionId;
+    }
+
+    public void setConnectionId(long connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    public boolean isConnected() {
+        return connected;
     }
 
-    public void setConnectionHasCode(int connectionHasCode) {
-        this.connectionHasCode = connectionHasCode;
+    public void setConnected(boolean connected) {
+        this.connected = connected;
     }
 
     public String getName() {
@@ -238,18 +346,19 @@ public class User implements Comparable<User> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         User user = (User) o;
-        return uuid.equals(user.uuid) && connectionHasCode == user.getConnectionHashCode();
+        return uuid.equals(user.uuid) && connectionId == user.getConnectionId();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(uuid, connectionHasCode);
+        return Objects.hash(uuid, connectionId);
     }
 
+    /** Players with more points go first, fewer purchased cards win a tie. */
     @Override
     public int compareTo(User compare) {
         if (this.points == compare.getPoints()) {
-            return compare.getNumberOfPurchesedCards() - this.getNumberOfPurchesedCards();
+            return this.getNumberOfPurchesedCards() - compare.getNumberOfPurchesedCards();
         }
         return compare.getPoints() - this.points;
     }
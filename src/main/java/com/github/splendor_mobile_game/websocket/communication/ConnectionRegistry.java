@@ -0,0 +1,77 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.java_websocket.WebSocket;
+
+/**
+ * Registry of all the open connections. Every connection gets an id which is never reused
+ * during the lifetime of the server. The id is also stored as the attachment of the WebSocket,
+ * so it can be read from the connection without any lookup.
+ */
+public class ConnectionRegistry {
+
+    /** Id which is never assigned to any connection. */
+    public static final long NO_CONNECTION = 0L;
+
+    private final AtomicLong lastId = new AtomicLong(NO_CONNECTION);
+
+    private final ConcurrentHashMap<Long, WebSocket> connections = new ConcurrentHashMap<>();
+
+    /**
+     * Assigns a new id to the connection and stores it.
+     *
+     * @param connection the newly opened connection
+     * @return id of the connection
+     */
+    public long register(WebSocket connection) {
+        long id = this.lastId.incrementAndGet();
+        connection.setAttachment(id);
+        this.connections.put(id, connection);
+        return id;
+    }
+
+    /**
+     * Removes the connection from the registry.
+     *
+     * @param connection the closed connection
+     * @return id of the connection or {@link #NO_CONNECTION} if it wasn't registered
+     */
+    public long unregister(WebSocket connection) {
+        long id = idOf(connection);
+        if (id != NO_CONNECTION) {
+            this.connections.remove(id, connection);
+        }
+        return id;
+    }
+
+    /**
+     * @param id id of the connection
+     * @return the connection or null if there is no open connection with such id
+     */
+    public WebSocket get(long id) {
+        return this.connections.get(id);
+    }
+
+    /** @return view of all the open connections */
+    public Collection<WebSocket> getAll() {
+        return this.connections.values();
+    }
+
+    /** @return number of open connections */
+    public int size() {
+        return this.connections.size();
+    }
+
+    /**
+     * @param connection the connection
+     * @return id of the connection or {@link #NO_CONNECTION} if it has never been registered
+     */
+    public static long idOf(WebSocket connection) {
+        Long id = connection.getAttachment();
+        return id == null ? NO_CONNECTION : id;
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.java_websocket.WebSocket;
+
+import com.github.splendor_mobile_game.websocket.handlers.connection.ConnectionChecker;
+import com.github.splendor_mobile_game.websocket.utils.ExceptionUtils;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Pings all the connections and checks their health status using a few hashed wheels sharing a small thread pool.
+ * Every wheel makes one revolution per ping interval and visits one bucket of connections on each tick,
+ * so every connection is visited once per ping interval and the work is spread evenly in time.
+ * Connections which have sent a message since the previous visit aren't pinged. A pong only proves the connection
+ * is alive, it doesn't make the next ping unnecessary, otherwise silent clients would be pinged every other interval.
+ */
+public class HeartbeatScheduler {
+
+    /** Number of buckets in a single wheel. */
+    private static final int WHEEL_SIZE = 32;
+
+    /** The interval (in nanoseconds) for checking the health status of the connection. */
+    private final long checkIntervalNs;
+
+    /** Threads ticking the wheels. */
+    private final ScheduledExecutorService executor;
+
+    private final Wheel[] wheels;
+
+    /** Time of the last message or pong of every connection. */
+    private final LivenessTable liveness = new LivenessTable();
+
+    /** Registered connections by their ids. */
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the scheduler and starts ticking its wheels.
+     *
+     * @param pingIntervalMs The interval (in milliseconds) for sending ping messages
+     * @param checkIntervalMs The interval (in milliseconds) at which the health status of the connection is checked
+     * @param shards Number of wheels and threads
+     */
+    public HeartbeatScheduler(int pingIntervalMs, int checkIntervalMs, int shards) {
+        this.checkIntervalNs = TimeUnit.MILLISECONDS.toNanos(checkIntervalMs);
+        this.wheels = new Wheel[shards];
+
+        ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(shards, runnable -> {
+            Thread thread = new Thread(runnable, "heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.setRemoveOnCancelPolicy(true);
+        this.executor = pool;
+
+        long tickUs = Math.max(1, TimeUnit.MILLISECONDS.toMicros(pingIntervalMs) / WHEEL_SIZE);
+        for (int i = 0; i < shards; i++) {
+            Wheel wheel = new Wheel();
+            this.wheels[i] = wheel;
+            this.executor.scheduleAtFixedRate(wheel::tick, tickUs, tickUs, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    /**
+     * Starts pinging and checking the connection.
+     *
+     * @param connectionId id of the connection
+     * @param connection the connection
+     * @param connectionChecker checker reacting to the health status of the connection
+     */
+    public void register(long connectionId, WebSocket connection, ConnectionChecker connectionChecker) {
+        // Ids are assigned sequentially, so they spread the connections evenly across wheels and buckets
+        int registration = (int) (connectionId & Integer.MAX_VALUE);
+        Wheel wheel = this.wheels[registration % this.wheels.length];
+        int bucket = (registration / this.wheels.length) % WHEEL_SIZE;
+
+        Entry entry = new Entry(connection, connectionChecker, wheel.buckets[bucket], this.liveness.acquire());
+        entry.nextCheckNs = this.liveness.lastSeen(entry.slot) + this.checkIntervalNs;
+
+        this.entries.put(connectionId, entry);
+        entry.bucket.add(entry);
+    }
+
+    /**
+     * Notes that the connection has sent a message, so it's alive and there is no need to ping it in this interval.
+     *
+     * @param connectionId id of the connection
+     */
+    public void recordActivity(long connectionId) {
+        Entry entry = this.entries.get(connectionId);
+        if (entry != null) {
+            this.liveness.touch(entry.slot);
+            entry.messageReceived = true;
+        }
+    }
+
+    /**
+     * Notes that the connection has answered a ping, so it's alive. It's still pinged on the next visit.
+     *
+     * @param connectionId id of the connection
+     */
+    public void recordPong(long connectionId) {
+        Entry entry = this.entries.get(connectionId);
+        if (entry != null) {
+            this.liveness.touch(entry.slot);
+        }
+    }
+
+    /**
+     * Stops pinging and checking the connection.
+     *
+     * @param connectionId id of the connection
+     * @return checker of the connection, which should be notified about the connection close, or null if it wasn't registered
+     */
+    public ConnectionChecker unregister(long connectionId) {
+        Entry entry = this.entries.remove(connectionId);
+        if (entry == null) {
+            return null;
+        }
+
+        entry.bucket.remove(entry);
+        this.liveness.release(entry.slot);
+        return entry.connectionChecker;
+    }
+
+    /** Stops all the wheels. */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Visits all the connections at once instead of waiting for the wheels.
+     *
+     * @param now current time as given by {@link System#nanoTime()}
+     */
+    void visitAll(long now) {
+        for (Entry entry : this.entries.values()) {
+            this.visit(entry, now);
+        }
+    }
+
+    private void visit(Entry entry, long now) {
+        if (entry.connection.isClosed()) {
+            return;
+        }
+
+        long lastSeen = this.liveness.lastSeen(entry.slot);
+
+        // Ping only if the client hasn't sent any message since the last visit, a message arriving right now costs one extra ping at most
+        if (!entry.messageReceived) {
+            entry.connection.sendPing();
+        }
+        entry.messageReceived = false;
+
+        if (now - entry.nextCheckNs < 0) {
+            return;
+        }
+        entry.nextCheckNs = now + this.checkIntervalNs;
+
+        entry.connectionChecker.onConnectionCheck((now - lastSeen) / 1000000);
+    }
+
+    /** Buckets of connections visited one per tick. Ticks of one wheel never run concurrently. */
+    private final class Wheel {
+
+        @SuppressWarnings("unchecked")
+        private final Set<Entry>[] buckets = new Set[WHEEL_SIZE];
+
+        private int currentBucket = 0;
+
+        private Wheel() {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                this.buckets[i] = ConcurrentHashMap.newKeySet();
+            }
+        }
+
+        private void tick() {
+            long now = System.nanoTime();
+
+            for (Entry entry : this.buckets[this.currentBucket]) {
+                try {
+                    visit(entry, now);
+                } catch (Exception e) {
+                    // Exception would cancel the whole wheel
+                    Log.ERROR("Heartbeat of connection `" + ConnectionRegistry.idOf(entry.connection) + "` has failed: " + ExceptionUtils.getStackTrace(e));
+                }
+            }
+
+            this.currentBucket = (this.currentBucket + 1) % WHEEL_SIZE;
+        }
+    }
+
+    private static final class Entry {
+        private final WebSocket connection;
+        private final ConnectionChecker connectionChecker;
+        private final Set<Entry> bucket;
+
+        /** Slot of the connection in the liveness table. */
+        private final int slot;
+
+        /** Set by every message, cleared by the wheel on every visit. */
+        private volatile boolean messageReceived;
+
+        /** Accessed only by the wheel after registration. */
+        private long nextCheckNs;
+
+        private Entry(WebSocket connection, ConnectionChecker connectionChecker, Set<Entry> bucket, int slot) {
+            this.connection = connection;
+            this.connectionChecker = connectionChecker;
+            this.bucket = bucket;
+            this.slot = slot;
+        }
+    }
+
+}
@@ -1,9 +1,9 @@
 package com.github.splendor_mobile_game.websocket.communication;
 
-import com.github.splendor_mobile_game.websocket.utils.CustomException;
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
 
 // TODO: Java doc required
-public class InvalidReceivedMessage extends CustomException {
+public class InvalidReceivedMessage extends DomainException {
 
     public InvalidReceivedMessage() {
     }
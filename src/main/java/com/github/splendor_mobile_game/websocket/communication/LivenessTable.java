@@ -0,0 +1,81 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the time (from {@link System#nanoTime()}) of the last sign of life of every connection.
+ * Each connection gets a slot, so updating and reading its timestamp is a single memory access.
+ * Slots are stored in fixed size segments which are never moved, the table grows by adding segments.
+ */
+public class LivenessTable {
+
+    private static final int SEGMENT_BITS = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /** Segments of the table, replaced by a longer copy when the table grows. */
+    private volatile AtomicLongArray[] segments = new AtomicLongArray[] { new AtomicLongArray(SEGMENT_SIZE) };
+
+    /** Slots released by closed connections, guarded by this. */
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount = 0;
+
+    /** Lowest slot which has never been used, guarded by this. */
+    private int nextSlot = 0;
+
+    /**
+     * Assigns a slot to the new connection and marks it as alive now.
+     *
+     * @return the slot of the connection
+     */
+    public int acquire() {
+        int slot;
+
+        synchronized (this) {
+            if (this.freeSlotCount > 0) {
+                slot = this.freeSlots[--this.freeSlotCount];
+            } else {
+                slot = this.nextSlot++;
+                if ((slot >>> SEGMENT_BITS) == this.segments.length) {
+                    AtomicLongArray[] grown = Arrays.copyOf(this.segments, this.segments.length + 1);
+                    grown[grown.length - 1] = new AtomicLongArray(SEGMENT_SIZE);
+                    this.segments = grown;
+                }
+            }
+        }
+
+        this.touch(slot);
+        return slot;
+    }
+
+    /**
+     * Returns the slot of the closed connection to the pool.
+     *
+     * @param slot the slot of the connection
+     */
+    public synchronized void release(int slot) {
+        if (this.freeSlotCount == this.freeSlots.length) {
+            this.freeSlots = Arrays.copyOf(this.freeSlots, this.freeSlots.length * 2);
+        }
+        this.freeSlots[this.freeSlotCount++] = slot;
+    }
+
+    /**
+     * Marks the connection as alive now.
+     *
+     * @param slot the slot of the connection
+     */
+    public void touch(int slot) {
+        this.segments[slot >>> SEGMENT_BITS].lazySet(slot & SEGMENT_MASK, System.nanoTime());
+    }
+
+    /**
+     * @param slot the slot of the connection
+     * @return time of the last sign of life of the connection
+     */
+    public long lastSeen(int slot) {
+        return this.segments[slot >>> SEGMENT_BITS].get(slot & SEGMENT_MASK);
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.splendor_mobile_game.websocket.utils.ExceptionUtils;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Executes work in per-room lanes on a shared pool of worker threads.
+ * Tasks submitted to the same lane run strictly one after another in submission order,
+ * while tasks of different lanes run in parallel. Connections not assigned to any room
+ * use the {@link #LOBBY} lane.
+ */
+public class MessageDispatcher {
+
+    /** Lane key of the traffic that doesn't belong to any room. */
+    public static final UUID LOBBY = new UUID(0L, 0L);
+
+    /** How many tasks a lane may execute before giving its worker to other lanes. */
+    private static final int TASKS_PER_TURN = 32;
+
+    /** Pool of the workers shared by all lanes. */
+    private final ExecutorService workers;
+
+    /** Maximum number of waiting tasks in a single lane. */
+    private final int laneCapacity;
+
+    /** Lanes which have any pending work, lanes without work are removed. */
+    private final ConcurrentHashMap<UUID, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new dispatcher.
+     *
+     * @param workerThreads number of threads executing the tasks
+     * @param laneCapacity maximum number of waiting tasks in a single lane
+     */
+    public MessageDispatcher(int workerThreads, int laneCapacity) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("Worker thread count must be positive, got " + workerThreads);
+        }
+        if (laneCapacity < 1) {
+            throw new IllegalArgumentException("Lane capacity must be positive, got " + laneCapacity);
+        }
+
+        this.laneCapacity = laneCapacity;
+        this.workers = Executors.newFixedThreadPool(workerThreads, new WorkerThreadFactory());
+    }
+
+    /**
+     * Adds the task to the end of the lane's queue.
+     *
+     * @param laneKey uuid of the room or {@link #LOBBY}
+     * @param task work to execute
+     * @return false if the lane's queue is full and the task has been rejected
+     */
+    public boolean dispatch(UUID laneKey, Runnable task) {
+        return this.enqueue(laneKey, task, true);
+    }
+
+    /**
+     * Adds the task to the end of the lane's queue, even if the queue is full.
+     * Meant for work which can't be dropped, like cleaning up after closed connection.
+     *
+     * @param laneKey uuid of the room or {@link #LOBBY}
+     * @param task work to execute
+     */
+    public void dispatchUnbounded(UUID laneKey, Runnable task) {
+        this.enqueue(laneKey, task, false);
+    }
+
+    /** Stops accepting new work and waits a moment for already queued tasks. */
+    public void shutdown() {
+        this.workers.shutdown();
+        try {
+            if (!this.workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                this.workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean enqueue(UUID laneKey, Runnable task, boolean bounded) {
+        if (laneKey == null) {
+            laneKey = LOBBY;
+        }
+
+        boolean[] accepted = new boolean[1];
+        Lane[] toSchedule = new Lane[1];
+
+        // Queue modifications and lane removal happen atomically within the map's bin lock,
+        // so there is never more than one lane for the same key
+        this.lanes.compute(laneKey, (key, lane) -> {
+            if (lane == null) {
+                lane = new Lane(key);
+            }
+
+            if (bounded && lane.tasks.size() >= this.laneCapacity) {
+                return lane;
+            }
+
+            lane.tasks.addLast(task);
+            accepted[0] = true;
+
+            if (!lane.scheduled) {
+                lane.scheduled = true;
+                toSchedule[0] = lane;
+            }
+
+            return lane;
+        });
+
+        if (!accepted[0]) {
+            Log.WARNING("Lane `" + laneKey + "` is full, task has been rejected.");
+            return false;
+        }
+
+        if (toSchedule[0] != null) {
+            toSchedule[0].schedule();
+        }
+
+        return true;
+    }
+
+    /** Queue of the tasks for one room, executed by at most one worker at a time. */
+    private final class Lane implements Runnable {
+
+        private final UUID key;
+
+        /** Guarded by the bin lock of {@link MessageDispatcher#lanes}. */
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        /** Whether the lane is already waiting for or owned by a worker. */
+        private boolean scheduled;
+
+        private Lane(UUID key) {
+            this.key = key;
+        }
+
+        private void schedule() {
+            workers.execute(this);
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < TASKS_PER_TURN; i++) {
+                Runnable task = this.poll();
+                if (task == null) {
+                    return;
+                }
+
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    Log.ERROR("Task in lane `" + this.key + "` has failed: " + e.getMessage() + "\n" + ExceptionUtils.getStackTrace(e));
+                }
+            }
+
+            // Give the worker to other lanes, the rest of the queue will be executed later
+            this.schedule();
+        }
+
+        /** Takes the next task or, if there is none, releases the lane. */
+        private Runnable poll() {
+            Runnable[] next = new Runnable[1];
+
+            lanes.compute(this.key, (key, lane) -> {
+                next[0] = this.tasks.pollFirst();
+
+                if (next[0] != null) {
+                    return this;
+                }
+
+                this.scheduled = false;
+                return null;
+            });
+
+            return next[0];
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "room-worker-" + this.counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
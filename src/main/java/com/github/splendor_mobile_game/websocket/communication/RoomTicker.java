@@ -0,0 +1,46 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks postponed by reactions, ie. announcements which gather everything that has happened in a room during one tick.
+ * All rooms share one timer thread, which only hands the tasks over to the lanes of their rooms.
+ */
+public class RoomTicker {
+
+    private final long tickMs;
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * @param tickMs how long tasks are postponed, 0 runs them right away
+     */
+    public RoomTicker(int tickMs) {
+        this.tickMs = Math.max(0, tickMs);
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "room-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the task after one tick.
+     *
+     * @param task the task, it runs on the timer thread, so it should only dispatch the actual work
+     */
+    public void schedule(Runnable task) {
+        if (this.tickMs == 0) {
+            task.run();
+            return;
+        }
+
+        this.timer.schedule(task, this.tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops the timer, tasks waiting for their tick never run. */
+    public void shutdown() {
+        this.timer.shutdownNow();
+    }
+}
@@ -8,7 +8,6 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 import com.github.splendor_mobile_game.websocket.utils.json.JsonParser;
 import com.github.splendor_mobile_game.websocket.utils.json.Optional;
 import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonParserException;
-import com.google.gson.Gson;
 
 /**
  * Represents a message sent by the server to the client.
@@ -101,12 +100,12 @@ public class ServerMessage {
             throw new UnsupportedOperationException("This ServerMessage is not the ErrorResponse, because its result is OK");
         }
 
-        ErrorResponse.Data data = (ErrorResponse.Data) JsonParser.parseJson((new Gson()).toJson(this.getData()), ErrorResponse.Data.class);
+        ErrorResponse.Data data = JsonParser.parseJsonTree(JsonParser.GSON.toJsonTree(this.getData()), ErrorResponse.Data.class);
         return new ErrorResponse(this.getResult(), data.error, this.getType(), this.getContextId().toString());
     }
 
     public String toJson() {
-        return (new Gson()).toJson(this);
+        return JsonParser.GSON.toJson(this);
     }
 
 }
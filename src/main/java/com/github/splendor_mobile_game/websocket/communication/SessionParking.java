@@ -0,0 +1,47 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps sessions of users who have lost their connection while being in a room for a grace period,
+ * so a phone switching networks can resume the session instead of leaving and rejoining the room.
+ * All parked sessions share one timer thread which reclaims them when their grace period expires.
+ */
+public class SessionParking {
+
+    private final long gracePeriodMs;
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * @param gracePeriodSec how long parked sessions can be resumed, 0 disables parking
+     */
+    public SessionParking(int gracePeriodSec) {
+        this.gracePeriodMs = TimeUnit.SECONDS.toMillis(Math.max(0, gracePeriodSec));
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "session-parking");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** @return false if sessions are reclaimed as soon as the connection drops */
+    public boolean isEnabled() {
+        return this.gracePeriodMs > 0;
+    }
+
+    /**
+     * Parks a session.
+     *
+     * @param onExpired reclaims the session if it hasn't been resumed, it runs on the timer thread
+     */
+    public void park(Runnable onExpired) {
+        this.timer.schedule(onExpired, this.gracePeriodMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops the timer, sessions parked at the moment are never reclaimed. */
+    public void shutdown() {
+        this.timer.shutdownNow();
+    }
+}
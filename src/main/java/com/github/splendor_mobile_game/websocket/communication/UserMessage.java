@@ -1,38 +1,97 @@
 package com.github.splendor_mobile_game.websocket.communication;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
 import com.github.splendor_mobile_game.websocket.utils.json.JsonParser;
 import com.github.splendor_mobile_game.websocket.utils.json.Optional;
+import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonIsNotValidJsonObject;
+import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonIsNullException;
+import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonMissingFieldException;
 import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonParserException;
-import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Represents a message sent by a user.
  */
 public class UserMessage {
 
+    private static final TypeAdapter<UUID> UUID_ADAPTER = JsonParser.GSON.getAdapter(UUID.class);
+
+    private static final TypeAdapter<UserRequestType> TYPE_ADAPTER = JsonParser.GSON.getAdapter(UserRequestType.class);
+
     private UUID contextId;
 
     private UserRequestType type;
 
+    /** Parsed tree of the data until {@link #parseDataToClass(Class)} is called, then instance of the data class. */
     @Optional
     private Object data;
 
     /**
      * Creates a new UserMessage by parsing the provided JSON message.
      * Heavly used on the server side.
+     * The message is read in a single pass, the data is kept as parsed tree until its class is known.
      *
      * @param json the JSON message to parse
      * @throws JsonParserException if the provided message is invalid
      */
     public UserMessage(String json) throws JsonParserException {
-        UserMessage msg = UserMessage.fromJson(json);
+        if (json == null || json.isBlank())
+            throw new JsonIsNullException("Provided json string is null or is empty!");
+
+        boolean hasContextId = false;
+        boolean hasType = false;
+
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.setLenient(true);
+
+            if (reader.peek() != JsonToken.BEGIN_OBJECT)
+                throw new JsonIsNotValidJsonObject("Received string is not valid json object <= Expected BEGIN_OBJECT but was " + reader.peek());
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "contextId":
+                        hasContextId = true;
+                        this.contextId = UUID_ADAPTER.read(reader);
+                        break;
+                    case "type":
+                        hasType = true;
+                        this.type = TYPE_ADAPTER.read(reader);
+                        break;
+                    case "data":
+                        JsonElement dataTree = readTree(reader);
+                        this.data = dataTree.isJsonNull() ? null : dataTree;
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (reader.peek() != JsonToken.END_DOCUMENT)
+                throw new JsonIsNotValidJsonObject("Received string is not valid json object <= JSON document was not fully consumed.");
+
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            // Gson reports values it can't convert, ie. malformed uuid, with JsonSyntaxException
+            throw new JsonIsNotValidJsonObject("Received string is not valid json object <= " + e.getMessage(), e);
+        }
 
-        this.contextId = msg.contextId;
-        this.type = msg.type;
-        this.data = msg.getData();
+        if (!hasContextId || !hasType) {
+            StringBuilder stringBuilder = new StringBuilder();
+            if (!hasContextId)
+                stringBuilder.append("Missing required field: contextId\n");
+            if (!hasType)
+                stringBuilder.append("Missing required field: type\n");
+            throw new JsonMissingFieldException(stringBuilder.toString().strip());
+        }
     }
 
     /**
@@ -49,29 +108,38 @@ public class UserMessage {
     }
 
     /**
-     * Parses the data object to the provided class using JSON serialization.
+     * Converts the data to the provided class, validating it against the schema of that class.
      *
      * @param clazz the class to which the data should be parsed
      * @throws InvalidReceivedMessage if the data cannot be parsed to the provided class
      */
     public void parseDataToClass(Class<?> clazz) throws InvalidReceivedMessage {
+        if (clazz == null)
+            return;
+
+        // Data set through the constructor might not be parsed tree yet
+        JsonElement dataTree = this.data instanceof JsonElement ? (JsonElement) this.data : JsonParser.GSON.toJsonTree(this.data);
+
         try {
-            // TODO: Perfomance loss because of redundant json parsing
-            this.data = JsonParser.parseJson((new Gson()).toJson(this.data), clazz);
+            this.data = JsonParser.parseJsonTree(dataTree, clazz);
         } catch (JsonParserException e) {
             throw new InvalidReceivedMessage("Received message is invalid <= " + e.getMessage(), e);
         }
     }
 
     /**
-     * Parses a JSON string to a UserMessage object.
+     * Reads the next value from the reader as a parse tree.
      *
-     * @param json the JSON string to parse
-     * @return the UserMessage object
-     * @throws JsonParserException if the provided message is invalid
+     * @param reader reader positioned before the value
+     * @return the parsed value
+     * @throws JsonIsNotValidJsonObject if the value is malformed
      */
-    private static UserMessage fromJson(String json) throws JsonParserException  {
-        return JsonParser.parseJson(json, UserMessage.class);
+    private static JsonElement readTree(JsonReader reader) throws JsonIsNotValidJsonObject {
+        try {
+            return com.google.gson.JsonParser.parseReader(reader);
+        } catch (JsonParseException e) {
+            throw new JsonIsNotValidJsonObject("Received string is not valid json object <= " + e.getMessage(), e);
+        }
     }
 
     public UUID getContextId() {
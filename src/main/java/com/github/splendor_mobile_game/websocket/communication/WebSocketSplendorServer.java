@@ -2,19 +2,28 @@ package com.github.splendor_mobile_game.websocket.communication;
 
 import java.lang.reflect.Constructor;
 import java.net.InetSocketAddress;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.java_websocket.WebSocket;
 import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.Framedata;
 import org.java_websocket.handshake.ClientHandshake;
 import org.java_websocket.server.WebSocketServer;
 
 import com.github.splendor_mobile_game.database.Database;
-import com.github.splendor_mobile_game.websocket.handlers.DataClass;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.handlers.Message;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.github.splendor_mobile_game.websocket.handlers.Reaction;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionFactory;
+import com.github.splendor_mobile_game.websocket.handlers.TickTask;
 import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
 import com.github.splendor_mobile_game.websocket.handlers.connection.ConnectionChecker;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
@@ -28,72 +37,136 @@ import com.github.splendor_mobile_game.websocket.utils.reflection.Reflection;
 /** WebSocket server for the Splendor game. Handles incoming messages and sends responses to the clients. */
 public class WebSocketSplendorServer extends WebSocketServer {
 
-    // TODO: Make key to be enum
-    /** Map of message types to their corresponding Reaction classes. */
-    private Map<String, Class<? extends Reaction>> reactions;
+    /** Map of message types to the factories of their corresponding Reaction classes. */
+    private EnumMap<UserRequestType, ReactionFactory> reactions;
     
-    /** Map of WebSocket connection hashcodes to their corresponding ConnectionHandler threads. */
-    private Map<Integer, Thread> connectionHandlers = new HashMap<>();
-    
-    /** Map of WebSocket connection hashcodes to their corresponding WebSocket instances. */
-    private Map<Integer, WebSocket> connections = new HashMap<>();
+    /** All open connections by their ids. */
+    private ConnectionRegistry connections = new ConnectionRegistry();
+
+    /**
+     * Map of connection ids to the uuid of the room they are in, connections without room aren't stored.
+     * Reactions of a connection run in the lane of its room, unless they name another room they change.
+     */
+    private Map<Long, UUID> connectionLanes = new ConcurrentHashMap<>();
+
+    /** Number of reactions of every connection which have been dispatched and haven't finished yet. */
+    private Map<Long, Integer> reactionsInFlight = new ConcurrentHashMap<>();
+
+    /** Checkers of the closed connections waiting for their reactions to finish before they are cleaned up. */
+    private Map<Long, ConnectionChecker> closedConnections = new ConcurrentHashMap<>();
     
-    /** The ConnectionHandler class to use for new connections. */
+    /** The ConnectionChecker class to use for new connections. */
     private Class<? extends ConnectionChecker> outerConnectionHandlerClass;
     
-    /** Interval in milliseconds at which to send ping messages to clients. */
-    private int pingIntervalMs;
-    
-    /** Interval in seconds at which to check if client connections are still alive. */
-    private int connectionCheckInterval;
+    /** Number of threads pinging and checking the connections. */
+    private static final int HEARTBEAT_THREADS = 2;
+
+    /** Sent to the client instead of details of an unexpected server error. */
+    private static final String INTERNAL_ERROR_MESSAGE = "Internal server error";
+
+    /** Pings the connections and checks if they are still alive. */
+    private HeartbeatScheduler heartbeatScheduler;
     
     /** The database instance to use for handling database interactions. */
     private Database database;
+
+    /** Executes reactions in order within a room and in parallel across rooms. */
+    private MessageDispatcher dispatcher;
+
+    /** Keeps sessions of users in rooms for a while after their connection has dropped. */
+    private SessionParking sessionParking;
+
+    /** Runs tasks postponed by reactions on the next tick. */
+    private RoomTicker roomTicker;
     
     /**
      * Constructs a new WebSocketSplendorServer instance.
      * 
      * @param address the address to listen on
-     * @param reactions a map of message types to their corresponding Reaction classes
+     * @param reactions a map of message types to the factories of their corresponding Reaction classes
      * @param outerConnectionHandlerClass the ConnectionHandler class to use for new connections
      * @param pingIntervalMs the interval in milliseconds at which to send ping messages to clients
      * @param connectionCheckInterval the interval in seconds at which to check if client connections are still alive
      * @param database the database instance to use for handling database interactions
+     * @param dispatcher the dispatcher executing reactions of the rooms
+     * @param sessionGracePeriodSec how long users in rooms can resume their session after the connection has dropped
+     * @param roomTickMs how long reactions can postpone their tasks, ie. to gather chat messages into one announcement
      * 
      * @throws ConnectionCheckerWithoutDefaultConstructorException if the specified ConnectionHandler class does not have a constructor with a WebSocket parameter
      */
     public WebSocketSplendorServer(
         InetSocketAddress address,
-        Map<String, Class<? extends Reaction>> reactions,
+        EnumMap<UserRequestType, ReactionFactory> reactions,
         Class<? extends ConnectionChecker> outerConnectionHandlerClass,
         int pingIntervalMs,
         int connectionCheckInterval,
-        Database database
+        Database database,
+        MessageDispatcher dispatcher,
+        int sessionGracePeriodSec,
+        int roomTickMs
     ) throws ConnectionCheckerWithoutDefaultConstructorException {
         
         super(address);
 
         this.reactions = reactions;
-        this.pingIntervalMs = pingIntervalMs;
-        this.connectionCheckInterval = connectionCheckInterval;
         this.database = database;
+        this.dispatcher = dispatcher;
+        this.sessionParking = new SessionParking(sessionGracePeriodSec);
+        this.roomTicker = new RoomTicker(roomTickMs);
         
         // Check that the specified ConnectionHandler class has a constructor with a WebSocket parameter
         try {
-            Reflection.getConstructorWithParameters(outerConnectionHandlerClass, WebSocket.class, Database.class, Map.class);
+            Reflection.getConstructorWithParameters(outerConnectionHandlerClass, WebSocket.class, Database.class, ConnectionRegistry.class);
         } catch (NoSuchMethodException e) {
             throw new ConnectionCheckerWithoutDefaultConstructorException(
-                outerConnectionHandlerClass.getName() + " doesn't have constructor with WebSocket, Database and Map as arguments, but those are required!"
+                outerConnectionHandlerClass.getName() + " doesn't have constructor with WebSocket, Database and ConnectionRegistry as arguments, but those are required!"
             );
         }
         
         this.outerConnectionHandlerClass = outerConnectionHandlerClass;
+        this.heartbeatScheduler = new HeartbeatScheduler(pingIntervalMs, connectionCheckInterval, HEARTBEAT_THREADS);
     }
 
     /** Called when the WebSocket server has started. */
     @Override
     public void onStart() {
+        // Users loaded by the database have no connection yet, their sessions are parked like the ones which have just dropped
+        for (User user : this.database.getAllUsers()) {
+            if (!user.isConnected()) {
+                this.parkRestoredSession(user);
+            }
+        }
+    }
+
+    /**
+     * Removes the user loaded by the database from their room, unless they resume the session within the grace period.
+     *
+     * @param user the user without connection
+     */
+    private void parkRestoredSession(User user) {
+        long restoredConnectionId = user.getConnectionId();
+        Room room = this.database.getRoomWithUser(user.getUuid());
+        UUID lane = room == null ? null : room.getUuid();
+
+        this.sessionParking.park(() -> this.dispatcher.dispatchUnbounded(lane, () -> {
+            // The user has resumed the session
+            if (this.database.getUserByConnectionId(restoredConnectionId) != user) {
+                return;
+            }
+
+            Room currentRoom = this.database.getRoomWithUser(user.getUuid());
+            if (currentRoom != null) {
+                currentRoom.leaveGame(user);
+                if (currentRoom.getPlayerCount() == 0) {
+                    this.database.deleteRoom(currentRoom);
+                } else if (currentRoom.getOwner() == user) {
+                    currentRoom.setOwner(currentRoom.getAllUsers().get(0));
+                }
+            }
 
+            this.database.deleteUser(user);
+            Log.DEBUG("Restored session of user `" + user.getUuid() + "` has expired.");
+        }));
     }
 
     /**
@@ -104,14 +177,16 @@ public class WebSocketSplendorServer extends WebSocketServer {
     */
     @Override
     public void onOpen(WebSocket webSocket, ClientHandshake clientHandshake) {
-        Log.DEBUG("New connection " + webSocket.hashCode() + " from " + webSocket.getRemoteSocketAddress());
+        // Assign id to the connection, it'd be deleted on connection close
+        long connectionId = this.connections.register(webSocket);
+        Log.DEBUG("New connection " + connectionId + " from " + webSocket.getRemoteSocketAddress());
 
         // Make new instance of given ConnectionHandler in constructor
-        // It have callbacks that our WebSocketConnectionHandler will be invoking
+        // It have callbacks that our HeartbeatScheduler will be invoking
         ConnectionChecker outerConnectionHandlerInstance;
         try {
             Constructor<? extends ConnectionChecker> constructor = this.outerConnectionHandlerClass
-                    .getDeclaredConstructor(WebSocket.class, Database.class, Map.class);
+                    .getDeclaredConstructor(WebSocket.class, Database.class, ConnectionRegistry.class);
             outerConnectionHandlerInstance = constructor.newInstance(webSocket, database, connections);
         } catch (Exception e) {
             // This exception won't ever happen, because we check for that in the constructor of this class
@@ -120,16 +195,8 @@ public class WebSocketSplendorServer extends WebSocketServer {
             return;
         }
 
-        // Create new thread for it our ConnectionHandler and start it
-        Thread t = new Thread(new WebSocketConnectionChecker(
-                webSocket,
-                this.pingIntervalMs,
-                this.connectionCheckInterval, outerConnectionHandlerInstance));
-        t.start();
-
-        // Save reference to it, it'd be deleted on connection close
-        connectionHandlers.put(webSocket.hashCode(), t);
-        connections.put(webSocket.hashCode(), webSocket);
+        // Let the shared scheduler ping the connection
+        this.heartbeatScheduler.register(connectionId, webSocket, outerConnectionHandlerInstance);
     }
 
     /**
@@ -142,47 +209,168 @@ public class WebSocketSplendorServer extends WebSocketServer {
      **/
     @Override
     public void onClose(WebSocket webSocket, int code, String reason, boolean remote) {
+        // Remove the connection from the registry
+        long connectionId = this.connections.unregister(webSocket);
+
         // Log the connection end with the code, reason and whether it was closed remotely or locally
-        Log.DEBUG("WebSocket connection `" + webSocket.hashCode() + "` closed with remote address " + webSocket.getRemoteSocketAddress() + 
+        Log.DEBUG("WebSocket connection `" + connectionId + "` closed with remote address " + webSocket.getRemoteSocketAddress() + 
             ". Close code: " + code + ". Reason: " + reason + ". Remote: " + remote + "."
         );
         
-        // Remove the reference to the connection handler and WebSocket instance associated with the closed connection
-        connectionHandlers.remove(webSocket.hashCode()).interrupt();
-        connections.remove(webSocket.hashCode());
+        // Stop pinging it
+        ConnectionChecker connectionChecker = this.heartbeatScheduler.unregister(connectionId);
+
+        if (connectionChecker == null) {
+            return;
+        }
+
+        // Reactions still queued, ie. joining a room, could add the user again after the cleanup, so the last one starts it
+        this.closedConnections.put(connectionId, connectionChecker);
+        if (!this.reactionsInFlight.containsKey(connectionId)) {
+            this.cleanUpClosed(connectionId);
+        }
+    }
+
+    /**
+     * Notes that a reaction of the connection has finished, the last one cleans up after the connection if it's closed.
+     *
+     * @param connectionId id of the connection
+     */
+    private void reactionFinished(long connectionId) {
+        Integer left = this.reactionsInFlight.computeIfPresent(connectionId, (id, count) -> count == 1 ? null : count - 1);
+        if (left == null && this.closedConnections.containsKey(connectionId)) {
+            this.cleanUpClosed(connectionId);
+        }
+    }
+
+    /**
+     * Cleans up after the user of the closed connection in the lane of its room, so it doesn't interleave with the room's reactions.
+     * It's called by both the close and the last reaction of the connection, only the first call does anything.
+     *
+     * @param connectionId id of the closed connection without reactions in flight
+     */
+    private void cleanUpClosed(long connectionId) {
+        ConnectionChecker connectionChecker = this.closedConnections.remove(connectionId);
+        if (connectionChecker == null) {
+            return;
+        }
+
+        UUID lane = this.connectionLanes.get(connectionId);
+        this.dispatcher.dispatchUnbounded(lane, () -> {
+            if (this.parkSession(connectionId)) {
+                // Cleaning up is postponed, it does nothing if the user has resumed the session in the meantime
+                this.sessionParking.park(() -> this.dispatcher.dispatchUnbounded(lane, () -> {
+                    connectionChecker.onConnectionClose();
+                    this.connectionLanes.remove(connectionId);
+                }));
+                return;
+            }
+
+            connectionChecker.onConnectionClose();
+            this.connectionLanes.remove(connectionId);
+        });
+    }
+
+    /**
+     * Marks the user of the closed connection as disconnected, so they stay in their room and can resume the session.
+     * Users who aren't in any room have nothing to resume.
+     *
+     * @param connectionId id of the closed connection
+     * @return true if the session has been parked
+     */
+    private boolean parkSession(long connectionId) {
+        if (!this.sessionParking.isEnabled()) {
+            return false;
+        }
+
+        User user = this.database.getUserByConnectionId(connectionId);
+        if (user == null || this.database.getRoomWithUser(user.getUuid()) == null) {
+            return false;
+        }
+
+        user.setConnected(false);
+        Log.DEBUG("Session of user `" + user.getUuid() + "` has been parked after connection `" + connectionId + "` has been lost.");
+        return true;
+    }
+
+    /**
+     * Stops the server and the workers executing reactions.
+     *
+     * @param timeout Specifies how many milliseconds the overall close handshaking may take altogether before the connections are closed without proper close handshaking.
+     * @param closeMessage Specifies message for remote client
+     * @throws InterruptedException Interrupt
+     */
+    @Override
+    public void stop(int timeout, String closeMessage) throws InterruptedException {
+        super.stop(timeout, closeMessage);
+        this.heartbeatScheduler.shutdown();
+        this.sessionParking.shutdown();
+        this.roomTicker.shutdown();
+        this.dispatcher.shutdown();
+    }
+
+    /**
+     * Called when a pong is received from the remote host, marks the connection as alive. It's still pinged in the next interval.
+     *
+     * @param connection The WebSocket instance this event is occurring on.
+     * @param frame The pong frame.
+     */
+    @Override
+    public void onWebsocketPong(WebSocket connection, Framedata frame) {
+        this.heartbeatScheduler.recordPong(ConnectionRegistry.idOf(connection));
     }
 
     /**
      * Callback for string messages received from the remote host.
+     * The message is parsed here, so its reaction can be dispatched to the lane of the room it changes.
      *
      * @param connection The WebSocket instance this event is occurring on.
      * @param message The UTF-8 decoded message that was received.
      */
     @Override
     public void onMessage(WebSocket connection, String message) {
+        long connectionId = ConnectionRegistry.idOf(connection);
+        this.heartbeatScheduler.recordActivity(connectionId);
+
+        PendingReaction pending;
         try {
-            this.handleMessage(connection, message);
+            pending = this.prepareReaction(connection, message);
+        } catch (Exception exception) {
+            this.reportError(connection, exception);
+            return;
+        }
 
-        } catch (CustomException exception) {
-            CustomException customException = (CustomException) exception;
-            Log.ERROR(customException.toString());
-            connection.send(customException.toJsonResponse());
+        if (pending != null) {
+            this.reactionsInFlight.merge(connectionId, 1, Integer::sum);
+            this.dispatchReaction(pending, true);
+        }
+    }
 
-        } catch (Exception exception) {
-            Log.ERROR(exception.getMessage());
-            ErrorResponse response = new ErrorResponse(Result.ERROR, exception.getMessage() + "\n" + ExceptionUtils.getStackTrace(exception));
-            connection.send(response.ToJson());
+    /** Reaction created for a received message, waiting for its lane. */
+    private static final class PendingReaction {
+        private final WebSocket connection;
+        private final long connectionId;
+        private final Reaction reaction;
+        private final Messenger messenger;
+
+        private PendingReaction(WebSocket connection, long connectionId, Reaction reaction, Messenger messenger) {
+            this.connection = connection;
+            this.connectionId = connectionId;
+            this.reaction = reaction;
+            this.messenger = messenger;
         }
     }
 
     /**
-     * Handles incoming messages from clients and sends appropriate responses.
+     * Parses the message and creates its reaction.
      *
      * @param connection The WebSocket connection instance on which the message was received.
      * @param message The message received from the client.
+     * @return the reaction or null if the message type is unknown, the sender has already been told so
      */
-    private void handleMessage(WebSocket connection, String message) throws CustomException, RuntimeException {
-        Log.TRACE("Message received from (" + connection.hashCode() + ":" + connection.getRemoteSocketAddress() + "): " + message);
+    private PendingReaction prepareReaction(WebSocket connection, String message) throws CustomException, RuntimeException {
+        long connectionId = ConnectionRegistry.idOf(connection);
+        Log.TRACE(() -> "Message received from (" + connectionId + ":" + connection.getRemoteSocketAddress() + "): " + message);
 
         // Parse the message
         UserMessage receivedMessage = new UserMessage(message);
@@ -191,21 +379,20 @@ public class WebSocketSplendorServer extends WebSocketServer {
         UserRequestType type = receivedMessage.getType();
 
         // Find appropriate reaction to the message type received
-        // TODO: It could be more readable if we use some ReactionRepository with get method that would throws exception instead of null
-        Class<? extends Reaction> reactionClass = reactions.get(type.toString());
+        ReactionFactory reactionFactory = type == null ? null : reactions.get(type);
 
-        if (reactionClass == null) {
+        if (reactionFactory == null) {
             Log.TRACE("Unknown reaction type: " + type);
             ErrorResponse response = new ErrorResponse(Result.FAILURE, "This message type has not been found!");
             connection.send(response.ToJson());
-            return;
+            return null;
         }
 
         // Parse the data given in the message
-        Class<?> dataClass = Reflection.findFirstClassWithAnnotationWithinClass(reactionClass, DataClass.class);
+        Class<?> dataClass = reactionFactory.getDataClass();
 
         if (dataClass == null && receivedMessage.getData() != null) {
-            Log.WARNING(connection.hashCode() + 
+            Log.WARNING(connectionId + 
                 " provided data to the message, but the message type reaction class doesn't require any data!"
             );
         } else {
@@ -215,30 +402,190 @@ public class WebSocketSplendorServer extends WebSocketServer {
         // Create messenger class for storing messages
         Messenger messenger = new Messenger();
 
-        // Create instance of this reactionClass
-        Reaction reactionInstance = (Reaction) Reflection.createInstanceOfClass(
-            reactionClass, connection.hashCode(), receivedMessage, messenger, this.database
-        );
+        // Create instance of the reaction
+        Reaction reactionInstance = reactionFactory.create(connectionId, receivedMessage, messenger, this.database);
+        return new PendingReaction(connection, connectionId, reactionInstance, messenger);
+    }
+
+    /**
+     * @return lane of the room the reaction changes, the sender's room by default, null for the lobby
+     */
+    private UUID laneOf(PendingReaction pending) {
+        UUID targetRoom = pending.reaction.getTargetRoomUuid();
+        return targetRoom != null ? targetRoom : this.connectionLanes.get(pending.connectionId);
+    }
+
+    /**
+     * Queues the reaction in the lane of the room it changes.
+     *
+     * @param pending the reaction
+     * @param bounded false if the reaction has already been accepted once and mustn't be dropped now
+     */
+    private void dispatchReaction(PendingReaction pending, boolean bounded) {
+        UUID lane = this.laneOf(pending);
+        Runnable task = () -> this.processReaction(pending, lane);
+
+        if (!bounded) {
+            this.dispatcher.dispatchUnbounded(lane, task);
+        } else if (!this.dispatcher.dispatch(lane, task)) {
+            ErrorResponse response = new ErrorResponse(Result.ERROR, "Server is too busy to handle your request, try again later.");
+            pending.connection.send(response.ToJson());
+            this.reactionFinished(pending.connectionId);
+        }
+    }
+
+    /**
+     * Runs the reaction and reports any errors back to the sender. Runs in the lane of the room the reaction changes.
+     *
+     * @param pending the reaction
+     * @param lane lane the reaction has been dispatched to
+     */
+    private void processReaction(PendingReaction pending, UUID lane) {
+        boolean redispatched = false;
+        try {
+            // The room might have changed while the reaction waited, ie. the sender has been kicked in the meantime
+            if (!Objects.equals(this.laneOf(pending), lane)) {
+                redispatched = true;
+                this.dispatchReaction(pending, false);
+                return;
+            }
+
+            // Nobody would get the results of the reaction of a closed connection, its cleanup waits for this one
+            if (this.connections.get(pending.connectionId) == null) {
+                return;
+            }
+
+            // Use it to react appropriately
+            pending.reaction.react();
 
-        // Use it to react appropriately
-        reactionInstance.react();
+            // Reaction might have moved the sender between rooms
+            this.updateLane(pending.connectionId);
 
-        // And send it to the users
-        for (Message messageToSend : messenger.getMessages()) {
-            WebSocket receiver = this.connections.get(messageToSend.getReceiverHashcode());
+            // And send it to the users
+            this.deliver(pending.messenger);
+
+        } catch (Exception exception) {
+            this.reportError(pending.connection, exception);
+        } finally {
+            if (!redispatched) {
+                this.reactionFinished(pending.connectionId);
+            }
+        }
+    }
+
+    /**
+     * Sends the error to the client, details of unexpected server errors stay in the log.
+     *
+     * @param connection The WebSocket instance the failed message has been received on.
+     * @param exception The exception that was thrown.
+     */
+    private void reportError(WebSocket connection, Exception exception) {
+        if (exception instanceof CustomException) {
+            CustomException customException = (CustomException) exception;
+            Log.ERROR(customException.toString());
+            connection.send(customException.toJsonResponse());
+        } else {
+            // Server fault, the stack trace stays in the log
+            Log.ERROR("Server error: " + exception.getMessage() + "\n" + ExceptionUtils.getStackTrace(exception));
+            connection.send(new ErrorResponse(Result.ERROR, INTERNAL_ERROR_MESSAGE).ToJson());
+        }
+    }
+
+    /**
+     * Sends the messages collected by the messenger and schedules the tasks it has postponed.
+     *
+     * @param messenger the messenger
+     */
+    private void deliver(Messenger messenger) {
+        for (TickTask tickTask : messenger.getTickTasks()) {
+            this.roomTicker.schedule(() -> this.dispatcher.dispatchUnbounded(tickTask.getRoomUuid(), () -> this.runTickTask(tickTask)));
+        }
+
+        List<Message> messages = messenger.getMessages();
+        List<WebSocket> receivers = new ArrayList<>();
+
+        for (int i = 0; i < messages.size(); i++) {
+            Message messageToSend = messages.get(i);
+
+            // Receivers might have been moved as well, ie. kicked from the room
+            this.updateLane(messageToSend.getReceiverId());
+
+            // Skip receivers whose connection has been closed in the meantime
+            WebSocket receiver = this.connections.get(messageToSend.getReceiverId());
+            if (receiver != null) {
+                receivers.add(receiver);
+            }
+
+            // Consecutive messages sharing the same payload are sent as a single broadcast, so the frame is built once
             String text = messageToSend.getMessage();
-            receiver.send(text);
-            Log.DEBUG("Message sent to (" +
-                connection.hashCode() + ":" + connection.getRemoteSocketAddress() + "): " + text
+            if (i + 1 < messages.size() && messages.get(i + 1).getMessage() == text) {
+                continue;
+            }
+
+            this.sendToAll(text, receivers);
+            receivers.clear();
+        }
+    }
+
+    /**
+     * Runs the postponed task in the lane of its room and sends what it has produced.
+     *
+     * @param tickTask the task
+     */
+    private void runTickTask(TickTask tickTask) {
+        try {
+            Messenger messenger = new Messenger();
+            tickTask.run(messenger);
+            this.deliver(messenger);
+        } catch (Exception exception) {
+            Log.ERROR("Server error: " + exception.getMessage() + "\n" + ExceptionUtils.getStackTrace(exception));
+        }
+    }
+
+    /**
+     * Sends the text to all the receivers, the frame is built only once.
+     *
+     * @param text the message
+     * @param receivers open connections of the receivers
+     */
+    private void sendToAll(String text, List<WebSocket> receivers) {
+        if (receivers.isEmpty()) {
+            return;
+        }
+
+        if (receivers.size() == 1) {
+            receivers.get(0).send(text);
+        } else {
+            this.broadcast(text, receivers);
+        }
+
+        for (WebSocket receiver : receivers) {
+            Log.DEBUG(() -> "Message sent to (" +
+                ConnectionRegistry.idOf(receiver) + ":" + receiver.getRemoteSocketAddress() + "): " + text
             );
         }
-    
+    }
+
+    /**
+     * Assigns the connection to the lane of the room its user is in, or to the lobby lane if there is no such room.
+     *
+     * @param connectionId id of the connection
+     */
+    private void updateLane(long connectionId) {
+        User user = this.database.getUserByConnectionId(connectionId);
+        Room room = user == null ? null : this.database.getRoomWithUser(user.getUuid());
+
+        if (room == null) {
+            this.connectionLanes.remove(connectionId);
+        } else {
+            this.connectionLanes.put(connectionId, room.getUuid());
+        }
     }
 
     /**
      * This method is called when an error occurs in the WebSocket connection.
      * If the exception is of type CustomException, it sends a response with the error message in JSON format,
-     * otherwise, it sends a generic error response with the exception message.
+     * otherwise, it logs the stack trace and sends a generic error response, so details of the server never reach the client.
      * 
      * @param webSocket The WebSocket connection that encountered an error.
      * @param exception The exception that was thrown.
@@ -249,7 +596,7 @@ public class WebSocketSplendorServer extends WebSocketServer {
         // TODO: Message type and message id in the response should be included if possible
         
         // Check if the exception is of type CustomException
-        if (exception.getClass().isAssignableFrom(CustomException.class)) {
+        if (exception instanceof CustomException) {
             // If it is, cast it to CustomException and log the error message
             CustomException customException = (CustomException) exception;
             Log.ERROR(customException.toString());
@@ -257,7 +604,7 @@ public class WebSocketSplendorServer extends WebSocketServer {
         } else {
             // If it's not a CustomException, log the error message and send a generic ErrorResponse object to the client
             Log.ERROR("Server error: " + exception.getMessage() + "\n" + ExceptionUtils.getStackTrace(exception));
-            ErrorResponse response = new ErrorResponse(Result.ERROR, exception.getMessage() + "\n" + ExceptionUtils.getStackTrace(exception));
+            ErrorResponse response = new ErrorResponse(Result.ERROR, INTERNAL_ERROR_MESSAGE);
             webSocket.send(response.ToJson());
         }
     }
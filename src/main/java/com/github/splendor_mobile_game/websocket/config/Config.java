@@ -13,13 +13,6 @@ public interface Config {
      */
     public int getPort();
 
-    /**
-     * Returns the maximum number of seconds to wait for a response from the server
-     * before assuming the connection has been lost.
-     * @return The maximum number of seconds.
-     */
-    public int getConnectionLostTimeoutSec();
-
     /**
      * Returns the interval in milliseconds at which to send ping messages
      * to the client to check the status of the connection.
@@ -51,4 +44,77 @@ public interface Config {
      * @return The log levels as a EnumSet.
      */
     public EnumSet<LogLevel> getFileLogLevels();
+
+    /**
+     * Returns the number of worker threads executing reactions.
+     * Reactions of a single room always run in order, different rooms run in parallel.
+     * @return The worker thread count.
+     */
+    public int getWorkerThreads();
+
+    /**
+     * Returns how many messages may wait in a single room's queue
+     * before new ones are rejected.
+     * @return The maximum queue depth of a room.
+     */
+    public int getRoomQueueCapacity();
+
+    /**
+     * Returns whether log lines contain the file and line they were logged from.
+     * Looking them up is relatively expensive.
+     * @return True if the caller location is logged.
+     */
+    public boolean isLogCallerLocation();
+
+    /**
+     * Returns the size in megabytes after which the log file is replaced by a new one.
+     * @return The maximum size of a log file.
+     */
+    public int getLogMaxFileSizeMb();
+
+    /**
+     * Returns the age in hours after which the log file is replaced by a new one.
+     * @return The rotation interval of log files.
+     */
+    public int getLogRotationIntervalHours();
+
+    /**
+     * Returns how many seconds a player who has lost the connection while being in a room
+     * can resume the session before they are removed from the room. 0 removes them immediately.
+     * @return The grace period of lost sessions.
+     */
+    public int getSessionGracePeriodSec();
+
+    /**
+     * Returns how many milliseconds announcements gathering events of a room, ie. chat messages, are postponed.
+     * 0 sends them right away.
+     * @return The length of a tick.
+     */
+    public int getRoomTickMs();
+
+    /**
+     * Returns the path of the SQLite file keeping rooms and results of finished games between restarts.
+     * @return The path of the database file, or null if everything is kept only in memory.
+     */
+    public String getSqlitePath();
+
+    /**
+     * Returns how many seconds pass between logs of the metrics of the SQLite writer, ie. how many changes wait to be written.
+     * 0 disables the logs.
+     * @return The interval between logs of the metrics.
+     */
+    public int getSqliteMetricsIntervalSec();
+
+    /**
+     * Returns the directory of the journal every change of the rooms is appended to, it's replayed after a restart.
+     * @return The path of the journal directory, or null if nothing is journaled.
+     */
+    public String getJournalDir();
+
+    /**
+     * Returns how many seconds pass between snapshots of the rooms, journal records covered by a snapshot are deleted.
+     * 0 disables snapshots, the whole journal is kept and replayed.
+     * @return The interval between snapshots.
+     */
+    public int getSnapshotIntervalSec();
 }
@@ -16,10 +16,20 @@ import io.github.cdimascio.dotenv.Dotenv;
 /** An implementation of the Config interface that reads configuration values from environment variables. */
 public class EnvConfig implements Config {
     private int port;
-    private int connectionLostTimeoutSec;
     private int pingIntervalMs;
     private int connectionCheckIntervalMs;
     private String logsDir;
+    private int workerThreads;
+    private int roomQueueCapacity;
+    private boolean logCallerLocation;
+    private int logMaxFileSizeMb;
+    private int logRotationIntervalHours;
+    private int sessionGracePeriodSec;
+    private int roomTickMs;
+    private String sqlitePath;
+    private int sqliteMetricsIntervalSec;
+    private String journalDir;
+    private int snapshotIntervalSec;
     private EnumSet<LogLevel> fileLogLevels=EnumSet.allOf(LogLevel.class);
     private EnumSet<LogLevel> consoleLogLevels=EnumSet.allOf(LogLevel.class);
 
@@ -62,7 +72,6 @@ public class EnvConfig implements Config {
         // Load all the values, one by one
         // TODO: Check, if value is not required, then it's null. Then casting result in error?
         this.port = (Integer) this.loadValue(dotenv, "PORT", Integer.class, true);
-        this.connectionLostTimeoutSec = (Integer) this.loadValue(dotenv, "CONNECTION_LOST_TIMEOUT_SEC", Integer.class, true);
         this.pingIntervalMs = (Integer) this.loadValue(dotenv, "PING_INTERVAL_MS", Integer.class, true);
         this.connectionCheckIntervalMs = (Integer) this.loadValue(dotenv, "CONNECTION_CHECK_INTERVAL_MS", Integer.class, true);
         this.logsDir = (String) this.loadValue(dotenv, "LOGS_DIR", String.class, true);
@@ -70,6 +79,35 @@ public class EnvConfig implements Config {
         String tmpFileLogLevels = (String) this.loadValue(dotenv, "FILE_LOG_LEVELS", String.class, true);
         this.consoleLogLevels = parseLogLevels(tmpConsoleLogLevels);
         this.fileLogLevels = parseLogLevels(tmpFileLogLevels);
+
+        // Optional values, fall back to defaults when not present
+        Integer tmpWorkerThreads = (Integer) this.loadValue(dotenv, "WORKER_THREADS", Integer.class, false);
+        Integer tmpRoomQueueCapacity = (Integer) this.loadValue(dotenv, "ROOM_QUEUE_CAPACITY", Integer.class, false);
+        this.workerThreads = tmpWorkerThreads != null ? tmpWorkerThreads : Runtime.getRuntime().availableProcessors();
+        this.roomQueueCapacity = tmpRoomQueueCapacity != null ? tmpRoomQueueCapacity : 256;
+
+        Boolean tmpLogCallerLocation = (Boolean) this.loadValue(dotenv, "LOG_CALLER_LOCATION", Boolean.class, false);
+        Integer tmpLogMaxFileSizeMb = (Integer) this.loadValue(dotenv, "LOG_MAX_FILE_SIZE_MB", Integer.class, false);
+        Integer tmpLogRotationIntervalHours = (Integer) this.loadValue(dotenv, "LOG_ROTATION_INTERVAL_HOURS", Integer.class, false);
+        this.logCallerLocation = tmpLogCallerLocation != null ? tmpLogCallerLocation : true;
+        this.logMaxFileSizeMb = tmpLogMaxFileSizeMb != null ? tmpLogMaxFileSizeMb : 10;
+        this.logRotationIntervalHours = tmpLogRotationIntervalHours != null ? tmpLogRotationIntervalHours : 24;
+
+        Integer tmpSessionGracePeriodSec = (Integer) this.loadValue(dotenv, "SESSION_GRACE_PERIOD_SEC", Integer.class, false);
+        this.sessionGracePeriodSec = tmpSessionGracePeriodSec != null ? tmpSessionGracePeriodSec : 30;
+
+        Integer tmpRoomTickMs = (Integer) this.loadValue(dotenv, "ROOM_TICK_MS", Integer.class, false);
+        this.roomTickMs = tmpRoomTickMs != null ? tmpRoomTickMs : 100;
+
+        this.sqlitePath = (String) this.loadValue(dotenv, "SQLITE_PATH", String.class, false);
+
+        Integer tmpSqliteMetricsIntervalSec = (Integer) this.loadValue(dotenv, "SQLITE_METRICS_INTERVAL_SEC", Integer.class, false);
+        this.sqliteMetricsIntervalSec = tmpSqliteMetricsIntervalSec != null ? tmpSqliteMetricsIntervalSec : 60;
+
+        this.journalDir = (String) this.loadValue(dotenv, "JOURNAL_DIR", String.class, false);
+
+        Integer tmpSnapshotIntervalSec = (Integer) this.loadValue(dotenv, "SNAPSHOT_INTERVAL_SEC", Integer.class, false);
+        this.snapshotIntervalSec = tmpSnapshotIntervalSec != null ? tmpSnapshotIntervalSec : 60;
     }
 
     private EnumSet<LogLevel> parseLogLevels(String logLevels){
@@ -142,11 +180,6 @@ public class EnvConfig implements Config {
         return this.port;
     }
 
-    @Override
-    public int getConnectionLostTimeoutSec() {
-        return this.connectionLostTimeoutSec;
-    }
-
     @Override
     public int getPingIntervalMs() {
         return this.pingIntervalMs;
@@ -172,4 +205,58 @@ public class EnvConfig implements Config {
         return this.fileLogLevels;
     }
 
+    @Override
+    public int getWorkerThreads() {
+        return this.workerThreads;
+    }
+
+    @Override
+    public int getRoomQueueCapacity() {
+        return this.roomQueueCapacity;
+    }
+
+    @Override
+    public boolean isLogCallerLocation() {
+        return this.logCallerLocation;
+    }
+
+    @Override
+    public int getLogMaxFileSizeMb() {
+        return this.logMaxFileSizeMb;
+    }
+
+    @Override
+    public int getLogRotationIntervalHours() {
+        return this.logRotationIntervalHours;
+    }
+
+    @Override
+    public int getSessionGracePeriodSec() {
+        return this.sessionGracePeriodSec;
+    }
+
+    @Override
+    public int getRoomTickMs() {
+        return this.roomTickMs;
+    }
+
+    @Override
+    public String getSqlitePath() {
+        return this.sqlitePath;
+    }
+
+    @Override
+    public int getSqliteMetricsIntervalSec() {
+        return this.sqliteMetricsIntervalSec;
+    }
+
+    @Override
+    public String getJournalDir() {
+        return this.journalDir;
+    }
+
+    @Override
+    public int getSnapshotIntervalSec() {
+        return this.snapshotIntervalSec;
+    }
 }
@@ -1,20 +1,20 @@
 package com.github.splendor_mobile_game.websocket.handlers;
 
-/** Represents a message to be sent to a receiver identified by their websocket hashcode. */
+/** Represents a message to be sent to a receiver identified by the id of their connection. */
 public class Message {
 
     /** Each connection between User and Server is identified by some ID. This is its. */
-    private int receiverHashcode;
+    private long receiverId;
 
     private String message;
 
-    public Message(int receiverHashcode, String message) {
-        this.receiverHashcode = receiverHashcode;
+    public Message(long receiverId, String message) {
+        this.receiverId = receiverId;
         this.message = message;
     }
 
-    public int getReceiverHashcode() {
-        return receiverHashcode;
+    public long getReceiverId() {
+        return receiverId;
     }
 
     public String getMessage() {
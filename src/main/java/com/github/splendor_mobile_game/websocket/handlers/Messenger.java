@@ -2,30 +2,70 @@ package com.github.splendor_mobile_game.websocket.handlers;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
+import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
-// TODO: Java doc required
+/**
+ * Collects messages produced by a reaction, which are sent by the server after the reaction finishes.
+ * Every server message is serialized once, recipients of the same broadcast share the same payload.
+ */
 public class Messenger {
+
+    /** Compact serializer shared by all messengers, Gson is thread-safe. */
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
     private List<Message> messages = new ArrayList<>();
 
-    public void addMessageToSend(int receiverHashcode, ServerMessage serverMessage) {
-        this.addMessageToSend(receiverHashcode, (new GsonBuilder().serializeNulls().setPrettyPrinting().create()).toJson(serverMessage));
+    private List<TickTask> tickTasks = new ArrayList<>();
+
+    public void addMessageToSend(long receiverId, ServerMessage serverMessage) {
+        this.addMessageToSend(receiverId, GSON.toJson(serverMessage));
+    }
+
+    public void addMessageToSend(long receiverId, ErrorResponse errorResponse) {
+        this.addMessageToSend(receiverId, errorResponse.ToJson());
     }
 
-    public void addMessageToSend(int receiverHashcode, ErrorResponse errorResponse) {
-        this.addMessageToSend(receiverHashcode, errorResponse.ToJson());
+    /**
+     * Adds the message for every user, serializing it only once.
+     *
+     * @param receivers users receiving the message
+     * @param serverMessage the message
+     */
+    public void broadcast(Iterable<User> receivers, ServerMessage serverMessage) {
+        String body = GSON.toJson(serverMessage);
+        for (User receiver : receivers) {
+            this.addMessageToSend(receiver.getConnectionId(), body);
+        }
     }
 
-    private void addMessageToSend(int receiverHashcode, String body) {
-        messages.add(new Message(receiverHashcode, body));
+    private void addMessageToSend(long receiverId, String body) {
+        messages.add(new Message(receiverId, body));
     }
 
     public List<Message> getMessages() {
         return messages;
     }
 
+    /**
+     * Schedules the task to run on the next tick of the server in the lane of the room.
+     * Messages the task adds to its own messenger are sent after it finishes.
+     *
+     * @param roomUuid uuid of the room
+     * @param task the task
+     */
+    public void runOnNextTick(UUID roomUuid, Consumer<Messenger> task) {
+        tickTasks.add(new TickTask(roomUuid, task));
+    }
+
+    public List<TickTask> getTickTasks() {
+        return tickTasks;
+    }
+
 }
@@ -1,22 +1,35 @@
 package com.github.splendor_mobile_game.websocket.handlers;
 
+import java.util.UUID;
+
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 
 // TODO: Java doc required
 public abstract class Reaction {
 
-    protected int connectionHashCode;
+    protected long connectionId;
     protected Messenger messenger;
     protected Database database;
     protected UserMessage userMessage;
 
-    public Reaction(int connectionHashCode, UserMessage receivedMessage, Messenger messenger, Database database) {
-        this.connectionHashCode = connectionHashCode;
+    public Reaction(long connectionId, UserMessage receivedMessage, Messenger messenger, Database database) {
+        this.connectionId = connectionId;
         this.userMessage = receivedMessage;
         this.messenger = messenger;
         this.database = database;
     }
 
     public abstract void react();
+
+    /**
+     * Reactions run in the lane of the sender's room, or in the lobby lane if the sender isn't in any room.
+     * Reactions which change another room, ie. the one the sender joins, name it here, so they run in its lane instead.
+     * It's called before the reaction is dispatched and again in the lane, the data has already been parsed.
+     *
+     * @return uuid of the room the reaction changes, null if it's the sender's room or no room at all
+     */
+    public UUID getTargetRoomUuid() {
+        return null;
+    }
 }
@@ -0,0 +1,12 @@
+package com.github.splendor_mobile_game.websocket.handlers;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+
+/** Calls the constructor of a specific `Reaction` class. Implementations are generated by `ReactionManager`. */
+@FunctionalInterface
+public interface ReactionConstructor {
+
+    public Reaction create(long connectionId, UserMessage receivedMessage, Messenger messenger, Database database);
+
+}
@@ -0,0 +1,43 @@
+package com.github.splendor_mobile_game.websocket.handlers;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+
+/** A `Reaction` class resolved once at startup, so handling a message requires no reflection. */
+public final class ReactionFactory {
+
+    private final Class<? extends Reaction> reactionClass;
+
+    /** Class annotated with `DataClass` within the reaction class, null if the reaction doesn't require any data. */
+    private final Class<?> dataClass;
+
+    private final ReactionConstructor constructor;
+
+    public ReactionFactory(Class<? extends Reaction> reactionClass, Class<?> dataClass, ReactionConstructor constructor) {
+        this.reactionClass = reactionClass;
+        this.dataClass = dataClass;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Creates new instance of the reaction.
+     *
+     * @param connectionId id of the connection the message has been received from
+     * @param receivedMessage the received message
+     * @param messenger messenger collecting responses
+     * @param database the database
+     * @return the new reaction
+     */
+    public Reaction create(long connectionId, UserMessage receivedMessage, Messenger messenger, Database database) {
+        return this.constructor.create(connectionId, receivedMessage, messenger, database);
+    }
+
+    public Class<? extends Reaction> getReactionClass() {
+        return reactionClass;
+    }
+
+    public Class<?> getDataClass() {
+        return dataClass;
+    }
+
+}
@@ -2,9 +2,15 @@ package com.github.splendor_mobile_game.websocket.handlers;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
@@ -21,6 +27,13 @@ public class ReactionManager {
     /** A `Map` of reaction names to their corresponding `Reaction` classes. */
     public Map<String, Class<? extends Reaction>> reactions = new HashMap<>();
 
+    /** Precompiled factories of the reactions which names match a `UserRequestType`. */
+    public EnumMap<UserRequestType, ReactionFactory> factories = new EnumMap<>(UserRequestType.class);
+
+    /** Signature of the constructor required from every `Reaction` class. */
+    private static final MethodType REACTION_CONSTRUCTOR_TYPE =
+        MethodType.methodType(void.class, long.class, UserMessage.class, Messenger.class, Database.class);
+
     /** The package to search in when loading `Reaction` classes. */
     private String packageToSearchIn;
 
@@ -92,7 +105,7 @@ public class ReactionManager {
     // TODO: This function can be unit tested
     /**
     * Loads reactions from the provided list of classes. Only classes that implement the Reaction interface and have a
-    * public constructor with a single int parameter will be loaded.
+    * public constructor with a single long parameter will be loaded.
     *
     * @param classesToSearchIn the list of classes to search for reactions
     */
@@ -118,10 +131,10 @@ public class ReactionManager {
 
             // Check if the class has a public constructor with appropriate parameters
             try {
-                Reflection.getConstructorWithParameters(clazz, int.class, UserMessage.class, Messenger.class, Database.class);
+                Reflection.getConstructorWithParameters(clazz, long.class, UserMessage.class, Messenger.class, Database.class);
             } catch (NoSuchMethodException e) {
                 Log.ERROR(clazz.getName() + " was not registered as the Reaction, because it doesn't" 
-                    + " implement constructor with `int`, `ReceivedMessage`, `Messenger` and `Database`, but it's required!"
+                    + " implement constructor with `long`, `ReceivedMessage`, `Messenger` and `Database`, but it's required!"
                 );
                 continue;
             }
@@ -144,8 +157,9 @@ public class ReactionManager {
                 reactionNameString = reactionNameAnnotation.value();
             }
 
+            UserRequestType requestType = null;
             try {
-                UserRequestType.valueOf(reactionNameString);
+                requestType = UserRequestType.valueOf(reactionNameString);
             } catch (IllegalArgumentException e) {
                 Log.ERROR("Class `" + clazz.getName() + "` has ReactionName=" + reactionNameString + 
                     ", but no mathing variant in UserRequestType has been found!"
@@ -155,7 +169,43 @@ public class ReactionManager {
             // Add the reaction to the map
             this.reactions.put(reactionNameString, reactionClass);
             Log.INFO("Class `" + clazz.getName() + "` loaded as `" + reactionNameString + "`");
+
+            // Only reactions with matching request type can ever be invoked, so only those get a factory
+            if (requestType != null) {
+                try {
+                    this.factories.put(requestType, compile(reactionClass));
+                } catch (Throwable e) {
+                    Log.ERROR("Factory of the reaction `" + clazz.getName() + "` couldn't be created: " + e.getMessage());
+                }
+            }
         }
     }
 
+    /**
+     * Resolves the data class and generates an implementation of `ReactionConstructor`
+     * which calls the reaction's constructor directly.
+     *
+     * @param reactionClass the reaction class with a public constructor of the required signature
+     * @return the factory of the reaction
+     * @throws Throwable if the constructor isn't accessible or the implementation couldn't be generated
+     */
+    private static ReactionFactory compile(Class<? extends Reaction> reactionClass) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle constructorHandle = lookup.findConstructor(reactionClass, REACTION_CONSTRUCTOR_TYPE);
+
+        CallSite callSite = LambdaMetafactory.metafactory(
+            lookup,
+            "create",
+            MethodType.methodType(ReactionConstructor.class),
+            constructorHandle.type().changeReturnType(Reaction.class),
+            constructorHandle,
+            constructorHandle.type()
+        );
+        ReactionConstructor constructor = (ReactionConstructor) callSite.getTarget().invoke();
+
+        Class<?> dataClass = Reflection.findFirstClassWithAnnotationWithinClass(reactionClass, DataClass.class);
+
+        return new ReactionFactory(reactionClass, dataClass, constructor);
+    }
+
 }
@@ -32,5 +32,10 @@ public enum ServerMessageType {
     NOBLE_RECEIVED_ANNOUNCEMENT,
     END_GAME_ANNOUNCEMENT,
     SEND_CHAT_MESSAGE_ANNOUNCEMENT,
-    SEND_CHAT_MESSAGE_RESPONSE
+    SEND_CHAT_MESSAGE_RESPONSE,
+    GET_CHAT_HISTORY_RESPONSE,
+    GET_LEADERBOARD_RESPONSE,
+    SYNC_STATE_RESPONSE,
+    RESUME_SESSION_RESPONSE,
+    RESUME_TOKEN
 }
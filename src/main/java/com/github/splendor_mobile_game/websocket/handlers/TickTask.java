@@ -0,0 +1,27 @@
+package com.github.splendor_mobile_game.websocket.handlers;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/** Represents a task postponed by a reaction to the next tick of the server, it runs in the lane of the room. */
+public class TickTask {
+
+    private UUID roomUuid;
+
+    private Consumer<Messenger> task;
+
+    public TickTask(UUID roomUuid, Consumer<Messenger> task) {
+        this.roomUuid = roomUuid;
+        this.task = task;
+    }
+
+    public UUID getRoomUuid() {
+        return roomUuid;
+    }
+
+    /** Runs the task, messages it wants to send are added to the messenger. */
+    public void run(Messenger messenger) {
+        task.accept(messenger);
+    }
+
+}
@@ -16,5 +16,9 @@ public enum UserRequestType {
     BUY_REVEALED_MINE,
     BUY_RESERVED_MINE,
     SEND_CHAT_MESSAGE,
-    KICK
+    GET_CHAT_HISTORY,
+    GET_LEADERBOARD,
+    KICK,
+    SYNC_STATE,
+    RESUME_SESSION
 }
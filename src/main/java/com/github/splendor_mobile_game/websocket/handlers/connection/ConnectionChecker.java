@@ -1,24 +1,27 @@
 package com.github.splendor_mobile_game.websocket.handlers.connection;
 
-import java.util.Map;
-
 import org.java_websocket.WebSocket;
 
 import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.websocket.communication.ConnectionRegistry;
 
 /** An abstract class for checking the health status of a WebSocket connection. */
 public abstract class ConnectionChecker {
 
     /** The WebSocket connection to check. */
     protected WebSocket connection;
+
+    /** Id of the connection in the registry. */
+    protected long connectionId;
     
     protected Database database;
 
     /** All connections server has with clients */
-    protected Map<Integer, WebSocket> connections;
+    protected ConnectionRegistry connections;
 
-    public ConnectionChecker(WebSocket connection, Database database, Map<Integer, WebSocket> connections) {
+    public ConnectionChecker(WebSocket connection, Database database, ConnectionRegistry connections) {
         this.connection = connection;
+        this.connectionId = ConnectionRegistry.idOf(connection);
         this.database = database;
         this.connections = connections;
     }
@@ -1,6 +1,5 @@
 package com.github.splendor_mobile_game.websocket.handlers.connection;
 
-import java.util.Map;
 import java.util.UUID;
 
 import org.java_websocket.WebSocket;
@@ -8,6 +7,7 @@ import org.java_websocket.WebSocket;
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.ConnectionRegistry;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
 import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.handlers.reactions.EndTurn;
@@ -26,8 +26,9 @@ public class SimpleConnectionChecker extends ConnectionChecker {
      * Constructor for SimpleConnectionChecker.
      * @param connection The WebSocket connection to check.
      * @param database The database with users, rooms and games
+     * @param connections All the open connections
      */
-    public SimpleConnectionChecker(WebSocket connection, Database database, Map<Integer, WebSocket> connections) {
+    public SimpleConnectionChecker(WebSocket connection, Database database, ConnectionRegistry connections) {
         super(connection, database, connections);
     }
 
@@ -37,7 +38,7 @@ public class SimpleConnectionChecker extends ConnectionChecker {
      */
     @Override
     public void onConnectionCheck(Long timeSinceLastPongMs) {
-        //Log.DEBUG("Connection `" + connection.hashCode() + "`, last pong " + timeSinceLastPongMs + "ms ago.");
+        //Log.DEBUG("Connection `" + connectionId + "`, last pong " + timeSinceLastPongMs + "ms ago.");
 
         if (timeSinceLastPongMs > 60000) {
             Log.DEBUG("Powyżej 60 sekund!");
@@ -51,13 +52,16 @@ public class SimpleConnectionChecker extends ConnectionChecker {
         }
     }
 
-    /** This method is called when the WebSocket connection is closed. */
+    /**
+     * This method is called when the WebSocket connection is closed, or when the grace period of the parked session ends.
+     * Users who have resumed their session on another connection are no longer found by the id of this one, so they are kept.
+     */
     @Override
     public void onConnectionClose() {
-        Log.TRACE(this.connection.hashCode() + " has been closed!");
+        Log.TRACE(this.connectionId + " has been closed!");
 
         // Get the user associated with the closed connection
-        User user = database.getUserByConnectionHashCode(connection.hashCode());
+        User user = database.getUserByConnectionId(connectionId);
 
         if (user == null) {
             return;
@@ -69,24 +73,24 @@ public class SimpleConnectionChecker extends ConnectionChecker {
                      
             //Remove room if it's empty
             if(room.getAllUsers().size()==1){
-                database.getAllRooms().remove(room);
+                database.deleteRoom(room);
                 Log.DEBUG("Room `" + room.getName() + "` has been removed from entire database, because all players have left.");
             }
             else if(room.getGame()!=null && room.getCurrentPlayer()==user){
                 room.changeTurn();
 
                 // Create a message to inform other players that is new turn
-                EndTurn.ResponseData responseData = new EndTurn.ResponseData(room.getCurrentPlayer().getUuid());
+                EndTurn.ResponseData responseData = new EndTurn.ResponseData(room.getCurrentPlayer().getUuid(), room.getGame().getVersion());
                 ServerMessage serverMessage = new ServerMessage(UUID.randomUUID(), ServerMessageType.NEW_TURN_ANNOUNCEMENT, Result.OK, responseData);
 
                 // Send leave information to other players
+                String message = serverMessage.toJson();
                 for (User u : room.getAllUsers()) {
-                    WebSocket userConnection = connections.get(u.getConnectionHashCode());
+                    WebSocket userConnection = connections.get(u.getConnectionId());
                     if (userConnection != null) {
-                        String message = serverMessage.toJson();
                         userConnection.send(message);
-                        Log.DEBUG("Message sent to (" +
-                            u.getConnectionHashCode() + ":" + userConnection.getRemoteSocketAddress() + "): " + message
+                        Log.DEBUG(() -> "Message sent to (" +
+                            u.getConnectionId() + ":" + userConnection.getRemoteSocketAddress() + "): " + message
                         );
                     }
                 }
@@ -94,7 +98,7 @@ public class SimpleConnectionChecker extends ConnectionChecker {
             
             //fisrtly change turn then leave
             room.leaveGame(user);
-            Log.DEBUG("User `" + user.getConnectionHashCode() + "` has been removed from its room, because connection has been lost.");
+            Log.DEBUG("User `" + user.getConnectionId() + "` has been removed from its room, because connection has been lost.");
 
             // Create a message to inform other players that the user has left the room
             LeaveRoom.UserDataResponse userDataResponse = new LeaveRoom.UserDataResponse(user.getUuid(), user.getName());
@@ -102,21 +106,21 @@ public class SimpleConnectionChecker extends ConnectionChecker {
             ServerMessage serverMessage = new ServerMessage(UUID.randomUUID(), ServerMessageType.LEAVE_ROOM_RESPONSE, Result.OK, responseData);                
 
             // Send leave information to other players
+            String message = serverMessage.toJson();
             for (User u : room.getAllUsers()) {
-                WebSocket userConnection = connections.get(u.getConnectionHashCode());
+                WebSocket userConnection = connections.get(u.getConnectionId());
                 if (userConnection != null) {
-                    String message = serverMessage.toJson();
                     userConnection.send(message);
-                    Log.DEBUG("Message sent to (" +
-                        u.getConnectionHashCode() + ":" + userConnection.getRemoteSocketAddress() + "): " + message
+                    Log.DEBUG(() -> "Message sent to (" +
+                        u.getConnectionId() + ":" + userConnection.getRemoteSocketAddress() + "): " + message
                     );
                 }
             }    
         }
 
         // Remove the user from the database
-        database.getAllUsers().remove(user);
-        Log.DEBUG("User `" + user.getConnectionHashCode() + "` has been removed from entire database, because connection has been lost.");
+        database.deleteUser(user);
+        Log.DEBUG("User `" + user.getConnectionId() + "` has been removed from entire database, because connection has been lost.");
     }
 
 }
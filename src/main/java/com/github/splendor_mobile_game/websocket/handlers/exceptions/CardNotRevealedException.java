@@ -1,9 +1,11 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
 /**
  * Exception thrown when card is not in database or in any set
  */
-public class CardNotRevealedException extends Exception{
+public class CardNotRevealedException extends DomainException {
     public CardNotRevealedException() {
     }
 
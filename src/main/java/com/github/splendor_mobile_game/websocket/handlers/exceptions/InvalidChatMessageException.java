@@ -0,0 +1,22 @@
+package com.github.splendor_mobile_game.websocket.handlers.exceptions;
+
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
+public class InvalidChatMessageException extends DomainException {
+
+    public InvalidChatMessageException() {
+    }
+
+    public InvalidChatMessageException(String message) {
+        super(message);
+    }
+
+    public InvalidChatMessageException(Throwable cause) {
+        super(cause);
+    }
+
+    public InvalidChatMessageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
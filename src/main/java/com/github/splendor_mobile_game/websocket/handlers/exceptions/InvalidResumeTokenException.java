@@ -0,0 +1,22 @@
+package com.github.splendor_mobile_game.websocket.handlers.exceptions;
+
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
+public class InvalidResumeTokenException extends DomainException {
+
+    public InvalidResumeTokenException() {
+    }
+
+    public InvalidResumeTokenException(String message) {
+        super(message);
+    }
+
+    public InvalidResumeTokenException(Throwable cause) {
+        super(cause);
+    }
+
+    public InvalidResumeTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
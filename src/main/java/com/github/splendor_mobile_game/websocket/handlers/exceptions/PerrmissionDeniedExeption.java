@@ -1,9 +1,11 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
 /*
  * Exeption called when user is trying to make an action that he has no authority to do
  */
-public class PerrmissionDeniedExeption extends Exception {
+public class PerrmissionDeniedExeption extends DomainException {
 
     public PerrmissionDeniedExeption() {
     }
@@ -1,6 +1,8 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
-public class RoomFullException extends Exception {
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
+public class RoomFullException extends DomainException {
 
     public RoomFullException() {
     }
@@ -1,6 +1,8 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
-public class RoomPlayerCountException extends Exception{
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
+public class RoomPlayerCountException extends DomainException {
     public RoomPlayerCountException() {
     }
 
@@ -0,0 +1,22 @@
+package com.github.splendor_mobile_game.websocket.handlers.exceptions;
+
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
+public class SessionActiveException extends DomainException {
+
+    public SessionActiveException() {
+    }
+
+    public SessionActiveException(String message) {
+        super(message);
+    }
+
+    public SessionActiveException(Throwable cause) {
+        super(cause);
+    }
+
+    public SessionActiveException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -1,9 +1,11 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
 /**
  * Exception thrown when number of tokens is inncorrect
  */
-public class TokenCountException extends Exception{
+public class TokenCountException extends DomainException {
     public TokenCountException() {
     }
 
@@ -1,7 +1,9 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
 /** Too many tokens exception, used when user has more than 10 tokens after taking them */
-public class TooManyTokensException extends Exception {
+public class TooManyTokensException extends DomainException {
 
     public TooManyTokensException() {
     }
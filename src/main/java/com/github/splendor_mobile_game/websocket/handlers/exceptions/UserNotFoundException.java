@@ -1,7 +1,9 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
 /** User not found exception, used when userUuid in request doesn't match any in database */
-public class UserNotFoundException extends Exception {
+public class UserNotFoundException extends DomainException {
 
    public UserNotFoundException() {
    }
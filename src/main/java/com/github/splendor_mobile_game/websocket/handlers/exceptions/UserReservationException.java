@@ -1,9 +1,11 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
 /**
  * Exception thrown when attempting to make reservation but user cannot
  */
-public class UserReservationException extends Exception{
+public class UserReservationException extends DomainException {
     public UserReservationException() {
     }
 
@@ -1,7 +1,9 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
+
 /** Wrong token choice exception, used when user's token choice is against the rules of Splendor*/
-public class WrongTokenChoiceException extends Exception {
+public class WrongTokenChoiceException extends DomainException {
 
     public WrongTokenChoiceException() {
     }
@@ -1,13 +1,9 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.database.Database;
-import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Game;
@@ -66,6 +62,7 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
  * },
  * "cardUuid": "521ba578-f989-4488-b3ee-91b043abbc83"
  * },
+ * "version": 14
  * }
  *
  * Example of invalid request response (it should be sent only to the
@@ -82,8 +79,8 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("BUY_RESERVED_MINE")
 public class BuyReservedMine extends Reaction {
 
-    public BuyReservedMine(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public BuyReservedMine(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     public static class UserDTO {
@@ -145,9 +142,11 @@ public class BuyReservedMine extends Reaction {
 
     public static class ResponseData {
         public BuyerDataResponse buyer;
+        public long version;
 
-        public ResponseData(BuyerDataResponse buyer) {
+        public ResponseData(BuyerDataResponse buyer, long version) {
             this.buyer = buyer;
+            this.version = version;
         }
     }
 
@@ -165,22 +164,10 @@ public class BuyReservedMine extends Reaction {
 
             
 
-            Map<TokenType, Integer> tokens = new HashMap<>();
-            for(TokenType tokenType : EnumSet.allOf(TokenType.class)){
-                tokens.put(tokenType,buyer.getTokenCount(tokenType));
-            }
-            
-            buyer.buyCard(boughtCard);
+            //Paid tokens return to table
+            game.buyReservedCard(buyer, boughtCard);
             buyer.setPerformedAction(true);
 
-            //Return tokens to table
-            for(TokenType tokenType : EnumSet.allOf(TokenType.class)){
-                game.addTokens(tokenType, tokens.get(tokenType)-buyer.getTokenCount(tokenType));
-            }
-            
-            buyer.removeCardFromReserved(boughtCard);
-            room.getGame().decreaseGameReservationCount();
-
             Log.DEBUG("User " + buyer.getName() + " has bought card (" + boughtCard.getUuid() + ")");
 
             ResponseData responseData = new ResponseData(
@@ -193,7 +180,8 @@ public class BuyReservedMine extends Reaction {
                                     buyer.getTokenCount(TokenType.DIAMOND),
                                     buyer.getTokenCount(TokenType.ONYX),
                                     buyer.getTokenCount(TokenType.GOLD_JOKER)),
-                            boughtCard.getUuid()));
+                            boughtCard.getUuid()),
+                    game.getVersion());
 
             ArrayList<User> players = room.getAllUsers();
             ServerMessage serverMessage = new ServerMessage(
@@ -202,9 +190,7 @@ public class BuyReservedMine extends Reaction {
                     Result.OK,
                     responseData);
 
-            for (User player : players) {
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(players, serverMessage);
 
         } catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(
@@ -212,17 +198,17 @@ public class BuyReservedMine extends Reaction {
                     e.getMessage(),
                     ServerMessageType.BUY_RESERVED_MINE_RESPONSE,
                     userMessage.getContextId().toString());
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
         }
     }
 
     private void validateData(DataDTO dataDTO, Database database) throws UserTurnException, CardDoesntExistException, UserDoesntExistException, UserNotAMemberException, GameNotStartedException, InvalidUUIDException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userDTO.uuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
-        // Check if card's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.cardDTO.uuid.toString()))
+        // Check if card's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.cardDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
 
@@ -1,15 +1,11 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.enums.CardTier;
-import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Game;
@@ -76,7 +72,8 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
  *              "diamondCost": 2,
  *              "onyxCost": 0,
  *              "cardID": 1
- *          }        
+ *          },
+ *          "version": 14
  *      }
  * }
  * If deck is empty meaning new card can't be drawn then sent
@@ -97,7 +94,8 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
  *              },
  *              "cardUuid": "521ba578-f989-4488-b3ee-91b043abbc83"
  *          },                     
- *          "newCardRevealed": null     
+ *          "newCardRevealed": null,
+ *          "version": 14
  *      }
  * }
  *
@@ -114,8 +112,8 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("BUY_REVEALED_MINE")
 public class BuyRevealedMine extends Reaction {
 
-    public BuyRevealedMine(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public BuyRevealedMine(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     public static class UserDTO {
@@ -208,10 +206,12 @@ public class BuyRevealedMine extends Reaction {
     public static class ResponseData {
         public BuyerDataResponse buyer;
         public CardDataResponse newCardRevealed;
+        public long version;
 
-        public ResponseData(BuyerDataResponse buyer,CardDataResponse newCardRevealed) {
+        public ResponseData(BuyerDataResponse buyer,CardDataResponse newCardRevealed, long version) {
             this.buyer = buyer;
             this.newCardRevealed = newCardRevealed;
+            this.version = version;
         }
     }
 
@@ -227,19 +227,8 @@ public class BuyRevealedMine extends Reaction {
             Room room = database.getRoomWithUser(buyer.getUuid());
             Game game = room.getGame();
 
-            Map<TokenType, Integer> tokens = new HashMap<>();
-            for(TokenType tokenType : EnumSet.allOf(TokenType.class)){
-                tokens.put(tokenType,buyer.getTokenCount(tokenType));
-            }
-            
-            buyer.buyCard(boughtCard);
-
-            //Return tokens to table
-            for(TokenType tokenType : EnumSet.allOf(TokenType.class)){
-                game.addTokens(tokenType, tokens.get(tokenType)-buyer.getTokenCount(tokenType));
-            }
-            
-            Card cardDrawn = game.takeCardFromRevealed(boughtCard);
+            //Paid tokens return to table and a new card is drawn in place of the bought one
+            Card cardDrawn = game.buyRevealedCard(buyer, boughtCard);
   
             
             Log.DEBUG("User "+buyer.getName()+" has bought card ("+boughtCard.getUuid()+")");
@@ -278,7 +267,8 @@ public class BuyRevealedMine extends Reaction {
                     ), 
                     boughtCard.getUuid()
                 ), 
-                cardDataResponse
+                cardDataResponse,
+                game.getVersion()
             );
 
             ArrayList<User> players = room.getAllUsers();
@@ -289,9 +279,7 @@ public class BuyRevealedMine extends Reaction {
                 responseData
             );
 
-            for(User player : players){
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);        
-            }
+            messenger.broadcast(players, serverMessage);
             buyer.setPerformedAction(true);
 
 
@@ -302,17 +290,17 @@ public class BuyRevealedMine extends Reaction {
                 ServerMessageType.BUY_REVEALED_MINE_RESPONSE, 
                 userMessage.getContextId().toString()
             );
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
         }
     }
 
     private void validateData(DataDTO dataDTO,Database database) throws UserTurnException, CardDoesntExistException, RoomInGameException, UserDoesntExistException, InvalidUUIDException, UserNotAMemberException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userDTO.uuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
-        // Check if card's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.cardDTO.uuid.toString()))
+        // Check if card's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.cardDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
 
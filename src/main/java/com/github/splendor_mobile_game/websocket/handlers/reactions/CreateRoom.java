@@ -96,8 +96,8 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("CREATE_ROOM")
 public class CreateRoom extends Reaction {
 
-    public CreateRoom(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public CreateRoom(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     /**
@@ -197,7 +197,8 @@ public class CreateRoom extends Reaction {
         try {
             validateData(dataDTO, this.database);
 
-            User user = new User(dataDTO.userDTO.uuid, dataDTO.userDTO.name, this.connectionHashCode);
+            User user = new User(dataDTO.userDTO.uuid, dataDTO.userDTO.name, this.connectionId);
+            String resumeToken = user.issueResumeToken();
             Room room = new Room(UUID.randomUUID(), dataDTO.roomDTO.name, dataDTO.roomDTO.password, user, database);
 
             // Debugging purposes only
@@ -214,11 +215,12 @@ public class CreateRoom extends Reaction {
             ResponseData responseData = new ResponseData(userDataResponse, roomDataResponse);
             ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.CREATE_ROOM_RESPONSE, Result.OK, responseData);
 
-            messenger.addMessageToSend(this.connectionHashCode, serverMessage);
+            messenger.addMessageToSend(this.connectionId, serverMessage);
+            messenger.addMessageToSend(this.connectionId, ResumeSession.tokenMessage(userMessage.getContextId(), resumeToken));
 
         } catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.CREATE_ROOM_RESPONSE, userMessage.getContextId().toString());
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
         }
     }
 
@@ -234,8 +236,8 @@ public class CreateRoom extends Reaction {
      * @throws UserAlreadyInRoomException thrown if user is already a member of any room
      */
     private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, InvalidUsernameException, RoomAlreadyExistsException, InvalidPasswordException, UserAlreadyInRoomException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userDTO.uuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
         // Check if user's name matches the pattern
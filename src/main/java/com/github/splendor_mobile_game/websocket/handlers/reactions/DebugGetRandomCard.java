@@ -26,8 +26,8 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 @ReactionName("DEBUG_GET_RANDOM_CARD")
 public class DebugGetRandomCard extends Reaction {
 
-    public DebugGetRandomCard(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public DebugGetRandomCard(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     @Override
@@ -48,7 +48,7 @@ public class DebugGetRandomCard extends Reaction {
         // data.add("card", gson.toJson(card));
 
         ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.DEBUG_GET_RANDOM_CARD_RESPONSE, Result.OK, null);
-        messenger.addMessageToSend(this.connectionHashCode, serverMessage);
+        messenger.addMessageToSend(this.connectionId, serverMessage);
     }
 
 }
@@ -4,8 +4,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.UUID;
 
-import com.github.splendor_mobile_game.game.enums.Regex;
-import com.github.splendor_mobile_game.game.exceptions.CanPerformAnActionException;
 import com.github.splendor_mobile_game.game.model.Noble;
 
 import com.github.splendor_mobile_game.database.Database;
@@ -50,7 +48,8 @@ import com.github.splendor_mobile_game.game.model.Room;
  *      "type": "NEW_TURN_ANNOUNCEMENT",
  *      "result": "OK",
  *      "data": {
- *          "nextUserUuid": "6850e6c1-6f1d-48c6-a412-52b39225ded7"
+ *          "nextUserUuid": "6850e6c1-6f1d-48c6-a412-52b39225ded7",
+ *          "version": 14
  *      }
  * }
  *
@@ -67,7 +66,8 @@ import com.github.splendor_mobile_game.game.model.Room;
  *     "result": "OK",
  *     "data": {
  *          "userUuid": "6850e6c1-6f1d-48c6-a412-52b39225ded7",
- *          "nobleUuid": "59913c86-bc7e-44a4-ad8e-2ffadd574df3"
+ *          "nobleUuid": "59913c86-bc7e-44a4-ad8e-2ffadd574df3",
+ *          "version": 13
  *     }
  * }
  *
@@ -117,8 +117,8 @@ import com.github.splendor_mobile_game.game.model.Room;
 @ReactionName("END_TURN")
 public class EndTurn extends Reaction {
 
-    public EndTurn(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public EndTurn(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     @DataClass
@@ -144,9 +144,11 @@ public class EndTurn extends Reaction {
 
     public static class ResponseData {
         public UUID nextUserUuid;
+        public long version;
 
-        public ResponseData(UUID nextUserUuid) {
+        public ResponseData(UUID nextUserUuid, long version) {
             this.nextUserUuid = nextUserUuid;
+            this.version = version;
         }
     }
 
@@ -162,19 +164,23 @@ public class EndTurn extends Reaction {
     public static class ResponseDataNobleReceived {
         public UUID userUuid;
         public UUID nobleUuid;
+        public long version;
 
-        public ResponseDataNobleReceived(UUID userUuid, UUID nobleUuid) {
+        public ResponseDataNobleReceived(UUID userUuid, UUID nobleUuid, long version) {
             this.userUuid = userUuid;
             this.nobleUuid = nobleUuid;
+            this.version = version;
         }
     }
 
 
     public static class ResponseDataPass {
         public UUID userUuid;
+        public long version;
 
-        public ResponseDataPass(UUID userUuid) {
+        public ResponseDataPass(UUID userUuid, long version) {
             this.userUuid = userUuid;
+            this.version = version;
         }
     }
 
@@ -185,7 +191,7 @@ public class EndTurn extends Reaction {
         try {
             validateData(dataDTO, database);
 
-            User user = database.getUserByConnectionHashCode(connectionHashCode);
+            User user = database.getUserByConnectionId(connectionId);
             Room room = database.getRoomWithUser(user.getUuid());
             Game game = room.getGame();
 
@@ -193,17 +199,18 @@ public class EndTurn extends Reaction {
             // Check if user did some action. If not, inform others that he didn't do anything this round.
             if (!user.hasPerformedAction()) {
 
-                try {
-                    // Check if user can perform any action. If he can, then catch an exception
-                    game.canPerformAnyAction(user);
-
-                } catch (CanPerformAnActionException ex) {
+                // Check if user can perform any action. If he can, then tell him the first one
+                StringBuilder possibleAction = new StringBuilder();
+                if (game.legalActions(user, (action, tier, card) -> {
+                    possibleAction.append(action.getMessage(tier));
+                    return false;
+                })) {
                     ErrorResponse errorResponse = new ErrorResponse(
                             Result.FAILURE,
-                            ex.getMessage(),
+                            possibleAction.toString(),
                             ServerMessageType.END_TURN_RESPONSE,
                             userMessage.getContextId().toString());
-                    messenger.addMessageToSend(connectionHashCode, errorResponse);
+                    messenger.addMessageToSend(connectionId, errorResponse);
                     return;  // Rest of the code shouldn't be checked, because user's points are not able to change if he didn't perform any action.
                 }
 
@@ -211,15 +218,14 @@ public class EndTurn extends Reaction {
                 room.changeTurn();
 
                 // User can't do anything. Skip his turn
-                ResponseDataPass responseData = new ResponseDataPass(room.getCurrentPlayer().getUuid());
+                ResponseDataPass responseData = new ResponseDataPass(room.getCurrentPlayer().getUuid(), game.getVersion());
                 ServerMessage serverMessage = new ServerMessage(
                         userMessage.getContextId(),
                         ServerMessageType.NEW_TURN_ANNOUNCEMENT,
                        Result.OK,
                         responseData);
 
-                for (User u : room.getAllUsers())
-                    messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
+                messenger.broadcast(room.getAllUsers(), serverMessage);
 
                 return;  // Rest of the code shouldn't be checked, because user's points are not able to change if he didn't perform any action.
             }
@@ -231,15 +237,14 @@ public class EndTurn extends Reaction {
 
                 // if he can then announce it
                 if (game.takeNobleIfPossible(user, noble)) {
-                    ResponseDataNobleReceived responseData = new ResponseDataNobleReceived(user.getUuid(), noble.getUuid());
+                    ResponseDataNobleReceived responseData = new ResponseDataNobleReceived(user.getUuid(), noble.getUuid(), game.getVersion());
                     ServerMessage serverMessage = new ServerMessage(
                             userMessage.getContextId(),
                             ServerMessageType.NOBLE_RECEIVED_ANNOUNCEMENT,
                             Result.OK,
                             responseData);
 
-                    for (User u : room.getAllUsers())
-                        messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
+                    messenger.broadcast(room.getAllUsers(), serverMessage);
 
                     break; // Only one noble might be taken during one round
                 }
@@ -262,11 +267,12 @@ public class EndTurn extends Reaction {
                 room.endGame();
                 
                 ArrayList<PlayerDataResponse> playerRanking = new ArrayList<PlayerDataResponse>();
-                ArrayList<User> users = room.getAllUsers();
+                // Sorted once, the place of every player is their index
+                ArrayList<User> users = new ArrayList<>(room.getAllUsers());
                 Collections.sort(users);
 
-                for (User player : users)
-                    playerRanking.add(new PlayerDataResponse(player.getUuid(), player.getPoints(), game.getUserRanking(user.getUuid())));
+                for (int i = 0; i < users.size(); i++)
+                    playerRanking.add(new PlayerDataResponse(users.get(i).getUuid(), users.get(i).getPoints(), i + 1));
 
                 ResponseDataEndGame responseData = new ResponseDataEndGame(playerRanking);
                 serverMessage = new ServerMessage(
@@ -274,6 +280,7 @@ public class EndTurn extends Reaction {
                     ServerMessageType.END_GAME_ANNOUNCEMENT, 
                     Result.OK, 
                     responseData);
+                database.gameFinished(room);
                 database.deleteRoom(room);
 
 
@@ -281,7 +288,7 @@ public class EndTurn extends Reaction {
 
                 user.setPerformedAction(false); // Reset performAction variable
                 UUID nextUserUUID = room.getCurrentPlayer().getUuid();
-                ResponseData responseData = new ResponseData(nextUserUUID);
+                ResponseData responseData = new ResponseData(nextUserUUID, game.getVersion());
                 serverMessage = new ServerMessage(
                     userMessage.getContextId(), 
                     ServerMessageType.NEW_TURN_ANNOUNCEMENT, 
@@ -290,8 +297,7 @@ public class EndTurn extends Reaction {
 
             }
 
-            for (User u : room.getAllUsers())
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
+            messenger.broadcast(room.getAllUsers(), serverMessage);
 
 
         } catch (Exception e) {
@@ -300,14 +306,14 @@ public class EndTurn extends Reaction {
                 e.getMessage(),
                 ServerMessageType.END_TURN_RESPONSE,
                 userMessage.getContextId().toString());
-                messenger.addMessageToSend(connectionHashCode, errorResponse);
+                messenger.addMessageToSend(connectionId, errorResponse);
         }         
     }
 
 
     private void validateData(DataDTO dataDTO, Database database) throws UserDoesntExistException, UserTurnException, InvalidUUIDException, UserNotAMemberException, GameNotStartedException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userUuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userUuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
 
@@ -3,7 +3,6 @@ package com.github.splendor_mobile_game.websocket.handlers.reactions;
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.exceptions.CanPerformAnActionException;
-import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Noble;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
@@ -84,8 +83,8 @@ import java.util.UUID;
 @ReactionName("END_TURN_TEST")
 public class EndTurnTest extends Reaction {
 
-    public EndTurnTest(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public EndTurnTest(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     @DataClass
@@ -150,18 +149,18 @@ public class EndTurnTest extends Reaction {
         DataDTO dataDTO = (DataDTO) userMessage.getData();
 
         try {
-            User user = database.getUserByConnectionHashCode(connectionHashCode);
+            User user = database.getUserByConnectionId(connectionId);
             Room room = database.getRoomWithUser(user.getUuid());
-            Game game = room.getGame();
             ServerMessage serverMessage;
 
 
             ArrayList<PlayerDataResponse> playerRanking = new ArrayList<PlayerDataResponse>();
-            ArrayList<User> users = room.getAllUsers();
+            // Sorted once, the place of every player is their index
+            ArrayList<User> users = new ArrayList<>(room.getAllUsers());
             Collections.sort(users);
 
-            for (User player : users)
-                playerRanking.add(new PlayerDataResponse(player.getUuid(), player.getPoints(), game.getUserRanking(user.getUuid())));
+            for (int i = 0; i < users.size(); i++)
+                playerRanking.add(new PlayerDataResponse(users.get(i).getUuid(), users.get(i).getPoints(), i + 1));
 
             ResponseDataEndGame responseData = new ResponseDataEndGame(playerRanking);
             serverMessage = new ServerMessage(
@@ -172,8 +171,7 @@ public class EndTurnTest extends Reaction {
 
 
 
-            for (User u : room.getAllUsers())
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
+            messenger.broadcast(room.getAllUsers(), serverMessage);
 
 
         } catch (Exception e) {
@@ -182,7 +180,7 @@ public class EndTurnTest extends Reaction {
                 e.getMessage(),
                 ServerMessageType.END_TURN_RESPONSE,
                 userMessage.getContextId().toString());
-                messenger.addMessageToSend(connectionHashCode, errorResponse);
+                messenger.addMessageToSend(connectionId, errorResponse);
         }         
     }
 
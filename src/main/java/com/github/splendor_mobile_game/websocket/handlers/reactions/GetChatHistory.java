@@ -0,0 +1,157 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.game.model.Chat.ChatMessage;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.DataClass;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.github.splendor_mobile_game.websocket.handlers.Reaction;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionName;
+import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.InvalidUUIDException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserDoesntExistException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserNotAMemberException;
+import com.github.splendor_mobile_game.websocket.handlers.reactions.SendChatMessage.MessageResponse;
+import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
+import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.json.Optional;
+
+/**
+ * Player sends this request to get older messages of the chat of their room, ie. after joining the room.
+ * Messages are returned page by page from the newest one. `before` is the cursor, only messages with smaller ids
+ * are returned, it's omitted to get the newest page. `limit` is the size of the page, by default 20, at most 50.
+ * Only the recent messages are kept by the server, so the history ends when `nextCursor` is null.
+ *
+ * Example of user request
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "GET_CHAT_HISTORY",
+ *      "data": {
+ *          "userUuid": "288e001c-6510-4c88-8580-2dbe7aa2bfff",
+ *          "before": 42,
+ *          "limit": 2
+ *      }
+ * }
+ *
+ * Example of server response, messages are ordered from the oldest one
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "GET_CHAT_HISTORY_RESPONSE",
+ *      "result": "OK",
+ *      "data": {
+ *          "messages": [
+ *              {
+ *                  "id": 40,
+ *                  "userUuid": "288e001c-6510-4c88-8580-2dbe7aa2bfff",
+ *                  "message": "Hello my friends! How are you?"
+ *              },
+ *              {
+ *                  "id": 41,
+ *                  "userUuid": "6850e6c1-6f1d-48c6-a412-52b39225ded7",
+ *                  "message": "Fine, thanks"
+ *              }
+ *          ],
+ *          "nextCursor": 40
+ *      }
+ * }
+ *
+ * In invalid request server sends message only to the requester. For example
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "GET_CHAT_HISTORY_RESPONSE",
+ *      "result": "FAILURE"
+ *      "data": {
+ *          "error": "You are not a member of any room!"
+ *      }
+ * }
+ */
+@ReactionName("GET_CHAT_HISTORY")
+public class GetChatHistory extends Reaction {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 50;
+
+    public GetChatHistory(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
+    }
+
+    @DataClass
+    public static class DataDTO {
+        public UUID userUuid;
+        @Optional
+        public Long before;
+        @Optional
+        public Integer limit;
+
+        public DataDTO(UUID userUuid, Long before, Integer limit) {
+            this.userUuid = userUuid;
+            this.before = before;
+            this.limit = limit;
+        }
+    }
+
+    public static class ResponseData {
+        public List<MessageResponse> messages;
+        public Long nextCursor;
+
+        public ResponseData(List<MessageResponse> messages, Long nextCursor) {
+            this.messages = messages;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    @Override
+    public void react() {
+        DataDTO dataDTO = (DataDTO) userMessage.getData();
+
+        try {
+            validateData(dataDTO, database);
+
+            Room room = database.getRoomWithUser(dataDTO.userUuid);
+            int limit = dataDTO.limit == null ? DEFAULT_LIMIT : Math.max(0, Math.min(dataDTO.limit, MAX_LIMIT));
+
+            List<ChatMessage> page = room.getChat().getHistory(dataDTO.before, limit);
+            List<MessageResponse> messages = new ArrayList<>(page.size());
+            for (ChatMessage chatMessage : page) {
+                messages.add(new MessageResponse(chatMessage));
+            }
+
+            // Cursor is given only if older messages are still kept
+            Long nextCursor = null;
+            if (!page.isEmpty() && !room.getChat().getHistory(page.get(0).getId(), 1).isEmpty()) {
+                nextCursor = page.get(0).getId();
+            }
+
+            ResponseData responseData = new ResponseData(messages, nextCursor);
+            ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.GET_CHAT_HISTORY_RESPONSE, Result.OK, responseData);
+
+            messenger.addMessageToSend(connectionId, serverMessage);
+        } catch (Exception e) {
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.GET_CHAT_HISTORY_RESPONSE, userMessage.getContextId().toString());
+            messenger.addMessageToSend(connectionId, errorResponse);
+        }
+    }
+
+    private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, UserDoesntExistException, UserNotAMemberException {
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userUuid == null)
+            throw new InvalidUUIDException("Invalid UUID format.");
+
+        // Check if user exists
+        User user = database.getUser(dataDTO.userUuid);
+        if (user == null)
+            throw new UserDoesntExistException("Couldn't find a user with given UUID.");
+
+        // Check if user is in any room
+        if (database.getRoomWithUser(user.getUuid()) == null)
+            throw new UserNotAMemberException("You are not a member of any room!");
+    }
+
+}
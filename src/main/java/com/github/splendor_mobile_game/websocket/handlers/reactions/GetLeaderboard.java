@@ -0,0 +1,159 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.game.model.Leaderboard;
+import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.DataClass;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.github.splendor_mobile_game.websocket.handlers.Reaction;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionName;
+import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.InvalidUUIDException;
+import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
+import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.json.Optional;
+
+/**
+ * Player sends this request to get the best players of the server. Every player is ranked by the best result
+ * of their finished games, by points and then by fewer purchased cards. Players with equal results share the place.
+ * `limit` is the number of the returned players, by default 10, at most 100.
+ * `userRank` is the place of the requester, it's null if they haven't finished any game yet or their result
+ * is below all the {@link Leaderboard#MAX_ENTRIES} players kept on the leaderboard. The requester doesn't have to be
+ * in a room, the leaderboard keeps the players after their rooms are deleted.
+ *
+ * Example of user request
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "GET_LEADERBOARD",
+ *      "data": {
+ *          "userUuid": "288e001c-6510-4c88-8580-2dbe7aa2bfff",
+ *          "limit": 2
+ *      }
+ * }
+ *
+ * Example of server response
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "GET_LEADERBOARD_RESPONSE",
+ *      "result": "OK",
+ *      "data": {
+ *          "players": [
+ *              {
+ *                  "playerUuid": "6850e6c1-6f1d-48c6-a412-52b39225ded7",
+ *                  "name": "James",
+ *                  "points": 21,
+ *                  "cards": 14,
+ *                  "place": 1
+ *              },
+ *              {
+ *                  "playerUuid": "288e001c-6510-4c88-8580-2dbe7aa2bfff",
+ *                  "name": "Mike",
+ *                  "points": 18,
+ *                  "cards": 16,
+ *                  "place": 2
+ *              }
+ *          ],
+ *          "userRank": 2
+ *      }
+ * }
+ *
+ * In invalid request server sends message only to the requester. For example
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "GET_LEADERBOARD_RESPONSE",
+ *      "result": "FAILURE"
+ *      "data": {
+ *          "error": "Invalid UUID format."
+ *      }
+ * }
+ */
+@ReactionName("GET_LEADERBOARD")
+public class GetLeaderboard extends Reaction {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    public GetLeaderboard(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
+    }
+
+    @DataClass
+    public static class DataDTO {
+        public UUID userUuid;
+        @Optional
+        public Integer limit;
+
+        public DataDTO(UUID userUuid, Integer limit) {
+            this.userUuid = userUuid;
+            this.limit = limit;
+        }
+    }
+
+    public static class PlayerResponse {
+        public UUID playerUuid;
+        public String name;
+        public int points;
+        public int cards;
+        public int place;
+
+        public PlayerResponse(Leaderboard.Entry entry, int place) {
+            this.playerUuid = entry.getUserUuid();
+            this.name = entry.getName();
+            this.points = entry.getPoints();
+            this.cards = entry.getCards();
+            this.place = place;
+        }
+    }
+
+    public static class ResponseData {
+        public List<PlayerResponse> players;
+        public Integer userRank;
+
+        public ResponseData(List<PlayerResponse> players, Integer userRank) {
+            this.players = players;
+            this.userRank = userRank;
+        }
+    }
+
+    @Override
+    public void react() {
+        DataDTO dataDTO = (DataDTO) userMessage.getData();
+
+        try {
+            validateData(dataDTO);
+
+            Leaderboard leaderboard = database.getLeaderboard();
+            int limit = dataDTO.limit == null ? DEFAULT_LIMIT : Math.max(0, Math.min(dataDTO.limit, MAX_LIMIT));
+
+            // Places are counted along the list, so the ranks of the players aren't looked up one by one
+            List<Leaderboard.Entry> top = leaderboard.getTop(limit);
+            List<PlayerResponse> players = new ArrayList<>(top.size());
+            for (int i = 0; i < top.size(); i++) {
+                Leaderboard.Entry entry = top.get(i);
+                boolean tie = i > 0 && top.get(i - 1).getPoints() == entry.getPoints() && top.get(i - 1).getCards() == entry.getCards();
+                players.add(new PlayerResponse(entry, tie ? players.get(i - 1).place : i + 1));
+            }
+
+            int rank = leaderboard.getRank(dataDTO.userUuid);
+            ResponseData responseData = new ResponseData(players, rank == 0 ? null : rank);
+            ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.GET_LEADERBOARD_RESPONSE, Result.OK, responseData);
+
+            messenger.addMessageToSend(connectionId, serverMessage);
+        } catch (Exception e) {
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.GET_LEADERBOARD_RESPONSE, userMessage.getContextId().toString());
+            messenger.addMessageToSend(connectionId, errorResponse);
+        }
+    }
+
+    private void validateData(DataDTO dataDTO) throws InvalidUUIDException {
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userUuid == null)
+            throw new InvalidUUIDException("Invalid UUID format.");
+    }
+
+}
@@ -1,8 +1,6 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.TooManyListenersException;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -13,6 +11,7 @@ import com.github.splendor_mobile_game.game.enums.Color;
 import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
@@ -127,12 +126,13 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
  *              "emerald": 0,
  *              "diamond": 1,
  *              "onyx": 0
- *          }
+ *          },
+ *          "version": 14
  *      }
  * }
  *
  * Some points about implementation:
- * - We know what player has sent this message because we have their WebSocket's connectionHashCode.
+ * - We know what player has sent this message because we have their WebSocket's connectionId.
  * - Of course, we should update state of the game on the server (subtract appropriate amount of tokens for the purchase, add prestige points and add the bonus point)
  * - The way of representation of this data in json message is arbitrary, you as developer decides. Then android client will have to adjust. What's showed here is exemplary.
  * 
@@ -155,8 +155,10 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("GET_TOKENS")
 public class GetTokens extends Reaction {
 
-    public GetTokens(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    public GetTokens(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     public static class TokensChangeDTO {
@@ -190,9 +192,11 @@ public class GetTokens extends Reaction {
 
     public static class ResponseData {
         public DataDTO data;
+        public long version;
 
-        public ResponseData(DataDTO data) {
+        public ResponseData(DataDTO data, long version) {
             this.data = data;
+            this.version = version;
         }
     }
 
@@ -201,19 +205,21 @@ public class GetTokens extends Reaction {
         DataDTO dataDTO = (DataDTO) userMessage.getData();
        
         try {
-            Map<TokenType, Integer> tokensTaken = new HashMap<TokenType, Integer>();
-            tokensTaken.put(TokenType.RUBY, dataDTO.tokensTakenDTO.ruby);
-            tokensTaken.put(TokenType.SAPPHIRE, dataDTO.tokensTakenDTO.sapphire);
-            tokensTaken.put(TokenType.EMERALD, dataDTO.tokensTakenDTO.emerald);
-            tokensTaken.put(TokenType.DIAMOND, dataDTO.tokensTakenDTO.diamond);
-            tokensTaken.put(TokenType.ONYX, dataDTO.tokensTakenDTO.onyx);
-
-            Map<TokenType, Integer> tokensReturned = new HashMap<TokenType, Integer>();
-            tokensReturned.put(TokenType.RUBY, Math.abs(dataDTO.tokensReturnedDTO.ruby));
-            tokensReturned.put(TokenType.SAPPHIRE, Math.abs(dataDTO.tokensReturnedDTO.sapphire));
-            tokensReturned.put(TokenType.EMERALD, Math.abs(dataDTO.tokensReturnedDTO.emerald));
-            tokensReturned.put(TokenType.DIAMOND, Math.abs(dataDTO.tokensReturnedDTO.diamond));
-            tokensReturned.put(TokenType.ONYX, Math.abs(dataDTO.tokensReturnedDTO.onyx));
+            TokenVector tokensTaken = TokenVector.of(
+                dataDTO.tokensTakenDTO.emerald,
+                dataDTO.tokensTakenDTO.sapphire,
+                dataDTO.tokensTakenDTO.ruby,
+                dataDTO.tokensTakenDTO.diamond,
+                dataDTO.tokensTakenDTO.onyx
+            );
+
+            TokenVector tokensReturned = TokenVector.of(
+                Math.abs(dataDTO.tokensReturnedDTO.emerald),
+                Math.abs(dataDTO.tokensReturnedDTO.sapphire),
+                Math.abs(dataDTO.tokensReturnedDTO.ruby),
+                Math.abs(dataDTO.tokensReturnedDTO.diamond),
+                Math.abs(dataDTO.tokensReturnedDTO.onyx)
+            );
 
             validateData(dataDTO, database, tokensTaken, tokensReturned);
             
@@ -223,21 +229,19 @@ public class GetTokens extends Reaction {
             changeTokens(user, room, tokensTaken, tokensReturned);
             user.setPerformedAction(true);
 
-            ResponseData responseData = new ResponseData(dataDTO);
+            ResponseData responseData = new ResponseData(dataDTO, room.getGame().getVersion());
 
             ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.GET_TOKENS_RESPONSE, Result.OK, responseData);
             
-            for (User u : room.getAllUsers()) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(room.getAllUsers(), serverMessage);
         } catch (Exception e) {
             Log.ERROR(e.getMessage());
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.GET_TOKENS_RESPONSE, userMessage.getContextId().toString());
-            messenger.addMessageToSend(this.connectionHashCode, errorResponse);
+            messenger.addMessageToSend(this.connectionId, errorResponse);
         }
     }
 
-    private void validateData(DataDTO dataDTO, Database database, Map<TokenType, Integer> tokensTaken, Map<TokenType, Integer> tokensReturned) throws RoomDoesntExistException, TooManyTokensException, TooManyReturnedTokensException, WrongTokenChoiceException, InvalidUUIDException, NotThisUserTurnException, GameNotStartedException {
+    private void validateData(DataDTO dataDTO, Database database, TokenVector tokensTaken, TokenVector tokensReturned) throws RoomDoesntExistException, TooManyTokensException, TooManyReturnedTokensException, WrongTokenChoiceException, InvalidUUIDException, NotThisUserTurnException, GameNotStartedException {
         if(database.getUser(dataDTO.userUuid) == null) throw new InvalidUUIDException("User with this UUID not found");
         if(database.getRoomWithUser(dataDTO.userUuid) == null) throw new RoomDoesntExistException("This user isn't in any room");
 
@@ -271,60 +275,41 @@ public class GetTokens extends Reaction {
 
     
     //helper functions
-    private boolean mustUserReturnTokens(Room room, User user, Map<TokenType, Integer> tokensTaken) {
-        int tokenSum = user.getTokenCount();
-
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            tokenSum += set.getValue();
-        }
-
-        if(tokenSum > 10) return true;
-        return false;
+    private boolean mustUserReturnTokens(Room room, User user, TokenVector tokensTaken) {
+        return user.getTokenCount() + tokensTaken.total() > 10;
     }
 
-    private boolean isUserTryingToReturnTokens(Room room, User user, Map<TokenType, Integer> tokensReturned) {
-        for(Map.Entry<TokenType, Integer> set : tokensReturned.entrySet()) {
-            if(set.getValue() > 0) return true;
-        }
-
-        return false;
+    private boolean isUserTryingToReturnTokens(Room room, User user, TokenVector tokensReturned) {
+        // Returned amounts are never negative
+        return tokensReturned.total() > 0;
     }
 
-    private boolean canUserReturnChosenTokens(Room room, User user, Map<TokenType, Integer> tokensReturned) {
-        for(Map.Entry<TokenType, Integer> set : tokensReturned.entrySet()) {
-            if(set.getValue() > user.getTokenCount(set.getKey())) return false;
+    private boolean canUserReturnChosenTokens(Room room, User user, TokenVector tokensReturned) {
+        for(TokenType type : TOKEN_TYPES) {
+            if(tokensReturned.get(type) > user.getTokenCount(type)) return false;
         }
 
         return true;
     }
 
-    private int finalTokenAmount(Room room, User user, Map<TokenType, Integer> tokensTaken, Map<TokenType, Integer> tokensReturned) {
-        int tokenSum = user.getTokenCount();
-
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            tokenSum += set.getValue();
-        }
-
-        for(Map.Entry<TokenType, Integer> set : tokensReturned.entrySet()) {
-            tokenSum -= set.getValue();
-        }
-
-        return tokenSum;
+    private int finalTokenAmount(Room room, User user, TokenVector tokensTaken, TokenVector tokensReturned) {
+        return user.getTokenCount() + tokensTaken.total() - tokensReturned.total();
     }
 
-    private boolean isTokensCombinationRight(Room room, User user, Map<TokenType, Integer> tokensTaken) throws WrongTokenChoiceException {
+    private boolean isTokensCombinationRight(Room room, User user, TokenVector tokensTaken) throws WrongTokenChoiceException {
         ArrayList<TokenType> twoTokenTypes = new ArrayList<TokenType>();
         ArrayList<TokenType> oneTokenTypes = new ArrayList<TokenType>();
 
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            if(set.getValue() > 2){
-                throw new WrongTokenChoiceException(String.format("You've choosen too many %s tokens", set.getKey()));
+        for(TokenType type : TOKEN_TYPES) {
+            if(type == TokenType.GOLD_JOKER) continue;
+            if(tokensTaken.get(type) > 2){
+                throw new WrongTokenChoiceException(String.format("You've choosen too many %s tokens", type));
             }
-            if(set.getValue() < 0) {
-                throw new WrongTokenChoiceException(String.format("You've choosen not enough %s tokens", set.getKey()));
+            if(tokensTaken.get(type) < 0) {
+                throw new WrongTokenChoiceException(String.format("You've choosen not enough %s tokens", type));
             }
-            if(set.getValue() == 2) twoTokenTypes.add(set.getKey());
-            if(set.getValue() == 1) oneTokenTypes.add(set.getKey());
+            if(tokensTaken.get(type) == 2) twoTokenTypes.add(type);
+            if(tokensTaken.get(type) == 1) oneTokenTypes.add(type);
         }
 
         if(twoTokenTypes.size() == 1 && oneTokenTypes.size() == 0) {
@@ -338,15 +323,10 @@ public class GetTokens extends Reaction {
 
         if(oneTokenTypes.size() == 3 && twoTokenTypes.size() == 0) return true;
 
-        Map<TokenType, Integer> tokensOnTableAmount = new HashMap<TokenType, Integer>();
-
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            tokensOnTableAmount.put(set.getKey(), room.getGame().getTokenCount(set.getKey()));
-        }
-
         if(oneTokenTypes.size() == 2 && twoTokenTypes.size() == 0) {
-            for(Map.Entry<TokenType, Integer> set : tokensOnTableAmount.entrySet()) {
-                if(set.getKey() != oneTokenTypes.get(0) && set.getKey() != oneTokenTypes.get(1) && set.getValue() != 0) {
+            for(TokenType type : TOKEN_TYPES) {
+                if(type == TokenType.GOLD_JOKER) continue;
+                if(type != oneTokenTypes.get(0) && type != oneTokenTypes.get(1) && room.getGame().getTokenCount(type) != 0) {
                     throw new WrongTokenChoiceException("You can take 3x1 tokens");
                 }
             }
@@ -354,8 +334,9 @@ public class GetTokens extends Reaction {
         }
 
         if(oneTokenTypes.size() == 1 && twoTokenTypes.size() == 0) {
-            for(Map.Entry<TokenType, Integer> set : tokensOnTableAmount.entrySet()) {
-                if(set.getKey()!= oneTokenTypes.get(0) && set.getValue() != 0) {
+            for(TokenType type : TOKEN_TYPES) {
+                if(type == TokenType.GOLD_JOKER) continue;
+                if(type != oneTokenTypes.get(0) && room.getGame().getTokenCount(type) != 0) {
                     throw new WrongTokenChoiceException("You can take 3x1 tokens");
                 }
             }
@@ -365,14 +346,10 @@ public class GetTokens extends Reaction {
         throw new WrongTokenChoiceException("Your token choice is wrong");
     }
     
-    private void changeTokens(User user, Room room, Map<TokenType, Integer> tokensTaken, Map<TokenType, Integer> tokensReturned) {
-        Map<TokenType, Integer> tokensChange = new HashMap<TokenType, Integer>();
-
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            tokensChange.put(set.getKey(), set.getValue() - tokensReturned.get(set.getKey()));
-        }
+    private void changeTokens(User user, Room room, TokenVector tokensTaken, TokenVector tokensReturned) {
+        TokenVector tokensChange = new TokenVector(tokensTaken);
+        tokensChange.subtract(tokensReturned);
         
-        user.changeTokens(tokensChange);
-        room.getGame().changeTokens(tokensChange);
+        room.getGame().exchangeTokens(user, tokensChange);
     }
 }
@@ -103,8 +103,8 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 @ReactionName("JOIN_ROOM")
 public class JoinRoom extends Reaction {
 
-    public JoinRoom(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public JoinRoom(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
 
@@ -209,7 +209,8 @@ public class JoinRoom extends Reaction {
             validateData(dataDTO, database);
 
             Room room = database.getRoom(dataDTO.roomDTO.enterCode);
-            User user = new User(dataDTO.userDTO.uuid, dataDTO.userDTO.name, this.connectionHashCode);
+            User user = new User(dataDTO.userDTO.uuid, dataDTO.userDTO.name, this.connectionId);
+            String resumeToken = user.issueResumeToken();
             database.addUser(user);
             room.joinGame(user);
 
@@ -228,20 +229,31 @@ public class JoinRoom extends Reaction {
             ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.JOIN_ROOM_RESPONSE, Result.OK, responseData);
             
             // Send join information to all players
-            for (User u : room.getAllUsers()) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(room.getAllUsers(), serverMessage);
+            messenger.addMessageToSend(this.connectionId, ResumeSession.tokenMessage(userMessage.getContextId(), resumeToken));
 
         } catch(Exception e) {
 
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.JOIN_ROOM_RESPONSE, userMessage.getContextId().toString());
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
 
         }
 
     }
 
 
+    /** The sender isn't in any room yet, joining changes the room with the enter code. */
+    @Override
+    public UUID getTargetRoomUuid() {
+        DataDTO dataDTO = (DataDTO) userMessage.getData();
+        if (dataDTO == null || dataDTO.roomDTO == null || dataDTO.roomDTO.enterCode == null)
+            return null;
+
+        Room room = database.getRoom(dataDTO.roomDTO.enterCode);
+        return room == null ? null : room.getUuid();
+    }
+
+
     /**
      * Validate user data and check if game logic allows joining to the specified room
      *
@@ -256,8 +268,8 @@ public class JoinRoom extends Reaction {
      * @throws RoomInGameException
      */
     private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, RoomDoesntExistException, UserAlreadyInRoomException, RoomFullException, InvalidEnterCodeException, InvalidPasswordException, RoomInGameException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userDTO.uuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
         // Check if room enterCode matches the pattern
@@ -5,7 +5,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.github.splendor_mobile_game.database.Database;
-import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
@@ -53,8 +52,8 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 @ReactionName("KICK")
 public class Kick extends Reaction {
 
-    public Kick(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public Kick(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     @DataClass
@@ -114,31 +113,31 @@ public class Kick extends Reaction {
             User userToBeKicked = database.getUser(kickedUserUuid);
 
             room.leaveGame(userToBeKicked);
+            // Like after leaving, the connection isn't bound to the kicked user anymore
+            database.deleteUser(userToBeKicked);
 
             ResponseData responseData = new ResponseData(kickedUserUuid);
             ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(),
                     ServerMessageType.KICK_ANNOUNCEMENT,
                     Result.OK, responseData);
 
-            for (User u : room.getAllUsers()) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(room.getAllUsers(), serverMessage);
 
         } catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(),
                     ServerMessageType.KICK_RESPONSE, userMessage.getContextId().toString());
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
         }
 
     }
 
     private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, PerrmissionDeniedExeption, UserNotAMemberException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userUuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userUuid == null)
             throw new InvalidUUIDException("Invalid user UUID format.");
 
-        // Check if user's to be kicked UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.kickedUserUuid.toString()))
+        // Check if user's to be kicked UUID has been given, it has already been parsed while decoding
+        if (dataDTO.kickedUserUuid == null)
             throw new InvalidUUIDException("Invalid user to be kicked UUID format.");
 
         // checks if user-owner and user-to-be-kicked are not the same user
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.database.Database;
-import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
@@ -92,8 +91,8 @@ import java.util.regex.Pattern;
 @ReactionName("LEAVE_ROOM")
 public class LeaveRoom extends Reaction{
 
-    public LeaveRoom(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public LeaveRoom(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
 
     }
     public static class UserDTO{
@@ -155,16 +154,14 @@ public class LeaveRoom extends Reaction{
             if(game!=null && room.getCurrentPlayer()==user){               
                 room.changeTurn();
                 
-                EndTurn.ResponseData responseData = new EndTurn.ResponseData(room.getCurrentPlayer().getUuid());
+                EndTurn.ResponseData responseData = new EndTurn.ResponseData(room.getCurrentPlayer().getUuid(), room.getGame().getVersion());
                 ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.NEW_TURN_ANNOUNCEMENT, Result.OK, responseData);
 
-                for (User u : usersTmp) {         
-                    messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);                      
-                }
+                messenger.broadcast(usersTmp, serverMessage);
             }
 
             room.leaveGame(user);
-            database.getAllUsers().remove(user);
+            database.deleteUser(user);
 
             if (room.getPlayerCount()>0)
                 //checking if user who wants to leave room isn't owner, if that's true, setting new owner as another user from list of users
@@ -175,48 +172,44 @@ public class LeaveRoom extends Reaction{
                     ResponseData responseData = new ResponseData(userDataResponse);
                     ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.NEW_ROOM_OWNER, Result.OK, responseData);
 
-                    messenger.addMessageToSend(this.connectionHashCode, serverMessage);
+                    messenger.addMessageToSend(this.connectionId, serverMessage);
 
                     //Send information about new room owner to other players
-                    for (User u : usersTmp) {
-                        messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-                    }
+                    messenger.broadcast(usersTmp, serverMessage);
                     
                 }
 
             //If last user wants to leave room, then remove empty room
             if (room.getPlayerCount()==0)
-                database.getAllRooms().remove(room);
+                database.deleteRoom(room);
 
             UserDataResponse userDataResponse = new UserDataResponse(dataDTO.userDTO.uuid, user.getName());
             ResponseData responseData = new ResponseData(userDataResponse);
             ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.LEAVE_ROOM_RESPONSE, Result.OK, responseData);
 
-            messenger.addMessageToSend(this.connectionHashCode, serverMessage);
+            messenger.addMessageToSend(this.connectionId, serverMessage);
             
 
             //Send leave information to other players
-            for (User u : usersTmp) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(usersTmp, serverMessage);
 
 
         } catch(Exception e) {
 
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE,e.getMessage(), ServerMessageType.LEAVE_ROOM_RESPONSE, userMessage.getContextId().toString());
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
         }     
     }
 
 
 
     private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, UserNotAMemberException, RoomDoesntExistException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userDTO.uuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
-        // Check if room's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.roomDTO.uuid.toString()))
+        // Check if room's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.roomDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
 
@@ -6,7 +6,6 @@ import java.util.UUID;
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.ReservationResult;
 import com.github.splendor_mobile_game.game.enums.CardTier;
-import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Game;
@@ -59,12 +58,13 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
  *              }
  *              "goldenToken": true,
  *              "cardID": 3
- *          }
+ *          },
+ *          "version": 14
  *      }
  * }
  *
  * Implementation considerations:
- * - The player who sent the message can be identified by their WebSocket's connectionHashCode.
+ * - The player who sent the message can be identified by their WebSocket's connectionId.
  * - The game's state must be updated in the database.
  * 
  * It is also important to consider that a user may send a fraudulent request in an attempt to cheat. For example, they may send a message when it is not their turn, they are not in any game, or they have already taken another action. All such scenarios must be anticipated and handled appropriately.
@@ -83,8 +83,8 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("MAKE_RESERVATION_FROM_DECK")
 public class MakeReservationFromDeck extends Reaction {
 
-    public MakeReservationFromDeck(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public MakeReservationFromDeck(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     @DataClass
@@ -138,12 +138,14 @@ public class MakeReservationFromDeck extends Reaction {
         public UUID userUuid;
         public CardDataResponse card;
         public boolean goldenToken;
+        public long version;
 
 
-        public ResponseData(UUID userUuid, CardDataResponse card, boolean goldenToken) {
+        public ResponseData(UUID userUuid, CardDataResponse card, boolean goldenToken, long version) {
             this.userUuid = userUuid;
             this.card = card;
             this.goldenToken = goldenToken;
+            this.version = version;
         }
     }
 
@@ -183,7 +185,8 @@ public class MakeReservationFromDeck extends Reaction {
                     ),
                     card.getCardID()
                 ),
-                goldenToken
+                goldenToken,
+                room.getGame().getVersion()
             );
 
             ArrayList<User> players = room.getAllUsers();
@@ -194,19 +197,17 @@ public class MakeReservationFromDeck extends Reaction {
                 responseData
             );
 
-            for(User player : players){
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);        
-            }
+            messenger.broadcast(players, serverMessage);
 
         } catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.MAKE_RESERVATION_FROM_DECK_RESPONSE, userMessage.getContextId().toString());
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
         }
     }
 
     private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, UserDoesntExistException, UserNotAMemberException, RoomInGameException, UserTurnException, UserReservationException, TokenCountException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userUuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userUuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
 
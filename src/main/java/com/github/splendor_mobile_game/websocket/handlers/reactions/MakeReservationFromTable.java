@@ -3,7 +3,6 @@ package com.github.splendor_mobile_game.websocket.handlers.reactions;
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.ReservationResult;
 import com.github.splendor_mobile_game.game.enums.CardTier;
-import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Game;
@@ -60,12 +59,13 @@ import java.util.UUID;
  *              "onyxCost": 0,
  *              "cardID": 1
  *          },
- *          "gotGoldenToken":"true"        
+ *          "gotGoldenToken":"true",
+ *          "version": 14
  *      }
  * }
  *
  * Implementation details:
- * - The player's WebSocket connectionHashCode is used to identify the player.
+ * - The player's WebSocket connectionId is used to identify the player.
  * - The game state in the database needs to be updated.
  *
  * If the request is invalid (e.g. player is not in a game, it is not their turn, etc.), the server should only send a response to the requester.
@@ -83,8 +83,8 @@ import java.util.UUID;
 @ReactionName("MAKE_RESERVATION_FROM_TABLE")
 public class MakeReservationFromTable extends Reaction {
 
-    public MakeReservationFromTable(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public MakeReservationFromTable(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     public static class CardDTO {
@@ -172,12 +172,14 @@ public class MakeReservationFromTable extends Reaction {
         public ReserveeDataResponse reservee;
         public CardDataResponse cardDataResponse;
         public boolean gotGoldenToken;
+        public long version;
 
 
-        public ResponseData(ReserveeDataResponse reservee, CardDataResponse cardDataResponse, boolean gotGoldenToken) {
+        public ResponseData(ReserveeDataResponse reservee, CardDataResponse cardDataResponse, boolean gotGoldenToken, long version) {
             this.reservee = reservee;
             this.cardDataResponse = cardDataResponse;
             this.gotGoldenToken = gotGoldenToken;
+            this.version = version;
         }
     }
 
@@ -234,7 +236,8 @@ public class MakeReservationFromTable extends Reaction {
                         dataDTO.cardDTO.uuid //reserved card
                         ),
                     cardDataResponse,
-                    gotGoldenToken
+                    gotGoldenToken,
+                    game.getVersion()
             );
             ArrayList<User> players = room.getAllUsers();
             ServerMessage serverMessage = new ServerMessage(
@@ -244,26 +247,24 @@ public class MakeReservationFromTable extends Reaction {
                     responseData
             );
 
-            for (User player : players) {
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(players, serverMessage);
 
 
 
 
         } catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.MAKE_RESERVATION_FROM_TABLE_RESPONSE, userMessage.getContextId().toString());
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
         }
 
     }
     private void validateData(DataDTO dataDTO,Database database) throws InvalidUUIDException, UserDoesntExistException, UserNotAMemberException, RoomInGameException, UserTurnException, UserReservationException, CardNotRevealedException, TokenCountException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userDTO.uuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
-        // Check if card's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.cardDTO.uuid.toString()))
+        // Check if card's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.cardDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
 
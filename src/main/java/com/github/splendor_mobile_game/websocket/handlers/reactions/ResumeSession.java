@@ -0,0 +1,176 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.DataClass;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.github.splendor_mobile_game.websocket.handlers.Reaction;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionName;
+import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.InvalidResumeTokenException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.SessionActiveException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserDoesntExistException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserNotAMemberException;
+import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
+import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Player sends this request from a new connection after their previous connection has dropped while they were in a room.
+ * For a grace period after the connection is lost the player stays in the room, so the session can be resumed
+ * without leaving and joining the room again. The session is identified by a secret resume token, the uuid of the user
+ * isn't enough since other players know it. In reaction server moves the user to the new connection and sends the version
+ * of the game to the requester, missed changes of the game can be then fetched with `SYNC_STATE`. Other players aren't notified.
+ *
+ * The token is sent to the user right after they create or join a room. It's valid as long as they stay in the room,
+ * also after a restart of the server, since its hash is stored with the membership. Resuming doesn't change it.
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "RESUME_TOKEN",
+ *      "result": "OK",
+ *      "data": {
+ *          "resumeToken": "5Qm0b3lH0cK2m1tQy2Xb8oGxZ4yJk9cFq8Vq3n0rT1s"
+ *      }
+ * }
+ *
+ * Example of user request
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "RESUME_SESSION",
+ *      "data": {
+ *          "resumeToken": "5Qm0b3lH0cK2m1tQy2Xb8oGxZ4yJk9cFq8Vq3n0rT1s"
+ *      }
+ * }
+ *
+ * Example of server response, `version` is null if the game hasn't started yet
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "RESUME_SESSION_RESPONSE",
+ *      "result": "OK",
+ *      "data": {
+ *          "userUuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454",
+ *          "roomUuid": "6850e6c1-6f1d-48c6-a412-52b39225ded7",
+ *          "version": 12
+ *      }
+ * }
+ *
+ * In invalid request server sends message only to the requester. For example
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "RESUME_SESSION_RESPONSE",
+ *      "result": "FAILURE"
+ *      "data": {
+ *          "error": "This session is still connected."
+ *      }
+ * }
+ */
+@ReactionName("RESUME_SESSION")
+public class ResumeSession extends Reaction {
+
+    public ResumeSession(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
+    }
+
+    @DataClass
+    public static class DataDTO {
+        public String resumeToken;
+
+        public DataDTO(String resumeToken) {
+            this.resumeToken = resumeToken;
+        }
+    }
+
+    public static class TokenData {
+        public String resumeToken;
+
+        public TokenData(String resumeToken) {
+            this.resumeToken = resumeToken;
+        }
+    }
+
+    /** @return message giving the user the token their session can be resumed with */
+    public static ServerMessage tokenMessage(UUID contextId, String resumeToken) {
+        return new ServerMessage(contextId, ServerMessageType.RESUME_TOKEN, Result.OK, new TokenData(resumeToken));
+    }
+
+    public static class ResponseData {
+        public UUID userUuid;
+        public UUID roomUuid;
+        public Long version;
+
+        public ResponseData(UUID userUuid, UUID roomUuid, Long version) {
+            this.userUuid = userUuid;
+            this.roomUuid = roomUuid;
+            this.version = version;
+        }
+    }
+
+    /** Resuming changes the room of the parked session, this connection isn't in any room yet. */
+    @Override
+    public UUID getTargetRoomUuid() {
+        DataDTO dataDTO = (DataDTO) userMessage.getData();
+        UUID userUuid = dataDTO == null ? null : User.uuidOfResumeToken(dataDTO.resumeToken);
+        Room room = userUuid == null ? null : database.getRoomWithUser(userUuid);
+        return room == null ? null : room.getUuid();
+    }
+
+    @Override
+    public void react() {
+        DataDTO dataDTO = (DataDTO) userMessage.getData();
+
+        try {
+            validateData(dataDTO, database);
+
+            User user = database.getUser(User.uuidOfResumeToken(dataDTO.resumeToken));
+            Room room = database.getRoomWithUser(user.getUuid());
+
+            // Move the user first, so cleaning up after the lost connection finds nothing to remove
+            database.changeConnectionId(user, connectionId);
+            user.setConnected(true);
+            Log.DEBUG("Session of user `" + user.getUuid() + "` has been resumed on connection `" + connectionId + "`.");
+
+            Long version = room.getGame() != null ? room.getGame().getVersion() : null;
+            ResponseData responseData = new ResponseData(user.getUuid(), room.getUuid(), version);
+            ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.RESUME_SESSION_RESPONSE, Result.OK, responseData);
+
+            messenger.addMessageToSend(connectionId, serverMessage);
+        } catch (Exception e) {
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.RESUME_SESSION_RESPONSE, userMessage.getContextId().toString());
+            messenger.addMessageToSend(connectionId, errorResponse);
+        }
+    }
+
+    private void validateData(DataDTO dataDTO, Database database) throws InvalidResumeTokenException, UserDoesntExistException, UserNotAMemberException, SessionActiveException {
+        // The token starts with the uuid of its user
+        UUID userUuid = User.uuidOfResumeToken(dataDTO.resumeToken);
+        if (userUuid == null)
+            throw new InvalidResumeTokenException("Invalid resume token.");
+
+        // Check if user still exists
+        User user = database.getUser(userUuid);
+        if (user == null)
+            throw new UserDoesntExistException("Couldn't find a user with given UUID.");
+
+        // Check if the token is the current one of the user
+        if (!user.checkResumeToken(dataDTO.resumeToken))
+            throw new InvalidResumeTokenException("Invalid resume token.");
+
+        // Check if user is in any room
+        if (database.getRoomWithUser(user.getUuid()) == null)
+            throw new UserNotAMemberException("You are not a member of any room!");
+
+        // Only sessions whose connection has been lost can be resumed
+        if (user.isConnected())
+            throw new SessionActiveException("This session is still connected.");
+
+        // Check if this connection isn't used by another user
+        if (database.getUserByConnectionId(connectionId) != null)
+            throw new SessionActiveException("This connection already has a session.");
+    }
+
+}
@@ -1,21 +1,26 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import com.github.splendor_mobile_game.database.Database;
-import com.github.splendor_mobile_game.game.enums.Regex;
+import com.github.splendor_mobile_game.game.model.Chat;
+import com.github.splendor_mobile_game.game.model.Chat.ChatMessage;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.DataClass;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.github.splendor_mobile_game.websocket.handlers.Reaction;
 import com.github.splendor_mobile_game.websocket.handlers.ReactionName;
 import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.InvalidChatMessageException;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.InvalidUUIDException;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserDoesntExistException;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserNotAMemberException;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,7 +30,10 @@ import java.util.UUID;
  *
  *
  * Player sends this request if they wants to send chat message to the other players in the same room.
- * In reaction server sends to all players message of type `CHAT_MESSAGE_ANNOUNCEMENT` announcing that this has happend.
+ * In reaction server sends to all players message of type `SEND_CHAT_MESSAGE_ANNOUNCEMENT` announcing that this has happend.
+ * Messages sent in the room during one tick of the server are announced together, the announcement is sent to
+ * the players once the tick has passed. `contextId` of the announcement is the one of the request which has started the tick.
+ * Every player can send 5 messages at once, after that one message per second, messages sent faster are rejected.
  * 
  * Example of user request
  * {
@@ -40,18 +48,27 @@ import java.util.UUID;
  * Example of server announcement
  * {
  *      "messageContextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
- *      "type": "CHAT_MESSAGE_ANNOUNCEMENT",
+ *      "type": "SEND_CHAT_MESSAGE_ANNOUNCEMENT",
  *      "result": "OK",
  *      "data": {
- *          "userUuid": "288e001c-6510-4c88-8580-2dbe7aa2bfff",
- *          "message": "Hello my friends! How are you?"
+ *          "messages": [
+ *              {
+ *                  "id": 41,
+ *                  "userUuid": "288e001c-6510-4c88-8580-2dbe7aa2bfff",
+ *                  "message": "Hello my friends! How are you?"
+ *              },
+ *              {
+ *                  "id": 42,
+ *                  "userUuid": "6850e6c1-6f1d-48c6-a412-52b39225ded7",
+ *                  "message": "Fine, thanks"
+ *              }
+ *          ]
  *      }
  * }
  *
  * Some points about implementation:
- * - We know what player has sent this message because we have their WebSocket's connectionHashCode.
- * - Probably there is need to implement some logic in the model package. 
- *   We need to store information about messages.
+ * - We know what player has sent this message because we have their WebSocket's connectionId.
+ * - Only the recent messages are kept in the chat of the room, older ones can be fetched with `GET_CHAT_HISTORY` while they last.
  * 
  * Also.. Consider user is sending dodgy request, because they wants to break the software.
  * They send message when they aren't in any game for example.
@@ -71,10 +88,11 @@ import java.util.UUID;
 @ReactionName("SEND_CHAT_MESSAGE")
 public class SendChatMessage extends Reaction {
 
-    public SendChatMessage(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public SendChatMessage(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
+    @DataClass
     public static class DataDTO{
         private UUID userUuid;
         private String message;
@@ -85,14 +103,31 @@ public class SendChatMessage extends Reaction {
         }
     }
 
-    public static class ResponseData {
+    /** Maximum length of a chat message. */
+    public static final int MAX_MESSAGE_LENGTH = 500;
+
+    public static class MessageResponse {
+        private long id;
         private UUID userUuid;
         private String message;
 
-        public ResponseData(UUID userUuid, String message) {
+        public MessageResponse(long id, UUID userUuid, String message) {
+            this.id = id;
             this.userUuid = userUuid;
             this.message = message;
         }
+
+        public MessageResponse(ChatMessage chatMessage) {
+            this(chatMessage.getId(), chatMessage.getSenderUUID(), chatMessage.getMessage());
+        }
+    }
+
+    public static class ResponseData {
+        private List<MessageResponse> messages;
+
+        public ResponseData(List<MessageResponse> messages) {
+            this.messages = messages;
+        }
     }
 
     @Override
@@ -102,29 +137,52 @@ public class SendChatMessage extends Reaction {
         try {
             validateData(dataDTO, database);
 
-            Room room = database.getRoom(dataDTO.userUuid);
-
-            room.getChat().sendMessage(dataDTO.message, dataDTO.userUuid);
+            Room room = database.getRoomWithUser(dataDTO.userUuid);
+            Chat chat = room.getChat();
 
-            ResponseData responseData = new ResponseData(dataDTO.userUuid, dataDTO.message);
-            ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.SEND_CHAT_MESSAGE_ANNOUNCEMENT, Result.OK, responseData);
+            chat.sendMessage(dataDTO.message, dataDTO.userUuid);
 
-            // Send join information to all players
-            for (User u : room.getAllUsers()) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
+            // Messages sent until the next tick are announced together
+            if (chat.scheduleAnnouncement()) {
+                UUID contextId = userMessage.getContextId();
+                messenger.runOnNextTick(room.getUuid(), tickMessenger -> announce(room, contextId, tickMessenger));
             }
         }
         catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.SEND_CHAT_MESSAGE_RESPONSE, userMessage.getContextId().toString());
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
         }
     }
 
-    private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, UserDoesntExistException, UserNotAMemberException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userUuid.toString()))
+    /**
+     * Sends the messages which haven't been announced yet to all players of the room.
+     *
+     * @param room the room
+     * @param contextId context of the request which has scheduled the announcement
+     * @param messenger messenger of the tick
+     */
+    private static void announce(Room room, UUID contextId, Messenger messenger) {
+        List<MessageResponse> messages = new ArrayList<>();
+        for (ChatMessage chatMessage : room.getChat().takeUnannouncedMessages()) {
+            messages.add(new MessageResponse(chatMessage));
+        }
+
+        ResponseData responseData = new ResponseData(messages);
+        ServerMessage serverMessage = new ServerMessage(contextId, ServerMessageType.SEND_CHAT_MESSAGE_ANNOUNCEMENT, Result.OK, responseData);
+
+        // Send the messages to all players
+        messenger.broadcast(room.getAllUsers(), serverMessage);
+    }
+
+    private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, InvalidChatMessageException, UserDoesntExistException, UserNotAMemberException {
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userUuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
+        // Check if the message isn't empty or too long
+        if (dataDTO.message == null || dataDTO.message.isBlank() || dataDTO.message.length() > MAX_MESSAGE_LENGTH)
+            throw new InvalidChatMessageException("Chat message must have between 1 and " + MAX_MESSAGE_LENGTH + " characters.");
+
         // Check if user exists
         User user = database.getUser(dataDTO.userUuid);
         if (user == null)
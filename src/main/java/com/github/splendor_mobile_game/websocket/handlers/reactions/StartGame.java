@@ -1,6 +1,7 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -8,10 +9,8 @@ import java.util.regex.Pattern;
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.enums.CardTier;
 import com.github.splendor_mobile_game.game.enums.Color;
-import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
-import com.github.splendor_mobile_game.game.model.Deck;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Noble;
 import com.github.splendor_mobile_game.game.model.Room;
@@ -275,8 +274,8 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("START_GAME")
 public class StartGame extends Reaction {
 
-    public StartGame(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
-        super(connectionHashCode, userMessage, messenger, database);
+    public StartGame(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
     }
 
     public static class UserDTO {
@@ -464,14 +463,12 @@ public class StartGame extends Reaction {
                     Result.OK, 
                     responseData
             );
-            for(User player : players){          
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(players, serverMessage);
        
 
         }catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.START_GAME_RESPONSE, userMessage.getContextId().toString());
-            messenger.addMessageToSend(connectionHashCode, errorResponse);
+            messenger.addMessageToSend(connectionId, errorResponse);
         }
     }
 
@@ -483,12 +480,12 @@ public class StartGame extends Reaction {
 
 
     private void validateData(DataDTO dataDTO, Database database) throws  RoomDoesntExistException, UserDoesntExistException, RoomOwnershipException, InvalidUUIDException, RoomInGameException, RoomPlayerCountException {
-        // Check if user's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.userDTO.uuid.toString()))
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
-        // Check if room's UUID matches the pattern
-        if (!Regex.UUID_PATTERN.matches(dataDTO.roomDTO.uuid.toString()))
+        // Check if room's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.roomDTO.uuid == null)
             throw new InvalidUUIDException("Invalid UUID format.");
 
 
@@ -520,7 +517,7 @@ public class StartGame extends Reaction {
 
     }
 
-    private ArrayList<MinesCardDataResponse> createMinesCardDataResponses(Deck deck){
+    private ArrayList<MinesCardDataResponse> createMinesCardDataResponses(List<Card> deck){
         ArrayList<MinesCardDataResponse> minesCardsResponses=new ArrayList<>();
         for(Card card : deck){
             minesCardsResponses.add(new MinesCardDataResponse(
@@ -0,0 +1,268 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.game.model.Game;
+import com.github.splendor_mobile_game.game.model.GameDelta;
+import com.github.splendor_mobile_game.game.model.Noble;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.DataClass;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.github.splendor_mobile_game.websocket.handlers.Reaction;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionName;
+import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.GameNotStartedException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.InvalidUUIDException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserDoesntExistException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserNotAMemberException;
+import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
+import com.github.splendor_mobile_game.websocket.response.Result;
+
+/**
+ * Player sends this request when they suspect they have missed some announcements, for example after their connection has dropped.
+ * Every change of the game increases its version by one, the state announced when the game has started has version 0.
+ * In reaction server sends only to the requester the changes made after the version they know,
+ * or the whole state when these changes aren't kept anymore. Exactly one of `deltas` and `snapshot` is not null.
+ *
+ * Example of user request
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "SYNC_STATE",
+ *      "data": {
+ *          "userUuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454",
+ *          "version": 12
+ *      }
+ * }
+ *
+ * Example of server response with the missed changes, token counts are in order
+ * emerald, sapphire, ruby, diamond, onyx, gold
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "SYNC_STATE_RESPONSE",
+ *      "result": "OK",
+ *      "data": {
+ *          "version": 14,
+ *          "deltas": [
+ *              {"version": 13, "type": "TOKENS", "userUuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454", "cardUuid": null, "nobleUuid": null, "tier": null, "slot": null, "deckSize": null, "tokens": [1, 1, 1, 0, 0, 0]},
+ *              {"version": 14, "type": "TOKENS", "userUuid": null, "cardUuid": null, "nobleUuid": null, "tier": null, "slot": null, "deckSize": null, "tokens": [3, 3, 3, 4, 4, 5]}
+ *          ],
+ *          "snapshot": null
+ *      }
+ * }
+ *
+ * Example of server response with the whole state, cards on the table are listed by tier and slot, null marks an empty slot
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "SYNC_STATE_RESPONSE",
+ *      "result": "OK",
+ *      "data": {
+ *          "version": 300,
+ *          "deltas": null,
+ *          "snapshot": {
+ *              "tokens": [3, 3, 3, 4, 4, 5],
+ *              "deckSizes": [32, 26, 16],
+ *              "revealedCards": [["0ba9cba8-3bc0-42fe-b24f-25d7b52fcd2c", ...], [...], [...]],
+ *              "nobles": ["8e2b6f3c-c6e4-4d4e-9a44-3e0a1f6f50de", ...],
+ *              "currentPlayerUuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454",
+ *              "players": [
+ *                  {
+ *                      "uuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454",
+ *                      "points": 3,
+ *                      "tokens": [1, 1, 1, 0, 0, 0],
+ *                      "purchasedCards": ["6850e6c1-6f1d-48c6-a412-52b39225ded7"],
+ *                      "reservedCards": [],
+ *                      "nobles": []
+ *                  },
+ *                  ...
+ *              ]
+ *          }
+ *      }
+ * }
+ *
+ * In invalid request server sends message only to the requester. For example
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "SYNC_STATE_RESPONSE",
+ *      "result": "FAILURE"
+ *      "data": {
+ *          "error": "Game hasn't started yet."
+ *      }
+ * }
+ */
+@ReactionName("SYNC_STATE")
+public class SyncState extends Reaction {
+
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    private static final CardTier[] TIERS = CardTier.values();
+
+    public SyncState(long connectionId, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionId, userMessage, messenger, database);
+    }
+
+    @DataClass
+    public static class DataDTO {
+        public UUID userUuid;
+        public long version;
+
+        public DataDTO(UUID userUuid, long version) {
+            this.userUuid = userUuid;
+            this.version = version;
+        }
+    }
+
+    public static class PlayerDataResponse {
+        public UUID uuid;
+        public int points;
+        public int[] tokens;
+        public List<UUID> purchasedCards;
+        public List<UUID> reservedCards;
+        public List<UUID> nobles;
+
+        public PlayerDataResponse(UUID uuid, int points, int[] tokens, List<UUID> purchasedCards, List<UUID> reservedCards, List<UUID> nobles) {
+            this.uuid = uuid;
+            this.points = points;
+            this.tokens = tokens;
+            this.purchasedCards = purchasedCards;
+            this.reservedCards = reservedCards;
+            this.nobles = nobles;
+        }
+    }
+
+    public static class SnapshotResponse {
+        public int[] tokens;
+        public int[] deckSizes;
+        public UUID[][] revealedCards;
+        public List<UUID> nobles;
+        public UUID currentPlayerUuid;
+        public List<PlayerDataResponse> players;
+
+        public SnapshotResponse(int[] tokens, int[] deckSizes, UUID[][] revealedCards, List<UUID> nobles, UUID currentPlayerUuid, List<PlayerDataResponse> players) {
+            this.tokens = tokens;
+            this.deckSizes = deckSizes;
+            this.revealedCards = revealedCards;
+            this.nobles = nobles;
+            this.currentPlayerUuid = currentPlayerUuid;
+            this.players = players;
+        }
+    }
+
+    public static class ResponseData {
+        public long version;
+        public List<GameDelta> deltas;
+        public SnapshotResponse snapshot;
+
+        public ResponseData(long version, List<GameDelta> deltas, SnapshotResponse snapshot) {
+            this.version = version;
+            this.deltas = deltas;
+            this.snapshot = snapshot;
+        }
+    }
+
+    @Override
+    public void react() {
+        DataDTO dataDTO = (DataDTO) userMessage.getData();
+
+        try {
+            validateData(dataDTO, database);
+
+            Room room = database.getRoomWithUser(dataDTO.userUuid);
+            Game game = room.getGame();
+
+            List<GameDelta> deltas = game.getDeltasSince(dataDTO.version);
+            ResponseData responseData = deltas != null
+                ? new ResponseData(game.getVersion(), deltas, null)
+                : new ResponseData(game.getVersion(), null, createSnapshot(room, game));
+
+            ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.SYNC_STATE_RESPONSE, Result.OK, responseData);
+            messenger.addMessageToSend(connectionId, serverMessage);
+        } catch (Exception e) {
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.SYNC_STATE_RESPONSE, userMessage.getContextId().toString());
+            messenger.addMessageToSend(connectionId, errorResponse);
+        }
+    }
+
+    private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, UserDoesntExistException, UserNotAMemberException, GameNotStartedException {
+        // Check if user's UUID has been given, it has already been parsed while decoding
+        if (dataDTO.userUuid == null)
+            throw new InvalidUUIDException("Invalid UUID format.");
+
+        // Check if user exists
+        User user = database.getUser(dataDTO.userUuid);
+        if (user == null)
+            throw new UserDoesntExistException("Couldn't find a user with given UUID.");
+
+        // Check if user is in any room
+        Room room = database.getRoomWithUser(user.getUuid());
+        if (room == null)
+            throw new UserNotAMemberException("You are not a member of any room!");
+
+        // Check if game is running
+        if (room.getGame() == null)
+            throw new GameNotStartedException("Game hasn't started yet.");
+    }
+
+    private SnapshotResponse createSnapshot(Room room, Game game) {
+        int[] tokens = new int[TOKEN_TYPES.length];
+        for (TokenType type : TOKEN_TYPES) {
+            tokens[type.ordinal()] = game.getTokenCount(type);
+        }
+
+        int[] deckSizes = new int[TIERS.length];
+        UUID[][] revealedCards = new UUID[TIERS.length][game.getRevealedSlotCount()];
+        for (CardTier tier : TIERS) {
+            deckSizes[tier.ordinal()] = game.getDeckSize(tier);
+            for (int slot = 0; slot < game.getRevealedSlotCount(); slot++) {
+                Card card = game.getRevealedCard(tier, slot);
+                revealedCards[tier.ordinal()][slot] = card != null ? card.getUuid() : null;
+            }
+        }
+
+        List<PlayerDataResponse> players = new ArrayList<>(room.getPlayerCount());
+        for (User player : room.getAllUsers()) {
+            int[] playerTokens = new int[TOKEN_TYPES.length];
+            for (TokenType type : TOKEN_TYPES) {
+                playerTokens[type.ordinal()] = player.getTokenCount(type);
+            }
+
+            players.add(new PlayerDataResponse(
+                player.getUuid(),
+                player.getPoints(),
+                playerTokens,
+                cardUuids(player.getPurchasedCards()),
+                cardUuids(player.getReservedCards()),
+                nobleUuids(player.getVisitingNobles())
+            ));
+        }
+
+        return new SnapshotResponse(
+            tokens,
+            deckSizes,
+            revealedCards,
+            nobleUuids(game.getNobles()),
+            room.getCurrentPlayer().getUuid(),
+            players
+        );
+    }
+
+    private static List<UUID> cardUuids(List<Card> cards) {
+        List<UUID> uuids = new ArrayList<>(cards.size());
+        for (Card card : cards) uuids.add(card.getUuid());
+        return uuids;
+    }
+
+    private static List<UUID> nobleUuids(List<Noble> nobles) {
+        List<UUID> uuids = new ArrayList<>(nobles.size());
+        for (Noble noble : nobles) uuids.add(noble.getUuid());
+        return uuids;
+    }
+}
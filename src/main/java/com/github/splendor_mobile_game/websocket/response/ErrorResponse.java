@@ -3,7 +3,7 @@ package com.github.splendor_mobile_game.websocket.response;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
-import com.google.gson.Gson;
+import com.github.splendor_mobile_game.websocket.utils.json.JsonParser;
 
 /** Represents an error response to be returned to the client. */
 public class ErrorResponse {
@@ -68,7 +68,6 @@ public class ErrorResponse {
      * @return the JSON string representation of the object
      */
     public String ToJson() {
-        Gson gson = new Gson();
-        return gson.toJson(this);
+        return JsonParser.GSON.toJson(this);
     }
 }
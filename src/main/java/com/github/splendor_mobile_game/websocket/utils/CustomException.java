@@ -42,6 +42,14 @@ public class CustomException extends RuntimeException {
         this.result = result;
     }
 
+    /**
+     * @param writableStackTrace false to skip capturing the stack trace, which is the costly part of creating an exception
+     */
+    protected CustomException(String message, Throwable cause, Result result, boolean writableStackTrace) {
+        super(message, cause, false, writableStackTrace);
+        this.result = result;
+    }
+
     @Override
     public String toString() {
         return this.getMessage();
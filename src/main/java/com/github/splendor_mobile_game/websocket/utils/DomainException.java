@@ -0,0 +1,28 @@
+package com.github.splendor_mobile_game.websocket.utils;
+
+import com.github.splendor_mobile_game.websocket.response.Result;
+
+/**
+ * Base class of exceptions caused by the client breaking rules of the game or sending invalid data.
+ * They are part of the normal flow, their message is all the client needs to know,
+ * so they are created without a stack trace, which makes throwing them almost as cheap as returning a value.
+ */
+public class DomainException extends CustomException {
+
+    public DomainException() {
+        super(null, null, Result.FAILURE, false);
+    }
+
+    public DomainException(String message) {
+        super(message, null, Result.FAILURE, false);
+    }
+
+    public DomainException(Throwable cause) {
+        super(cause == null ? null : cause.toString(), cause, Result.FAILURE, false);
+    }
+
+    public DomainException(String message, Throwable cause) {
+        super(message, cause, Result.FAILURE, false);
+    }
+
+}
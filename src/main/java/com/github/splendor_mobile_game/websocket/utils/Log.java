@@ -1,33 +1,70 @@
 package com.github.splendor_mobile_game.websocket.utils;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.EnumSet;
+import java.util.function.Supplier;
 
-// TODO: Java doc required
+/**
+ * Static logger writing to the console and to the log files. Disabled levels cost only a set lookup,
+ * messages given as {@link Supplier} aren't even built then. Enabled lines are formatted on the calling thread
+ * and written by a background {@link LogWriter}, so logging never waits for the console or the disk.
+ */
 public class Log {
 
+    /** How many lines may wait for the writer before new ones are dropped. */
+    private static final int BUFFER_CAPACITY = 8192;
 
-    private static EnumSet<LogLevel> fileLogLevels=EnumSet.allOf(LogLevel.class);
-    private static EnumSet<LogLevel> consoleLogLevels=EnumSet.allOf(LogLevel.class);
-    
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    private static boolean savingToFile;
-    private static File fileToWrite;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final LogWriter WRITER = new LogWriter(BUFFER_CAPACITY);
+
+    static {
+        Thread writerThread = new Thread(WRITER, "log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(WRITER::flush, "log-flush"));
+    }
+
+    private static volatile EnumSet<LogLevel> fileLogLevels=EnumSet.allOf(LogLevel.class);
+    private static volatile EnumSet<LogLevel> consoleLogLevels=EnumSet.allOf(LogLevel.class);
+
+
+    private static volatile boolean savingToFile;
+
+    /** Whether the file and line of the caller are included, looking them up walks the stack. */
+    private static volatile boolean callerLocation = true;
+
+    /** Time formatted for the last logged second, formatting happens once per second at most. */
+    private static volatile FormattedSecond lastSecond = new FormattedSecond(-1, "");
 
     public static void setSavingLogsToFile(String logsDir) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
-        String formattedTime = currentTime.format(formatter);
-        Path path = Path.of(logsDir, formattedTime + ".txt");
-        Log.fileToWrite = new File(path.toString());
-        Log.fileToWrite.getParentFile().mkdirs();
-        Log.savingToFile = true;  
+        WRITER.setLogsDir(Path.of(logsDir));
+        Log.savingToFile = true;
+    }
+
+    /**
+     * Sets when the log file is replaced by a new one.
+     *
+     * @param maxFileBytes size of the file after which it's rotated
+     * @param rotationIntervalMs age of the file after which it's rotated
+     */
+    public static void setFileRotation(long maxFileBytes, long rotationIntervalMs) {
+        WRITER.setRotation(maxFileBytes, rotationIntervalMs);
+    }
+
+    public static void setCallerLocation(boolean callerLocation) {
+        Log.callerLocation = callerLocation;
+    }
+
+    /** @return number of lines dropped, because the buffer was full */
+    public static long getDroppedCount() {
+        return WRITER.getDroppedCount();
     }
+
     public static void SetFileLogLevel(EnumSet<LogLevel> fileLogLevels){
         Log.fileLogLevels = fileLogLevels;
     }
@@ -50,90 +87,99 @@ public class Log {
         return consoleLogLevels.remove(LogLevel);
     }
 
-    private static void saveToFile(String message) {
-        try {
-            FileWriter writer = new FileWriter(Log.fileToWrite, true);
-            writer.write(message + "\n");
-            writer.close();
-        } catch (IOException e) {
-            System.err.println("Error occured while saving to the log file.");
-            e.printStackTrace();
-        }
+    /**
+     * @param level the level
+     * @return true if lines of the level are written anywhere
+     */
+    public static boolean isEnabled(LogLevel level) {
+        return consoleLogLevels.contains(level) || (Log.savingToFile && fileLogLevels.contains(level));
     }
 
     private static String getTime() {
-        LocalDateTime currentTime = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        String formattedTime = currentTime.format(formatter);
-        return formattedTime;
+        long second = System.currentTimeMillis() / 1000;
+        FormattedSecond formatted = Log.lastSecond;
+        if (formatted.second != second) {
+            formatted = new FormattedSecond(second, LocalDateTime.now().format(TIME_FORMATTER));
+            Log.lastSecond = formatted;
+        }
+        return formatted.text;
     }
 
-    private static String getHeader() {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        StackTraceElement callingMethod = stackTrace[3]; // 0 - getStackTrace, 1 - currentThread, 2 - calling method
-        String fileName = callingMethod.getFileName();
-        int lineNumber = callingMethod.getLineNumber();
-        String location = fileName + ":" + lineNumber;
-        return "[" + Log.getTime() + "]" + " [" + stackTrace[2].getMethodName() + "] [" + location + "] ";
-    }
+    private static String getHeader(LogLevel level) {
+        StringBuilder header = new StringBuilder(64)
+            .append('[').append(Log.getTime()).append("] [").append(level.name()).append("] ");
+
+        if (Log.callerLocation) {
+            StackWalker.StackFrame caller = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(Log.class.getName()))
+                .findFirst()
+                .orElse(null));
+            if (caller != null) {
+                header.append('[').append(caller.getFileName()).append(':').append(caller.getLineNumber()).append("] ");
+            }
+        }
 
-    public static void TRACE(String message) {      
-        String logMessage = Log.getHeader() + message;
+        return header.toString();
+    }
 
-        if(consoleLogLevels.contains(LogLevel.TRACE)){
-            System.out.println(logMessage);
-        }
-        
-        if (fileLogLevels.contains(LogLevel.TRACE) && Log.savingToFile) {
-            Log.saveToFile(logMessage);
+    private static void log(LogLevel level, Object message) {
+        boolean console = consoleLogLevels.contains(level);
+        boolean file = Log.savingToFile && fileLogLevels.contains(level);
+        if (!console && !file) {
+            return;
         }
+
+        String text = message instanceof Supplier ? String.valueOf(((Supplier<?>) message).get()) : String.valueOf(message);
+        WRITER.offer(new LogWriter.Line(level, Log.getHeader(level) + text, console, file));
     }
 
-    public static void INFO(String message) {
-        String logMessage = Log.getHeader() + message;
+    public static void TRACE(String message) {
+        Log.log(LogLevel.TRACE, message);
+    }
 
-        if(consoleLogLevels.contains(LogLevel.INFO)){
-            System.out.println(ColoredText.green(logMessage));
-        }
+    public static void TRACE(Supplier<String> message) {
+        Log.log(LogLevel.TRACE, message);
+    }
 
-        if (fileLogLevels.contains(LogLevel.INFO) && Log.savingToFile) {
-            Log.saveToFile(logMessage);
-        }
+    public static void INFO(String message) {
+        Log.log(LogLevel.INFO, message);
+    }
+
+    public static void INFO(Supplier<String> message) {
+        Log.log(LogLevel.INFO, message);
     }
 
     public static void DEBUG(String message) {
-        String logMessage = Log.getHeader() + message;
+        Log.log(LogLevel.DEBUG, message);
+    }
 
-        if(consoleLogLevels.contains(LogLevel.DEBUG)){
-            System.out.println(ColoredText.blue(logMessage));
-        }
-        
-        if (fileLogLevels.contains(LogLevel.DEBUG) && Log.savingToFile) {
-            Log.saveToFile(logMessage);
-        }
+    public static void DEBUG(Supplier<String> message) {
+        Log.log(LogLevel.DEBUG, message);
     }
 
     public static void WARNING(String message) {
-        String logMessage = Log.getHeader() + message;
-        
-        if(consoleLogLevels.contains(LogLevel.WARNING)){
-            System.out.println(ColoredText.yellow(logMessage));
-        }
-        
-        if (fileLogLevels.contains(LogLevel.WARNING) && Log.savingToFile) {
-            Log.saveToFile(logMessage);
-        }
+        Log.log(LogLevel.WARNING, message);
+    }
+
+    public static void WARNING(Supplier<String> message) {
+        Log.log(LogLevel.WARNING, message);
     }
 
     public static void ERROR(String message) {
-        String logMessage = Log.getHeader() + message;
-        
-        if(consoleLogLevels.contains(LogLevel.ERROR)){
-            System.out.println(ColoredText.red(logMessage));
-        }
-        
-        if (fileLogLevels.contains(LogLevel.ERROR) && Log.savingToFile) {
-            Log.saveToFile(logMessage);
+        Log.log(LogLevel.ERROR, message);
+    }
+
+    public static void ERROR(Supplier<String> message) {
+        Log.log(LogLevel.ERROR, message);
+    }
+
+    private static final class FormattedSecond {
+        private final long second;
+        private final String text;
+
+        private FormattedSecond(long second, String text) {
+            this.second = second;
+            this.text = text;
         }
     }
 }
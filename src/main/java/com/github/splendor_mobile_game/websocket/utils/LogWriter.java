@@ -0,0 +1,217 @@
+package com.github.splendor_mobile_game.websocket.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes log lines on a background thread. Lines wait in a bounded buffer, when it's full new lines are dropped and counted.
+ * The log file stays open between writes and is rotated once it exceeds the size limit or gets too old.
+ */
+class LogWriter implements Runnable {
+
+    /** How many lines are written at once before flushing. */
+    private static final int BATCH_SIZE = 256;
+
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private final BlockingQueue<Line> buffer;
+
+    /** Lines dropped since the last report. */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** Lines dropped since the start. */
+    private final AtomicLong droppedTotal = new AtomicLong();
+
+    /** Directory requested for the log files or null if lines aren't saved to files. */
+    private volatile Path logsDir;
+    private volatile long maxFileBytes = 10L * 1024 * 1024;
+    private volatile long rotationIntervalNs = TimeUnit.HOURS.toNanos(24);
+
+    /** State of the currently open file, guarded by this. */
+    private OutputStream file;
+    private Path fileDir;
+    private long fileBytes;
+    private long fileOpenedNs;
+
+    LogWriter(int capacity) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Adds the line to the buffer without waiting.
+     *
+     * @param line the line to write
+     */
+    void offer(Line line) {
+        if (!this.buffer.offer(line)) {
+            this.dropped.incrementAndGet();
+            this.droppedTotal.incrementAndGet();
+        }
+    }
+
+    long getDroppedCount() {
+        return this.droppedTotal.get();
+    }
+
+    void setLogsDir(Path logsDir) {
+        this.logsDir = logsDir;
+    }
+
+    void setRotation(long maxFileBytes, long rotationIntervalMs) {
+        this.maxFileBytes = maxFileBytes;
+        this.rotationIntervalNs = TimeUnit.MILLISECONDS.toNanos(rotationIntervalMs);
+    }
+
+    @Override
+    public void run() {
+        List<Line> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (true) {
+            try {
+                batch.add(this.buffer.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            this.buffer.drainTo(batch, BATCH_SIZE - 1);
+            this.write(batch);
+            batch.clear();
+        }
+    }
+
+    /** Writes everything which is waiting in the buffer, used when the application exits. */
+    void flush() {
+        List<Line> batch = new ArrayList<>();
+        this.buffer.drainTo(batch);
+        this.write(batch);
+    }
+
+    private synchronized void write(List<Line> batch) {
+        long droppedLines = this.dropped.getAndSet(0);
+        if (droppedLines > 0) {
+            batch.add(new Line(LogLevel.WARNING, droppedLines + " log lines have been dropped, because the log buffer was full.", true, true));
+        }
+
+        StringBuilder console = new StringBuilder();
+        for (Line line : batch) {
+            if (line.console) {
+                console.append(colored(line)).append(System.lineSeparator());
+            }
+            if (line.file) {
+                this.writeToFile(line.text);
+            }
+        }
+
+        if (console.length() > 0) {
+            System.out.print(console);
+            System.out.flush();
+        }
+
+        if (this.file != null) {
+            try {
+                this.file.flush();
+            } catch (IOException e) {
+                this.closeFile(e);
+            }
+        }
+    }
+
+    private void writeToFile(String text) {
+        Path dir = this.logsDir;
+        if (dir == null) {
+            return;
+        }
+
+        try {
+            if (this.file == null || !dir.equals(this.fileDir) || this.fileBytes >= this.maxFileBytes
+                    || System.nanoTime() - this.fileOpenedNs >= this.rotationIntervalNs) {
+                this.openFile(dir);
+            }
+
+            byte[] bytes = (text + "\n").getBytes(StandardCharsets.UTF_8);
+            this.file.write(bytes);
+            this.fileBytes += bytes.length;
+        } catch (IOException e) {
+            this.closeFile(e);
+        }
+    }
+
+    private void openFile(Path dir) throws IOException {
+        if (this.file != null) {
+            this.file.close();
+            this.file = null;
+        }
+
+        Files.createDirectories(dir);
+
+        String name = LocalDateTime.now().format(FILE_NAME_FORMATTER);
+        Path path = dir.resolve(name + ".txt");
+        // Rotation might happen more than once per second
+        for (int i = 1; this.fileDir != null && Files.exists(path); i++) {
+            path = dir.resolve(name + "_" + i + ".txt");
+        }
+
+        this.file = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        this.fileDir = dir;
+        this.fileBytes = Files.size(path);
+        this.fileOpenedNs = System.nanoTime();
+    }
+
+    private void closeFile(IOException cause) {
+        System.err.println("Error occured while saving to the log file.");
+        cause.printStackTrace();
+
+        try {
+            if (this.file != null) {
+                this.file.close();
+            }
+        } catch (IOException e) {
+            // Nothing more can be done, next write opens new file
+        }
+        this.file = null;
+    }
+
+    private static String colored(Line line) {
+        switch (line.level) {
+            case INFO:
+                return ColoredText.green(line.text);
+            case DEBUG:
+                return ColoredText.blue(line.text);
+            case WARNING:
+                return ColoredText.yellow(line.text);
+            case ERROR:
+                return ColoredText.red(line.text);
+            default:
+                return line.text;
+        }
+    }
+
+    /** Formatted line with its destinations. */
+    static final class Line {
+        private final LogLevel level;
+        private final String text;
+        private final boolean console;
+        private final boolean file;
+
+        Line(LogLevel level, String text, boolean console, boolean file) {
+            this.level = level;
+            this.text = text;
+            this.console = console;
+            this.file = file;
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.github.splendor_mobile_game.websocket.utils.json;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonIsNullException;
+import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonMissingFieldException;
+import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonParserException;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Validation rules of the JSON representation of a class, computed once per class.
+ * Every field not annotated with {@link Optional} is required, fields of primitive types
+ * must hold a value convertible to that type and arrays are validated element by element.
+ */
+public final class JsonSchema {
+
+    private static final ClassValue<JsonSchema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected JsonSchema computeValue(Class<?> clazz) {
+            return new JsonSchema(clazz);
+        }
+    };
+
+    private final List<FieldRule> fields = new ArrayList<>();
+
+    private JsonSchema(Class<?> clazz) {
+        for (Field field : clazz.getDeclaredFields()) {
+            // Skip reference to the outer class and fields which are never serialized
+            if (field.isSynthetic() || Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()))
+                continue;
+
+            this.fields.add(new FieldRule(field));
+        }
+    }
+
+    /**
+     * @param clazz the class
+     * @return schema of the class, computed on the first call
+     */
+    public static JsonSchema of(Class<?> clazz) {
+        return SCHEMAS.get(clazz);
+    }
+
+    /**
+     * Checks that the object satisfies the schema.
+     *
+     * @param jsonObject the object to check
+     * @throws JsonParserException if the object doesn't satisfy the schema
+     */
+    public void validate(JsonObject jsonObject) throws JsonParserException {
+        // Check if the JsonObject is null or empty
+        if (jsonObject == null)
+            throw new JsonIsNullException("Provided json string is null or is empty!");
+
+        StringBuilder stringBuilder = null;
+
+        for (FieldRule rule : this.fields) {
+            JsonElement value = jsonObject.get(rule.name);
+
+            if (value == null) {
+                if (rule.required) {
+                    if (stringBuilder == null)
+                        stringBuilder = new StringBuilder();
+                    stringBuilder.append("Missing required field: ").append(rule.name).append('\n');
+                }
+                continue;
+            }
+
+            rule.validate(value);
+        }
+
+        if (stringBuilder != null)
+            throw new JsonMissingFieldException(stringBuilder.toString().strip());
+    }
+
+    private static void validateArray(JsonArray jsonArray, Class<?> componentType) throws JsonParserException {
+        for (JsonElement e : jsonArray) {
+            if (e.isJsonNull()) {
+                throw new JsonIsNullException("Provided json string is null or is empty!");
+            }
+            else if (e.isJsonObject()) {
+                JsonSchema.of(componentType).validate(e.getAsJsonObject());
+            }
+            else if (e.isJsonPrimitive()) {
+                validatePrimitive(e.getAsJsonPrimitive(), componentType);
+            }
+        }
+    }
+
+    private static void validatePrimitive(JsonPrimitive jsonPrimitive, Class<?> clazz) throws JsonParserException {
+        try {
+            JsonParser.GSON.fromJson(jsonPrimitive, clazz);
+        } catch (Exception e) {
+            throw new JsonParserException("Cannot convert value `" + jsonPrimitive.getAsString() + "` to " + clazz.getSimpleName() + ". Cause: " + e.getMessage());
+        }
+    }
+
+    private static final class FieldRule {
+        private final String name;
+        private final Class<?> type;
+        private final boolean required;
+
+        private FieldRule(Field field) {
+            this.name = field.getName();
+            this.type = field.getType();
+            this.required = !field.isAnnotationPresent(Optional.class);
+        }
+
+        private void validate(JsonElement value) throws JsonParserException {
+            if (this.type.isArray()) {
+                if (!value.isJsonArray())
+                    throw new JsonParserException("Field `" + this.name + "` should be the array");
+                validateArray(value.getAsJsonArray(), this.type.getComponentType());
+            }
+
+            if (this.type.isPrimitive()) {
+                if (!value.isJsonPrimitive())
+                    throw new JsonParserException("Field `" + this.name + "` should be the primitive type of `" + this.type.getSimpleName() + "`");
+                validatePrimitive(value.getAsJsonPrimitive(), this.type);
+            }
+
+            // TODO Semi-Primitive types (ie. UUID)
+            // TODO Enums
+        }
+    }
+
+}
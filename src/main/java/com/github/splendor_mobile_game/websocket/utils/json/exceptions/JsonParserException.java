@@ -1,9 +1,9 @@
 package com.github.splendor_mobile_game.websocket.utils.json.exceptions;
 
-import com.github.splendor_mobile_game.websocket.utils.CustomException;
+import com.github.splendor_mobile_game.websocket.utils.DomainException;
 
 /** Exception thrown when there is an error parsing JSON. */
-public class JsonParserException extends CustomException {
+public class JsonParserException extends DomainException {
 
     public JsonParserException() {
     }
@@ -0,0 +1,47 @@
+package com.github.splendor_mobile_game.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.game.enums.Regex;
+
+public class EnterCodeAllocatorTests {
+
+    @Test
+    public void codesAreUniqueAndValid() {
+        EnterCodeAllocator allocator = new EnterCodeAllocator();
+        Set<String> codes = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            String code = allocator.reserve();
+            assertTrue(Regex.ENTER_CODE_PATTERN.matches(code), code);
+            assertTrue(codes.add(code), "Code " + code + " has been given twice");
+        }
+    }
+
+    @Test
+    public void releasedCodeIsNoLongerReserved() {
+        EnterCodeAllocator allocator = new EnterCodeAllocator();
+        String code = allocator.reserve();
+        assertTrue(allocator.isReserved(code));
+
+        allocator.release(code);
+        assertFalse(allocator.isReserved(code));
+    }
+
+    @Test
+    public void sameKeysGiveSameCodes() {
+        EnterCodeAllocator first = new EnterCodeAllocator(new Random(7));
+        EnterCodeAllocator second = new EnterCodeAllocator(new Random(7));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first.reserve(), second.reserve());
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.github.splendor_mobile_game.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserAlreadyInRoomException;
+
+public class InMemoryDatabaseTests {
+
+    private InMemoryDatabase database;
+
+    @BeforeEach
+    public void setUp() {
+        this.database = new InMemoryDatabase();
+    }
+
+    @Test
+    public void usersAndRoomsAreFoundByAllKeys() {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        this.database.addUser(owner);
+        this.database.addRoom(room);
+
+        assertSame(owner, this.database.getUser(owner.getUuid()));
+        assertSame(owner, this.database.getUserByConnectionId(100000));
+        assertSame(room, this.database.getRoom(room.getUuid()));
+        assertSame(room, this.database.getRoom(room.getEnterCode()));
+        assertSame(room, this.database.getRoomWithUser(owner.getUuid()));
+
+        Card card = this.database.getAllCards().get(10);
+        assertSame(card, this.database.getCard(card.getUuid()));
+    }
+
+    @Test
+    public void membershipFollowsJoinAndLeave() {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User player = new User(UUID.randomUUID(), "PLAYER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        this.database.addUser(owner);
+        this.database.addUser(player);
+        this.database.addRoom(room);
+
+        assertNull(this.database.getRoomWithUser(player.getUuid()));
+        assertDoesNotThrow(() -> this.database.isUserInRoom(player.getUuid()));
+
+        room.joinGame(player);
+        assertSame(room, this.database.getRoomWithUser(player.getUuid()));
+        assertThrows(UserAlreadyInRoomException.class, () -> this.database.isUserInRoom(player.getUuid()));
+
+        room.leaveGame(player);
+        assertNull(this.database.getRoomWithUser(player.getUuid()));
+    }
+
+    @Test
+    public void deletedUsersAndRoomsAreUnindexed() {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        this.database.addUser(owner);
+        this.database.addRoom(room);
+
+        this.database.deleteRoom(room);
+        assertNull(this.database.getRoom(room.getUuid()));
+        assertNull(this.database.getRoom(room.getEnterCode()));
+        assertNull(this.database.getRoomWithUser(owner.getUuid()));
+
+        this.database.deleteUser(owner);
+        assertNull(this.database.getUser(owner.getUuid()));
+        assertNull(this.database.getUserByConnectionId(100000));
+        assertTrue(this.database.getAllUsers().isEmpty());
+    }
+
+    @Test
+    public void userAddedOnConnectionReplacesThePreviousOne() {
+        User stale = new User(UUID.randomUUID(), "STALE", 100000);
+        User user = new User(UUID.randomUUID(), "USER", 100000);
+        this.database.addUser(stale);
+        this.database.addUser(user);
+
+        assertSame(user, this.database.getUserByConnectionId(100000));
+
+        // Deleting the replaced user leaves the connection to the new one
+        this.database.deleteUser(stale);
+        assertNull(this.database.getUser(stale.getUuid()));
+        assertSame(user, this.database.getUserByConnectionId(100000));
+    }
+
+    @Test
+    public void allUsersKeepInsertionOrder() {
+        List<User> users = List.of(
+            new User(UUID.randomUUID(), "A", 1),
+            new User(UUID.randomUUID(), "B", 2),
+            new User(UUID.randomUUID(), "C", 3)
+        );
+        users.forEach(this.database::addUser);
+
+        this.database.deleteUser(users.get(1));
+        this.database.addUser(users.get(1));
+
+        assertEquals(List.of(users.get(0), users.get(2), users.get(1)), this.database.getAllUsers());
+    }
+
+}
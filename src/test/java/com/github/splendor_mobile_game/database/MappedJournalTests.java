@@ -0,0 +1,181 @@
+package com.github.splendor_mobile_game.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.game.model.Game;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
+import com.github.splendor_mobile_game.game.model.User;
+
+public class MappedJournalTests {
+
+    @TempDir
+    Path directory;
+
+    private MappedJournal openJournal(Database database, int segmentSize) throws IOException {
+        MappedJournal journal = new MappedJournal(this.directory, segmentSize, database.getCardCatalog(), database.getNobleCatalog());
+        database.setJournal(journal);
+        return journal;
+    }
+
+    @Test
+    public void gameIsRebuiltByReplay() throws Exception {
+        Database database = new InMemoryDatabase();
+        User owner = new User(UUID.randomUUID(), "OWNER", 100);
+        User player = new User(UUID.randomUUID(), "PLAYER", 101);
+        String ownerToken = owner.issueResumeToken();
+        String playerToken = player.issueResumeToken();
+
+        Room room;
+        try (MappedJournal journal = this.openJournal(database, MappedJournal.DEFAULT_SEGMENT_SIZE)) {
+            room = TestRooms.createRoom(database, owner, player);
+            room.startGame(42);
+            Game game = room.getGame();
+
+            game.exchangeTokens(owner, TokenVector.of(1, 1, 1, 0, 0));
+            room.changeTurn();
+            game.reserveCardFromTable(game.getRevealedCard(CardTier.values()[0], 2), player);
+            player.setPerformedAction(true);
+        }
+
+        Database restored = new InMemoryDatabase();
+        JournalReplayer replayer = new JournalReplayer(restored);
+        replayer.replay(this.directory);
+
+        assertEquals(0, replayer.getSkippedRecords());
+        assertEquals(1, replayer.getGames());
+
+        Room restoredRoom = restored.getRoom(room.getUuid());
+        assertNotNull(restoredRoom);
+        assertEquals(owner.getUuid(), restoredRoom.getOwner().getUuid());
+        assertEquals(2, restoredRoom.getPlayerCount());
+        assertEquals(player.getUuid(), restoredRoom.getCurrentPlayer().getUuid());
+
+        Game restoredGame = restoredRoom.getGame();
+        assertEquals(42, restoredGame.getSeed());
+        for (TokenType type : TokenType.values()) {
+            assertEquals(room.getGame().getTokens(type), restoredGame.getTokens(type));
+        }
+
+        User restoredOwner = restored.getUser(owner.getUuid());
+        User restoredPlayer = restored.getUser(player.getUuid());
+        assertFalse(restoredOwner.isConnected());
+        for (TokenType type : TokenType.values()) {
+            assertEquals(owner.getTokenCount(type), restoredOwner.getTokenCount(type));
+        }
+        assertFalse(restoredOwner.hasPerformedAction());
+        assertTrue(restoredPlayer.hasPerformedAction());
+
+        // Owner is stored by the created room, the player by joining it
+        assertTrue(restoredOwner.checkResumeToken(ownerToken));
+        assertTrue(restoredPlayer.checkResumeToken(playerToken));
+
+        Card reserved = player.getReservedCards().get(0);
+        assertEquals(reserved.getUuid(), restoredPlayer.getReservedCards().get(0).getUuid());
+        for (CardTier tier : CardTier.values()) {
+            for (int slot = 0; slot < restoredGame.getRevealedSlotCount(); slot++) {
+                assertSame(room.getGame().getRevealedCard(tier, slot), restoredGame.getRevealedCard(tier, slot));
+            }
+        }
+    }
+
+    @Test
+    public void journalContinuesInNewSegmentsAfterReopening() throws Exception {
+        Database database = new InMemoryDatabase();
+        Room first;
+        try (MappedJournal journal = this.openJournal(database, 128)) {
+            first = TestRooms.createRoom(database, new User(UUID.randomUUID(), "OWNER", 100), new User(UUID.randomUUID(), "PLAYER", 101));
+        }
+
+        Room second;
+        try (MappedJournal journal = this.openJournal(database, 128)) {
+            second = TestRooms.createRoom(database, new User(UUID.randomUUID(), "OWNER 2", 102), new User(UUID.randomUUID(), "PLAYER 2", 103));
+            database.deleteRoom(first);
+        }
+
+        assertTrue(MappedJournal.listSegments(this.directory).size() > 1);
+
+        Database restored = new InMemoryDatabase();
+        new JournalReplayer(restored).replay(this.directory);
+
+        assertNull(restored.getRoom(first.getUuid()));
+        assertEquals(2, restored.getRoom(second.getUuid()).getPlayerCount());
+        assertEquals(2, restored.getAllUsers().size());
+    }
+
+    @Test
+    public void roomsAppendingConcurrentlyAreAllReplayed() throws Exception {
+        Database database = new InMemoryDatabase();
+        ConcurrentLinkedQueue<Room> rooms = new ConcurrentLinkedQueue<>();
+
+        // Small segments, so the threads keep starting new ones while the others append
+        try (MappedJournal journal = this.openJournal(database, 512)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        int id = 1000 * thread + 2 * i;
+                        rooms.add(TestRooms.createRoom(database, new User(UUID.randomUUID(), "OWNER", id), new User(UUID.randomUUID(), "PLAYER", id + 1)));
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        assertTrue(MappedJournal.listSegments(this.directory).size() > 1);
+
+        Database restored = new InMemoryDatabase();
+        JournalReplayer replayer = new JournalReplayer(restored);
+        replayer.replay(this.directory);
+
+        assertEquals(0, replayer.getSkippedRecords());
+        assertEquals(200, restored.getAllRooms().size());
+        for (Room room : rooms) {
+            assertEquals(2, restored.getRoom(room.getUuid()).getPlayerCount());
+        }
+    }
+
+    @Test
+    public void recordCutOffByCrashIsIgnored() throws Exception {
+        Database database = new InMemoryDatabase();
+        Room room;
+        try (MappedJournal journal = this.openJournal(database, MappedJournal.DEFAULT_SEGMENT_SIZE)) {
+            room = TestRooms.createRoom(database, new User(UUID.randomUUID(), "OWNER", 100), new User(UUID.randomUUID(), "PLAYER", 101));
+        }
+
+        // Body of the next record has been written, but its length hasn't
+        List<Path> segments = MappedJournal.listSegments(this.directory);
+        try (FileChannel channel = FileChannel.open(segments.get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int end = MappedJournal.endOfRecords(segment);
+            segment.put(end + MappedJournal.LENGTH_SIZE, MappedJournal.ROOM_DELETED);
+        }
+
+        Database restored = new InMemoryDatabase();
+        JournalReplayer replayer = new JournalReplayer(restored);
+        replayer.replay(this.directory);
+
+        assertEquals(2, replayer.getRecords());
+        assertNotNull(restored.getRoom(room.getUuid()));
+    }
+}
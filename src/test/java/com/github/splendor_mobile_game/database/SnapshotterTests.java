@@ -0,0 +1,153 @@
+package com.github.splendor_mobile_game.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Game;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
+import com.github.splendor_mobile_game.game.model.User;
+
+public class SnapshotterTests {
+
+    @TempDir
+    Path directory;
+
+    private MappedJournal openJournal(Database database) throws IOException {
+        MappedJournal journal = new MappedJournal(this.directory, 256, database.getCardCatalog(), database.getNobleCatalog());
+        database.setJournal(journal);
+        return journal;
+    }
+
+    private Snapshotter snapshotter(Database database, MappedJournal journal) {
+        return new Snapshotter(this.directory, database, journal, (lane, task) -> task.run());
+    }
+
+    @Test
+    public void roomIsRestoredFromSnapshotAndJournalTail() throws Exception {
+        Database database = new InMemoryDatabase();
+        Room room;
+        try (MappedJournal journal = this.openJournal(database)) {
+            room = TestRooms.createRoom(database, "ROOM");
+            room.startGame(7);
+            Game game = room.getGame();
+            User owner = room.getOwner();
+            User player = room.getAllUsers().get(1);
+
+            for (int turn = 0; turn < 6; turn++) {
+                game.exchangeTokens(room.getCurrentPlayer(), TokenVector.of(1, 1, 0, 0, 0));
+                room.changeTurn();
+            }
+            game.reserveCardFromDeck(CardTier.values()[1], owner);
+            room.getChat().sendMessage("Hello", owner.getUuid());
+
+            this.snapshotter(database, journal).takeSnapshot();
+
+            room.changeTurn();
+            game.reserveCardFromTable(game.getRevealedCard(CardTier.values()[0], 1), player);
+            player.setPerformedAction(true);
+        }
+
+        // Segments before the snapshot have been deleted
+        assertFalse(Files.exists(this.directory.resolve("journal-00000001.seg")));
+
+        Database restored = new InMemoryDatabase();
+        Snapshot snapshot = Snapshotter.load(this.directory, restored);
+        JournalReplayer replayer = new JournalReplayer(restored);
+        replayer.replay(this.directory, snapshot);
+
+        assertEquals(1, snapshot.getRoomCount());
+        assertEquals(2, replayer.getRecords());
+        assertEquals(0, replayer.getSkippedRecords());
+
+        Room restoredRoom = restored.getRoom(room.getUuid());
+        assertEquals(room.getOwner().getUuid(), restoredRoom.getOwner().getUuid());
+        assertEquals(room.getCurrentPlayer().getUuid(), restoredRoom.getCurrentPlayer().getUuid());
+        assertEquals("Hello", restoredRoom.getChat().getLastMessage().getMessage());
+        assertSame(restoredRoom, restored.getRoomWithUser(room.getOwner().getUuid()));
+
+        Game game = room.getGame();
+        Game restoredGame = restoredRoom.getGame();
+        assertEquals(7, restoredGame.getSeed());
+        assertEquals(game.getVersion(), restoredGame.getVersion());
+        for (TokenType type : TokenType.values()) {
+            assertEquals(game.getTokens(type), restoredGame.getTokens(type));
+        }
+        for (CardTier tier : CardTier.values()) {
+            assertEquals(game.getDeckSize(tier), restoredGame.getDeckSize(tier));
+            for (int slot = 0; slot < game.getRevealedSlotCount(); slot++) {
+                assertSame(game.getRevealedCard(tier, slot), restoredGame.getRevealedCard(tier, slot));
+            }
+        }
+        assertEquals(game.getNobles(), restoredGame.getNobles());
+
+        for (User user : room.getAllUsers()) {
+            User restoredUser = restored.getUser(user.getUuid());
+            assertFalse(restoredUser.isConnected());
+            assertEquals(user.getReservedCards(), restoredUser.getReservedCards());
+            assertEquals(user.hasPerformedAction(), restoredUser.hasPerformedAction());
+            for (TokenType type : TokenType.values()) {
+                assertEquals(user.getTokenCount(type), restoredUser.getTokenCount(type));
+            }
+        }
+    }
+
+    @Test
+    public void resumeTokensAreRestoredFromSnapshot() throws Exception {
+        Database database = new InMemoryDatabase();
+        User owner = new User(UUID.randomUUID(), "OWNER", 100);
+        User player = new User(UUID.randomUUID(), "PLAYER", 101);
+        String ownerToken = owner.issueResumeToken();
+        String playerToken = player.issueResumeToken();
+
+        try (MappedJournal journal = this.openJournal(database)) {
+            database.addUser(owner);
+            database.addUser(player);
+            Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, database);
+            database.addRoom(room);
+            room.joinGame(player);
+
+            this.snapshotter(database, journal).takeSnapshot();
+        }
+
+        Database restored = new InMemoryDatabase();
+        Snapshot snapshot = Snapshotter.load(this.directory, restored);
+        new JournalReplayer(restored).replay(this.directory, snapshot);
+
+        assertEquals(1, snapshot.getRoomCount());
+        assertTrue(restored.getUser(owner.getUuid()).checkResumeToken(ownerToken));
+        assertTrue(restored.getUser(player.getUuid()).checkResumeToken(playerToken));
+        assertFalse(restored.getUser(player.getUuid()).checkResumeToken(ownerToken));
+    }
+
+    @Test
+    public void roomsChangedAfterSnapshotAreReplayed() throws Exception {
+        Database database = new InMemoryDatabase();
+        Room deleted;
+        Room created;
+        try (MappedJournal journal = this.openJournal(database)) {
+            deleted = TestRooms.createRoom(database, "DELETED");
+            this.snapshotter(database, journal).takeSnapshot();
+
+            database.deleteRoom(deleted);
+            created = TestRooms.createRoom(database, "CREATED");
+        }
+
+        Database restored = new InMemoryDatabase();
+        Snapshot snapshot = Snapshotter.load(this.directory, restored);
+        new JournalReplayer(restored).replay(this.directory, snapshot);
+
+        assertNull(restored.getRoom(deleted.getUuid()));
+        assertEquals(2, restored.getRoom(created.getUuid()).getPlayerCount());
+        assertEquals(2, restored.getAllUsers().size());
+    }
+}
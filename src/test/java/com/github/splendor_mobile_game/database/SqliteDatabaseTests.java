@@ -0,0 +1,157 @@
+package com.github.splendor_mobile_game.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.github.splendor_mobile_game.websocket.handlers.reactions.ResumeSession;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class SqliteDatabaseTests {
+
+    @TempDir
+    Path directory;
+
+    private String path;
+
+    @BeforeEach
+    public void setUp() {
+        this.path = this.directory.resolve("splendor.db").toString();
+    }
+
+    @Test
+    public void roomsAreLoadedAfterRestart() throws SQLException {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100);
+        User player = new User(UUID.randomUUID(), "PLAYER", 101);
+
+        Room room;
+        try (SqliteDatabase database = new SqliteDatabase(this.path)) {
+            room = TestRooms.createRoom(database, owner, player);
+            assertSame(room, database.getRoomWithUser(player.getUuid()));
+        }
+
+        try (SqliteDatabase database = new SqliteDatabase(this.path)) {
+            Room restored = database.getRoom(room.getUuid());
+            assertNotNull(restored);
+            assertEquals("ROOM", restored.getName());
+            assertEquals(owner.getUuid(), restored.getOwner().getUuid());
+            assertEquals(2, restored.getPlayerCount());
+
+            User restoredPlayer = database.getUser(player.getUuid());
+            assertFalse(restoredPlayer.isConnected());
+            assertSame(restored, database.getRoomWithUser(player.getUuid()));
+            assertSame(restored, database.getRoom(restored.getEnterCode()));
+        }
+    }
+
+    @Test
+    public void sessionIsResumedAfterRestart() throws SQLException {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100);
+        User player = new User(UUID.randomUUID(), "PLAYER", 101);
+        owner.issueResumeToken();
+        String token = player.issueResumeToken();
+
+        try (SqliteDatabase database = new SqliteDatabase(this.path)) {
+            TestRooms.createRoom(database, owner, player);
+        }
+
+        try (SqliteDatabase database = new SqliteDatabase(this.path)) {
+            String message = """
+                {
+                    "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0117",
+                    "type": "RESUME_SESSION",
+                    "data": {
+                        "resumeToken": "$resumeToken"
+                    }
+                }
+                """.replace("$resumeToken", token);
+            UserMessage receivedMessage = new UserMessage(message);
+            receivedMessage.parseDataToClass(ResumeSession.DataDTO.class);
+            Messenger messenger = new Messenger();
+            new ResumeSession(300, receivedMessage, messenger, database).react();
+
+            JsonObject response = JsonParser.parseString(messenger.getMessages().get(0).getMessage()).getAsJsonObject();
+            assertEquals("OK", response.get("result").getAsString());
+
+            User restoredPlayer = database.getUser(player.getUuid());
+            assertTrue(restoredPlayer.isConnected());
+            assertSame(restoredPlayer, database.getUserByConnectionId(300));
+            assertNotNull(database.getRoomWithUser(player.getUuid()));
+
+            // Token of another member doesn't fit
+            assertFalse(database.getUser(owner.getUuid()).checkResumeToken(token));
+        }
+    }
+
+    @Test
+    public void leftAndDeletedRoomsAreNotLoaded() throws SQLException {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100);
+        User player = new User(UUID.randomUUID(), "PLAYER", 101);
+        User other = new User(UUID.randomUUID(), "OTHER", 102);
+        User otherPlayer = new User(UUID.randomUUID(), "OTHER PLAYER", 103);
+
+        Room room;
+        try (SqliteDatabase database = new SqliteDatabase(this.path)) {
+            room = TestRooms.createRoom(database, owner, player);
+            room.leaveGame(player);
+
+            Room deleted = TestRooms.createRoom(database, other, otherPlayer);
+            database.deleteRoom(deleted);
+        }
+
+        try (SqliteDatabase database = new SqliteDatabase(this.path)) {
+            assertEquals(1, database.getAllRooms().size());
+            assertEquals(1, database.getRoom(room.getUuid()).getPlayerCount());
+            assertNull(database.getUser(player.getUuid()));
+        }
+    }
+
+    @Test
+    public void finishedGamesAreStored() throws SQLException {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100);
+        User player = new User(UUID.randomUUID(), "PLAYER", 101);
+
+        try (SqliteDatabase database = new SqliteDatabase(this.path)) {
+            Room room = TestRooms.createRoom(database, owner, player);
+            database.gameFinished(room);
+            database.deleteRoom(room);
+        }
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + this.path);
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM game_results JOIN finished_games ON finished_games.id = game_id")) {
+            assertTrue(rows.next());
+            assertEquals(2, rows.getInt(1));
+        }
+    }
+
+    @Test
+    public void writerReportsBatches() throws SQLException {
+        try (SqliteDatabase database = new SqliteDatabase(this.path)) {
+            TestRooms.createRoom(database, new User(UUID.randomUUID(), "OWNER", 100), new User(UUID.randomUUID(), "PLAYER", 101));
+            database.close();
+
+            SqliteWriter.Metrics metrics = database.getWriterMetrics();
+            assertEquals(0, metrics.getPending());
+            assertEquals(0, metrics.getFailedBatches());
+            assertTrue(metrics.getBatches() >= 1);
+            assertEquals(4, metrics.getWrites());
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.github.splendor_mobile_game.database;
+
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+
+/** Rooms stored in a database for the tests of its storage, ie. the journal, snapshots and SQLite. */
+final class TestRooms {
+
+    private TestRooms() {}
+
+    /** Adds the users and a room named `ROOM` of the owner which the player joins after it's stored. */
+    static Room createRoom(Database database, User owner, User player) {
+        return createRoom(database, "ROOM", owner, player);
+    }
+
+    /** Adds a room with the name and two new users, an owner and a player. */
+    static Room createRoom(Database database, String name) {
+        return createRoom(database, name, new User(UUID.randomUUID(), name + " OWNER", 100), new User(UUID.randomUUID(), name + " PLAYER", 101));
+    }
+
+    private static Room createRoom(Database database, String name, User owner, User player) {
+        database.addUser(owner);
+        database.addUser(player);
+        Room room = new Room(UUID.randomUUID(), name, "PASSWORD", owner, database);
+        database.addRoom(room);
+        room.joinGame(player);
+        return room;
+    }
+}
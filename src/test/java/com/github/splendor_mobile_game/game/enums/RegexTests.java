@@ -0,0 +1,33 @@
+package com.github.splendor_mobile_game.game.enums;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class RegexTests {
+
+    private static final List<String> SAMPLES = List.of(
+        "", " ", "a", "James", "James Bond 007", "007", "Łukasz Żółć", "ąćęłńóśźż", "Ⅻ rzymskie",
+        "tab\tname", "name nbsp", "emoji😀", "pass!@#$%^&*()", "p@ss word", "pässwörd",
+        "abc12", "abc123", "ABCdef789", "abc-12", "tLQRoo",
+        "80bdc250-5365-4caf-8dd9-a33e709a0116", "80BDC250-5365-4CAF-8DD9-A33E709A0116",
+        "80bdc250-5365-4caf-8dd9-a33e709a011", "80bdc250-5365-4caf-8dd9-a33e709a01167",
+        "80bdc250x5365-4caf-8dd9-a33e709a0116", "g0bdc250-5365-4caf-8dd9-a33e709a0116", "1-1-1-1-1"
+    );
+
+    @Test
+    public void matchersAgreeWithPatterns() {
+        for (Regex regex : Regex.values()) {
+            for (String sample : SAMPLES) {
+                assertEquals(
+                    regex.getCompiledPattern().matcher(sample).matches(),
+                    regex.matches(sample),
+                    regex + " disagrees on `" + sample + "`"
+                );
+            }
+        }
+    }
+
+}
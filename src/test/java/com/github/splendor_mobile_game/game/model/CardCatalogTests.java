@@ -0,0 +1,53 @@
+package com.github.splendor_mobile_game.game.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.enums.CardTier;
+
+public class CardCatalogTests {
+
+    @Test
+    public void tierIdsCoverTheWholeCatalog() {
+        CardCatalog catalog = CardCatalog.getDefault();
+
+        int count = 0;
+        for (CardTier tier : CardTier.values()) {
+            for (int id : catalog.getIds(tier)) {
+                assertEquals(tier, catalog.get(id).getCardTier());
+                assertEquals(id, catalog.idOf(catalog.get(id).getUuid()));
+                count++;
+            }
+        }
+        assertEquals(catalog.size(), count);
+        assertTrue(catalog.size() > 0);
+    }
+
+    @Test
+    public void databasesShareTheCatalogs() {
+        InMemoryDatabase first = new InMemoryDatabase();
+        InMemoryDatabase second = new InMemoryDatabase();
+
+        assertSame(first.getCardCatalog(), second.getCardCatalog());
+        assertSame(first.getNobleCatalog(), second.getNobleCatalog());
+        assertSame(first.getAllCards().get(0), second.getCard(first.getAllCards().get(0).getUuid()));
+    }
+
+    @Test
+    public void catalogsLoadedAgainHaveTheSameUuids() {
+        CardCatalog cards = CardCatalog.loadResource("/CardDatabase.csv");
+        NobleCatalog nobles = NobleCatalog.loadResource("/NobleDatabase.csv");
+
+        assertEquals(CardCatalog.getDefault().size(), cards.size());
+        for (int id = 0; id < cards.size(); id++) {
+            assertEquals(CardCatalog.getDefault().get(id).getUuid(), cards.get(id).getUuid());
+        }
+        assertEquals(NobleCatalog.getDefault().size(), nobles.size());
+        for (int id = 0; id < nobles.size(); id++) {
+            assertEquals(NobleCatalog.getDefault().get(id).getUuid(), nobles.get(id).getUuid());
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.github.splendor_mobile_game.game.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.game.exceptions.ChatRateLimitException;
+import com.github.splendor_mobile_game.game.model.Chat.ChatMessage;
+
+public class ChatTests {
+
+    private AtomicLong now;
+    private Chat chat;
+
+    @BeforeEach
+    public void setUp() {
+        now = new AtomicLong();
+        chat = new Chat(now::get);
+    }
+
+    /** Sends the messages from different senders, so they aren't throttled. */
+    private void fill(int count) {
+        for (int i = 0; i < count; i++) {
+            chat.sendMessage("message " + i, UUID.randomUUID());
+        }
+    }
+
+    @Test
+    public void onlyRecentMessagesAreKept() {
+        fill(Chat.CAPACITY + 10);
+
+        List<ChatMessage> messages = chat.getChatMessages();
+        assertEquals(Chat.CAPACITY, messages.size());
+        assertEquals(11, messages.get(0).getId());
+        assertEquals("message " + (Chat.CAPACITY + 9), chat.getLastMessage().getMessage());
+    }
+
+    @Test
+    public void historyIsPagedByCursor() {
+        fill(10);
+
+        List<ChatMessage> newest = chat.getHistory(null, 3);
+        assertEquals(List.of(8L, 9L, 10L), newest.stream().map(ChatMessage::getId).toList());
+
+        List<ChatMessage> older = chat.getHistory(newest.get(0).getId(), 5);
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), older.stream().map(ChatMessage::getId).toList());
+
+        assertEquals(2, chat.getHistory(3L, 5).size());
+    }
+
+    @Test
+    public void usersMessagesAreFoundByUuidValue() {
+        UUID sender = UUID.randomUUID();
+        chat.sendMessage("first", sender);
+        fill(3);
+        chat.sendMessage("second", UUID.fromString(sender.toString()));
+
+        assertEquals(2, chat.getUsersMessages(sender).size());
+    }
+
+    @Test
+    public void burstOfMessagesIsThrottled() {
+        UUID sender = UUID.randomUUID();
+        for (int i = 0; i < Chat.BURST; i++) {
+            chat.sendMessage("spam", sender);
+        }
+        assertThrows(ChatRateLimitException.class, () -> chat.sendMessage("spam", sender));
+
+        now.addAndGet(Chat.REFILL_NANOS);
+        chat.sendMessage("spam", sender);
+        assertThrows(ChatRateLimitException.class, () -> chat.sendMessage("spam", sender));
+    }
+
+    @Test
+    public void unannouncedMessagesAreTakenOnce() {
+        fill(2);
+        assertTrue(chat.scheduleAnnouncement());
+        fill(1);
+        assertFalse(chat.scheduleAnnouncement());
+
+        assertEquals(3, chat.takeUnannouncedMessages().size());
+        assertTrue(chat.takeUnannouncedMessages().isEmpty());
+        assertTrue(chat.scheduleAnnouncement());
+    }
+
+}
@@ -4,14 +4,18 @@ import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.database.InMemoryDatabase;
 import com.github.splendor_mobile_game.game.ReservationResult;
 import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.LegalAction;
 import com.github.splendor_mobile_game.game.enums.TokenType;
-import com.github.splendor_mobile_game.game.exceptions.NotEnoughTokensException;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.CardDoesntExistException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
@@ -201,10 +205,10 @@ public class GameTests {
         Game game = room.getGame();
 
         Random random = new Random();
-        Map<TokenType, Integer> tokens = new HashMap<>();
+        TokenVector tokens = new TokenVector();
         for (TokenType type : TokenType.values()) {
             if (type == TokenType.GOLD_JOKER) continue;
-            tokens.put(type, random.nextInt(3));
+            tokens.set(type, random.nextInt(3));
         }
 
         game.changeTokens(tokens);
@@ -215,26 +219,153 @@ public class GameTests {
     }
 
     @Test
-    public void userRankingTest() throws NotEnoughTokensException {
+    public void sameSeedDealsSameGameTest() throws CardDoesntExistException {
         User owner = new User(UUID.randomUUID(), "OWNER", 100000);
         User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
         Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
         room.joinGame(joiner);
 
-        this.database.addUser(owner);
-        this.database.addUser(joiner);
-        this.database.addRoom(room);
+        room.startGame();
+        Game game = room.getGame();
+        Game replayed = new Game(this.database, room.getAllUsers(), game.getSeed());
+
+        for (CardTier tier : CardTier.values()) {
+            assertEquals(game.getRevealedCards(tier), replayed.getRevealedCards(tier));
+            assertSame(game.reserveCardFromDeck(tier, owner).getCard(), replayed.reserveCardFromDeck(tier, joiner).getCard());
+        }
+        assertEquals(game.getNobles(), replayed.getNobles());
+    }
+
+    @Test
+    public void revealedCardsViewFollowsTableTest() {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(joiner);
 
         room.startGame();
         Game game = room.getGame();
 
-        Card card = new Card(CardTier.LEVEL_1, 10, 0,0,0,0,0, TokenType.ONYX, 0);
-        joiner.buyCard(card);
-        assertEquals(2, game.getUserRanking(owner.getUuid()));
-        assertEquals(1, game.getUserRanking(joiner.getUuid()));
-        card = new Card(CardTier.LEVEL_1, 20, 0,0,0,0,0, TokenType.ONYX, 0);
-        owner.buyCard(card);
-        assertEquals(1, game.getUserRanking(owner.getUuid()));
-        assertEquals(2, game.getUserRanking(joiner.getUuid()));
+        List<Card> revealed = game.getRevealedCards(CardTier.LEVEL_2);
+        Card taken = revealed.get(1);
+        assertTrue(game.isCardRevealed(taken.getUuid()));
+
+        Card drawn = game.takeCardFromRevealed(taken);
+        assertSame(drawn, revealed.get(1));
+        assertFalse(revealed.contains(taken));
+        assertFalse(game.isCardRevealed(taken.getUuid()));
+        assertTrue(game.isCardRevealed(drawn.getUuid()));
+        assertSame(revealed, game.getRevealedCards(CardTier.LEVEL_2));
+        assertThrows(UnsupportedOperationException.class, () -> revealed.add(taken));
+    }
+
+    @Test
+    public void legalActionsTest() throws CardDoesntExistException {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(joiner);
+
+        room.startGame();
+        Game game = room.getGame();
+
+        List<LegalAction> actions = new ArrayList<>();
+        assertTrue(game.legalActions(owner, (action, tier, card) -> actions.add(action)));
+        assertEquals(LegalAction.RESERVE_FROM_DECK, actions.get(0));
+        assertEquals(12, actions.stream().filter(action -> action == LegalAction.RESERVE_FROM_TABLE).count());
+        assertFalse(actions.contains(LegalAction.BUY_REVEALED));
+        assertEquals(LegalAction.TAKE_DIFFERENT_TOKENS, actions.get(actions.size() - 1));
+
+        // Reservations limit is reached, so no card can be reserved anymore
+        for (int i = 0; i < 3; i++) game.reserveCardFromDeck(CardTier.LEVEL_3, owner);
+        actions.clear();
+        game.legalActions(owner, (action, tier, card) -> actions.add(action));
+        assertFalse(actions.contains(LegalAction.RESERVE_FROM_DECK));
+        assertFalse(actions.contains(LegalAction.RESERVE_FROM_TABLE));
+        assertTrue(actions.contains(LegalAction.TAKE_TWO_TOKENS));
+        assertTrue(game.hasAnyLegalAction(owner));
+    }
+
+    @Test
+    public void reservationDeltasTest() throws CardDoesntExistException {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(joiner);
+
+        room.startGame();
+        Game game = room.getGame();
+        assertEquals(0, game.getVersion());
+
+        Card card = game.getRevealedCard(CardTier.LEVEL_2, 1);
+        ReservationResult result = game.reserveCardFromTable(card, owner);
+
+        List<GameDelta> deltas = game.getDeltasSince(0);
+        assertEquals(game.getVersion(), deltas.size());
+        assertEquals(GameDelta.Type.RESERVED, deltas.get(0).getType());
+        assertEquals(card.getUuid(), deltas.get(0).getCardUuid());
+        assertEquals(GameDelta.Type.TOKENS, deltas.get(1).getType());
+        assertEquals(1, deltas.get(1).getTokens()[TokenType.GOLD_JOKER.ordinal()]);
+
+        GameDelta slot = deltas.get(deltas.size() - 1);
+        assertEquals(GameDelta.Type.SLOT, slot.getType());
+        assertEquals(1, (int) slot.getSlot());
+        assertEquals(result.getCard().getUuid(), slot.getCardUuid());
+        assertEquals(game.getDeckSize(CardTier.LEVEL_2), (int) slot.getDeckSize());
+        assertSame(result.getCard(), game.getRevealedCard(CardTier.LEVEL_2, 1));
+    }
+
+    @Test
+    public void deltaLogKeepsOnlyRecentDeltasTest() {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        DeltaLog log = new DeltaLog(4);
+        for (long version = 1; version <= 6; version++) {
+            log.append(GameDelta.turn(version, owner));
+        }
+
+        assertNull(log.since(0));
+        assertNull(log.since(1));
+        assertEquals(4, log.since(2).size());
+        assertEquals(4, log.since(3).get(0).getVersion());
+        assertEquals(0, log.since(6).size());
+        assertNull(log.since(7));
+    }
+
+    @Test
+    public void deltasAfterSnapshotRestoreTest() throws IOException {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(joiner);
+        room.startGame();
+
+        for (int turn = 0; turn < 2; turn++) {
+            room.getGame().exchangeTokens(room.getCurrentPlayer(), TokenVector.of(1, 1, 0, 0, 0));
+            room.changeTurn();
+        }
+        long snapshotVersion = room.getGame().getVersion();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        room.writeSnapshot(new DataOutputStream(bytes));
+        Room restoredRoom = Room.readSnapshot(ByteBuffer.wrap(bytes.toByteArray()), new InMemoryDatabase());
+        Game restored = restoredRoom.getGame();
+        assertEquals(snapshotVersion, restored.getVersion());
+        assertEquals(0, restored.getDeltasSince(snapshotVersion).size());
+
+        for (int turn = 0; turn < 2; turn++) {
+            restored.exchangeTokens(restoredRoom.getCurrentPlayer(), TokenVector.of(0, 0, 1, 1, 0));
+            restoredRoom.changeTurn();
+        }
+
+        // Deltas are looked up by their versions, which continue from the restored one
+        List<GameDelta> deltas = restored.getDeltasSince(snapshotVersion + 1);
+        assertEquals(restored.getVersion() - snapshotVersion - 1, deltas.size());
+        for (int i = 0; i < deltas.size(); i++) {
+            assertEquals(snapshotVersion + 2 + i, deltas.get(i).getVersion());
+        }
+        assertEquals(0, restored.getDeltasSince(restored.getVersion()).size());
+
+        // Deltas before the snapshot aren't kept, the client needs the whole state
+        assertNull(restored.getDeltasSince(snapshotVersion - 1));
     }
-}
\ No newline at end of file
+}
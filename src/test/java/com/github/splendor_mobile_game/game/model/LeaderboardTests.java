@@ -0,0 +1,117 @@
+package com.github.splendor_mobile_game.game.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.exceptions.NotEnoughTokensException;
+
+public class LeaderboardTests {
+
+    @Test
+    public void playersAreRankedByPointsThenByFewerCards() {
+        Leaderboard leaderboard = new Leaderboard();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        UUID tied = UUID.randomUUID();
+
+        leaderboard.record(third, "THIRD", 15, 12);
+        leaderboard.record(first, "FIRST", 18, 20);
+        leaderboard.record(second, "SECOND", 15, 10);
+        leaderboard.record(tied, "TIED", 15, 12);
+
+        assertEquals(1, leaderboard.getRank(first));
+        assertEquals(2, leaderboard.getRank(second));
+        assertEquals(3, leaderboard.getRank(third));
+        assertEquals(3, leaderboard.getRank(tied));
+        assertEquals(0, leaderboard.getRank(UUID.randomUUID()));
+
+        List<Leaderboard.Entry> top = leaderboard.getTop(2);
+        assertEquals(2, top.size());
+        assertEquals(first, top.get(0).getUserUuid());
+        assertEquals(second, top.get(1).getUserUuid());
+        assertEquals(4, leaderboard.getTop(10).size());
+    }
+
+    @Test
+    public void onlyBestResultOfPlayerIsKept() {
+        Leaderboard leaderboard = new Leaderboard();
+        UUID player = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        assertTrue(leaderboard.record(player, "PLAYER", 15, 10));
+        leaderboard.record(other, "OTHER", 16, 10);
+        assertEquals(2, leaderboard.getRank(player));
+
+        assertFalse(leaderboard.record(player, "PLAYER", 12, 8));
+        assertFalse(leaderboard.record(player, "PLAYER", 15, 11));
+        assertEquals(15, leaderboard.getEntry(player).getPoints());
+
+        assertTrue(leaderboard.record(player, "PLAYER", 17, 14));
+        assertEquals(1, leaderboard.getRank(player));
+        assertEquals(2, leaderboard.getRank(other));
+        assertEquals(2, leaderboard.size());
+        assertEquals(2, leaderboard.getTop(10).size());
+    }
+
+    @Test
+    public void worstPlayerIsEvictedWhenFull() {
+        Leaderboard leaderboard = new Leaderboard(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID worse = UUID.randomUUID();
+        UUID better = UUID.randomUUID();
+
+        leaderboard.record(first, "FIRST", 18, 10);
+        leaderboard.record(second, "SECOND", 15, 10);
+
+        // Results which don't beat the worst player are dropped, a tie keeps the player already on the leaderboard
+        assertFalse(leaderboard.record(worse, "WORSE", 12, 10));
+        assertFalse(leaderboard.record(worse, "WORSE", 15, 10));
+        assertEquals(0, leaderboard.getRank(worse));
+
+        assertTrue(leaderboard.record(better, "BETTER", 16, 10));
+        assertEquals(2, leaderboard.size());
+        assertEquals(0, leaderboard.getRank(second));
+        assertNull(leaderboard.getEntry(second));
+        assertEquals(1, leaderboard.getRank(first));
+        assertEquals(2, leaderboard.getRank(better));
+        assertEquals(2, leaderboard.getTop(10).size());
+
+        // Players on the leaderboard can still improve their result
+        assertTrue(leaderboard.record(better, "BETTER", 20, 10));
+        assertEquals(1, leaderboard.getRank(better));
+        assertEquals(2, leaderboard.getRank(first));
+    }
+
+    @Test
+    public void playersOfFinishedGameAreRanked() throws NotEnoughTokensException {
+        Database database = new InMemoryDatabase();
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, database);
+        room.joinGame(joiner);
+        room.startGame();
+
+        Leaderboard leaderboard = new Leaderboard();
+
+        joiner.buyCard(new Card(CardTier.LEVEL_1, 10, 0,0,0,0,0, TokenType.ONYX, 0));
+        leaderboard.record(room);
+        assertEquals(2, leaderboard.getRank(owner.getUuid()));
+        assertEquals(1, leaderboard.getRank(joiner.getUuid()));
+
+        owner.buyCard(new Card(CardTier.LEVEL_1, 20, 0,0,0,0,0, TokenType.ONYX, 0));
+        leaderboard.record(room);
+        assertEquals(1, leaderboard.getRank(owner.getUuid()));
+        assertEquals(2, leaderboard.getRank(joiner.getUuid()));
+    }
+
+}
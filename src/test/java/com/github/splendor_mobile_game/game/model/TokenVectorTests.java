@@ -0,0 +1,47 @@
+package com.github.splendor_mobile_game.game.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.game.enums.TokenType;
+
+public class TokenVectorTests {
+
+    @Test
+    public void addAndSubtractWorkPerType() {
+        TokenVector tokens = TokenVector.of(1, 2, 3, 4, 5);
+        tokens.set(TokenType.GOLD_JOKER, 2);
+
+        tokens.add(TokenVector.of(1, 1, 0, 0, 0));
+        tokens.subtract(TokenVector.of(0, 0, 3, 1, 0));
+
+        assertEquals(2, tokens.get(TokenType.EMERALD));
+        assertEquals(3, tokens.get(TokenType.SAPPHIRE));
+        assertEquals(0, tokens.get(TokenType.RUBY));
+        assertEquals(3, tokens.get(TokenType.DIAMOND));
+        assertEquals(5, tokens.get(TokenType.ONYX));
+        assertEquals(2, tokens.get(TokenType.GOLD_JOKER));
+        assertEquals(15, tokens.total());
+    }
+
+    @Test
+    public void dominatesRequiresEveryType() {
+        TokenVector bonuses = TokenVector.of(3, 3, 0, 0, 4);
+
+        assertTrue(bonuses.dominates(TokenVector.of(3, 3, 0, 0, 0)));
+        assertTrue(bonuses.dominates(bonuses));
+        assertFalse(bonuses.dominates(TokenVector.of(0, 0, 1, 0, 0)));
+    }
+
+    @Test
+    public void shortfallCountsMissingTokensWithoutGold() {
+        TokenVector tokens = TokenVector.of(1, 0, 2, 0, 0);
+        tokens.set(TokenType.GOLD_JOKER, 5);
+        TokenVector bonuses = TokenVector.of(0, 1, 0, 0, 0);
+
+        assertEquals(0, tokens.shortfall(TokenVector.of(1, 1, 2, 0, 0), bonuses));
+        assertEquals(4, tokens.shortfall(TokenVector.of(3, 2, 0, 1, 0), bonuses));
+    }
+
+}
@@ -5,8 +5,6 @@ import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.exceptions.NotEnoughTokensException;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,11 +22,11 @@ public class UserTests {
         assertThrows(NotEnoughTokensException.class, () -> user.buyCard(card));
     }
 
-    private Map<TokenType, Integer> newTokenMap() {
-        Map<TokenType, Integer> tokens = new HashMap<>();
+    private TokenVector newTokenVector() {
+        TokenVector tokens = new TokenVector();
         for (TokenType type : TokenType.values()) {
             if (type == TokenType.GOLD_JOKER) continue;
-            tokens.put(type, 0);
+            tokens.set(type, 0);
         }
         return tokens;
     }
@@ -38,8 +36,8 @@ public class UserTests {
         User user = new User(UUID.fromString(this.userUuid), this.userName, this.userConnectionHashCode);
         Card card = new Card(CardTier.LEVEL_1, 10,3,0,0,0,0, TokenType.EMERALD, 3);
 
-        Map<TokenType, Integer> tokens = this.newTokenMap();
-        tokens.put(TokenType.EMERALD, 3);
+        TokenVector tokens = this.newTokenVector();
+        tokens.set(TokenType.EMERALD, 3);
 
         user.changeTokens(tokens);
         assertEquals(3, user.getTokenCount(TokenType.EMERALD));
@@ -56,8 +54,8 @@ public class UserTests {
         User user = new User(UUID.fromString(this.userUuid), this.userName, this.userConnectionHashCode);
         Card card = new Card(CardTier.LEVEL_1, 10,3,0,0,0,0, TokenType.EMERALD, 3);
 
-        Map<TokenType, Integer> tokens = this.newTokenMap();
-        tokens.put(TokenType.EMERALD, 2);
+        TokenVector tokens = this.newTokenVector();
+        tokens.set(TokenType.EMERALD, 2);
 
         user.changeTokens(tokens);
         assertEquals(2, user.getTokenCount(TokenType.EMERALD));
@@ -0,0 +1,62 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class ConnectionRegistryTests {
+
+    @Test
+    public void registeredConnectionsGetSequentialIds() {
+        ConnectionRegistry registry = new ConnectionRegistry();
+        TestConnection first = new TestConnection();
+        TestConnection second = new TestConnection();
+
+        long firstId = registry.register(first);
+        long secondId = registry.register(second);
+
+        assertNotEquals(ConnectionRegistry.NO_CONNECTION, firstId);
+        assertEquals(firstId + 1, secondId);
+        assertEquals(firstId, ConnectionRegistry.idOf(first));
+        assertEquals(secondId, ConnectionRegistry.idOf(second));
+        assertSame(first, registry.get(firstId));
+        assertSame(second, registry.get(secondId));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void unregisteredConnectionIsReleased() {
+        ConnectionRegistry registry = new ConnectionRegistry();
+        TestConnection connection = new TestConnection();
+        long id = registry.register(connection);
+
+        assertEquals(id, registry.unregister(connection));
+
+        assertNull(registry.get(id));
+        assertEquals(0, registry.size());
+        assertTrue(registry.getAll().isEmpty());
+    }
+
+    @Test
+    public void idsAreNotReused() {
+        ConnectionRegistry registry = new ConnectionRegistry();
+        TestConnection first = new TestConnection();
+        long firstId = registry.register(first);
+        registry.unregister(first);
+
+        long secondId = registry.register(new TestConnection());
+
+        assertNotEquals(firstId, secondId);
+        assertNull(registry.get(firstId));
+    }
+
+    @Test
+    public void unknownConnectionHasNoId() {
+        ConnectionRegistry registry = new ConnectionRegistry();
+        TestConnection connection = new TestConnection();
+
+        assertEquals(ConnectionRegistry.NO_CONNECTION, ConnectionRegistry.idOf(connection));
+        assertEquals(ConnectionRegistry.NO_CONNECTION, registry.unregister(connection));
+    }
+
+}
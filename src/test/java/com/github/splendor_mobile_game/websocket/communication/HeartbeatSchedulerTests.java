@@ -0,0 +1,127 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.websocket.handlers.connection.ConnectionChecker;
+
+public class HeartbeatSchedulerTests {
+
+    private static final long CONNECTION_ID = 1;
+
+    /** The wheels never tick during a test, connections are visited only by the tests. */
+    private static final int PING_INTERVAL_MS = (int) TimeUnit.HOURS.toMillis(1);
+    private static final int CHECK_INTERVAL_MS = 1000;
+
+    private static class TestChecker extends ConnectionChecker {
+        Long timeSinceLastPongMs = null;
+
+        TestChecker(TestConnection connection) {
+            super(connection, null, null);
+        }
+
+        @Override
+        public void onConnectionCheck(Long timeSinceLastPongMs) {
+            this.timeSinceLastPongMs = timeSinceLastPongMs;
+        }
+
+        @Override
+        public void onConnectionClose() {}
+    }
+
+    private HeartbeatScheduler scheduler;
+    private TestConnection connection;
+    private TestChecker checker;
+    private long registeredAt;
+
+    @BeforeEach
+    public void setUp() {
+        scheduler = new HeartbeatScheduler(PING_INTERVAL_MS, CHECK_INTERVAL_MS, 1);
+        connection = new TestConnection();
+        checker = new TestChecker(connection);
+        scheduler.register(CONNECTION_ID, connection, checker);
+        registeredAt = System.nanoTime();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private long after(long ms) {
+        return registeredAt + TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    @Test
+    public void silentConnectionIsPingedOnEveryVisit() {
+        scheduler.visitAll(after(100));
+        scheduler.visitAll(after(200));
+
+        assertEquals(2, connection.pings);
+    }
+
+    @Test
+    public void pongDoesntSkipNextPing() {
+        scheduler.visitAll(after(100));
+        scheduler.recordPong(CONNECTION_ID);
+        scheduler.visitAll(after(200));
+
+        assertEquals(2, connection.pings);
+    }
+
+    @Test
+    public void messageSkipsNextPing() {
+        scheduler.visitAll(after(100));
+        scheduler.recordActivity(CONNECTION_ID);
+        scheduler.visitAll(after(200));
+        scheduler.visitAll(after(300));
+
+        assertEquals(2, connection.pings);
+    }
+
+    @Test
+    public void closedConnectionIsntPinged() {
+        connection.closed = true;
+
+        scheduler.visitAll(after(2000));
+
+        assertEquals(0, connection.pings);
+        assertNull(checker.timeSinceLastPongMs);
+    }
+
+    @Test
+    public void connectionIsCheckedAfterCheckInterval() {
+        scheduler.visitAll(after(CHECK_INTERVAL_MS / 2));
+        assertNull(checker.timeSinceLastPongMs);
+
+        scheduler.visitAll(after(CHECK_INTERVAL_MS + 500));
+        assertTrue(checker.timeSinceLastPongMs >= CHECK_INTERVAL_MS + 500);
+    }
+
+    @Test
+    public void pongResetsTimeSinceLastPong() {
+        scheduler.recordPong(CONNECTION_ID);
+        long pongAt = System.nanoTime();
+
+        scheduler.visitAll(pongAt + TimeUnit.MILLISECONDS.toNanos(CHECK_INTERVAL_MS + 500));
+
+        assertEquals(CHECK_INTERVAL_MS + 500, checker.timeSinceLastPongMs, 100);
+    }
+
+    @Test
+    public void unregisteredConnectionIsntVisited() {
+        assertSame(checker, scheduler.unregister(CONNECTION_ID));
+        assertNull(scheduler.unregister(CONNECTION_ID));
+
+        scheduler.visitAll(after(2000));
+
+        assertEquals(0, connection.pings);
+        assertNull(checker.timeSinceLastPongMs);
+    }
+
+}
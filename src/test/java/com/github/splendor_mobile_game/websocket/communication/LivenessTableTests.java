@@ -0,0 +1,45 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class LivenessTableTests {
+
+    @Test
+    public void acquiredSlotsAreUniqueAcrossSegments() {
+        LivenessTable table = new LivenessTable();
+        Set<Integer> slots = new HashSet<>();
+
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(slots.add(table.acquire()));
+        }
+    }
+
+    @Test
+    public void releasedSlotIsReused() {
+        LivenessTable table = new LivenessTable();
+        int first = table.acquire();
+        table.acquire();
+
+        table.release(first);
+
+        assertEquals(first, table.acquire());
+    }
+
+    @Test
+    public void touchUpdatesLastSeen() throws InterruptedException {
+        LivenessTable table = new LivenessTable();
+        int slot = table.acquire();
+        long acquiredAt = table.lastSeen(slot);
+
+        Thread.sleep(5);
+        table.touch(slot);
+
+        assertTrue(table.lastSeen(slot) - acquiredAt > 0);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class MessageDispatcherTests {
+
+    @Test
+    public void tasksOfOneLaneRunInOrder() throws InterruptedException {
+        MessageDispatcher dispatcher = new MessageDispatcher(4, 1000);
+        UUID room = UUID.randomUUID();
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(500);
+
+        for (int i = 0; i < 500; i++) {
+            int number = i;
+            assertTrue(dispatcher.dispatch(room, () -> {
+                executed.add(number);
+                done.countDown();
+            }));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, executed.get(i));
+        }
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void differentLanesRunInParallel() throws InterruptedException {
+        MessageDispatcher dispatcher = new MessageDispatcher(2, 10);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+
+        Runnable task = () -> {
+            bothStarted.countDown();
+            try {
+                // Would never finish if the lanes were executed one after another
+                if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                    done.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        dispatcher.dispatch(UUID.randomUUID(), task);
+        dispatcher.dispatch(MessageDispatcher.LOBBY, task);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void fullLaneRejectsTasks() throws InterruptedException {
+        MessageDispatcher dispatcher = new MessageDispatcher(1, 2);
+        UUID room = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // First task occupies the worker, two more fill the queue
+        assertTrue(dispatcher.dispatch(room, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        Thread.sleep(100);
+        assertTrue(dispatcher.dispatch(room, () -> {}));
+        assertTrue(dispatcher.dispatch(room, () -> {}));
+
+        assertFalse(dispatcher.dispatch(room, () -> {}));
+
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+/** Connection which is never opened, it counts the pings sent to it. */
+class TestConnection extends WebSocketImpl {
+
+    /** Server which is never started, the connection only needs a listener. */
+    private static final WebSocketServer LISTENER = new WebSocketServer() {
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {}
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {}
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {}
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {}
+
+        @Override
+        public void onStart() {}
+    };
+
+    int pings = 0;
+    boolean closed = false;
+
+    TestConnection() {
+        super(LISTENER, new Draft_6455());
+    }
+
+    @Override
+    public void sendPing() {
+        this.pings++;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
+import com.github.splendor_mobile_game.websocket.handlers.reactions.CreateRoom;
+import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonIsNotValidJsonObject;
+import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonMissingFieldException;
+
+public class UserMessageTests {
+
+    @Test
+    public void dataBeforeTypeIsParsed() {
+        String json = """
+            {
+                "data": {
+                    "userDTO": { "uuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454", "name": "James" },
+                    "roomDTO": { "name": "Room", "password": "password" }
+                },
+                "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0116",
+                "type": "CREATE_ROOM",
+                "unknown": [1, 2, 3]
+            }""";
+
+        UserMessage message = new UserMessage(json);
+        message.parseDataToClass(CreateRoom.DataDTO.class);
+
+        assertEquals(UUID.fromString("80bdc250-5365-4caf-8dd9-a33e709a0116"), message.getContextId());
+        assertEquals(UserRequestType.CREATE_ROOM, message.getType());
+        assertInstanceOf(CreateRoom.DataDTO.class, message.getData());
+    }
+
+    @Test
+    public void missingEnvelopeFieldsAreReported() {
+        Throwable throwable = assertThrows(JsonMissingFieldException.class, () -> new UserMessage("{ \"data\": {} }"));
+        assertEquals("Missing required field: contextId\nMissing required field: type", throwable.getMessage());
+    }
+
+    @Test
+    public void missingDataFieldIsReported() {
+        UserMessage message = new UserMessage("""
+            {
+                "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0116",
+                "type": "CREATE_ROOM",
+                "data": { "userDTO": { "uuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454", "name": "James" } }
+            }""");
+
+        Throwable throwable = assertThrows(InvalidReceivedMessage.class, () -> message.parseDataToClass(CreateRoom.DataDTO.class));
+        assertTrue(throwable.getMessage().endsWith("Missing required field: roomDTO"));
+    }
+
+    @Test
+    public void trailingContentIsInvalid() {
+        String json = "{ \"contextId\": \"80bdc250-5365-4caf-8dd9-a33e709a0116\", \"type\": \"CREATE_ROOM\" } {}";
+        assertThrows(JsonIsNotValidJsonObject.class, () -> new UserMessage(json));
+    }
+
+    @Test
+    public void malformedUuidIsInvalidMessage() {
+        String json = "{ \"contextId\": \"not-a-uuid\", \"type\": \"CREATE_ROOM\" }";
+        assertThrows(JsonIsNotValidJsonObject.class, () -> new UserMessage(json));
+
+        UserMessage message = new UserMessage("""
+            {
+                "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0116",
+                "type": "CREATE_ROOM",
+                "data": {
+                    "userDTO": { "uuid": "not-a-uuid", "name": "James" },
+                    "roomDTO": { "name": "Room", "password": "password" }
+                }
+            }""");
+        Throwable throwable = assertThrows(InvalidReceivedMessage.class, () -> message.parseDataToClass(CreateRoom.DataDTO.class));
+        assertTrue(throwable.getMessage().contains("not-a-uuid"));
+    }
+
+}
@@ -26,7 +26,6 @@ public class EnvConfigTests {
         // 1. Setup data for the test
         String filepath = this.testEnvConfigsDirectoryPath + "first.env";
         int port = 6789;
-        int connectionLostTimeoutSec = 180;
         int pingIntervalMs = 500;
         int connectionCheckIntervalMs = 3000;
         EnumSet<LogLevel> consoleLogLevels = EnumSet.allOf(LogLevel.class);
@@ -39,7 +38,6 @@ public class EnvConfigTests {
 
             // 3. Check if returned values are equal to expected values.
             assertEquals(port, config.getPort());
-            assertEquals(connectionLostTimeoutSec, config.getConnectionLostTimeoutSec());
             assertEquals(pingIntervalMs, config.getPingIntervalMs());
             assertEquals(connectionCheckIntervalMs, config.getConnectionCheckIntervalMs());
             assertEquals(logsDir, config.getLogsDir());
@@ -75,7 +73,6 @@ public class EnvConfigTests {
         // 1. Setup data for the test
         String filepath = this.testEnvConfigsDirectoryPath + "fifth.env";
         int port = 8887;
-        int connectionLostTimeoutSec = 100;
         int pingIntervalMs = 1000;
         int connectionCheckIntervalMs = 1000;
         EnumSet<LogLevel> consoleLogLevels = EnumSet.allOf(LogLevel.class);
@@ -88,7 +85,6 @@ public class EnvConfigTests {
 
             // 3. Check if returned values are equal to expected values.
             assertEquals(port, config.getPort());
-            assertEquals(connectionLostTimeoutSec, config.getConnectionLostTimeoutSec());
             assertEquals(pingIntervalMs, config.getPingIntervalMs());
             assertEquals(connectionCheckIntervalMs, config.getConnectionCheckIntervalMs());
             assertEquals(logsDir, config.getLogsDir());
@@ -119,7 +115,6 @@ public class EnvConfigTests {
         // 1. Setup data for the test
         String filepath = this.testEnvConfigsDirectoryPath + "eighth.env";
         int port = 6789;
-        int connectionLostTimeoutSec = 180;
         int pingIntervalMs = 500;
         int connectionCheckIntervalMs = 3000;
         EnumSet<LogLevel> consoleLogLevels = EnumSet.of(LogLevel.TRACE, LogLevel.INFO, LogLevel.DEBUG);
@@ -132,7 +127,6 @@ public class EnvConfigTests {
 
             // 3. Check if returned values are equal to expected values.
             assertEquals(port, config.getPort());
-            assertEquals(connectionLostTimeoutSec, config.getConnectionLostTimeoutSec());
             assertEquals(pingIntervalMs, config.getPingIntervalMs());
             assertEquals(connectionCheckIntervalMs, config.getConnectionCheckIntervalMs());
             assertEquals(logsDir, config.getLogsDir());
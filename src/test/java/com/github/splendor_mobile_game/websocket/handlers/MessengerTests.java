@@ -0,0 +1,40 @@
+package com.github.splendor_mobile_game.websocket.handlers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
+import com.github.splendor_mobile_game.websocket.response.Result;
+
+public class MessengerTests {
+
+    @Test
+    public void broadcastSerializesOnce() {
+        List<User> users = List.of(
+            new User(UUID.randomUUID(), "James", 1L),
+            new User(UUID.randomUUID(), "Anna", 2L),
+            new User(UUID.randomUUID(), "Tom", 3L)
+        );
+        ServerMessage serverMessage = new ServerMessage(UUID.randomUUID(), ServerMessageType.NEW_TURN_ANNOUNCEMENT, Result.OK, null);
+
+        Messenger messenger = new Messenger();
+        messenger.broadcast(users, serverMessage);
+
+        List<Message> messages = messenger.getMessages();
+        assertEquals(3, messages.size());
+        for (int i = 0; i < users.size(); i++) {
+            assertEquals(users.get(i).getConnectionId(), messages.get(i).getReceiverId());
+            assertSame(messages.get(0).getMessage(), messages.get(i).getMessage());
+        }
+
+        String body = messages.get(0).getMessage();
+        assertFalse(body.contains("\n"));
+        assertTrue(body.contains("\"data\":null"));
+    }
+
+}
@@ -5,22 +5,20 @@ import com.github.splendor_mobile_game.database.InMemoryDatabase;
 import com.github.splendor_mobile_game.game.enums.CardTier;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
-import com.github.splendor_mobile_game.game.model.Deck;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.github.splendor_mobile_game.websocket.communication.InvalidReceivedMessage;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 
@@ -30,7 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class BuyReservedMineTests {
 
     private Database database;
-    private Map<TokenType, Integer> tokens;
+    private TokenVector tokens;
     private Card cardToBuy;
     private final String messageUuid = "80bdc250-5365-4caf-8dd9-a33e709a0110";
 
@@ -91,20 +89,17 @@ public class BuyReservedMineTests {
         try{
             Game game = room.getGame();
 
-            Field privateField = Game.class.getDeclaredField("revealedCards");
-            privateField.setAccessible(true);
-            Map<CardTier, Deck> revealedDecks = (HashMap<CardTier, Deck>) privateField.get(game);
-            cardToBuy = revealedDecks.get(CardTier.LEVEL_1).get(0);
+            cardToBuy = game.getRevealedCards(CardTier.LEVEL_1).get(0);
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.EMERALD, cardToBuy.getCost(TokenType.EMERALD) + additionalEmeraldTokens);
-            tokens.put(TokenType.SAPPHIRE, cardToBuy.getCost(TokenType.SAPPHIRE) + additionalSapphireTokens);
-            tokens.put(TokenType.RUBY, cardToBuy.getCost(TokenType.RUBY) + additionalRubyTokens);
-            tokens.put(TokenType.DIAMOND, cardToBuy.getCost(TokenType.DIAMOND) + additionalDiamondTokens);
-            tokens.put(TokenType.ONYX, cardToBuy.getCost(TokenType.ONYX) + additionalOnyxTokens);
+            tokens.set(TokenType.EMERALD, cardToBuy.getCost(TokenType.EMERALD) + additionalEmeraldTokens);
+            tokens.set(TokenType.SAPPHIRE, cardToBuy.getCost(TokenType.SAPPHIRE) + additionalSapphireTokens);
+            tokens.set(TokenType.RUBY, cardToBuy.getCost(TokenType.RUBY) + additionalRubyTokens);
+            tokens.set(TokenType.DIAMOND, cardToBuy.getCost(TokenType.DIAMOND) + additionalDiamondTokens);
+            tokens.set(TokenType.ONYX, cardToBuy.getCost(TokenType.ONYX) + additionalOnyxTokens);
 
             owner.reserveCard(cardToBuy, false);
         }catch (Exception e){
@@ -117,12 +112,12 @@ public class BuyReservedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class);
         brm.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertFalse(owner.getReservedCards().contains(cardToBuy));
         assertTrue(owner.getPurchasedCards().contains(cardToBuy));
         assertTrue(owner.hasPerformedAction());
@@ -146,9 +141,11 @@ public class BuyReservedMineTests {
                         "gold": 0
                     },
                     "cardUuid": "$cardUuid"
-                }
+                },
+                "version": $version
             }
         }""".replace("$contextUuid", messageUuid)
+            .replace("$version", String.valueOf(room.getGame().getVersion()))
             .replace("$userUuid", owner.getUuid().toString())
             .replace("$cardUuid", cardToBuy.getUuid().toString())
             .replace("$rubyTokens", String.valueOf(additionalRubyTokens))
@@ -181,7 +178,7 @@ public class BuyReservedMineTests {
                 .replace("$cardUuid", cardUuid);                
 
         UserMessage receivedMessage = new UserMessage(message);
-        assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class));
+        assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class));
     }
 
     @Test
@@ -195,7 +192,7 @@ public class BuyReservedMineTests {
                 .replace("$cardUuid", cardUuid);
 
         UserMessage receivedMessage = new UserMessage(message);
-        assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class));
+        assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class));
     }
 
     @Test
@@ -216,7 +213,7 @@ public class BuyReservedMineTests {
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "Couldn't find a user with given UUID.");
@@ -244,12 +241,12 @@ public class BuyReservedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyReservedMine brm = new BuyReservedMine(user.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyReservedMine brm = new BuyReservedMine(user.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(user.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(user.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You are not a member of any room!");
@@ -279,12 +276,12 @@ public class BuyReservedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "Game hasn't started yet.");
@@ -319,12 +316,12 @@ public class BuyReservedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyReservedMine brm = new BuyReservedMine(player.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyReservedMine brm = new BuyReservedMine(player.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(player.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "It's not your turn.");
@@ -360,12 +357,12 @@ public class BuyReservedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class);
         brm.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertFalse(room.getGame().getRevealedCards(CardTier.LEVEL_1).contains(card));
         assertTrue(owner.hasPerformedAction());
 
@@ -379,12 +376,12 @@ public class BuyReservedMineTests {
 
         receivedMessage = new UserMessage(message);
         messenger = new Messenger();
-        brm = new BuyReservedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        brm = new BuyReservedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You have already performed an action.");
@@ -419,12 +416,12 @@ public class BuyReservedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "Couldn't find a card with given UUID.");
@@ -460,12 +457,12 @@ public class BuyReservedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "The card is not in the reserved deck.");
@@ -495,20 +492,17 @@ public class BuyReservedMineTests {
         try{
                 Game game = room.getGame();
 
-                Field privateField = Game.class.getDeclaredField("revealedCards");
-                privateField.setAccessible(true);
-                Map<CardTier, Deck> revealedDecks = (HashMap<CardTier, Deck>) privateField.get(game);
-                cardToBuy = revealedDecks.get(CardTier.LEVEL_1).get(0);
+                cardToBuy = game.getRevealedCards(CardTier.LEVEL_1).get(0);
 
                 Field privateTokens = User.class.getDeclaredField("tokens");
                 privateTokens.setAccessible(true);
-                tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+                tokens = (TokenVector) privateTokens.get(owner);
 
-                tokens.put(TokenType.RUBY, 0);
-                tokens.put(TokenType.EMERALD, 0);
-                tokens.put(TokenType.SAPPHIRE, 0);
-                tokens.put(TokenType.DIAMOND, 0);
-                tokens.put(TokenType.ONYX, 0);
+                tokens.set(TokenType.RUBY, 0);
+                tokens.set(TokenType.EMERALD, 0);
+                tokens.set(TokenType.SAPPHIRE, 0);
+                tokens.set(TokenType.DIAMOND, 0);
+                tokens.set(TokenType.ONYX, 0);
 
                 owner.reserveCard(cardToBuy, false);
         }catch (Exception e){
@@ -521,12 +515,12 @@ public class BuyReservedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyReservedMine brm = new BuyReservedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyReservedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertFalse(owner.getPurchasedCards().contains(cardToBuy));
         assertTrue(owner.getReservedCards().contains(cardToBuy));
 
@@ -1,8 +1,6 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
@@ -10,7 +8,7 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.github.splendor_mobile_game.websocket.communication.InvalidReceivedMessage;
 import org.junit.jupiter.api.Test;
 
 import com.github.splendor_mobile_game.database.Database;
@@ -18,9 +16,9 @@ import com.github.splendor_mobile_game.database.InMemoryDatabase;
 import com.github.splendor_mobile_game.game.enums.CardTier;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
-import com.github.splendor_mobile_game.game.model.Deck;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
@@ -84,20 +82,17 @@ public class BuyRevealedMineTests {
         Game game = room.getGame();
         Card cardToBuy=null;
         try{
-            Field privateField = Game.class.getDeclaredField("revealedCards");
-            privateField.setAccessible(true);
-            Map<CardTier,Deck> revealedDecks = (HashMap<CardTier,Deck>)privateField.get(game);
-            cardToBuy = revealedDecks.get(CardTier.LEVEL_1).get(0);
+            cardToBuy = game.getRevealedCards(CardTier.LEVEL_1).get(0);
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            Map<TokenType, Integer> tokens = (HashMap<TokenType,Integer>)privateTokens.get(owner);
+            TokenVector tokens = (TokenVector)privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY,cardToBuy.getCost(TokenType.RUBY)+2);
-            tokens.put(TokenType.EMERALD,cardToBuy.getCost(TokenType.EMERALD)+1);
-            tokens.put(TokenType.SAPPHIRE,cardToBuy.getCost(TokenType.SAPPHIRE));
-            tokens.put(TokenType.DIAMOND,cardToBuy.getCost(TokenType.DIAMOND));
-            tokens.put(TokenType.ONYX,cardToBuy.getCost(TokenType.ONYX)+1);
+            tokens.set(TokenType.RUBY,cardToBuy.getCost(TokenType.RUBY)+2);
+            tokens.set(TokenType.EMERALD,cardToBuy.getCost(TokenType.EMERALD)+1);
+            tokens.set(TokenType.SAPPHIRE,cardToBuy.getCost(TokenType.SAPPHIRE));
+            tokens.set(TokenType.DIAMOND,cardToBuy.getCost(TokenType.DIAMOND));
+            tokens.set(TokenType.ONYX,cardToBuy.getCost(TokenType.ONYX)+1);
 
         }catch (Exception e){
             e.printStackTrace();
@@ -169,31 +164,27 @@ public class BuyRevealedMineTests {
         Game game = room.getGame();
         Card cardToBuy=null;
         try{
-            Field privateFieldDecks = Game.class.getDeclaredField("decks");
-            privateFieldDecks.setAccessible(true);
-            Map<CardTier,Deck> decks = (HashMap<CardTier,Deck>)privateFieldDecks.get(game);
+            Field privateFieldDeckSizes = Game.class.getDeclaredField("deckSizes");
+            privateFieldDeckSizes.setAccessible(true);
+            int[] deckSizes = (int[])privateFieldDeckSizes.get(game);
           
-            decks.get(CardTier.LEVEL_1).removeAll(decks.get(CardTier.LEVEL_1));
-            
-            Field privateFieldRevealedCards = Game.class.getDeclaredField("revealedCards");
-            privateFieldRevealedCards.setAccessible(true);
-            Map<CardTier,Deck> revealedCards = (HashMap<CardTier,Deck>)privateFieldRevealedCards.get(game);
+            deckSizes[CardTier.LEVEL_1.ordinal()] = 0;
 
             for(int i=0; i<3;i++){
-                revealedCards.get(CardTier.LEVEL_1).remove(0);
+                game.takeCardFromRevealed(game.getRevealedCards(CardTier.LEVEL_1).get(0));
             }
 
-            cardToBuy = revealedCards.get(CardTier.LEVEL_1).get(0);
+            cardToBuy = game.getRevealedCards(CardTier.LEVEL_1).get(0);
 
             Field privateFieldTokens = User.class.getDeclaredField("tokens");
             privateFieldTokens.setAccessible(true);
-            Map<TokenType, Integer> tokens = (HashMap<TokenType,Integer>)privateFieldTokens.get(owner);
+            TokenVector tokens = (TokenVector)privateFieldTokens.get(owner);
 
-            tokens.put(TokenType.RUBY,cardToBuy.getCost(TokenType.RUBY)+2);
-            tokens.put(TokenType.EMERALD,cardToBuy.getCost(TokenType.EMERALD)+1);
-            tokens.put(TokenType.SAPPHIRE,cardToBuy.getCost(TokenType.SAPPHIRE));
-            tokens.put(TokenType.DIAMOND,cardToBuy.getCost(TokenType.DIAMOND));
-            tokens.put(TokenType.ONYX,cardToBuy.getCost(TokenType.ONYX)+1);
+            tokens.set(TokenType.RUBY,cardToBuy.getCost(TokenType.RUBY)+2);
+            tokens.set(TokenType.EMERALD,cardToBuy.getCost(TokenType.EMERALD)+1);
+            tokens.set(TokenType.SAPPHIRE,cardToBuy.getCost(TokenType.SAPPHIRE));
+            tokens.set(TokenType.DIAMOND,cardToBuy.getCost(TokenType.DIAMOND));
+            tokens.set(TokenType.ONYX,cardToBuy.getCost(TokenType.ONYX)+1);
 
         }catch (Exception e){
             e.printStackTrace();
@@ -251,7 +242,7 @@ public class BuyRevealedMineTests {
                 .replace("$cardUuid", cardUuid);
 
         UserMessage receivedMessage = new UserMessage(message);
-        assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class));
+        assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class));
     }
 
     @Test
@@ -267,7 +258,7 @@ public class BuyRevealedMineTests {
                 .replace("$cardUuid", cardUuid);
 
         UserMessage receivedMessage = new UserMessage(message);
-        assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class));
+        assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class));
     }
 
     @Test
@@ -290,7 +281,7 @@ public class BuyRevealedMineTests {
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
                 .replace("$error", "Couldn't find a user with given UUID.");
@@ -320,12 +311,12 @@ public class BuyRevealedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyRevealedMine brm = new BuyRevealedMine(user.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyRevealedMine brm = new BuyRevealedMine(user.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(user.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(user.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
                 .replace("$error", "You are not a member of any room!");
@@ -357,12 +348,12 @@ public class BuyRevealedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyRevealedMine brm = new BuyRevealedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyRevealedMine brm = new BuyRevealedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
                 .replace("$error", "The game hasn't started yet!");
@@ -399,12 +390,12 @@ public class BuyRevealedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyRevealedMine brm = new BuyRevealedMine(player.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyRevealedMine brm = new BuyRevealedMine(player.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(player.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
                 .replace("$error", "It is not your turn!");
@@ -441,12 +432,12 @@ public class BuyRevealedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyRevealedMine brm = new BuyRevealedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyRevealedMine brm = new BuyRevealedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
                 .replace("$error", "Couldn't find a card with given UUID.");
@@ -485,12 +476,12 @@ public class BuyRevealedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyRevealedMine brm = new BuyRevealedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyRevealedMine brm = new BuyRevealedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class);
         brm.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
                 .replace("$error", "The card is not in the revealed deck");
@@ -521,10 +512,10 @@ public class BuyRevealedMineTests {
         room.startGame();
 
         Card card = room.getGame().getRevealedCards(CardTier.LEVEL_1).get(0);
-        Map<TokenType, Integer> tokens = new HashMap<>();
+        TokenVector tokens = new TokenVector();
         for (TokenType type : TokenType.values()) {
             if (type == TokenType.GOLD_JOKER) continue;
-            tokens.put(type, card.getCost(type));
+            tokens.set(type, card.getCost(type));
         }
         owner.changeTokens(tokens);
 
@@ -534,12 +525,12 @@ public class BuyRevealedMineTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        BuyRevealedMine brm = new BuyRevealedMine(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        BuyRevealedMine brm = new BuyRevealedMine(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(BuyRevealedMine.DataDTO.class);
         brm.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertFalse(room.getGame().getRevealedCards(CardTier.LEVEL_1).contains(card));
         assertTrue(owner.hasPerformedAction());
 
@@ -5,7 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
-import com.google.gson.JsonSyntaxException;
+import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonIsNotValidJsonObject;
 import org.junit.jupiter.api.Test;
 
 import com.github.splendor_mobile_game.database.Database;
@@ -17,6 +17,7 @@ import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.github.splendor_mobile_game.websocket.response.Result;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -91,11 +92,18 @@ public class CreateRoomTests {
 
         // 3. Check that return value and side effects of this call is correct
         
-        // One sent message
-        assertThat(messenger.getMessages().size()).isEqualTo(1);
+        // Response and the resume token
+        assertThat(messenger.getMessages().size()).isEqualTo(2);
         
-        // Receiver of this message is the client that sent request to the server
-        assertThat(messenger.getMessages().get(0).getReceiverHashcode()).isEqualTo(clientConnectionHashCode);
+        // Receiver of these messages is the client that sent request to the server
+        assertThat(messenger.getMessages().get(0).getReceiverId()).isEqualTo(clientConnectionHashCode);
+        assertThat(messenger.getMessages().get(1).getReceiverId()).isEqualTo(clientConnectionHashCode);
+
+        // Session of the user can be resumed with the token
+        JsonObject tokenMessage = JsonParser.parseString(messenger.getMessages().get(1).getMessage()).getAsJsonObject();
+        assertThat(tokenMessage.get("type").getAsString()).isEqualTo("RESUME_TOKEN");
+        String resumeToken = tokenMessage.getAsJsonObject("data").get("resumeToken").getAsString();
+        assertThat(database.getAllUsers().get(0).checkResumeToken(resumeToken)).isTrue();
 
         // One user has been added to the database
         assertThat(database.getAllUsers().size()).isEqualTo(1);
@@ -103,7 +111,7 @@ public class CreateRoomTests {
         User user = database.getAllUsers().get(0);
         
         // User's connection hashcode is the same as the client send the request
-        assertThat(user.getConnectionHashCode()).isEqualTo(clientConnectionHashCode);
+        assertThat(user.getConnectionId()).isEqualTo(clientConnectionHashCode);
         
         // Check for name
         assertThat(user.getName()).isEqualTo("James");
@@ -180,7 +188,7 @@ public class CreateRoomTests {
                 .replace("$roomName", roomName)
                 .replace("$roomPassword", roomPassword);
 
-        Throwable throwable = assertThrows(JsonSyntaxException.class, () -> new UserMessage(message));
+        Throwable throwable = assertThrows(JsonIsNotValidJsonObject.class, () -> new UserMessage(message));
         assertTrue(throwable.getMessage().contains("Failed parsing"));
     }
 
@@ -211,7 +219,7 @@ public class CreateRoomTests {
         createRoom.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
@@ -253,7 +261,7 @@ public class CreateRoomTests {
         createRoom.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
@@ -295,7 +303,7 @@ public class CreateRoomTests {
         createRoom.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
@@ -337,7 +345,7 @@ public class CreateRoomTests {
         createRoom.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
@@ -379,7 +387,7 @@ public class CreateRoomTests {
         createRoom.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
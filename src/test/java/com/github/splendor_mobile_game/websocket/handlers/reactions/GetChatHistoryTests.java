@@ -0,0 +1,93 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class GetChatHistoryTests {
+
+    private Database database;
+    private Messenger messenger;
+    private User owner;
+    private Room room;
+
+    @BeforeEach
+    public void setUp() {
+        database = new InMemoryDatabase();
+        messenger = new Messenger();
+
+        owner = new User(UUID.randomUUID(), "OWNER", 100);
+        database.addUser(owner);
+
+        room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, database);
+        database.addRoom(room);
+
+        // Different senders, so the messages aren't throttled
+        for (int i = 1; i <= 5; i++) {
+            room.getChat().sendMessage("message " + i, UUID.randomUUID());
+        }
+    }
+
+    private JsonObject sendRequest(User user, String before, int limit) {
+        String message = """
+            {
+                "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0117",
+                "type": "GET_CHAT_HISTORY",
+                "data": {
+                    "userUuid": "$userUuid",
+                    "before": $before,
+                    "limit": $limit
+                }
+            }
+            """.replace("$userUuid", user.getUuid().toString())
+               .replace("$before", before)
+               .replace("$limit", Integer.toString(limit));
+
+        UserMessage receivedMessage = new UserMessage(message);
+        receivedMessage.parseDataToClass(GetChatHistory.DataDTO.class);
+        new GetChatHistory(user.getConnectionId(), receivedMessage, messenger, database).react();
+
+        assertEquals(1, messenger.getMessages().size());
+        JsonObject response = JsonParser.parseString(messenger.getMessages().get(0).getMessage()).getAsJsonObject();
+        messenger.getMessages().clear();
+        return response;
+    }
+
+    @Test
+    public void historyIsPagedFromNewestMessage() {
+        JsonObject data = sendRequest(owner, "null", 2).getAsJsonObject("data");
+        JsonArray messages = data.getAsJsonArray("messages");
+        assertEquals(2, messages.size());
+        assertEquals("message 4", messages.get(0).getAsJsonObject().get("message").getAsString());
+        assertEquals(4, data.get("nextCursor").getAsLong());
+
+        data = sendRequest(owner, "4", 5).getAsJsonObject("data");
+        assertEquals(3, data.getAsJsonArray("messages").size());
+        assertTrue(data.get("nextCursor").isJsonNull());
+    }
+
+    @Test
+    public void userNotInRoomTest() {
+        User stranger = new User(UUID.randomUUID(), "STRANGER", 300);
+        database.addUser(stranger);
+
+        JsonObject response = sendRequest(stranger, "null", 2);
+
+        assertEquals("FAILURE", response.get("result").getAsString());
+        assertEquals("You are not a member of any room!", response.getAsJsonObject("data").get("error").getAsString());
+    }
+
+}
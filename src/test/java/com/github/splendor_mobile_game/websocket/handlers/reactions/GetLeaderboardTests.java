@@ -0,0 +1,82 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class GetLeaderboardTests {
+
+    private Database database;
+    private Messenger messenger;
+
+    @BeforeEach
+    public void setUp() {
+        database = new InMemoryDatabase();
+        messenger = new Messenger();
+    }
+
+    private JsonObject sendRequest(UUID userUuid, int limit) {
+        String message = """
+            {
+                "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0117",
+                "type": "GET_LEADERBOARD",
+                "data": {
+                    "userUuid": "$userUuid",
+                    "limit": $limit
+                }
+            }
+            """.replace("$userUuid", userUuid.toString())
+               .replace("$limit", Integer.toString(limit));
+
+        UserMessage receivedMessage = new UserMessage(message);
+        receivedMessage.parseDataToClass(GetLeaderboard.DataDTO.class);
+        new GetLeaderboard(100, receivedMessage, messenger, database).react();
+
+        assertEquals(1, messenger.getMessages().size());
+        JsonObject response = JsonParser.parseString(messenger.getMessages().get(0).getMessage()).getAsJsonObject();
+        messenger.getMessages().clear();
+        return response;
+    }
+
+    @Test
+    public void topPlayersAndRankOfRequesterAreReturned() {
+        UUID requester = UUID.randomUUID();
+        database.getLeaderboard().record(UUID.randomUUID(), "FIRST", 20, 10);
+        database.getLeaderboard().record(UUID.randomUUID(), "SECOND", 17, 10);
+        database.getLeaderboard().record(UUID.randomUUID(), "TIED", 17, 10);
+        database.getLeaderboard().record(requester, "REQUESTER", 15, 9);
+
+        JsonObject response = sendRequest(requester, 3);
+        assertEquals("OK", response.get("result").getAsString());
+
+        JsonObject data = response.getAsJsonObject("data");
+        JsonArray players = data.getAsJsonArray("players");
+        assertEquals(3, players.size());
+        assertEquals("FIRST", players.get(0).getAsJsonObject().get("name").getAsString());
+        assertEquals(1, players.get(0).getAsJsonObject().get("place").getAsInt());
+        assertEquals(2, players.get(1).getAsJsonObject().get("place").getAsInt());
+        assertEquals(2, players.get(2).getAsJsonObject().get("place").getAsInt());
+        assertEquals(4, data.get("userRank").getAsInt());
+    }
+
+    @Test
+    public void playerWithoutFinishedGameHasNoRank() {
+        JsonObject response = sendRequest(UUID.randomUUID(), 10);
+
+        JsonObject data = response.getAsJsonObject("data");
+        assertEquals(0, data.getAsJsonArray("players").size());
+        assertFalse(data.has("userRank") && !data.get("userRank").isJsonNull());
+    }
+
+}
@@ -7,19 +7,18 @@ import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Deck;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.github.splendor_mobile_game.websocket.communication.InvalidReceivedMessage;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -31,7 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class GetTokensTests {
 
     private Database database;
-    private Map<TokenType, Integer> tokens;
+    private TokenVector tokens;
     private final String messageUuid = "80bdc250-5365-4caf-8dd9-a33e709a0110";
 
     private String newBaseMessage() {
@@ -82,7 +81,8 @@ public class GetTokensTests {
                         "diamond": $diamondReturned,
                         "onyx": $onyxReturned
                         }
-                    }
+                    },
+                    "version": $version
                 }
             }""".replace("$contextUuid", messageUuid);
     }
@@ -132,18 +132,19 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertTrue(owner.hasPerformedAction());
 
         String reply = messenger.getMessages().get(0).getMessage();
         
         String expectedJsonString = newBaseAnnouncement()
-                .replace("$userUuid", owner.getUuid().toString())
+                                .replace("$version", String.valueOf(room.getGame().getVersion()))
+.replace("$userUuid", owner.getUuid().toString())
                 .replace("$rubyTaken", String.valueOf(1))
                 .replace("$sapphireTaken", String.valueOf(1))
                 .replace("$emeraldTaken", String.valueOf(1))
@@ -185,13 +186,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 8);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 8);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -211,18 +212,19 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertTrue(owner.hasPerformedAction());
 
         String reply = messenger.getMessages().get(0).getMessage();
         
         String expectedJsonString = newBaseAnnouncement()
-                .replace("$userUuid", owner.getUuid().toString())
+                                .replace("$version", String.valueOf(room.getGame().getVersion()))
+.replace("$userUuid", owner.getUuid().toString())
                 .replace("$rubyTaken", String.valueOf(1))
                 .replace("$sapphireTaken", String.valueOf(1))
                 .replace("$emeraldTaken", String.valueOf(1))
@@ -264,13 +266,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 10);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 10);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -290,18 +292,19 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertTrue(owner.hasPerformedAction());
 
         String reply = messenger.getMessages().get(0).getMessage();
         
         String expectedJsonString = newBaseAnnouncement()
-                .replace("$userUuid", owner.getUuid().toString())
+                                .replace("$version", String.valueOf(room.getGame().getVersion()))
+.replace("$userUuid", owner.getUuid().toString())
                 .replace("$rubyTaken", String.valueOf(1))
                 .replace("$sapphireTaken", String.valueOf(1))
                 .replace("$emeraldTaken", String.valueOf(1))
@@ -353,18 +356,19 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertTrue(owner.hasPerformedAction());
 
         String reply = messenger.getMessages().get(0).getMessage();
         
         String expectedJsonString = newBaseAnnouncement()
-                .replace("$userUuid", owner.getUuid().toString())
+                                .replace("$version", String.valueOf(room.getGame().getVersion()))
+.replace("$userUuid", owner.getUuid().toString())
                 .replace("$rubyTaken", String.valueOf(2))
                 .replace("$sapphireTaken", String.valueOf(0))
                 .replace("$emeraldTaken", String.valueOf(0))
@@ -406,13 +410,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 9);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 9);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -432,18 +436,19 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertTrue(owner.hasPerformedAction());
 
         String reply = messenger.getMessages().get(0).getMessage();
         
         String expectedJsonString = newBaseAnnouncement()
-                .replace("$userUuid", owner.getUuid().toString())
+                                .replace("$version", String.valueOf(room.getGame().getVersion()))
+.replace("$userUuid", owner.getUuid().toString())
                 .replace("$rubyTaken", String.valueOf(2))
                 .replace("$sapphireTaken", String.valueOf(0))
                 .replace("$emeraldTaken", String.valueOf(0))
@@ -485,13 +490,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 10);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 10);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -511,18 +516,19 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertTrue(owner.hasPerformedAction());
 
         String reply = messenger.getMessages().get(0).getMessage();
         
         String expectedJsonString = newBaseAnnouncement()
-                .replace("$userUuid", owner.getUuid().toString())
+                                .replace("$version", String.valueOf(room.getGame().getVersion()))
+.replace("$userUuid", owner.getUuid().toString())
                 .replace("$rubyTaken", String.valueOf(2))
                 .replace("$sapphireTaken", String.valueOf(0))
                 .replace("$emeraldTaken", String.valueOf(0))
@@ -566,7 +572,7 @@ public class GetTokensTests {
                 .replace("$onyxReturned", String.valueOf(0));;                
 
         UserMessage receivedMessage = new UserMessage(message);
-        assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(GetTokens.DataDTO.class));
+        assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(GetTokens.DataDTO.class));
     }
 
     @Test
@@ -595,7 +601,7 @@ public class GetTokensTests {
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "User with this UUID not found");
@@ -630,12 +636,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(user.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(user.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(user.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(user.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "This user isn't in any room");
@@ -674,12 +680,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You can't take tokens when game didn't start");
@@ -723,12 +729,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(player.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(player.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(player.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "It's not your turn");
@@ -770,12 +776,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
         assertTrue(owner.hasPerformedAction());
 
         message = this.newBaseMessage()
@@ -793,12 +799,12 @@ public class GetTokensTests {
 
         receivedMessage = new UserMessage(message);
         messenger = new Messenger();
-        getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You've already made an action this round");
@@ -829,13 +835,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 0);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 1);
+            tokens.set(TokenType.RUBY, 0);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 1);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -855,12 +861,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You are trying to return tokens when you already have less than 10");
@@ -891,13 +897,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 0);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 1);
+            tokens.set(TokenType.RUBY, 0);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 1);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -917,12 +923,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You are trying to return tokens when you already have less than 10");
@@ -953,13 +959,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 8);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 8);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -979,12 +985,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You don't have enough tokens to return");
@@ -1015,13 +1021,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 9);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 9);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1041,12 +1047,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You don't have enough tokens to return");
@@ -1077,13 +1083,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 8);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 8);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1103,12 +1109,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You are trying to return too many tokens");
@@ -1139,13 +1145,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 9);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 9);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1165,12 +1171,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You are trying to return too many tokens");
@@ -1201,13 +1207,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 8);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 8);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1227,12 +1233,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You have too many tokens");
@@ -1263,13 +1269,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 9);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 9);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1289,12 +1295,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You have too many tokens");
@@ -1335,12 +1341,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "You've taken too many RUBY tokens");
@@ -1371,13 +1377,13 @@ public class GetTokensTests {
 
             Field privateTokens = Game.class.getDeclaredField("tokensOnTable");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(room.getGame());
+            tokens = (TokenVector) privateTokens.get(room.getGame());
 
-            tokens.put(TokenType.RUBY, 0);
-            tokens.put(TokenType.SAPPHIRE, 4);
-            tokens.put(TokenType.EMERALD, 4);
-            tokens.put(TokenType.DIAMOND, 4);
-            tokens.put(TokenType.ONYX, 4);
+            tokens.set(TokenType.RUBY, 0);
+            tokens.set(TokenType.SAPPHIRE, 4);
+            tokens.set(TokenType.EMERALD, 4);
+            tokens.set(TokenType.DIAMOND, 4);
+            tokens.set(TokenType.ONYX, 4);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1397,12 +1403,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "There are not enough RUBY tokens on the table");
@@ -1433,13 +1439,13 @@ public class GetTokensTests {
 
             Field privateTokens = Game.class.getDeclaredField("tokensOnTable");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(room.getGame());
+            tokens = (TokenVector) privateTokens.get(room.getGame());
 
-            tokens.put(TokenType.RUBY, 0);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 0);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1459,12 +1465,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String pattern = "There are not enough \\w+ tokens on the table";
         Pattern regex = Pattern.compile(pattern);
@@ -1506,12 +1512,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "Your token choice is wrong");
@@ -1552,12 +1558,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "Your token choice is wrong");
@@ -1598,12 +1604,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "Your token choice is wrong");
@@ -1644,12 +1650,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "Your token choice is wrong");
@@ -1690,12 +1696,12 @@ public class GetTokensTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        GetTokens getTokens = new GetTokens(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        GetTokens getTokens = new GetTokens(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(GetTokens.DataDTO.class);
         getTokens.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$error", "Your token choice is wrong");
@@ -10,7 +10,6 @@ import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -87,7 +86,8 @@ public class JoinRoomTests {
         receivedMessage.parseDataToClass(CreateRoom.DataDTO.class);
         createRoom.react();
 
-        assertEquals(1, messenger.getMessages().size());
+        // Response and the resume token
+        assertEquals(2, messenger.getMessages().size());
         assertEquals(1, this.database.getAllUsers().size());
         User user = this.database.getAllUsers().get(0);
         assertEquals(userUuid, user.getUuid().toString());
@@ -118,14 +118,23 @@ public class JoinRoomTests {
         Messenger messenger = new Messenger();
         JoinRoom joinRoom = new JoinRoom(clientConnectionHashCode, receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(JoinRoom.DataDTO.class);
+
+        // Joining runs in the lane of the joined room
+        assertEquals(roomId, joinRoom.getTargetRoomUuid().toString());
         joinRoom.react();
 
-        assertEquals(2,messenger.getMessages().size());
+        // Response broadcast to both players and the resume token of the joiner
+        assertEquals(3,messenger.getMessages().size());
         assertEquals(2,this.database.getAllUsers().size());
         User user = this.database.getAllUsers().get(1);
         assertEquals(userUuid, user.getUuid().toString());
         assertEquals(userName, user.getName());
 
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(2).getReceiverId());
+        JsonObject tokenMessage = JsonParser.parseString(messenger.getMessages().get(2).getMessage()).getAsJsonObject();
+        assertEquals("RESUME_TOKEN", tokenMessage.get("type").getAsString());
+        assertTrue(user.checkResumeToken(tokenMessage.getAsJsonObject("data").get("resumeToken").getAsString()));
+
         String expectedJsonString = """
                 {
                    "contextId":"$messageContextId",
@@ -185,7 +194,7 @@ public class JoinRoomTests {
         joinRoom.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
@@ -294,7 +303,7 @@ public class JoinRoomTests {
         joinRoom.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
@@ -332,7 +341,7 @@ public class JoinRoomTests {
         joinRoom.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
@@ -363,7 +372,7 @@ public class JoinRoomTests {
                 .replace("$roomPassword", this.roomPassword);
 
         UserMessage receivedMessage = new UserMessage(message);
-        assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(JoinRoom.DataDTO.class));
+        assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(JoinRoom.DataDTO.class));
     }
 
     @Test
@@ -387,7 +396,7 @@ public class JoinRoomTests {
         joinRoom.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
@@ -423,7 +432,7 @@ public class JoinRoomTests {
         joinRoom.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
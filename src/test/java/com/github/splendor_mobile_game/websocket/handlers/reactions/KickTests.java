@@ -0,0 +1,67 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+
+public class KickTests {
+
+    private Database database;
+    private final String messageUuid = "80bdc250-5365-4caf-8dd9-a33e709a0111";
+
+    private String newBaseMessage() {
+        return """
+                {
+                     "contextId": "$contextUuid",
+                     "type": "KICK",
+                     "data": {
+                         "userUuid": "$userUuid",
+                         "kickedUserUuid": "$kickedUserUuid"
+                     }
+                }""".replace("$contextUuid", this.messageUuid);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        this.database = new InMemoryDatabase();
+    }
+
+    @Test
+    public void kickedUserIsDeleted() {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User player = new User(UUID.randomUUID(), "PLAYER", 100001);
+        this.database.addUser(owner);
+        this.database.addUser(player);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        this.database.addRoom(room);
+        room.joinGame(player);
+
+        String message = this.newBaseMessage()
+            .replace("$userUuid", owner.getUuid().toString())
+            .replace("$kickedUserUuid", player.getUuid().toString());
+
+        UserMessage receivedMessage = new UserMessage(message);
+        Messenger messenger = new Messenger();
+        Kick kick = new Kick(owner.getConnectionId(), receivedMessage, messenger, this.database);
+        receivedMessage.parseDataToClass(Kick.DataDTO.class);
+        kick.react();
+
+        assertEquals(1, messenger.getMessages().size());
+        assertFalse(room.userExists(player));
+        assertNull(this.database.getRoomWithUser(player.getUuid()));
+
+        // The connection of the kicked user can join a room as a new user
+        assertNull(this.database.getUser(player.getUuid()));
+        assertNull(this.database.getUserByConnectionId(player.getConnectionId()));
+    }
+}
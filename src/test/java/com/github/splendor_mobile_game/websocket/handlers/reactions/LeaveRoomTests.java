@@ -12,7 +12,6 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
 import org.junit.jupiter.api.Test;
 
 import java.util.Random;
@@ -92,7 +91,8 @@ public class LeaveRoomTests {
         receivedMessage.parseDataToClass(CreateRoom.DataDTO.class);
         createRoom.react();
 
-        assertEquals(1, messenger.getMessages().size());
+        // Response and the resume token
+        assertEquals(2, messenger.getMessages().size());
         assertEquals(1, this.database.getAllUsers().size());
         User user = this.database.getAllUsers().get(0);
         assertEquals(userUuid, user.getUuid().toString());
@@ -133,7 +133,8 @@ public class LeaveRoomTests {
         receivedMessage.parseDataToClass(JoinRoom.DataDTO.class);
         joinRoom.react();
 
-        assertEquals(2, messenger.getMessages().size());
+        // Response broadcast to both players and the resume token of the joiner
+        assertEquals(3, messenger.getMessages().size());
         assertEquals(2, this.database.getAllUsers().size());
         User user = this.database.getAllUsers().get(1);
         assertEquals(userId, user.getUuid().toString());
@@ -245,7 +246,7 @@ public class LeaveRoomTests {
                 .replace("$roomId", roomId);
 
         UserMessage receivedMessage = new UserMessage(message);
-        Throwable throwable = assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(LeaveRoom.DataDTO.class));
+        Throwable throwable = assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(LeaveRoom.DataDTO.class));
         assertTrue(throwable.getMessage().contains("Failed parsing"));
     }
 
@@ -266,7 +267,7 @@ public class LeaveRoomTests {
                 .replace("$roomId", "invalid-uuid");
 
         UserMessage receivedMessage = new UserMessage(message);
-        Throwable throwable = assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(LeaveRoom.DataDTO.class));
+        Throwable throwable = assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(LeaveRoom.DataDTO.class));
         assertTrue(throwable.getMessage().contains("Failed parsing"));
     }
 
@@ -305,7 +306,7 @@ public class LeaveRoomTests {
         leaveRoom.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
@@ -344,7 +345,7 @@ public class LeaveRoomTests {
         leaveRoom.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
@@ -381,7 +382,7 @@ public class LeaveRoomTests {
         leaveRoom.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -526,11 +527,13 @@ public class LeaveRoomTests {
                    "type":"NEW_TURN_ANNOUNCEMENT",
                    "result":"OK",
                    "data":{
-                        "nextUserUuid":"$userId"
+                        "nextUserUuid":"$userId",
+                        "version":$version
                    }
                 }
                 """
                 .replace("$messageContextId", "80bdc250-5365-4caf-8dd9-a33e709a0118")
+                .replace("$version", String.valueOf(this.database.getRoom(UUID.fromString(roomId)).getGame().getVersion()))
                 .replace("$userId", userUuid);
 
         String reply = messenger.getMessages().get(0).getMessage();
@@ -1,7 +1,5 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.game.enums.TokenType;
@@ -10,12 +8,13 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.github.splendor_mobile_game.websocket.communication.InvalidReceivedMessage;
 import org.junit.jupiter.api.Test;
 
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.database.InMemoryDatabase;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
@@ -72,13 +71,13 @@ public class MakeReservationFromDeckTests {
 
         Messenger messenger = new Messenger();
         UserMessage receivedMessage = new UserMessage(message);
-        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
         Log.DEBUG(message);
         mrfd.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String reply = messenger.getMessages().get(0).getMessage();
         JsonElement actualJson = JsonParser.parseString(reply);
@@ -99,7 +98,7 @@ public class MakeReservationFromDeckTests {
                 .replace("$cardTier", cardTier);
 
         UserMessage receivedMessage = new UserMessage(message);
-        Throwable throwable = assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class));
+        Throwable throwable = assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class));
         assertTrue(throwable.getMessage().contains("Failed parsing"));
     }
 
@@ -122,7 +121,7 @@ public class MakeReservationFromDeckTests {
         mrfd.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
@@ -151,12 +150,12 @@ public class MakeReservationFromDeckTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
         mrfd.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(player.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
@@ -187,12 +186,12 @@ public class MakeReservationFromDeckTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
         mrfd.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(player.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
@@ -228,12 +227,12 @@ public class MakeReservationFromDeckTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
         mrfd.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(player.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
@@ -270,19 +269,19 @@ public class MakeReservationFromDeckTests {
         Messenger messenger = new Messenger();
         for (int i = 0; i < 3; i++) {
             UserMessage receivedMessage = new UserMessage(message);
-            MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+            MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionId(), receivedMessage, messenger, this.database);
             receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
             mrfd.react();
         }
 
         messenger = new Messenger();
         UserMessage receivedMessage = new UserMessage(message);
-        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
         mrfd.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
@@ -319,7 +318,7 @@ public class MakeReservationFromDeckTests {
         Messenger messenger = new Messenger();
         for (int i = 0; i < 3; i++) {
             UserMessage receivedMessage = new UserMessage(message);
-            MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+            MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionId(), receivedMessage, messenger, this.database);
             receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
             mrfd.react();
         }
@@ -332,19 +331,19 @@ public class MakeReservationFromDeckTests {
 
         for (int i = 0; i < 2; i++) {
             UserMessage receivedMessage = new UserMessage(message);
-            MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionHashCode(), receivedMessage, messenger, this.database);
+            MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionId(), receivedMessage, messenger, this.database);
             receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
             mrfd.react();
         }
 
         messenger = new Messenger();
         UserMessage receivedMessage = new UserMessage(message);
-        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(player.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
         mrfd.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(player.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
@@ -371,12 +370,12 @@ public class MakeReservationFromDeckTests {
         this.database.addUser(player);
         this.database.addRoom(room);
 
-        Map<TokenType, Integer> tokens = new HashMap<>();
+        TokenVector tokens = new TokenVector();
         for (TokenType type : TokenType.values()) {
             if(type == TokenType.GOLD_JOKER) continue;
-            tokens.put(type, 0);
+            tokens.set(type, 0);
         }
-        tokens.put(TokenType.EMERALD, 10);
+        tokens.set(TokenType.EMERALD, 10);
         owner.changeTokens(tokens);
 
         room.startGame();
@@ -388,12 +387,12 @@ public class MakeReservationFromDeckTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        MakeReservationFromDeck mrfd = new MakeReservationFromDeck(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(MakeReservationFromDeck.DataDTO.class);
         mrfd.react();
 
         assertEquals(1,messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
@@ -1,7 +1,11 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.github.splendor_mobile_game.websocket.handlers.Reaction;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionFactory;
 import com.github.splendor_mobile_game.websocket.handlers.ReactionManager;
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -89,4 +93,30 @@ public class ReactionManagerTests {
         assertEquals(1, reactions.size());
         assertTrue(reactions.containsKey("test-reaction"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFactoryOfReactionWithRequestType(){
+        ReactionManager manager = new ReactionManager();
+        List<Class<?>> classList = new ArrayList<>();
+        classList.add(CreateRoom.class);
+        manager.loadReactions(classList);
+
+        ReactionFactory factory = manager.factories.get(UserRequestType.CREATE_ROOM);
+        assertNotNull(factory);
+        assertEquals(CreateRoom.class, factory.getReactionClass());
+        assertEquals(CreateRoom.DataDTO.class, factory.getDataClass());
+
+        Reaction reaction = factory.create(1L, null, new Messenger(), new InMemoryDatabase());
+        assertInstanceOf(CreateRoom.class, reaction);
+    }
+
+    @Test
+    public void testNoFactoryOfReactionWithoutRequestType(){
+        ReactionManager manager = new ReactionManager();
+        List<Class<?>> classList = new ArrayList<>();
+        classList.add(TestValidClassWithAnnotation.class);
+        manager.loadReactions(classList);
+        assertEquals(1, manager.reactions.size());
+        assertTrue(manager.factories.isEmpty());
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class ResumeSessionTests {
+
+    private static final long NEW_CONNECTION_ID = 300;
+
+    private Database database;
+    private Messenger messenger;
+    private User owner;
+    private User player;
+    private Room room;
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        database = new InMemoryDatabase();
+        messenger = new Messenger();
+
+        owner = new User(UUID.randomUUID(), "OWNER", 100);
+        player = new User(UUID.randomUUID(), "PLAYER", 200);
+        database.addUser(owner);
+        database.addUser(player);
+
+        token = player.issueResumeToken();
+        room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, database);
+        room.joinGame(player);
+        database.addRoom(room);
+    }
+
+    private JsonObject sendRequest(String resumeToken) {
+        String message = """
+            {
+                "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0117",
+                "type": "RESUME_SESSION",
+                "data": {
+                    "resumeToken": "$resumeToken"
+                }
+            }
+            """.replace("$resumeToken", resumeToken);
+
+        UserMessage receivedMessage = new UserMessage(message);
+        receivedMessage.parseDataToClass(ResumeSession.DataDTO.class);
+        ResumeSession resumeSession = new ResumeSession(NEW_CONNECTION_ID, receivedMessage, messenger, database);
+        resumeSession.react();
+
+        assertEquals(1, messenger.getMessages().size());
+        assertEquals(NEW_CONNECTION_ID, messenger.getMessages().get(0).getReceiverId());
+        return JsonParser.parseString(messenger.getMessages().get(0).getMessage()).getAsJsonObject();
+    }
+
+    @Test
+    public void parkedSessionIsResumedTest() {
+        room.startGame();
+        room.changeTurn();
+        player.setConnected(false);
+
+        JsonObject response = sendRequest(token);
+
+        assertEquals("RESUME_SESSION_RESPONSE", response.get("type").getAsString());
+        assertEquals("OK", response.get("result").getAsString());
+        JsonObject data = response.getAsJsonObject("data");
+        assertEquals(room.getUuid().toString(), data.get("roomUuid").getAsString());
+        assertEquals(1, data.get("version").getAsLong());
+
+        assertTrue(player.isConnected());
+        assertEquals(NEW_CONNECTION_ID, player.getConnectionId());
+        assertSame(player, database.getUserByConnectionId(NEW_CONNECTION_ID));
+        assertNull(database.getUserByConnectionId(200));
+        assertSame(room, database.getRoomWithUser(player.getUuid()));
+
+        // The token stays valid for the next lost connection
+        assertTrue(player.checkResumeToken(token));
+    }
+
+    @Test
+    public void versionIsNullBeforeGameTest() {
+        player.setConnected(false);
+
+        JsonObject data = sendRequest(token).getAsJsonObject("data");
+
+        assertTrue(data.get("version").isJsonNull());
+    }
+
+    @Test
+    public void connectedSessionCantBeResumedTest() {
+        JsonObject response = sendRequest(token);
+
+        assertEquals("FAILURE", response.get("result").getAsString());
+        assertEquals("This session is still connected.", response.getAsJsonObject("data").get("error").getAsString());
+        assertEquals(200, player.getConnectionId());
+    }
+
+    @Test
+    public void unknownUserTest() {
+        player.setConnected(false);
+        database.deleteUser(player);
+
+        JsonObject response = sendRequest(token);
+
+        assertEquals("FAILURE", response.get("result").getAsString());
+        assertEquals("Couldn't find a user with given UUID.", response.getAsJsonObject("data").get("error").getAsString());
+    }
+
+    @Test
+    public void tokenOfAnotherUserTest() {
+        player.setConnected(false);
+        String forged = owner.issueResumeToken();
+        byte[] bytes = Base64.getUrlDecoder().decode(forged);
+        ByteBuffer.wrap(bytes).putLong(player.getUuid().getMostSignificantBits()).putLong(player.getUuid().getLeastSignificantBits());
+
+        JsonObject response = sendRequest(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes));
+
+        assertEquals("Invalid resume token.", response.getAsJsonObject("data").get("error").getAsString());
+        assertFalse(player.isConnected());
+    }
+
+    @Test
+    public void userUuidIsNotATokenTest() {
+        player.setConnected(false);
+
+        JsonObject response = sendRequest(player.getUuid().toString());
+
+        assertEquals("FAILURE", response.get("result").getAsString());
+        assertEquals("Invalid resume token.", response.getAsJsonObject("data").get("error").getAsString());
+        assertFalse(player.isConnected());
+        assertEquals(200, player.getConnectionId());
+    }
+
+    @Test
+    public void replacedTokenTest() {
+        player.setConnected(false);
+        player.issueResumeToken();
+
+        JsonObject response = sendRequest(token);
+
+        assertEquals("Invalid resume token.", response.getAsJsonObject("data").get("error").getAsString());
+    }
+
+    @Test
+    public void resumeRunsInRoomLaneTest() {
+        String message = """
+            {
+                "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0117",
+                "type": "RESUME_SESSION",
+                "data": {
+                    "resumeToken": "$resumeToken"
+                }
+            }
+            """.replace("$resumeToken", token);
+
+        UserMessage receivedMessage = new UserMessage(message);
+        receivedMessage.parseDataToClass(ResumeSession.DataDTO.class);
+        ResumeSession resumeSession = new ResumeSession(NEW_CONNECTION_ID, receivedMessage, messenger, database);
+
+        assertEquals(room.getUuid(), resumeSession.getTargetRoomUuid());
+    }
+
+}
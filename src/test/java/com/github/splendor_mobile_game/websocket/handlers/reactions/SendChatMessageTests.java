@@ -0,0 +1,115 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class SendChatMessageTests {
+
+    private Database database;
+    private Messenger messenger;
+    private User owner;
+    private User player;
+    private Room room;
+
+    @BeforeEach
+    public void setUp() {
+        database = new InMemoryDatabase();
+        messenger = new Messenger();
+
+        owner = new User(UUID.randomUUID(), "OWNER", 100);
+        player = new User(UUID.randomUUID(), "PLAYER", 200);
+        database.addUser(owner);
+        database.addUser(player);
+
+        room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, database);
+        room.joinGame(player);
+        database.addRoom(room);
+    }
+
+    private void sendRequest(User user, String text) {
+        String message = """
+            {
+                "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0117",
+                "type": "SEND_CHAT_MESSAGE",
+                "data": {
+                    "userUuid": "$userUuid",
+                    "message": "$message"
+                }
+            }
+            """.replace("$userUuid", user.getUuid().toString())
+               .replace("$message", text);
+
+        UserMessage receivedMessage = new UserMessage(message);
+        receivedMessage.parseDataToClass(SendChatMessage.DataDTO.class);
+        new SendChatMessage(user.getConnectionId(), receivedMessage, messenger, database).react();
+    }
+
+    /** Runs the announcements scheduled by the reactions, as the server does on the next tick. */
+    private Messenger tick() {
+        Messenger tickMessenger = new Messenger();
+        messenger.getTickTasks().forEach(task -> task.run(tickMessenger));
+        return tickMessenger;
+    }
+
+    @Test
+    public void messagesOfOneTickAreAnnouncedTogether() {
+        sendRequest(owner, "Hello");
+        sendRequest(player, "Hi");
+
+        assertTrue(messenger.getMessages().isEmpty());
+        assertEquals(1, messenger.getTickTasks().size());
+        assertEquals(room.getUuid(), messenger.getTickTasks().get(0).getRoomUuid());
+
+        Messenger tickMessenger = tick();
+        assertEquals(2, tickMessenger.getMessages().size());
+        assertEquals(100, tickMessenger.getMessages().get(0).getReceiverId());
+        assertEquals(200, tickMessenger.getMessages().get(1).getReceiverId());
+
+        JsonObject announcement = JsonParser.parseString(tickMessenger.getMessages().get(0).getMessage()).getAsJsonObject();
+        assertEquals("SEND_CHAT_MESSAGE_ANNOUNCEMENT", announcement.get("type").getAsString());
+
+        JsonArray messages = announcement.getAsJsonObject("data").getAsJsonArray("messages");
+        assertEquals(2, messages.size());
+        assertEquals(owner.getUuid().toString(), messages.get(0).getAsJsonObject().get("userUuid").getAsString());
+        assertEquals("Hi", messages.get(1).getAsJsonObject().get("message").getAsString());
+    }
+
+    @Test
+    public void spammerIsThrottled() {
+        for (int i = 0; i < 10; i++) {
+            sendRequest(owner, "spam");
+        }
+
+        assertEquals(5, messenger.getMessages().size());
+        JsonObject response = JsonParser.parseString(messenger.getMessages().get(0).getMessage()).getAsJsonObject();
+        assertEquals("SEND_CHAT_MESSAGE_RESPONSE", response.get("type").getAsString());
+        assertEquals("You are sending messages too fast.", response.getAsJsonObject("data").get("error").getAsString());
+
+        assertEquals(5, room.getChat().getChatMessages().size());
+    }
+
+    @Test
+    public void emptyMessageTest() {
+        sendRequest(owner, " ");
+
+        assertEquals(1, messenger.getMessages().size());
+        JsonObject response = JsonParser.parseString(messenger.getMessages().get(0).getMessage()).getAsJsonObject();
+        assertEquals("FAILURE", response.get("result").getAsString());
+        assertTrue(messenger.getTickTasks().isEmpty());
+    }
+
+}
@@ -11,7 +11,7 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.github.splendor_mobile_game.websocket.communication.InvalidReceivedMessage;
 import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
@@ -67,7 +67,7 @@ public class StartGameTests {
                 .replace("$roomUuid", roomUuid);
 
         UserMessage receivedMessage = new UserMessage(message);
-        assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(StartGame.DataDTO.class));
+        assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(StartGame.DataDTO.class));
     }
 
     @Test
@@ -84,7 +84,7 @@ public class StartGameTests {
                 .replace("$roomUuid", roomUuid);
 
         UserMessage receivedMessage = new UserMessage(message);
-        assertThrows(JsonSyntaxException.class, () -> receivedMessage.parseDataToClass(StartGame.DataDTO.class));
+        assertThrows(InvalidReceivedMessage.class, () -> receivedMessage.parseDataToClass(StartGame.DataDTO.class));
     }
 
     @Test
@@ -108,7 +108,7 @@ public class StartGameTests {
         startGame.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
@@ -140,12 +140,12 @@ public class StartGameTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        StartGame startGame = new StartGame(user.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        StartGame startGame = new StartGame(user.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(StartGame.DataDTO.class);
         startGame.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(user.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(user.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
@@ -182,12 +182,12 @@ public class StartGameTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        StartGame startGame = new StartGame(player.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        StartGame startGame = new StartGame(player.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(StartGame.DataDTO.class);
         startGame.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(player.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
@@ -224,12 +224,12 @@ public class StartGameTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        StartGame startGame = new StartGame(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        StartGame startGame = new StartGame(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(StartGame.DataDTO.class);
         startGame.react();
 
         assertEquals(2, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String reply = messenger.getMessages().get(0).getMessage();
         JsonObject jsonObject = JsonParser.parseString(reply).getAsJsonObject();
@@ -238,7 +238,7 @@ public class StartGameTests {
 
         receivedMessage = new UserMessage(message);
         messenger = new Messenger();
-        startGame = new StartGame(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        startGame = new StartGame(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(StartGame.DataDTO.class);
         startGame.react();
 
@@ -274,12 +274,12 @@ public class StartGameTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        StartGame startGame = new StartGame(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        StartGame startGame = new StartGame(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(StartGame.DataDTO.class);
         startGame.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
@@ -319,12 +319,12 @@ public class StartGameTests {
 
         UserMessage receivedMessage = new UserMessage(message);
         Messenger messenger = new Messenger();
-        StartGame startGame = new StartGame(owner.getConnectionHashCode(), receivedMessage, messenger, this.database);
+        StartGame startGame = new StartGame(owner.getConnectionId(), receivedMessage, messenger, this.database);
         receivedMessage.parseDataToClass(StartGame.DataDTO.class);
         startGame.react();
 
         assertEquals(1, messenger.getMessages().size());
-        assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
+        assertEquals(owner.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
@@ -0,0 +1,129 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class SyncStateTests {
+
+    private Database database;
+    private Messenger messenger;
+    private User owner;
+    private User player;
+    private Room room;
+
+    @BeforeEach
+    public void setUp() {
+        database = new InMemoryDatabase();
+        messenger = new Messenger();
+
+        owner = new User(UUID.randomUUID(), "OWNER", 100);
+        player = new User(UUID.randomUUID(), "PLAYER", 200);
+        database.addUser(owner);
+        database.addUser(player);
+
+        room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, database);
+        room.joinGame(player);
+        database.addRoom(room);
+    }
+
+    private JsonObject sendRequest(User user, long version) {
+        String message = """
+            {
+                "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0117",
+                "type": "SYNC_STATE",
+                "data": {
+                    "userUuid": "$userUuid",
+                    "version": $version
+                }
+            }
+            """.replace("$userUuid", user.getUuid().toString())
+               .replace("$version", Long.toString(version));
+
+        UserMessage receivedMessage = new UserMessage(message);
+        receivedMessage.parseDataToClass(SyncState.DataDTO.class);
+        new SyncState(user.getConnectionId(), receivedMessage, messenger, database).react();
+
+        assertEquals(1, messenger.getMessages().size());
+        assertEquals(user.getConnectionId(), messenger.getMessages().get(0).getReceiverId());
+        return JsonParser.parseString(messenger.getMessages().get(0).getMessage()).getAsJsonObject();
+    }
+
+    @Test
+    public void missedChangesAreSentAsDeltas() {
+        room.startGame();
+        room.getGame().exchangeTokens(owner, TokenVector.of(1, 1, 1, 0, 0));
+        room.changeTurn();
+
+        JsonObject response = sendRequest(player, 0);
+
+        assertEquals("SYNC_STATE_RESPONSE", response.get("type").getAsString());
+        assertEquals("OK", response.get("result").getAsString());
+
+        JsonObject data = response.getAsJsonObject("data");
+        assertEquals(3, data.get("version").getAsLong());
+        assertTrue(data.get("snapshot").isJsonNull());
+
+        JsonArray deltas = data.getAsJsonArray("deltas");
+        assertEquals(3, deltas.size());
+        assertEquals("TOKENS", deltas.get(0).getAsJsonObject().get("type").getAsString());
+        assertEquals(owner.getUuid().toString(), deltas.get(0).getAsJsonObject().get("userUuid").getAsString());
+        assertEquals(1, deltas.get(0).getAsJsonObject().getAsJsonArray("tokens").get(TokenType.RUBY.ordinal()).getAsInt());
+        assertTrue(deltas.get(1).getAsJsonObject().get("userUuid").isJsonNull());
+        assertEquals("TURN", deltas.get(2).getAsJsonObject().get("type").getAsString());
+        assertEquals(player.getUuid().toString(), deltas.get(2).getAsJsonObject().get("userUuid").getAsString());
+    }
+
+    @Test
+    public void upToDateClientGetsNoDeltas() {
+        room.startGame();
+        room.changeTurn();
+
+        JsonObject data = sendRequest(owner, 1).getAsJsonObject("data");
+
+        assertEquals(1, data.get("version").getAsLong());
+        assertEquals(0, data.getAsJsonArray("deltas").size());
+    }
+
+    @Test
+    public void unknownVersionGetsSnapshot() {
+        room.startGame();
+        room.getGame().exchangeTokens(owner, TokenVector.of(0, 0, 2, 0, 0));
+
+        JsonObject data = sendRequest(player, 1000).getAsJsonObject("data");
+
+        assertTrue(data.get("deltas").isJsonNull());
+        JsonObject snapshot = data.getAsJsonObject("snapshot");
+        assertEquals(room.getGame().getTokenCount(TokenType.RUBY), snapshot.getAsJsonArray("tokens").get(TokenType.RUBY.ordinal()).getAsInt());
+        assertEquals(3, snapshot.getAsJsonArray("revealedCards").size());
+        assertEquals(4, snapshot.getAsJsonArray("revealedCards").get(0).getAsJsonArray().size());
+        assertEquals(owner.getUuid().toString(), snapshot.get("currentPlayerUuid").getAsString());
+
+        JsonObject ownerData = snapshot.getAsJsonArray("players").get(0).getAsJsonObject();
+        assertEquals(2, ownerData.getAsJsonArray("tokens").get(TokenType.RUBY.ordinal()).getAsInt());
+    }
+
+    @Test
+    public void gameNotStartedTest() {
+        JsonObject response = sendRequest(owner, 0);
+
+        assertEquals("FAILURE", response.get("result").getAsString());
+        assertEquals("Game hasn't started yet.", response.getAsJsonObject("data").get("error").getAsString());
+    }
+
+}
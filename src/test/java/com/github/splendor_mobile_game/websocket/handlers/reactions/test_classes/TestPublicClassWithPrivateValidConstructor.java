@@ -6,7 +6,7 @@ import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.github.splendor_mobile_game.websocket.handlers.Reaction;
 
 public class TestPublicClassWithPrivateValidConstructor extends Reaction {
-    private TestPublicClassWithPrivateValidConstructor(int chc, UserMessage rm, Messenger m, Database d) {
+    private TestPublicClassWithPrivateValidConstructor(long chc, UserMessage rm, Messenger m, Database d) {
         super(chc, rm, m, d);
     }
 
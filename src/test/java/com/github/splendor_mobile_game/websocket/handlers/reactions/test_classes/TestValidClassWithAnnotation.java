@@ -8,7 +8,7 @@ import com.github.splendor_mobile_game.websocket.handlers.ReactionName;
 
 @ReactionName("test-reaction")
 public class TestValidClassWithAnnotation extends Reaction {
-    public TestValidClassWithAnnotation(int chc, UserMessage rm, Messenger m, Database d){
+    public TestValidClassWithAnnotation(long chc, UserMessage rm, Messenger m, Database d){
         super(chc, rm, m, d);
     }
     @Override
@@ -0,0 +1,36 @@
+package com.github.splendor_mobile_game.websocket.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.game.exceptions.NotEnoughTokensException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.RoomFullException;
+
+public class DomainExceptionTests {
+
+    @Test
+    public void domainExceptionsHaveNoStackTrace() {
+        RoomFullException exception = new RoomFullException("Room is full");
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("Room is full", exception.getMessage());
+        assertEquals(0, new NotEnoughTokensException().getStackTrace().length);
+    }
+
+    @Test
+    public void domainExceptionKeepsCause() {
+        IllegalStateException cause = new IllegalStateException("cause");
+        DomainException exception = new DomainException(cause);
+
+        assertSame(cause, exception.getCause());
+        assertEquals(cause.toString(), exception.getMessage());
+        assertTrue(exception.toJsonResponse().contains("FAILURE"));
+    }
+
+    @Test
+    public void serverFaultsKeepStackTrace() {
+        assertTrue(new CustomException("fault").getStackTrace().length > 0);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.github.splendor_mobile_game.websocket.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogWriterTests {
+
+    @TempDir
+    Path logsDir;
+
+    @Test
+    public void fullBufferDropsLines() throws IOException {
+        LogWriter writer = new LogWriter(2);
+        writer.setLogsDir(this.logsDir);
+
+        for (int i = 0; i < 5; i++) {
+            writer.offer(new LogWriter.Line(LogLevel.INFO, "line " + i, false, true));
+        }
+        assertEquals(3, writer.getDroppedCount());
+
+        writer.flush();
+
+        List<String> lines = this.readAll();
+        assertEquals(List.of("line 0", "line 1"), lines.subList(0, 2));
+        assertTrue(lines.get(2).startsWith("3 log lines have been dropped"));
+    }
+
+    @Test
+    public void fileIsRotatedWhenItGetsTooBig() throws IOException {
+        LogWriter writer = new LogWriter(16);
+        writer.setLogsDir(this.logsDir);
+        writer.setRotation(10, 60000);
+
+        for (int i = 0; i < 3; i++) {
+            writer.offer(new LogWriter.Line(LogLevel.INFO, "0123456789", false, true));
+            writer.flush();
+        }
+
+        try (Stream<Path> files = Files.list(this.logsDir)) {
+            assertEquals(3, files.count());
+        }
+        assertEquals(3, this.readAll().size());
+    }
+
+    private List<String> readAll() throws IOException {
+        try (Stream<Path> files = Files.list(this.logsDir)) {
+            return files.sorted().flatMap(file -> {
+                try {
+                    return Files.readAllLines(file).stream();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }).collect(Collectors.toList());
+        }
+    }
+
+}